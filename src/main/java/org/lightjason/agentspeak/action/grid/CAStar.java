@@ -24,9 +24,11 @@
 package org.lightjason.agentspeak.action.grid;
 
 import org.lightjason.agentspeak.action.grid.routing.CAStarRouting;
+import org.lightjason.agentspeak.action.grid.routing.CPrimitiveAStarRouting;
 import org.lightjason.agentspeak.action.grid.routing.EDistance;
 import org.lightjason.agentspeak.action.grid.routing.ESearchDirection;
 import org.lightjason.agentspeak.action.grid.routing.IDistance;
+import org.lightjason.agentspeak.action.grid.routing.IRouting;
 import org.lightjason.agentspeak.action.grid.routing.ISearchDirection;
 import org.lightjason.agentspeak.common.IPath;
 
@@ -40,7 +42,9 @@ import javax.annotation.Nonnull;
  * the first argument is the grid, the second argument
  * is the start position and the last argument is the goal
  * position, all other arguments are intermediate goal,
- * arguments can be numerical pairs or lists or blas vectors
+ * arguments can be numerical pairs or lists or blas vectors,
+ * by default the primitive a-star engine is used, the
+ * collection-based engine can be set with the routing ctor
  *
  * {@code L = .grid/astar(Grid, 3,3, [1,1, 8,7])}
  *
@@ -96,7 +100,28 @@ public final class CAStar extends IBaseRoutingAction
      */
     public CAStar( @Nonnull final IDistance p_distance, @Nonnull final ISearchDirection p_searchdirection, @Nonnull final Number p_weight )
     {
-        super( new CAStarRouting( p_distance, p_searchdirection, p_weight ) );
+        this( new CPrimitiveAStarRouting( p_distance, p_searchdirection, p_weight ) );
+    }
+
+    /**
+     * ctor
+     *
+     * @param p_routing a-star routing engine e.g. CAStarRouting or CPrimitiveAStarRouting
+     */
+    public CAStar( @Nonnull final IRouting p_routing )
+    {
+        super( p_routing );
+    }
+
+    /**
+     * ctor
+     *
+     * @param p_routing a-star routing engine e.g. CAStarRouting or CPrimitiveAStarRouting
+     * @param p_reachable reachable check of the goals before the routing
+     */
+    public CAStar( @Nonnull final IRouting p_routing, final boolean p_reachable )
+    {
+        super( p_routing, p_reachable );
     }
 
     @Nonnull
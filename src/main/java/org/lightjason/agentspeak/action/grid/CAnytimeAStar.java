@@ -0,0 +1,145 @@
+/*
+ * @cond LICENSE
+ * ######################################################################################
+ * # LGPL License                                                                       #
+ * #                                                                                    #
+ * # This file is part of the LightJason                                                #
+ * # Copyright (c) 2015-19, LightJason (info@lightjason.org)                            #
+ * # This program is free software: you can redistribute it and/or modify               #
+ * # it under the terms of the GNU Lesser General Public License as                     #
+ * # published by the Free Software Foundation, either version 3 of the                 #
+ * # License, or (at your option) any later version.                                    #
+ * #                                                                                    #
+ * # This program is distributed in the hope that it will be useful,                    #
+ * # but WITHOUT ANY WARRANTY; without even the implied warranty of                     #
+ * # MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                      #
+ * # GNU Lesser General Public License for more details.                                #
+ * #                                                                                    #
+ * # You should have received a copy of the GNU Lesser General Public License           #
+ * # along with this program. If not, see http://www.gnu.org/licenses/                  #
+ * ######################################################################################
+ * @endcond
+ */
+
+package org.lightjason.agentspeak.action.grid;
+
+import cern.colt.matrix.tdouble.DoubleMatrix1D;
+import cern.colt.matrix.tdouble.impl.DenseDoubleMatrix1D;
+import cern.colt.matrix.tobject.ObjectMatrix2D;
+import org.apache.commons.lang3.tuple.Pair;
+import org.lightjason.agentspeak.action.IBaseAction;
+import org.lightjason.agentspeak.action.grid.routing.CAnytimeRouting;
+import org.lightjason.agentspeak.action.grid.routing.IDistance;
+import org.lightjason.agentspeak.action.grid.routing.ISearchDirection;
+import org.lightjason.agentspeak.common.IPath;
+import org.lightjason.agentspeak.language.CCommon;
+import org.lightjason.agentspeak.language.CRawTerm;
+import org.lightjason.agentspeak.language.ITerm;
+import org.lightjason.agentspeak.language.execution.IContext;
+import org.lightjason.agentspeak.language.fuzzy.IFuzzyValue;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+
+/**
+ * calculates a route with anytime repairing a-star (ARA*).
+ * The action searches within the expansion and time budget
+ * of the routing and returns the best route found so far
+ * and its suboptimality bound, the search is continued on
+ * the next call with the same start and goal, so the bound
+ * decreases to 1 over the calls, the arguments are the grid,
+ * the start and the goal position, the action fails if no
+ * route has been found so far
+ *
+ * {@code [R, B] = .grid/anytimeastar( Grid, [3, 3], [8, 7] )}
+ *
+ * @see <a href="https://papers.nips.cc/paper/2382-ara-anytime-a-with-provable-bounds-on-sub-optimality.pdf"></a>
+ */
+public final class CAnytimeAStar extends IBaseAction
+{
+    /**
+     * serial id
+     */
+    private static final long serialVersionUID = 5604447640193658913L;
+    /**
+     * action name
+     */
+    private static final IPath NAME = namebyclass( CAnytimeAStar.class, "grid" );
+    /**
+     * routing
+     */
+    private final CAnytimeRouting m_routing;
+
+    /**
+     * ctor
+     */
+    public CAnytimeAStar()
+    {
+        this( new CAnytimeRouting() );
+    }
+
+    /**
+     * ctor
+     *
+     * @param p_distance distance
+     * @param p_searchdirection search direction
+     */
+    public CAnytimeAStar( @Nonnull final IDistance p_distance, @Nonnull final ISearchDirection p_searchdirection )
+    {
+        this( new CAnytimeRouting( p_distance, p_searchdirection ) );
+    }
+
+    /**
+     * ctor
+     *
+     * @param p_routing anytime routing
+     */
+    public CAnytimeAStar( @Nonnull final CAnytimeRouting p_routing )
+    {
+        m_routing = p_routing;
+    }
+
+    @Nonnull
+    @Override
+    public IPath name()
+    {
+        return NAME;
+    }
+
+    @Nonnegative
+    @Override
+    public int minimalArgumentNumber()
+    {
+        return 1;
+    }
+
+    @Nonnull
+    @Override
+    public Stream<IFuzzyValue<?>> execute( final boolean p_parallel, @Nonnull final IContext p_context,
+                                           @Nonnull final List<ITerm> p_argument, @Nonnull final List<ITerm> p_return )
+    {
+        final List<ITerm> l_arguments = CCommon.flatten( p_argument ).collect( Collectors.toList() );
+        final List<Number> l_values = l_arguments.stream().skip( 1 ).flatMap( IBaseRoutingAction::unpack ).collect( Collectors.toList() );
+        if ( l_values.size() != 4 )
+            return p_context.agent().fuzzy().membership().fail();
+
+        final ObjectMatrix2D l_grid = l_arguments.get( 0 ).raw();
+        final Pair<Stream<DoubleMatrix1D>, Double> l_solution = m_routing.solution(
+            l_grid,
+            new DenseDoubleMatrix1D( new double[]{l_values.get( 0 ).doubleValue(), l_values.get( 1 ).doubleValue()} ),
+            new DenseDoubleMatrix1D( new double[]{l_values.get( 2 ).doubleValue(), l_values.get( 3 ).doubleValue()} )
+        );
+
+        final List<DoubleMatrix1D> l_route = l_solution.getLeft().collect( Collectors.toList() );
+        if ( l_route.isEmpty() )
+            return p_context.agent().fuzzy().membership().fail();
+
+        p_return.add( CRawTerm.of( l_route ) );
+        p_return.add( CRawTerm.of( l_solution.getRight() ) );
+        return Stream.empty();
+    }
+}
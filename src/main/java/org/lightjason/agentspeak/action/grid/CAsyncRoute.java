@@ -0,0 +1,156 @@
+/*
+ * @cond LICENSE
+ * ######################################################################################
+ * # LGPL License                                                                       #
+ * #                                                                                    #
+ * # This file is part of the LightJason                                                #
+ * # Copyright (c) 2015-19, LightJason (info@lightjason.org)                            #
+ * # This program is free software: you can redistribute it and/or modify               #
+ * # it under the terms of the GNU Lesser General Public License as                     #
+ * # published by the Free Software Foundation, either version 3 of the                 #
+ * # License, or (at your option) any later version.                                    #
+ * #                                                                                    #
+ * # This program is distributed in the hope that it will be useful,                    #
+ * # but WITHOUT ANY WARRANTY; without even the implied warranty of                     #
+ * # MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                      #
+ * # GNU Lesser General Public License for more details.                                #
+ * #                                                                                    #
+ * # You should have received a copy of the GNU Lesser General Public License           #
+ * # along with this program. If not, see http://www.gnu.org/licenses/                  #
+ * ######################################################################################
+ * @endcond
+ */
+
+package org.lightjason.agentspeak.action.grid;
+
+import cern.colt.matrix.tdouble.DoubleMatrix1D;
+import cern.colt.matrix.tobject.ObjectMatrix2D;
+import org.lightjason.agentspeak.action.grid.routing.CPrimitiveAStarRouting;
+import org.lightjason.agentspeak.action.grid.routing.CRoutingExecutor;
+import org.lightjason.agentspeak.action.grid.routing.IRouting;
+import org.lightjason.agentspeak.common.IPath;
+import org.lightjason.agentspeak.language.CCommon;
+import org.lightjason.agentspeak.language.CRawTerm;
+import org.lightjason.agentspeak.language.ITerm;
+import org.lightjason.agentspeak.language.execution.IContext;
+import org.lightjason.agentspeak.language.fuzzy.IFuzzyValue;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+
+/**
+ * calculates a route asynchronously.
+ * The action submits the routing to the routing executor
+ * and returns a future of the route immediately, the route
+ * is fetched with the fetch route action, the arguments are
+ * equal to the a-star action, the action fails if a goal is
+ * not reachable or the queue of the executor is full, so a
+ * burst of requests is limited by the executor, the routing
+ * reads the grid on an executor thread, so a grid which is
+ * changed during the routing must be a concurrent or a tick grid
+ *
+ * {@code F = .grid/asyncroute(Grid, 3,3, [1,1, 8,7])}
+ */
+public final class CAsyncRoute extends IBaseRoutingAction
+{
+    /**
+     * serial id
+     */
+    private static final long serialVersionUID = -4866283958036424962L;
+    /**
+     * action name
+     */
+    private static final IPath NAME = namebyclass( CAsyncRoute.class, "grid" );
+    /**
+     * executor
+     */
+    private transient CRoutingExecutor m_executor;
+
+    /**
+     * ctor
+     */
+    public CAsyncRoute()
+    {
+        this( new CPrimitiveAStarRouting() );
+    }
+
+    /**
+     * ctor
+     *
+     * @param p_routing routing
+     */
+    public CAsyncRoute( @Nonnull final IRouting p_routing )
+    {
+        this( p_routing, CRoutingExecutor.instance() );
+    }
+
+    /**
+     * ctor
+     *
+     * @param p_routing routing
+     * @param p_executor routing executor
+     */
+    public CAsyncRoute( @Nonnull final IRouting p_routing, @Nonnull final CRoutingExecutor p_executor )
+    {
+        this( p_routing, p_executor, true );
+    }
+
+    /**
+     * ctor
+     *
+     * @param p_routing routing
+     * @param p_executor routing executor
+     * @param p_reachable reachable check of the goals before the routing
+     */
+    public CAsyncRoute( @Nonnull final IRouting p_routing, @Nonnull final CRoutingExecutor p_executor, final boolean p_reachable )
+    {
+        super( p_routing, p_reachable );
+        m_executor = p_executor;
+    }
+
+    @Nonnull
+    @Override
+    public IPath name()
+    {
+        return NAME;
+    }
+
+    @Nonnegative
+    @Override
+    public int minimalArgumentNumber()
+    {
+        return 1;
+    }
+
+    @Nonnull
+    @Override
+    public Stream<IFuzzyValue<?>> execute( final boolean p_parallel, @Nonnull final IContext p_context,
+                                           @Nonnull final List<ITerm> p_argument, @Nonnull final List<ITerm> p_return )
+    {
+        final List<ITerm> l_arguments = CCommon.flatten( p_argument ).collect( Collectors.toList() );
+        final ObjectMatrix2D l_grid = l_arguments.get( 0 ).raw();
+        final List<List<DoubleMatrix1D>> l_sections = sections( l_arguments );
+        if ( l_sections.isEmpty() || !this.reachable( l_grid, l_sections ) )
+            return p_context.agent().fuzzy().membership().fail();
+
+        // after deserialization the shared executor is used
+        if ( Objects.isNull( m_executor ) )
+            m_executor = CRoutingExecutor.instance();
+
+        try
+        {
+            p_return.add( CRawTerm.of( m_executor.submit( () -> this.route( p_parallel, l_grid, l_sections ) ) ) );
+            return Stream.empty();
+        }
+        catch ( final RejectedExecutionException l_exception )
+        {
+            return p_context.agent().fuzzy().membership().fail();
+        }
+    }
+}
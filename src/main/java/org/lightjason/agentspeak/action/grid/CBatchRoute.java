@@ -0,0 +1,207 @@
+/*
+ * @cond LICENSE
+ * ######################################################################################
+ * # LGPL License                                                                       #
+ * #                                                                                    #
+ * # This file is part of the LightJason                                                #
+ * # Copyright (c) 2015-19, LightJason (info@lightjason.org)                            #
+ * # This program is free software: you can redistribute it and/or modify               #
+ * # it under the terms of the GNU Lesser General Public License as                     #
+ * # published by the Free Software Foundation, either version 3 of the                 #
+ * # License, or (at your option) any later version.                                    #
+ * #                                                                                    #
+ * # This program is distributed in the hope that it will be useful,                    #
+ * # but WITHOUT ANY WARRANTY; without even the implied warranty of                     #
+ * # MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                      #
+ * # GNU Lesser General Public License for more details.                                #
+ * #                                                                                    #
+ * # You should have received a copy of the GNU Lesser General Public License           #
+ * # along with this program. If not, see http://www.gnu.org/licenses/                  #
+ * ######################################################################################
+ * @endcond
+ */
+
+package org.lightjason.agentspeak.action.grid;
+
+import cern.colt.matrix.tdouble.DoubleMatrix1D;
+import cern.colt.matrix.tobject.ObjectMatrix2D;
+import com.codepoetics.protonpack.StreamUtils;
+import org.lightjason.agentspeak.action.IBaseAction;
+import org.lightjason.agentspeak.action.grid.routing.CAStarRouting;
+import org.lightjason.agentspeak.action.grid.routing.CPrimitiveAStarRouting;
+import org.lightjason.agentspeak.action.grid.routing.EDistance;
+import org.lightjason.agentspeak.action.grid.routing.ESearchDirection;
+import org.lightjason.agentspeak.action.grid.routing.IDistance;
+import org.lightjason.agentspeak.action.grid.routing.IRouting;
+import org.lightjason.agentspeak.action.grid.routing.ISearchDirection;
+import org.lightjason.agentspeak.common.IPath;
+import org.lightjason.agentspeak.language.CCommon;
+import org.lightjason.agentspeak.language.CRawTerm;
+import org.lightjason.agentspeak.language.ITerm;
+import org.lightjason.agentspeak.language.execution.IContext;
+import org.lightjason.agentspeak.language.fuzzy.IFuzzyValue;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+
+/**
+ * calculates many routes in parallel.
+ * The action solves independent routing queries on a
+ * work-stealing pool iif the action is executed in parallel,
+ * otherwise sequentially on the calling thread, each worker
+ * thread uses its own search state, the reachability of all
+ * pairs is checked before the routes are calculated, so the
+ * workers do not wait on the shared reachability layer, the first argument is the grid, all
+ * other arguments are pairs of start and goal positions,
+ * positions can be numerical pairs or lists or blas vectors,
+ * the action returns a route list for each pair in input
+ * order, the list is empty if the goal is not reachable
+ *
+ * {@code [A|B] = .grid/batchroute(Grid, 1,1, 8,7, [3,3], [5,5])}
+ */
+public final class CBatchRoute extends IBaseAction
+{
+    /**
+     * serial id
+     */
+    private static final long serialVersionUID = -4468542364802618447L;
+    /**
+     * action name
+     */
+    private static final IPath NAME = namebyclass( CBatchRoute.class, "grid" );
+    /**
+     * routing
+     */
+    private final IRouting m_routing;
+    /**
+     * work-stealing pool (common pool after deserialization)
+     */
+    private final transient ForkJoinPool m_pool;
+
+    /**
+     * ctor
+     */
+    public CBatchRoute()
+    {
+        this( EDistance.MANHATTAN, ESearchDirection.NEVER );
+    }
+
+    /**
+     * ctor
+     *
+     * @param p_distance distance
+     */
+    public CBatchRoute( @Nonnull final IDistance p_distance )
+    {
+        this( p_distance, ESearchDirection.NEVER );
+    }
+
+    /**
+     * ctor
+     *
+     * @param p_distance distance
+     * @param p_searchdirection search direction
+     */
+    public CBatchRoute( @Nonnull final IDistance p_distance, @Nonnull final ISearchDirection p_searchdirection )
+    {
+        this( new CPrimitiveAStarRouting( p_distance, p_searchdirection, CAStarRouting.APROXIMATIONWEIGHT ) );
+    }
+
+    /**
+     * ctor
+     *
+     * @param p_routing thread-safe routing
+     */
+    public CBatchRoute( @Nonnull final IRouting p_routing )
+    {
+        this( p_routing, ForkJoinPool.commonPool() );
+    }
+
+    /**
+     * ctor
+     *
+     * @param p_routing thread-safe routing
+     * @param p_pool work-stealing pool
+     */
+    public CBatchRoute( @Nonnull final IRouting p_routing, @Nonnull final ForkJoinPool p_pool )
+    {
+        m_routing = p_routing;
+        m_pool = p_pool;
+    }
+
+    @Nonnull
+    @Override
+    public IPath name()
+    {
+        return NAME;
+    }
+
+    @Nonnegative
+    @Override
+    public int minimalArgumentNumber()
+    {
+        return 1;
+    }
+
+    @Nonnull
+    @Override
+    public Stream<IFuzzyValue<?>> execute( final boolean p_parallel, @Nonnull final IContext p_context,
+                                           @Nonnull final List<ITerm> p_argument, @Nonnull final List<ITerm> p_return )
+    {
+        final List<ITerm> l_arguments = CCommon.flatten( p_argument ).collect( Collectors.toList() );
+        final ObjectMatrix2D l_grid = l_arguments.get( 0 ).raw();
+
+        final AtomicInteger l_group = new AtomicInteger();
+        final List<DoubleMatrix1D> l_positions = StreamUtils.windowed(
+            l_arguments.stream()
+                       .skip( 1 )
+                       .flatMap( IBaseRoutingAction::unpack ),
+            2
+        ).flatMap( i -> IBaseRoutingAction.pack( i.get( 0 ), i.get( 1 ), l_group ) ).collect( Collectors.toList() );
+
+        if ( l_positions.size() < 2 || l_positions.size() % 2 != 0 )
+            return p_context.agent().fuzzy().membership().fail();
+
+        // the ordered parallel stream is split by the pool, so the result order is equal to the input order
+        ( p_parallel
+          ? ( Objects.isNull( m_pool ) ? ForkJoinPool.commonPool() : m_pool ).submit( () -> this.routes( true, l_grid, l_positions ) ).join()
+          : this.routes( false, l_grid, l_positions )
+        ).stream()
+         .map( CRawTerm::of )
+         .forEach( p_return::add );
+
+        return Stream.empty();
+    }
+
+    /**
+     * calculates the routes of all pairs
+     *
+     * @param p_parallel parallel execution
+     * @param p_grid grid
+     * @param p_positions start and goal positions
+     * @return routes in input order
+     */
+    @Nonnull
+    private List<List<DoubleMatrix1D>> routes( final boolean p_parallel, @Nonnull final ObjectMatrix2D p_grid, @Nonnull final List<DoubleMatrix1D> p_positions )
+    {
+        // the reachability layer is locked on each query, so all pairs are checked on one thread before the fan out
+        final boolean[] l_reachable = new boolean[p_positions.size() / 2];
+        IntStream.range( 0, l_reachable.length ).forEach( i -> l_reachable[i] = m_routing.reachable( p_grid, p_positions.get( 2 * i ), p_positions.get( 2 * i + 1 ) ) );
+
+        final IntStream l_pairs = IntStream.range( 0, l_reachable.length );
+        return ( p_parallel ? l_pairs.parallel() : l_pairs )
+            .mapToObj( i -> l_reachable[i]
+                            ? m_routing.apply( p_grid, p_positions.get( 2 * i ), p_positions.get( 2 * i + 1 ) ).collect( Collectors.toList() )
+                            : Collections.<DoubleMatrix1D>emptyList() )
+            .collect( Collectors.toList() );
+    }
+}
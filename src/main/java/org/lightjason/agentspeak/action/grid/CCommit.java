@@ -0,0 +1,93 @@
+/*
+ * @cond LICENSE
+ * ######################################################################################
+ * # LGPL License                                                                       #
+ * #                                                                                    #
+ * # This file is part of the LightJason                                                #
+ * # Copyright (c) 2015-19, LightJason (info@lightjason.org)                            #
+ * # This program is free software: you can redistribute it and/or modify               #
+ * # it under the terms of the GNU Lesser General Public License as                     #
+ * # published by the Free Software Foundation, either version 3 of the                 #
+ * # License, or (at your option) any later version.                                    #
+ * #                                                                                    #
+ * # This program is distributed in the hope that it will be useful,                    #
+ * # but WITHOUT ANY WARRANTY; without even the implied warranty of                     #
+ * # MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                      #
+ * # GNU Lesser General Public License for more details.                                #
+ * #                                                                                    #
+ * # You should have received a copy of the GNU Lesser General Public License           #
+ * # along with this program. If not, see http://www.gnu.org/licenses/                  #
+ * ######################################################################################
+ * @endcond
+ */
+
+
+package org.lightjason.agentspeak.action.grid;
+
+import org.lightjason.agentspeak.action.IBaseAction;
+import org.lightjason.agentspeak.action.grid.matrix.CTickObjectMatrix2D;
+import org.lightjason.agentspeak.common.IPath;
+import org.lightjason.agentspeak.language.CCommon;
+import org.lightjason.agentspeak.language.CRawTerm;
+import org.lightjason.agentspeak.language.ITerm;
+import org.lightjason.agentspeak.language.execution.IContext;
+import org.lightjason.agentspeak.language.fuzzy.IFuzzyValue;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+
+/**
+ * commits the writes of double-buffered grids.
+ * The action applies all buffered writes of each
+ * given grid and returns the number of changed cells,
+ * the action must be executed after all agents of
+ * the cycle and fails iif an argument is not a
+ * double-buffered grid
+ *
+ * {@code [A|B] = .grid/commit( Grid1, Grid2 )}
+ */
+public final class CCommit extends IBaseAction
+{
+    /**
+     * serial id
+     */
+    private static final long serialVersionUID = 5406264862618498021L;
+    /**
+     * action name
+     */
+    private static final IPath NAME = namebyclass( CCommit.class, "grid" );
+
+    @Nonnull
+    @Override
+    public IPath name()
+    {
+        return NAME;
+    }
+
+    @Nonnegative
+    @Override
+    public int minimalArgumentNumber()
+    {
+        return 1;
+    }
+
+    @Nonnull
+    @Override
+    public Stream<IFuzzyValue<?>> execute( final boolean p_parallel, @Nonnull final IContext p_context,
+                                           @Nonnull final List<ITerm> p_argument, @Nonnull final List<ITerm> p_return )
+    {
+        final List<Object> l_grids = CCommon.flatten( p_argument ).map( ITerm::raw ).collect( Collectors.toList() );
+        if ( !l_grids.stream().allMatch( i -> i instanceof CTickObjectMatrix2D ) )
+            return p_context.agent().fuzzy().membership().fail();
+
+        l_grids.stream()
+               .map( i -> ( (CTickObjectMatrix2D) i ).commit() )
+               .forEach( i -> p_return.add( CRawTerm.of( i ) ) );
+
+        return Stream.empty();
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * @cond LICENSE
+ * ######################################################################################
+ * # LGPL License                                                                       #
+ * #                                                                                    #
+ * # This file is part of the LightJason                                                #
+ * # Copyright (c) 2015-19, LightJason (info@lightjason.org)                            #
+ * # This program is free software: you can redistribute it and/or modify               #
+ * # it under the terms of the GNU Lesser General Public License as                     #
+ * # published by the Free Software Foundation, either version 3 of the                 #
+ * # License, or (at your option) any later version.                                    #
+ * #                                                                                    #
+ * # This program is distributed in the hope that it will be useful,                    #
+ * # but WITHOUT ANY WARRANTY; without even the implied warranty of                     #
+ * # MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                      #
+ * # GNU Lesser General Public License for more details.                                #
+ * #                                                                                    #
+ * # You should have received a copy of the GNU Lesser General Public License           #
+ * # along with this program. If not, see http://www.gnu.org/licenses/                  #
+ * ######################################################################################
+ * @endcond
+ */
+
+
+package org.lightjason.agentspeak.action.grid;
+
+import cern.colt.matrix.tobject.ObjectMatrix2D;
+import com.codepoetics.protonpack.StreamUtils;
+import org.lightjason.agentspeak.action.IBaseAction;
+import org.lightjason.agentspeak.action.grid.layer.CLayerRegistry;
+import org.lightjason.agentspeak.common.IPath;
+import org.lightjason.agentspeak.language.CCommon;
+import org.lightjason.agentspeak.language.ITerm;
+import org.lightjason.agentspeak.language.execution.IContext;
+import org.lightjason.agentspeak.language.fuzzy.IFuzzyValue;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+
+/**
+ * replaces an object within the grid iif the cell contains the expected object.
+ * The action replaces atomically the object on each given position
+ * (row, column, expected object, new object), the objects are compared
+ * by their values and the action fails iif a cell does not contain
+ * the expected object
+ *
+ * {@code .grid/compareandset( Grid, 1, 2, Expected, Object, [3, 4, Expected, Object] )}
+ */
+public final class CCompareAndSet extends IBaseAction
+{
+    /**
+     * serial id
+     */
+    private static final long serialVersionUID = 3349768805467201295L;
+    /**
+     * action name
+     */
+    private static final IPath NAME = namebyclass( CCompareAndSet.class, "grid" );
+
+    @Nonnull
+    @Override
+    public IPath name()
+    {
+        return NAME;
+    }
+
+    @Nonnegative
+    @Override
+    public int minimalArgumentNumber()
+    {
+        return 1;
+    }
+
+    @Nonnull
+    @Override
+    public Stream<IFuzzyValue<?>> execute( final boolean p_parallel, @Nonnull final IContext p_context,
+                                           @Nonnull final List<ITerm> p_argument, @Nonnull final List<ITerm> p_return )
+    {
+        final List<ITerm> l_arguments = CCommon.flatten( p_argument ).collect( Collectors.toList() );
+        final ObjectMatrix2D l_grid = l_arguments.get( 0 ).raw();
+
+        return StreamUtils.windowed(
+            l_arguments.stream().skip( 1 ),
+            4,
+            4
+        ).flatMap( i ->
+        {
+            final Object l_expected = i.get( 2 ).raw();
+            return CLayerRegistry.compareandset( l_grid, i.get( 0 ).<Number>raw().intValue(), i.get( 1 ).<Number>raw().intValue(),
+                                                 o -> Objects.equals( l_expected, value( o ) ), i.get( 3 ) )
+                   ? Stream.empty()
+                   : p_context.agent().fuzzy().membership().fail();
+        } );
+    }
+
+    /**
+     * returns the value of a cell object
+     *
+     * @param p_object cell object
+     * @return raw value of a term or the object
+     */
+    @Nullable
+    private static Object value( @Nullable final Object p_object )
+    {
+        return p_object instanceof ITerm ? ( (ITerm) p_object ).raw() : p_object;
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * @cond LICENSE
+ * ######################################################################################
+ * # LGPL License                                                                       #
+ * #                                                                                    #
+ * # This file is part of the LightJason                                                #
+ * # Copyright (c) 2015-19, LightJason (info@lightjason.org)                            #
+ * # This program is free software: you can redistribute it and/or modify               #
+ * # it under the terms of the GNU Lesser General Public License as                     #
+ * # published by the Free Software Foundation, either version 3 of the                 #
+ * # License, or (at your option) any later version.                                    #
+ * #                                                                                    #
+ * # This program is distributed in the hope that it will be useful,                    #
+ * # but WITHOUT ANY WARRANTY; without even the implied warranty of                     #
+ * # MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                      #
+ * # GNU Lesser General Public License for more details.                                #
+ * #                                                                                    #
+ * # You should have received a copy of the GNU Lesser General Public License           #
+ * # along with this program. If not, see http://www.gnu.org/licenses/                  #
+ * ######################################################################################
+ * @endcond
+ */
+
+package org.lightjason.agentspeak.action.grid;
+
+import cern.colt.matrix.tdouble.DoubleMatrix1D;
+import cern.colt.matrix.tdouble.impl.DenseDoubleMatrix1D;
+import cern.colt.matrix.tobject.ObjectMatrix2D;
+import org.lightjason.agentspeak.action.IBaseAction;
+import org.lightjason.agentspeak.action.grid.routing.CCooperativeRouting;
+import org.lightjason.agentspeak.action.grid.routing.IBaseRouting;
+import org.lightjason.agentspeak.action.grid.routing.IDistance;
+import org.lightjason.agentspeak.action.grid.routing.ISearchDirection;
+import org.lightjason.agentspeak.common.IPath;
+import org.lightjason.agentspeak.language.CCommon;
+import org.lightjason.agentspeak.language.CRawTerm;
+import org.lightjason.agentspeak.language.ITerm;
+import org.lightjason.agentspeak.language.execution.IContext;
+import org.lightjason.agentspeak.language.fuzzy.IFuzzyValue;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+
+/**
+ * calculates a cooperative route.
+ * The action plans the route of the calling agent in space-time
+ * against the reservation table of the grid and reserves the
+ * route for the next ticks, so agents which plan one after
+ * another get routes without collisions, the route contains
+ * one position for each tick starting at the current tick,
+ * waiting is a repeated position, the arguments are the grid,
+ * the start and the goal position, the ticks are advanced
+ * with the reservation tick action
+ *
+ * {@code R = .grid/cooperativeroute( Grid, [3, 3], [8, 7] )}
+ *
+ * @see <a href="https://www.aaai.org/Papers/AIIDE/2005/AIIDE05-020.pdf"></a>
+ */
+public final class CCooperativeRoute extends IBaseAction
+{
+    /**
+     * serial id
+     */
+    private static final long serialVersionUID = -2214571330840127936L;
+    /**
+     * action name
+     */
+    private static final IPath NAME = namebyclass( CCooperativeRoute.class, "grid" );
+    /**
+     * routing
+     */
+    private final CCooperativeRouting m_routing;
+
+    /**
+     * ctor
+     */
+    public CCooperativeRoute()
+    {
+        this( new CCooperativeRouting() );
+    }
+
+    /**
+     * ctor
+     *
+     * @param p_distance distance
+     * @param p_searchdirection search direction
+     */
+    public CCooperativeRoute( @Nonnull final IDistance p_distance, @Nonnull final ISearchDirection p_searchdirection )
+    {
+        this( new CCooperativeRouting( p_distance, p_searchdirection ) );
+    }
+
+    /**
+     * ctor
+     *
+     * @param p_routing cooperative routing
+     */
+    public CCooperativeRoute( @Nonnull final CCooperativeRouting p_routing )
+    {
+        m_routing = p_routing;
+    }
+
+    @Nonnull
+    @Override
+    public IPath name()
+    {
+        return NAME;
+    }
+
+    @Nonnegative
+    @Override
+    public int minimalArgumentNumber()
+    {
+        return 1;
+    }
+
+    @Nonnull
+    @Override
+    public Stream<IFuzzyValue<?>> execute( final boolean p_parallel, @Nonnull final IContext p_context,
+                                           @Nonnull final List<ITerm> p_argument, @Nonnull final List<ITerm> p_return )
+    {
+        final List<ITerm> l_arguments = CCommon.flatten( p_argument ).collect( Collectors.toList() );
+        final List<Number> l_values = l_arguments.stream().skip( 1 ).flatMap( IBaseRoutingAction::unpack ).collect( Collectors.toList() );
+        if ( l_values.size() != 4 )
+            return p_context.agent().fuzzy().membership().fail();
+
+        final ObjectMatrix2D l_grid = IBaseRouting.indexable( l_arguments.get( 0 ).raw() );
+        final List<DoubleMatrix1D> l_route = m_routing.apply(
+            l_grid,
+            p_context.agent(),
+            new DenseDoubleMatrix1D( new double[]{l_values.get( 0 ).doubleValue(), l_values.get( 1 ).doubleValue()} ),
+            new DenseDoubleMatrix1D( new double[]{l_values.get( 2 ).doubleValue(), l_values.get( 3 ).doubleValue()} )
+        ).collect( Collectors.toList() );
+
+        if ( l_route.isEmpty() )
+            return p_context.agent().fuzzy().membership().fail();
+
+        p_return.add( CRawTerm.of( l_route ) );
+        return Stream.empty();
+    }
+}
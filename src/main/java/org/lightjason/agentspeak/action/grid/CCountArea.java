@@ -0,0 +1,94 @@
+/*
+ * @cond LICENSE
+ * ######################################################################################
+ * # LGPL License                                                                       #
+ * #                                                                                    #
+ * # This file is part of the LightJason                                                #
+ * # Copyright (c) 2015-19, LightJason (info@lightjason.org)                            #
+ * # This program is free software: you can redistribute it and/or modify               #
+ * # it under the terms of the GNU Lesser General Public License as                     #
+ * # published by the Free Software Foundation, either version 3 of the                 #
+ * # License, or (at your option) any later version.                                    #
+ * #                                                                                    #
+ * # This program is distributed in the hope that it will be useful,                    #
+ * # but WITHOUT ANY WARRANTY; without even the implied warranty of                     #
+ * # MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                      #
+ * # GNU Lesser General Public License for more details.                                #
+ * #                                                                                    #
+ * # You should have received a copy of the GNU Lesser General Public License           #
+ * # along with this program. If not, see http://www.gnu.org/licenses/                  #
+ * ######################################################################################
+ * @endcond
+ */
+
+
+package org.lightjason.agentspeak.action.grid;
+
+import cern.colt.matrix.tobject.ObjectMatrix2D;
+import com.codepoetics.protonpack.StreamUtils;
+import org.lightjason.agentspeak.action.IBaseAction;
+import org.lightjason.agentspeak.action.grid.layer.COccupancyTable;
+import org.lightjason.agentspeak.common.IPath;
+import org.lightjason.agentspeak.language.CCommon;
+import org.lightjason.agentspeak.language.CRawTerm;
+import org.lightjason.agentspeak.language.ITerm;
+import org.lightjason.agentspeak.language.execution.IContext;
+import org.lightjason.agentspeak.language.fuzzy.IFuzzyValue;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+
+/**
+ * counts the occupied cells of rectangles within the grid.
+ * The action returns for each rectangle (first row, first column,
+ * last row, last column) the number of occupied cells, cells outside
+ * the grid are occupied, on the first call an occupancy table is
+ * attached to the grid, so each count
+ * needs O(log rows * log columns)
+ *
+ * {@code [A|B] = .grid/countarea( Grid, 0, 0, 4, 4, [10, 10, 14, 14] )}
+ */
+public final class CCountArea extends IBaseAction
+{
+    /**
+     * serial id
+     */
+    private static final long serialVersionUID = 6630286014617416354L;
+    /**
+     * action name
+     */
+    private static final IPath NAME = namebyclass( CCountArea.class, "grid" );
+
+    @Nonnull
+    @Override
+    public IPath name()
+    {
+        return NAME;
+    }
+
+    @Nonnegative
+    @Override
+    public int minimalArgumentNumber()
+    {
+        return 1;
+    }
+
+    @Nonnull
+    @Override
+    public Stream<IFuzzyValue<?>> execute( final boolean p_parallel, @Nonnull final IContext p_context,
+                                           @Nonnull final List<ITerm> p_argument, @Nonnull final List<ITerm> p_return )
+    {
+        final List<ITerm> l_arguments = CCommon.flatten( p_argument ).collect( Collectors.toList() );
+        final COccupancyTable l_table = COccupancyTable.attach( l_arguments.get( 0 ).<ObjectMatrix2D>raw() );
+
+        StreamUtils.windowed( l_arguments.stream().skip( 1 ).map( ITerm::<Number>raw ), 4, 4 )
+                   .map( i -> l_table.count( i.get( 0 ).intValue(), i.get( 1 ).intValue(), i.get( 2 ).intValue(), i.get( 3 ).intValue() ) )
+                   .forEach( i -> p_return.add( CRawTerm.of( i ) ) );
+
+        return Stream.empty();
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * @cond LICENSE
+ * ######################################################################################
+ * # LGPL License                                                                       #
+ * #                                                                                    #
+ * # This file is part of the LightJason                                                #
+ * # Copyright (c) 2015-19, LightJason (info@lightjason.org)                            #
+ * # This program is free software: you can redistribute it and/or modify               #
+ * # it under the terms of the GNU Lesser General Public License as                     #
+ * # published by the Free Software Foundation, either version 3 of the                 #
+ * # License, or (at your option) any later version.                                    #
+ * #                                                                                    #
+ * # This program is distributed in the hope that it will be useful,                    #
+ * # but WITHOUT ANY WARRANTY; without even the implied warranty of                     #
+ * # MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                      #
+ * # GNU Lesser General Public License for more details.                                #
+ * #                                                                                    #
+ * # You should have received a copy of the GNU Lesser General Public License           #
+ * # along with this program. If not, see http://www.gnu.org/licenses/                  #
+ * ######################################################################################
+ * @endcond
+ */
+
+package org.lightjason.agentspeak.action.grid;
+
+import org.lightjason.agentspeak.action.grid.routing.CDStarLiteRouting;
+import org.lightjason.agentspeak.action.grid.routing.EDistance;
+import org.lightjason.agentspeak.action.grid.routing.ESearchDirection;
+import org.lightjason.agentspeak.action.grid.routing.IDistance;
+import org.lightjason.agentspeak.action.grid.routing.ISearchDirection;
+import org.lightjason.agentspeak.common.IPath;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+
+
+/**
+ * calculate a route with incremental D* Lite replanning.
+ * The action keeps the search state of each goal on the grid,
+ * so a replanning after grid changes e.g. by other agents
+ * repairs only the affected part of the search, the first
+ * argument is the grid, the second argument is the start
+ * position and the last argument is the goal position, all
+ * other arguments are intermediate goal, arguments can be
+ * numerical pairs or lists or blas vectors
+ *
+ * {@code L = .grid/dstarlite(Grid, 3,3, [1,1, 8,7])}
+ *
+ * @see <a href="http://idm-lab.org/bib/abstracts/papers/aaai02b.pdf"></a>
+ */
+public final class CDStarLite extends IBaseRoutingAction
+{
+    /**
+     * serial id
+     */
+    private static final long serialVersionUID = -4405236171390592237L;
+    /**
+     * action name
+     */
+    private static final IPath NAME = namebyclass( CDStarLite.class, "grid" );
+
+    /**
+     * ctor
+     */
+    public CDStarLite()
+    {
+        this( EDistance.MANHATTAN, ESearchDirection.NEVER );
+    }
+
+    /**
+     * ctor
+     *
+     * @param p_distance distance
+     */
+    public CDStarLite( @Nonnull final IDistance p_distance )
+    {
+        this( p_distance, ESearchDirection.NEVER );
+    }
+
+    /**
+     * ctor
+     *
+     * @param p_distance distance
+     * @param p_searchdirection search direction
+     */
+    public CDStarLite( @Nonnull final IDistance p_distance, @Nonnull final ISearchDirection p_searchdirection )
+    {
+        this( new CDStarLiteRouting( p_distance, p_searchdirection ) );
+    }
+
+    /**
+     * ctor
+     *
+     * @param p_routing D* Lite routing
+     */
+    public CDStarLite( @Nonnull final CDStarLiteRouting p_routing )
+    {
+        super( p_routing );
+    }
+
+    /**
+     * ctor
+     *
+     * @param p_routing D* Lite routing
+     * @param p_reachable reachable check of the goals before the routing
+     */
+    public CDStarLite( @Nonnull final CDStarLiteRouting p_routing, final boolean p_reachable )
+    {
+        super( p_routing, p_reachable );
+    }
+
+    @Nonnull
+    @Override
+    public IPath name()
+    {
+        return NAME;
+    }
+
+    @Nonnegative
+    @Override
+    public int minimalArgumentNumber()
+    {
+        return 1;
+    }
+
+}
@@ -0,0 +1,112 @@
+/*
+ * @cond LICENSE
+ * ######################################################################################
+ * # LGPL License                                                                       #
+ * #                                                                                    #
+ * # This file is part of the LightJason                                                #
+ * # Copyright (c) 2015-19, LightJason (info@lightjason.org)                            #
+ * # This program is free software: you can redistribute it and/or modify               #
+ * # it under the terms of the GNU Lesser General Public License as                     #
+ * # published by the Free Software Foundation, either version 3 of the                 #
+ * # License, or (at your option) any later version.                                    #
+ * #                                                                                    #
+ * # This program is distributed in the hope that it will be useful,                    #
+ * # but WITHOUT ANY WARRANTY; without even the implied warranty of                     #
+ * # MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                      #
+ * # GNU Lesser General Public License for more details.                                #
+ * #                                                                                    #
+ * # You should have received a copy of the GNU Lesser General Public License           #
+ * # along with this program. If not, see http://www.gnu.org/licenses/                  #
+ * ######################################################################################
+ * @endcond
+ */
+
+package org.lightjason.agentspeak.action.grid;
+
+import cern.colt.matrix.tdouble.DoubleMatrix1D;
+import org.lightjason.agentspeak.action.IBaseAction;
+import org.lightjason.agentspeak.action.grid.routing.ERouteStatus;
+import org.lightjason.agentspeak.common.IPath;
+import org.lightjason.agentspeak.error.CRuntimeException;
+import org.lightjason.agentspeak.language.CCommon;
+import org.lightjason.agentspeak.language.CRawTerm;
+import org.lightjason.agentspeak.language.ITerm;
+import org.lightjason.agentspeak.language.execution.IContext;
+import org.lightjason.agentspeak.language.fuzzy.IFuzzyValue;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+
+/**
+ * fetches an asynchronous route.
+ * The action returns the route of a future, which
+ * is created by the asynchronous route action, the
+ * action does not block and fails quietly while the
+ * route is not completed or if no route exists, the
+ * status can be read with the route status action, an
+ * error of the routing is thrown by the action
+ *
+ * {@code R = .grid/fetchroute( F )}
+ */
+public final class CFetchRoute extends IBaseAction
+{
+    /**
+     * serial id
+     */
+    private static final long serialVersionUID = 8372018640651337457L;
+    /**
+     * action name
+     */
+    private static final IPath NAME = namebyclass( CFetchRoute.class, "grid" );
+
+    @Nonnull
+    @Override
+    public IPath name()
+    {
+        return NAME;
+    }
+
+    @Nonnegative
+    @Override
+    public int minimalArgumentNumber()
+    {
+        return 1;
+    }
+
+    @Nonnull
+    @Override
+    public Stream<IFuzzyValue<?>> execute( final boolean p_parallel, @Nonnull final IContext p_context,
+                                           @Nonnull final List<ITerm> p_argument, @Nonnull final List<ITerm> p_return )
+    {
+        final List<ITerm> l_arguments = CCommon.flatten( p_argument ).collect( Collectors.toList() );
+        if ( !CCommon.isssignableto( l_arguments.get( 0 ), CompletableFuture.class ) )
+            return p_context.agent().fuzzy().membership().fail();
+
+        final CompletableFuture<List<DoubleMatrix1D>> l_future = l_arguments.get( 0 ).raw();
+        final ERouteStatus l_status = ERouteStatus.of( l_future );
+        if ( l_status == ERouteStatus.PENDING || l_status == ERouteStatus.UNREACHABLE )
+            return p_context.agent().fuzzy().membership().fail();
+
+        try
+        {
+            p_return.add( CRawTerm.of( l_future.join() ) );
+            return Stream.empty();
+        }
+        catch ( final CompletionException l_exception )
+        {
+            throw new CRuntimeException( Objects.isNull( l_exception.getCause() ) ? l_exception : l_exception.getCause() );
+        }
+        catch ( final CancellationException l_exception )
+        {
+            throw new CRuntimeException( l_exception );
+        }
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * @cond LICENSE
+ * ######################################################################################
+ * # LGPL License                                                                       #
+ * #                                                                                    #
+ * # This file is part of the LightJason                                                #
+ * # Copyright (c) 2015-19, LightJason (info@lightjason.org)                            #
+ * # This program is free software: you can redistribute it and/or modify               #
+ * # it under the terms of the GNU Lesser General Public License as                     #
+ * # published by the Free Software Foundation, either version 3 of the                 #
+ * # License, or (at your option) any later version.                                    #
+ * #                                                                                    #
+ * # This program is distributed in the hope that it will be useful,                    #
+ * # but WITHOUT ANY WARRANTY; without even the implied warranty of                     #
+ * # MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                      #
+ * # GNU Lesser General Public License for more details.                                #
+ * #                                                                                    #
+ * # You should have received a copy of the GNU Lesser General Public License           #
+ * # along with this program. If not, see http://www.gnu.org/licenses/                  #
+ * ######################################################################################
+ * @endcond
+ */
+
+package org.lightjason.agentspeak.action.grid;
+
+import cern.colt.matrix.tobject.ObjectMatrix2D;
+import com.codepoetics.protonpack.StreamUtils;
+import org.lightjason.agentspeak.action.IBaseAction;
+import org.lightjason.agentspeak.action.grid.routing.CCell;
+import org.lightjason.agentspeak.action.grid.visibility.CFieldOfViewCache;
+import org.lightjason.agentspeak.common.IPath;
+import org.lightjason.agentspeak.language.CCommon;
+import org.lightjason.agentspeak.language.CRawTerm;
+import org.lightjason.agentspeak.language.ITerm;
+import org.lightjason.agentspeak.language.execution.IContext;
+import org.lightjason.agentspeak.language.fuzzy.IFuzzyValue;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+
+/**
+ * returns the visible objects around an observer.
+ * The action returns for each field of view (row, column, radius)
+ * a list with the position and the object of each visible
+ * non-empty cell, the visibility is calculated with recursive
+ * shadowcasting and is cached until the grid is changed,
+ * positions can be numbers or vectors
+ *
+ * {@code [A|B] = .grid/fieldofview( Grid, 5, 5, 3, [Position, 7.5] )}
+ */
+public final class CFieldOfView extends IBaseAction
+{
+    /**
+     * serial id
+     */
+    private static final long serialVersionUID = -6410829743208745716L;
+    /**
+     * action name
+     */
+    private static final IPath NAME = namebyclass( CFieldOfView.class, "grid" );
+
+    @Nonnull
+    @Override
+    public IPath name()
+    {
+        return NAME;
+    }
+
+    @Nonnegative
+    @Override
+    public int minimalArgumentNumber()
+    {
+        return 1;
+    }
+
+    @Nonnull
+    @Override
+    public Stream<IFuzzyValue<?>> execute( final boolean p_parallel, @Nonnull final IContext p_context,
+                                           @Nonnull final List<ITerm> p_argument, @Nonnull final List<ITerm> p_return )
+    {
+        final List<ITerm> l_arguments = CCommon.flatten( p_argument ).collect( Collectors.toList() );
+        final List<Number> l_values = l_arguments.stream().skip( 1 ).flatMap( IBaseRoutingAction::unpack ).collect( Collectors.toList() );
+        if ( l_values.isEmpty() || l_values.size() % 3 != 0 )
+            return p_context.agent().fuzzy().membership().fail();
+
+        final ObjectMatrix2D l_grid = l_arguments.get( 0 ).raw();
+        final CFieldOfViewCache l_cache = CFieldOfViewCache.attach( l_grid );
+        final List<List<Number>> l_views = StreamUtils.windowed( l_values.stream(), 3, 3 ).collect( Collectors.toList() );
+
+        p_return.addAll(
+            ( p_parallel ? l_views.parallelStream() : l_views.stream() )
+                .map( i -> Arrays.stream( l_cache.visible( l_grid, i.get( 0 ).intValue(), i.get( 1 ).intValue(), i.get( 2 ).doubleValue() ) )
+                                 .mapToObj( j -> visible( l_grid, j ) )
+                                 .collect( Collectors.toList() ) )
+                .map( CRawTerm::of )
+                .collect( Collectors.toList() )
+        );
+
+        return Stream.empty();
+    }
+
+    /**
+     * builds the term of a visible cell
+     *
+     * @param p_grid grid
+     * @param p_cell packed cell
+     * @return list term with position and object
+     */
+    @Nonnull
+    private static ITerm visible( @Nonnull final ObjectMatrix2D p_grid, final long p_cell )
+    {
+        final Object l_object = p_grid.getQuick( CCell.row( p_cell ), CCell.column( p_cell ) );
+        return CRawTerm.of( Arrays.asList( CRawTerm.of( CCell.position( p_cell ) ), l_object instanceof ITerm ? (ITerm) l_object : CRawTerm.of( l_object ) ) );
+    }
+}
@@ -0,0 +1,175 @@
+/*
+ * @cond LICENSE
+ * ######################################################################################
+ * # LGPL License                                                                       #
+ * #                                                                                    #
+ * # This file is part of the LightJason                                                #
+ * # Copyright (c) 2015-19, LightJason (info@lightjason.org)                            #
+ * # This program is free software: you can redistribute it and/or modify               #
+ * # it under the terms of the GNU Lesser General Public License as                     #
+ * # published by the Free Software Foundation, either version 3 of the                 #
+ * # License, or (at your option) any later version.                                    #
+ * #                                                                                    #
+ * # This program is distributed in the hope that it will be useful,                    #
+ * # but WITHOUT ANY WARRANTY; without even the implied warranty of                     #
+ * # MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                      #
+ * # GNU Lesser General Public License for more details.                                #
+ * #                                                                                    #
+ * # You should have received a copy of the GNU Lesser General Public License           #
+ * # along with this program. If not, see http://www.gnu.org/licenses/                  #
+ * ######################################################################################
+ * @endcond
+ */
+
+package org.lightjason.agentspeak.action.grid;
+
+import cern.colt.matrix.tdouble.DoubleMatrix1D;
+import cern.colt.matrix.tobject.ObjectMatrix2D;
+import com.codepoetics.protonpack.StreamUtils;
+import org.lightjason.agentspeak.action.IBaseAction;
+import org.lightjason.agentspeak.action.grid.routing.CFlowField;
+import org.lightjason.agentspeak.action.grid.routing.CFlowFieldRouting;
+import org.lightjason.agentspeak.action.grid.routing.EDirection;
+import org.lightjason.agentspeak.action.grid.routing.EDistance;
+import org.lightjason.agentspeak.action.grid.routing.ESearchDirection;
+import org.lightjason.agentspeak.action.grid.routing.IBaseRouting;
+import org.lightjason.agentspeak.action.grid.routing.IDirection;
+import org.lightjason.agentspeak.action.grid.routing.IDistance;
+import org.lightjason.agentspeak.action.grid.routing.ISearchDirection;
+import org.lightjason.agentspeak.common.IPath;
+import org.lightjason.agentspeak.language.CCommon;
+import org.lightjason.agentspeak.language.CRawTerm;
+import org.lightjason.agentspeak.language.ITerm;
+import org.lightjason.agentspeak.language.execution.IContext;
+import org.lightjason.agentspeak.language.fuzzy.IFuzzyValue;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+
+/**
+ * returns the next step to a goal with a flow field.
+ * The action reads the next position of each start
+ * position from the cached flow field of the goal,
+ * the first argument is the grid, the second argument is
+ * the goal position and all other arguments are start
+ * positions, arguments can be numerical pairs or lists or
+ * blas vectors, the action fails if the goal is not
+ * reachable from a start position
+ *
+ * {@code [A|B] = .grid/flowstep(Grid, 8,7, [1,1, 3,3])}
+ *
+ * @see <a href="https://www.redblobgames.com/pathfinding/tower-defense/"></a>
+ */
+public final class CFlowStep extends IBaseAction
+{
+    /**
+     * serial id
+     */
+    private static final long serialVersionUID = 3875113540063870633L;
+    /**
+     * action name
+     */
+    private static final IPath NAME = namebyclass( CFlowStep.class, "grid" );
+    /**
+     * flow field routing
+     */
+    private final CFlowFieldRouting m_routing;
+
+    /**
+     * ctor
+     */
+    public CFlowStep()
+    {
+        this( EDistance.MANHATTAN, ESearchDirection.NEVER );
+    }
+
+    /**
+     * ctor
+     *
+     * @param p_distance distance
+     */
+    public CFlowStep( @Nonnull final IDistance p_distance )
+    {
+        this( p_distance, ESearchDirection.NEVER );
+    }
+
+    /**
+     * ctor
+     *
+     * @param p_distance distance
+     * @param p_searchdirection search direction
+     */
+    public CFlowStep( @Nonnull final IDistance p_distance, @Nonnull final ISearchDirection p_searchdirection )
+    {
+        this( new CFlowFieldRouting( p_distance, p_searchdirection ) );
+    }
+
+    /**
+     * ctor
+     *
+     * @param p_routing flow field routing
+     */
+    public CFlowStep( @Nonnull final CFlowFieldRouting p_routing )
+    {
+        m_routing = p_routing;
+    }
+
+    @Nonnull
+    @Override
+    public IPath name()
+    {
+        return NAME;
+    }
+
+    @Nonnegative
+    @Override
+    public int minimalArgumentNumber()
+    {
+        return 1;
+    }
+
+    @Nonnull
+    @Override
+    public Stream<IFuzzyValue<?>> execute( final boolean p_parallel, @Nonnull final IContext p_context,
+                                           @Nonnull final List<ITerm> p_argument, @Nonnull final List<ITerm> p_return )
+    {
+        final List<ITerm> l_arguments = CCommon.flatten( p_argument ).collect( Collectors.toList() );
+
+        final AtomicInteger l_group = new AtomicInteger();
+        final List<DoubleMatrix1D> l_positions = StreamUtils.windowed(
+            l_arguments.stream()
+                       .skip( 1 )
+                       .flatMap( IBaseRoutingAction::unpack ),
+            2
+        ).flatMap( i -> IBaseRoutingAction.pack( i.get( 0 ), i.get( 1 ), l_group ) ).collect( Collectors.toList() );
+
+        // goal and at least one start position must exist
+        if ( l_positions.size() < 2 )
+            return p_context.agent().fuzzy().membership().fail();
+
+        final ObjectMatrix2D l_grid = IBaseRouting.indexable( l_arguments.get( 0 ).raw() );
+        final DoubleMatrix1D l_goal = l_positions.get( 0 );
+        if ( l_goal.getQuick( 0 ) < 0 || l_goal.getQuick( 0 ) >= l_grid.rows() || l_goal.getQuick( 1 ) < 0 || l_goal.getQuick( 1 ) >= l_grid.columns() )
+            return p_context.agent().fuzzy().membership().fail();
+
+        final CFlowField l_field = m_routing.field( l_grid, (int) l_goal.getQuick( 0 ), (int) l_goal.getQuick( 1 ) );
+        final List<EDirection> l_directions = l_positions.stream()
+                                                         .skip( 1 )
+                                                         .map( i -> l_field.direction( (int) i.getQuick( 0 ), (int) i.getQuick( 1 ) ) )
+                                                         .collect( Collectors.toList() );
+        if ( l_directions.stream().anyMatch( Objects::isNull ) )
+            return p_context.agent().fuzzy().membership().fail();
+
+        StreamUtils.zip( l_directions.stream(), l_positions.stream().skip( 1 ), IDirection::apply )
+                   .map( CRawTerm::of )
+                   .forEach( p_return::add );
+
+        return Stream.empty();
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * @cond LICENSE
+ * ######################################################################################
+ * # LGPL License                                                                       #
+ * #                                                                                    #
+ * # This file is part of the LightJason                                                #
+ * # Copyright (c) 2015-19, LightJason (info@lightjason.org)                            #
+ * # This program is free software: you can redistribute it and/or modify               #
+ * # it under the terms of the GNU Lesser General Public License as                     #
+ * # published by the Free Software Foundation, either version 3 of the                 #
+ * # License, or (at your option) any later version.                                    #
+ * #                                                                                    #
+ * # This program is distributed in the hope that it will be useful,                    #
+ * # but WITHOUT ANY WARRANTY; without even the implied warranty of                     #
+ * # MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                      #
+ * # GNU Lesser General Public License for more details.                                #
+ * #                                                                                    #
+ * # You should have received a copy of the GNU Lesser General Public License           #
+ * # along with this program. If not, see http://www.gnu.org/licenses/                  #
+ * ######################################################################################
+ * @endcond
+ */
+
+
+package org.lightjason.agentspeak.action.grid;
+
+import cern.colt.matrix.tdouble.impl.DenseDoubleMatrix1D;
+import com.codepoetics.protonpack.StreamUtils;
+import org.lightjason.agentspeak.action.IBaseAction;
+import org.lightjason.agentspeak.action.grid.matrix.CTiledObjectMatrix2D;
+import org.lightjason.agentspeak.action.grid.routing.CCell;
+import org.lightjason.agentspeak.common.IPath;
+import org.lightjason.agentspeak.language.CCommon;
+import org.lightjason.agentspeak.language.CRawTerm;
+import org.lightjason.agentspeak.language.ITerm;
+import org.lightjason.agentspeak.language.execution.IContext;
+import org.lightjason.agentspeak.language.fuzzy.IFuzzyValue;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+
+/**
+ * grows a tiled grid.
+ * The action grows the grid, so that all positions,
+ * which can be negative, are within the grid, on growing
+ * into negative coordinates all cells are moved, so the
+ * action returns the movement of all cells as vector,
+ * the positions are given in the coordinates before
+ * the call, the attached layers are rebuilt for the
+ * new extent, the action fails iif the grid is not
+ * a tiled grid
+ *
+ * {@code Movement = .grid/grow( Grid, -3, 5, [70, 2] )}
+ */
+public final class CGrow extends IBaseAction
+{
+    /**
+     * serial id
+     */
+    private static final long serialVersionUID = -6148370021927325719L;
+    /**
+     * action name
+     */
+    private static final IPath NAME = namebyclass( CGrow.class, "grid" );
+
+    @Nonnull
+    @Override
+    public IPath name()
+    {
+        return NAME;
+    }
+
+    @Nonnegative
+    @Override
+    public int minimalArgumentNumber()
+    {
+        return 1;
+    }
+
+    @Nonnull
+    @Override
+    public Stream<IFuzzyValue<?>> execute( final boolean p_parallel, @Nonnull final IContext p_context,
+                                           @Nonnull final List<ITerm> p_argument, @Nonnull final List<ITerm> p_return )
+    {
+        final List<ITerm> l_arguments = CCommon.flatten( p_argument ).collect( Collectors.toList() );
+        if ( !( l_arguments.get( 0 ).raw() instanceof CTiledObjectMatrix2D ) )
+            return p_context.agent().fuzzy().membership().fail();
+
+        final CTiledObjectMatrix2D l_grid = l_arguments.get( 0 ).raw();
+
+        // each growth moves the following positions, so the movements are summed up
+        final int[] l_movement = new int[2];
+        StreamUtils.windowed( l_arguments.stream().skip( 1 ), 2, 2 ).forEach( i ->
+        {
+            final long l_shift = l_grid.ensure(
+                i.get( 0 ).<Number>raw().intValue() + l_movement[0],
+                i.get( 1 ).<Number>raw().intValue() + l_movement[1]
+            );
+            l_movement[0] += CCell.row( l_shift );
+            l_movement[1] += CCell.column( l_shift );
+        } );
+
+        p_return.add( CRawTerm.of( new DenseDoubleMatrix1D( new double[]{l_movement[0], l_movement[1]} ) ) );
+        return Stream.empty();
+    }
+}
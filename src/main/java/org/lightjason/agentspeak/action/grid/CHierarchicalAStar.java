@@ -0,0 +1,117 @@
+/*
+ * @cond LICENSE
+ * ######################################################################################
+ * # LGPL License                                                                       #
+ * #                                                                                    #
+ * # This file is part of the LightJason                                                #
+ * # Copyright (c) 2015-19, LightJason (info@lightjason.org)                            #
+ * # This program is free software: you can redistribute it and/or modify               #
+ * # it under the terms of the GNU Lesser General Public License as                     #
+ * # published by the Free Software Foundation, either version 3 of the                 #
+ * # License, or (at your option) any later version.                                    #
+ * #                                                                                    #
+ * # This program is distributed in the hope that it will be useful,                    #
+ * # but WITHOUT ANY WARRANTY; without even the implied warranty of                     #
+ * # MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                      #
+ * # GNU Lesser General Public License for more details.                                #
+ * #                                                                                    #
+ * # You should have received a copy of the GNU Lesser General Public License           #
+ * # along with this program. If not, see http://www.gnu.org/licenses/                  #
+ * ######################################################################################
+ * @endcond
+ */
+
+package org.lightjason.agentspeak.action.grid;
+
+import org.lightjason.agentspeak.action.grid.routing.CHierarchicalRouting;
+import org.lightjason.agentspeak.action.grid.routing.EDistance;
+import org.lightjason.agentspeak.action.grid.routing.ESearchDirection;
+import org.lightjason.agentspeak.action.grid.routing.IDistance;
+import org.lightjason.agentspeak.action.grid.routing.ISearchDirection;
+import org.lightjason.agentspeak.common.IPath;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+
+
+/**
+ * calculate a route with hierarchical a-star routing.
+ * The action calls a route based on the hierarchical a-star
+ * algorithm (HPA*), the first argument is the grid, the second
+ * argument is the start position and the last argument is the
+ * goal position, all other arguments are intermediate goal,
+ * arguments can be numerical pairs or lists or blas vectors,
+ * the cluster abstraction is cached for each grid, so the
+ * action should be used for long routes on large grids
+ *
+ * {@code L = .grid/hierarchicalastar(Grid, 3,3, [1,1, 800,700])}
+ *
+ * @see <a href="https://webdocs.cs.ualberta.ca/~mmueller/ps/hpastar.pdf"></a>
+ */
+public final class CHierarchicalAStar extends IBaseRoutingAction
+{
+    /**
+     * serial id
+     */
+    private static final long serialVersionUID = 5012493870275466395L;
+    /**
+     * action name
+     */
+    private static final IPath NAME = namebyclass( CHierarchicalAStar.class, "grid" );
+
+    /**
+     * ctor
+     */
+    public CHierarchicalAStar()
+    {
+        this( EDistance.MANHATTAN, ESearchDirection.NEVER, CHierarchicalRouting.CLUSTERSIZE );
+    }
+
+    /**
+     * ctor
+     *
+     * @param p_distance distance
+     */
+    public CHierarchicalAStar( @Nonnull final IDistance p_distance )
+    {
+        this( p_distance, ESearchDirection.NEVER, CHierarchicalRouting.CLUSTERSIZE );
+    }
+
+    /**
+     * ctor
+     *
+     * @param p_distance distance
+     * @param p_searchdirection search direction
+     */
+    public CHierarchicalAStar( @Nonnull final IDistance p_distance, @Nonnull final ISearchDirection p_searchdirection )
+    {
+        this( p_distance, p_searchdirection, CHierarchicalRouting.CLUSTERSIZE );
+    }
+
+    /**
+     * ctor
+     *
+     * @param p_distance distance
+     * @param p_searchdirection search direction
+     * @param p_clustersize number of rows and columns of a cluster
+     */
+    public CHierarchicalAStar( @Nonnull final IDistance p_distance, @Nonnull final ISearchDirection p_searchdirection, @Nonnull final Number p_clustersize )
+    {
+        super( new CHierarchicalRouting( p_distance, p_searchdirection, p_clustersize ) );
+    }
+
+    @Nonnull
+    @Override
+    public IPath name()
+    {
+        return NAME;
+    }
+
+    @Nonnegative
+    @Override
+    public int minimalArgumentNumber()
+    {
+        return 1;
+    }
+
+}
@@ -0,0 +1,95 @@
+/*
+ * @cond LICENSE
+ * ######################################################################################
+ * # LGPL License                                                                       #
+ * #                                                                                    #
+ * # This file is part of the LightJason                                                #
+ * # Copyright (c) 2015-19, LightJason (info@lightjason.org)                            #
+ * # This program is free software: you can redistribute it and/or modify               #
+ * # it under the terms of the GNU Lesser General Public License as                     #
+ * # published by the Free Software Foundation, either version 3 of the                 #
+ * # License, or (at your option) any later version.                                    #
+ * #                                                                                    #
+ * # This program is distributed in the hope that it will be useful,                    #
+ * # but WITHOUT ANY WARRANTY; without even the implied warranty of                     #
+ * # MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                      #
+ * # GNU Lesser General Public License for more details.                                #
+ * #                                                                                    #
+ * # You should have received a copy of the GNU Lesser General Public License           #
+ * # along with this program. If not, see http://www.gnu.org/licenses/                  #
+ * ######################################################################################
+ * @endcond
+ */
+
+
+package org.lightjason.agentspeak.action.grid;
+
+import cern.colt.matrix.tobject.ObjectMatrix2D;
+import com.codepoetics.protonpack.StreamUtils;
+import org.lightjason.agentspeak.action.IBaseAction;
+import org.lightjason.agentspeak.action.grid.layer.COccupancyTable;
+import org.lightjason.agentspeak.common.IPath;
+import org.lightjason.agentspeak.language.CCommon;
+import org.lightjason.agentspeak.language.CRawTerm;
+import org.lightjason.agentspeak.language.ITerm;
+import org.lightjason.agentspeak.language.execution.IContext;
+import org.lightjason.agentspeak.language.fuzzy.IFuzzyValue;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+
+/**
+ * checks if rectangles within the grid are empty.
+ * The action checks for each rectangle (first row, first column,
+ * last row, last column) if all cells are empty, cells outside
+ * the grid are occupied, on the first call an occupancy table
+ * is attached to the grid, so each
+ * check needs O(log rows * log columns) instead of a check
+ * of each cell
+ *
+ * {@code [A|B] = .grid/isemptyarea( Grid, 0, 0, 4, 4, [10, 10, 14, 14] )}
+ */
+public final class CIsEmptyArea extends IBaseAction
+{
+    /**
+     * serial id
+     */
+    private static final long serialVersionUID = -4428839064911630735L;
+    /**
+     * action name
+     */
+    private static final IPath NAME = namebyclass( CIsEmptyArea.class, "grid" );
+
+    @Nonnull
+    @Override
+    public IPath name()
+    {
+        return NAME;
+    }
+
+    @Nonnegative
+    @Override
+    public int minimalArgumentNumber()
+    {
+        return 1;
+    }
+
+    @Nonnull
+    @Override
+    public Stream<IFuzzyValue<?>> execute( final boolean p_parallel, @Nonnull final IContext p_context,
+                                           @Nonnull final List<ITerm> p_argument, @Nonnull final List<ITerm> p_return )
+    {
+        final List<ITerm> l_arguments = CCommon.flatten( p_argument ).collect( Collectors.toList() );
+        final COccupancyTable l_table = COccupancyTable.attach( l_arguments.get( 0 ).<ObjectMatrix2D>raw() );
+
+        StreamUtils.windowed( l_arguments.stream().skip( 1 ).map( ITerm::<Number>raw ), 4, 4 )
+                   .map( i -> l_table.empty( i.get( 0 ).intValue(), i.get( 1 ).intValue(), i.get( 2 ).intValue(), i.get( 3 ).intValue() ) )
+                   .forEach( i -> p_return.add( CRawTerm.of( i ) ) );
+
+        return Stream.empty();
+    }
+}
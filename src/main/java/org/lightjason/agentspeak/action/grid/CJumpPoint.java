@@ -0,0 +1,122 @@
+/*
+ * @cond LICENSE
+ * ######################################################################################
+ * # LGPL License                                                                       #
+ * #                                                                                    #
+ * # This file is part of the LightJason                                                #
+ * # Copyright (c) 2015-19, LightJason (info@lightjason.org)                            #
+ * # This program is free software: you can redistribute it and/or modify               #
+ * # it under the terms of the GNU Lesser General Public License as                     #
+ * # published by the Free Software Foundation, either version 3 of the                 #
+ * # License, or (at your option) any later version.                                    #
+ * #                                                                                    #
+ * # This program is distributed in the hope that it will be useful,                    #
+ * # but WITHOUT ANY WARRANTY; without even the implied warranty of                     #
+ * # MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                      #
+ * # GNU Lesser General Public License for more details.                                #
+ * #                                                                                    #
+ * # You should have received a copy of the GNU Lesser General Public License           #
+ * # along with this program. If not, see http://www.gnu.org/licenses/                  #
+ * ######################################################################################
+ * @endcond
+ */
+
+package org.lightjason.agentspeak.action.grid;
+
+import org.lightjason.agentspeak.action.grid.routing.CJumpPointPlusRouting;
+import org.lightjason.agentspeak.action.grid.routing.CJumpPointRouting;
+import org.lightjason.agentspeak.action.grid.routing.EDistance;
+import org.lightjason.agentspeak.action.grid.routing.ESearchDirection;
+import org.lightjason.agentspeak.action.grid.routing.IDistance;
+import org.lightjason.agentspeak.action.grid.routing.ISearchDirection;
+import org.lightjason.agentspeak.common.IPath;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+
+
+/**
+ * calculate a route with jump point search.
+ * The action calls a route based on the jump point search
+ * on uniform-cost grids, the first argument is the grid, the
+ * second argument is the start position and the last argument
+ * is the goal position, all other arguments are intermediate goal,
+ * arguments can be numerical pairs or lists or blas vectors,
+ * with the precomputed option the jump distances are stored
+ * for each grid and rebuilt after a grid change (JPS+)
+ *
+ * {@code L = .grid/jumppoint(Grid, 3,3, [1,1, 8,7])}
+ *
+ * @see <a href="https://harablog.wordpress.com/2011/09/07/jump-point-search/"></a>
+ */
+public final class CJumpPoint extends IBaseRoutingAction
+{
+    /**
+     * serial id
+     */
+    private static final long serialVersionUID = -1948626306387043470L;
+    /**
+     * action name
+     */
+    private static final IPath NAME = namebyclass( CJumpPoint.class, "grid" );
+
+    /**
+     * ctor
+     */
+    public CJumpPoint()
+    {
+        this( EDistance.MANHATTAN, ESearchDirection.NEVER, false );
+    }
+
+    /**
+     * ctor
+     *
+     * @param p_distance distance
+     */
+    public CJumpPoint( @Nonnull final IDistance p_distance )
+    {
+        this( p_distance, ESearchDirection.NEVER, false );
+    }
+
+    /**
+     * ctor
+     *
+     * @param p_distance distance
+     * @param p_searchdirection search direction
+     */
+    public CJumpPoint( @Nonnull final IDistance p_distance, @Nonnull final ISearchDirection p_searchdirection )
+    {
+        this( p_distance, p_searchdirection, false );
+    }
+
+    /**
+     * ctor
+     *
+     * @param p_distance distance
+     * @param p_searchdirection search direction
+     * @param p_precomputed use precomputed jump distances
+     */
+    public CJumpPoint( @Nonnull final IDistance p_distance, @Nonnull final ISearchDirection p_searchdirection, final boolean p_precomputed )
+    {
+        super(
+            p_precomputed
+            ? new CJumpPointPlusRouting( p_distance, p_searchdirection )
+            : new CJumpPointRouting( p_distance, p_searchdirection )
+        );
+    }
+
+    @Nonnull
+    @Override
+    public IPath name()
+    {
+        return NAME;
+    }
+
+    @Nonnegative
+    @Override
+    public int minimalArgumentNumber()
+    {
+        return 1;
+    }
+
+}
@@ -0,0 +1,69 @@
+/*
+ * @cond LICENSE
+ * ######################################################################################
+ * # LGPL License                                                                       #
+ * #                                                                                    #
+ * # This file is part of the LightJason                                                #
+ * # Copyright (c) 2015-19, LightJason (info@lightjason.org)                            #
+ * # This program is free software: you can redistribute it and/or modify               #
+ * # it under the terms of the GNU Lesser General Public License as                     #
+ * # published by the Free Software Foundation, either version 3 of the                 #
+ * # License, or (at your option) any later version.                                    #
+ * #                                                                                    #
+ * # This program is distributed in the hope that it will be useful,                    #
+ * # but WITHOUT ANY WARRANTY; without even the implied warranty of                     #
+ * # MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                      #
+ * # GNU Lesser General Public License for more details.                                #
+ * #                                                                                    #
+ * # You should have received a copy of the GNU Lesser General Public License           #
+ * # along with this program. If not, see http://www.gnu.org/licenses/                  #
+ * ######################################################################################
+ * @endcond
+ */
+
+
+package org.lightjason.agentspeak.action.grid;
+
+import cern.colt.matrix.tobject.ObjectMatrix2D;
+import org.lightjason.agentspeak.action.grid.visibility.CLineTraversal;
+import org.lightjason.agentspeak.common.IPath;
+import org.lightjason.agentspeak.language.CRawTerm;
+import org.lightjason.agentspeak.language.ITerm;
+
+import javax.annotation.Nonnull;
+
+
+/**
+ * checks the line of sight between an observer and targets.
+ * The action returns for each target a boolean, which is true
+ * iif no non-empty cell is between the observer and the
+ * target, the line is traversed exactly on the grid cells
+ * and the walkability bitmap is used if it exists
+ *
+ * {@code [A|B] = .grid/lineofsight( Grid, 3, 3, 8, 7, [1, 9] )}
+ */
+public final class CLineOfSight extends IBaseVisibilityAction
+{
+    /**
+     * serial id
+     */
+    private static final long serialVersionUID = -5326214532302473396L;
+    /**
+     * action name
+     */
+    private static final IPath NAME = namebyclass( CLineOfSight.class, "grid" );
+
+    @Nonnull
+    @Override
+    public IPath name()
+    {
+        return NAME;
+    }
+
+    @Nonnull
+    @Override
+    protected ITerm apply( @Nonnull final ObjectMatrix2D p_grid, final int p_row, final int p_column, final int p_targetrow, final int p_targetcolumn )
+    {
+        return CRawTerm.of( CLineTraversal.visible( p_grid, p_row, p_column, p_targetrow, p_targetcolumn ) );
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * @cond LICENSE
+ * ######################################################################################
+ * # LGPL License                                                                       #
+ * #                                                                                    #
+ * # This file is part of the LightJason                                                #
+ * # Copyright (c) 2015-19, LightJason (info@lightjason.org)                            #
+ * # This program is free software: you can redistribute it and/or modify               #
+ * # it under the terms of the GNU Lesser General Public License as                     #
+ * # published by the Free Software Foundation, either version 3 of the                 #
+ * # License, or (at your option) any later version.                                    #
+ * #                                                                                    #
+ * # This program is distributed in the hope that it will be useful,                    #
+ * # but WITHOUT ANY WARRANTY; without even the implied warranty of                     #
+ * # MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                      #
+ * # GNU Lesser General Public License for more details.                                #
+ * #                                                                                    #
+ * # You should have received a copy of the GNU Lesser General Public License           #
+ * # along with this program. If not, see http://www.gnu.org/licenses/                  #
+ * ######################################################################################
+ * @endcond
+ */
+
+package org.lightjason.agentspeak.action.grid;
+
+import com.codepoetics.protonpack.StreamUtils;
+import org.lightjason.agentspeak.action.IBaseAction;
+import org.lightjason.agentspeak.action.grid.matrix.CMappedObjectMatrix2D;
+import org.lightjason.agentspeak.common.IPath;
+import org.lightjason.agentspeak.language.CCommon;
+import org.lightjason.agentspeak.language.CRawTerm;
+import org.lightjason.agentspeak.language.ITerm;
+import org.lightjason.agentspeak.language.execution.IContext;
+import org.lightjason.agentspeak.language.fuzzy.IFuzzyValue;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+
+/**
+ * create or open a memory-mapped grid environment.
+ * The action creates grid environments, which cells
+ * are stored within a memory-mapped file, each grid is
+ * defined by the file name and the size, an existing file
+ * is opened and the size is ignored, the action fails on
+ * file errors
+ *
+ * {@code [A|B] = .grid/mappedgrid("world.map", 50000,50000, "room.map", 20,20)}
+ */
+public final class CMappedGrid extends IBaseAction
+{
+    /**
+     * serial id
+     */
+    private static final long serialVersionUID = -6209513367357146236L;
+    /**
+     * action name
+     */
+    private static final IPath NAME = namebyclass( CMappedGrid.class, "grid" );
+
+    @Nonnull
+    @Override
+    public IPath name()
+    {
+        return NAME;
+    }
+
+    @Nonnegative
+    @Override
+    public int minimalArgumentNumber()
+    {
+        return 3;
+    }
+
+    @Nonnull
+    @Override
+    public Stream<IFuzzyValue<?>> execute( final boolean p_parallel, @Nonnull final IContext p_context,
+                                           @Nonnull final List<ITerm> p_argument, @Nonnull final List<ITerm> p_return )
+    {
+        final List<ITerm> l_arguments = CCommon.flatten( p_argument ).collect( Collectors.toList() );
+        if ( l_arguments.size() % 3 != 0 )
+            return p_context.agent().fuzzy().membership().fail();
+
+        final List<CMappedObjectMatrix2D> l_grids = new ArrayList<>();
+        try
+        {
+            for ( final List<ITerm> i : StreamUtils.windowed( l_arguments.stream(), 3, 3 ).collect( Collectors.toList() ) )
+                l_grids.add(
+                    CMappedObjectMatrix2D.of(
+                        Paths.get( i.get( 0 ).<String>raw() ),
+                        i.get( 1 ).<Number>raw().intValue(),
+                        i.get( 2 ).<Number>raw().intValue()
+                    )
+                );
+        }
+        catch ( final IOException l_exception )
+        {
+            return p_context.agent().fuzzy().membership().fail();
+        }
+
+        l_grids.stream().map( CRawTerm::of ).forEach( p_return::add );
+        return Stream.empty();
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * @cond LICENSE
+ * ######################################################################################
+ * # LGPL License                                                                       #
+ * #                                                                                    #
+ * # This file is part of the LightJason                                                #
+ * # Copyright (c) 2015-19, LightJason (info@lightjason.org)                            #
+ * # This program is free software: you can redistribute it and/or modify               #
+ * # it under the terms of the GNU Lesser General Public License as                     #
+ * # published by the Free Software Foundation, either version 3 of the                 #
+ * # License, or (at your option) any later version.                                    #
+ * #                                                                                    #
+ * # This program is distributed in the hope that it will be useful,                    #
+ * # but WITHOUT ANY WARRANTY; without even the implied warranty of                     #
+ * # MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                      #
+ * # GNU Lesser General Public License for more details.                                #
+ * #                                                                                    #
+ * # You should have received a copy of the GNU Lesser General Public License           #
+ * # along with this program. If not, see http://www.gnu.org/licenses/                  #
+ * ######################################################################################
+ * @endcond
+ */
+
+
+package org.lightjason.agentspeak.action.grid;
+
+import cern.colt.matrix.tobject.ObjectMatrix2D;
+import com.codepoetics.protonpack.StreamUtils;
+import org.lightjason.agentspeak.action.IBaseAction;
+import org.lightjason.agentspeak.action.grid.layer.CLayerRegistry;
+import org.lightjason.agentspeak.common.IPath;
+import org.lightjason.agentspeak.language.CCommon;
+import org.lightjason.agentspeak.language.ITerm;
+import org.lightjason.agentspeak.language.execution.IContext;
+import org.lightjason.agentspeak.language.fuzzy.IFuzzyValue;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+
+/**
+ * moves an object within the grid.
+ * The action moves atomically the object of each given
+ * position pair (source row, source column, target row, target column)
+ * and fails iif the source cell is empty or the target
+ * cell is not empty
+ *
+ * {@code .grid/move( Grid, 1, 2, 1, 3, [5, 5, 6, 6] )}
+ */
+public final class CMove extends IBaseAction
+{
+    /**
+     * serial id
+     */
+    private static final long serialVersionUID = -1583301925618823907L;
+    /**
+     * action name
+     */
+    private static final IPath NAME = namebyclass( CMove.class, "grid" );
+
+    @Nonnull
+    @Override
+    public IPath name()
+    {
+        return NAME;
+    }
+
+    @Nonnegative
+    @Override
+    public int minimalArgumentNumber()
+    {
+        return 1;
+    }
+
+    @Nonnull
+    @Override
+    public Stream<IFuzzyValue<?>> execute( final boolean p_parallel, @Nonnull final IContext p_context,
+                                           @Nonnull final List<ITerm> p_argument, @Nonnull final List<ITerm> p_return )
+    {
+        final List<ITerm> l_arguments = CCommon.flatten( p_argument ).collect( Collectors.toList() );
+        final ObjectMatrix2D l_grid = l_arguments.get( 0 ).raw();
+
+        return StreamUtils.windowed(
+            l_arguments.stream().skip( 1 ),
+            4,
+            4
+        ).flatMap( i -> CLayerRegistry.move(
+                            l_grid,
+                            i.get( 0 ).<Number>raw().intValue(), i.get( 1 ).<Number>raw().intValue(),
+                            i.get( 2 ).<Number>raw().intValue(), i.get( 3 ).<Number>raw().intValue()
+                        )
+                        ? Stream.empty()
+                        : p_context.agent().fuzzy().membership().fail()
+        );
+    }
+}
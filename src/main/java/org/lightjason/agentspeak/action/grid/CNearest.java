@@ -0,0 +1,75 @@
+/*
+ * @cond LICENSE
+ * ######################################################################################
+ * # LGPL License                                                                       #
+ * #                                                                                    #
+ * # This file is part of the LightJason                                                #
+ * # Copyright (c) 2015-19, LightJason (info@lightjason.org)                            #
+ * # This program is free software: you can redistribute it and/or modify               #
+ * # it under the terms of the GNU Lesser General Public License as                     #
+ * # published by the Free Software Foundation, either version 3 of the                 #
+ * # License, or (at your option) any later version.                                    #
+ * #                                                                                    #
+ * # This program is distributed in the hope that it will be useful,                    #
+ * # but WITHOUT ANY WARRANTY; without even the implied warranty of                     #
+ * # MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                      #
+ * # GNU Lesser General Public License for more details.                                #
+ * #                                                                                    #
+ * # You should have received a copy of the GNU Lesser General Public License           #
+ * # along with this program. If not, see http://www.gnu.org/licenses/                  #
+ * ######################################################################################
+ * @endcond
+ */
+
+
+package org.lightjason.agentspeak.action.grid;
+
+import org.lightjason.agentspeak.action.grid.layer.CSpatialIndex;
+import org.lightjason.agentspeak.common.IPath;
+
+import javax.annotation.Nonnull;
+import java.util.List;
+import java.util.stream.LongStream;
+
+
+/**
+ * returns the nearest objects of a cell.
+ * The action returns for each query (row, column, number)
+ * a list of the nearest objects ordered by the euclidean
+ * distance, the object on the cell itself is not returned
+ *
+ * {@code [A|B] = .grid/nearest( Grid, 5, 5, 1, [20, 20, 3] )}
+ */
+public final class CNearest extends IBaseSpatialAction
+{
+    /**
+     * serial id
+     */
+    private static final long serialVersionUID = 1875223961045983840L;
+    /**
+     * action name
+     */
+    private static final IPath NAME = namebyclass( CNearest.class, "grid" );
+
+    /**
+     * ctor
+     */
+    public CNearest()
+    {
+        super( 3 );
+    }
+
+    @Nonnull
+    @Override
+    public IPath name()
+    {
+        return NAME;
+    }
+
+    @Nonnull
+    @Override
+    protected LongStream query( @Nonnull final CSpatialIndex p_index, @Nonnull final List<Number> p_arguments )
+    {
+        return p_index.nearest( p_arguments.get( 0 ).intValue(), p_arguments.get( 1 ).intValue(), p_arguments.get( 2 ).intValue() );
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * @cond LICENSE
+ * ######################################################################################
+ * # LGPL License                                                                       #
+ * #                                                                                    #
+ * # This file is part of the LightJason                                                #
+ * # Copyright (c) 2015-19, LightJason (info@lightjason.org)                            #
+ * # This program is free software: you can redistribute it and/or modify               #
+ * # it under the terms of the GNU Lesser General Public License as                     #
+ * # published by the Free Software Foundation, either version 3 of the                 #
+ * # License, or (at your option) any later version.                                    #
+ * #                                                                                    #
+ * # This program is distributed in the hope that it will be useful,                    #
+ * # but WITHOUT ANY WARRANTY; without even the implied warranty of                     #
+ * # MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                      #
+ * # GNU Lesser General Public License for more details.                                #
+ * #                                                                                    #
+ * # You should have received a copy of the GNU Lesser General Public License           #
+ * # along with this program. If not, see http://www.gnu.org/licenses/                  #
+ * ######################################################################################
+ * @endcond
+ */
+
+
+package org.lightjason.agentspeak.action.grid;
+
+import cern.colt.matrix.tobject.ObjectMatrix2D;
+import org.lightjason.agentspeak.action.IBaseAction;
+import org.lightjason.agentspeak.action.grid.layer.CPositionIndex;
+import org.lightjason.agentspeak.action.grid.routing.CCell;
+import org.lightjason.agentspeak.common.IPath;
+import org.lightjason.agentspeak.language.CCommon;
+import org.lightjason.agentspeak.language.CRawTerm;
+import org.lightjason.agentspeak.language.ITerm;
+import org.lightjason.agentspeak.language.execution.IContext;
+import org.lightjason.agentspeak.language.fuzzy.IFuzzyValue;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+
+/**
+ * returns the positions of objects within the grid.
+ * The action returns for each object the position
+ * vector (row, column) in constant time, on the first
+ * call a reverse index is attached to the grid, which
+ * is updated on each grid change, the action fails
+ * iif an object does not exist within the grid
+ *
+ * {@code [A|B] = .grid/position( Grid, Object1, [Object2] )}
+ */
+public final class CPosition extends IBaseAction
+{
+    /**
+     * serial id
+     */
+    private static final long serialVersionUID = 7613880466512896207L;
+    /**
+     * action name
+     */
+    private static final IPath NAME = namebyclass( CPosition.class, "grid" );
+
+    @Nonnull
+    @Override
+    public IPath name()
+    {
+        return NAME;
+    }
+
+    @Nonnegative
+    @Override
+    public int minimalArgumentNumber()
+    {
+        return 1;
+    }
+
+    @Nonnull
+    @Override
+    public Stream<IFuzzyValue<?>> execute( final boolean p_parallel, @Nonnull final IContext p_context,
+                                           @Nonnull final List<ITerm> p_argument, @Nonnull final List<ITerm> p_return )
+    {
+        final List<ITerm> l_arguments = CCommon.flatten( p_argument ).collect( Collectors.toList() );
+        final CPositionIndex l_index = CPositionIndex.attach( l_arguments.get( 0 ).<ObjectMatrix2D>raw() );
+
+        final List<Long> l_positions = l_arguments.stream()
+                                                  .skip( 1 )
+                                                  .map( i -> l_index.position( i.raw() ) )
+                                                  .collect( Collectors.toList() );
+        if ( l_positions.stream().anyMatch( Objects::isNull ) )
+            return p_context.agent().fuzzy().membership().fail();
+
+        l_positions.stream()
+                   .map( CCell::position )
+                   .forEach( i -> p_return.add( CRawTerm.of( i ) ) );
+
+        return Stream.empty();
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * @cond LICENSE
+ * ######################################################################################
+ * # LGPL License                                                                       #
+ * #                                                                                    #
+ * # This file is part of the LightJason                                                #
+ * # Copyright (c) 2015-19, LightJason (info@lightjason.org)                            #
+ * # This program is free software: you can redistribute it and/or modify               #
+ * # it under the terms of the GNU Lesser General Public License as                     #
+ * # published by the Free Software Foundation, either version 3 of the                 #
+ * # License, or (at your option) any later version.                                    #
+ * #                                                                                    #
+ * # This program is distributed in the hope that it will be useful,                    #
+ * # but WITHOUT ANY WARRANTY; without even the implied warranty of                     #
+ * # MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                      #
+ * # GNU Lesser General Public License for more details.                                #
+ * #                                                                                    #
+ * # You should have received a copy of the GNU Lesser General Public License           #
+ * # along with this program. If not, see http://www.gnu.org/licenses/                  #
+ * ######################################################################################
+ * @endcond
+ */
+
+
+package org.lightjason.agentspeak.action.grid;
+
+import org.lightjason.agentspeak.action.grid.layer.CSpatialIndex;
+import org.lightjason.agentspeak.common.IPath;
+
+import javax.annotation.Nonnull;
+import java.util.List;
+import java.util.stream.LongStream;
+
+
+/**
+ * returns the objects within a radius.
+ * The action returns for each circle (row, column, radius)
+ * a list of the objects within the euclidean radius, the cost
+ * depends on the number of objects and not on the circle size
+ *
+ * {@code [A|B] = .grid/radius( Grid, 5, 5, 3, [20, 20, 7.5] )}
+ */
+public final class CRadius extends IBaseSpatialAction
+{
+    /**
+     * serial id
+     */
+    private static final long serialVersionUID = -8023477130218562771L;
+    /**
+     * action name
+     */
+    private static final IPath NAME = namebyclass( CRadius.class, "grid" );
+
+    /**
+     * ctor
+     */
+    public CRadius()
+    {
+        super( 3 );
+    }
+
+    @Nonnull
+    @Override
+    public IPath name()
+    {
+        return NAME;
+    }
+
+    @Nonnull
+    @Override
+    protected LongStream query( @Nonnull final CSpatialIndex p_index, @Nonnull final List<Number> p_arguments )
+    {
+        return p_index.radius( p_arguments.get( 0 ).intValue(), p_arguments.get( 1 ).intValue(), p_arguments.get( 2 ).doubleValue() );
+    }
+}
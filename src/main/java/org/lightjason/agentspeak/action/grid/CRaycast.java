@@ -0,0 +1,77 @@
+/*
+ * @cond LICENSE
+ * ######################################################################################
+ * # LGPL License                                                                       #
+ * #                                                                                    #
+ * # This file is part of the LightJason                                                #
+ * # Copyright (c) 2015-19, LightJason (info@lightjason.org)                            #
+ * # This program is free software: you can redistribute it and/or modify               #
+ * # it under the terms of the GNU Lesser General Public License as                     #
+ * # published by the Free Software Foundation, either version 3 of the                 #
+ * # License, or (at your option) any later version.                                    #
+ * #                                                                                    #
+ * # This program is distributed in the hope that it will be useful,                    #
+ * # but WITHOUT ANY WARRANTY; without even the implied warranty of                     #
+ * # MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                      #
+ * # GNU Lesser General Public License for more details.                                #
+ * #                                                                                    #
+ * # You should have received a copy of the GNU Lesser General Public License           #
+ * # along with this program. If not, see http://www.gnu.org/licenses/                  #
+ * ######################################################################################
+ * @endcond
+ */
+
+
+package org.lightjason.agentspeak.action.grid;
+
+import cern.colt.matrix.tobject.ObjectMatrix2D;
+import org.lightjason.agentspeak.action.grid.routing.CCell;
+import org.lightjason.agentspeak.action.grid.visibility.CLineTraversal;
+import org.lightjason.agentspeak.common.IPath;
+import org.lightjason.agentspeak.language.CRawTerm;
+import org.lightjason.agentspeak.language.ITerm;
+
+import javax.annotation.Nonnull;
+import java.util.Arrays;
+import java.util.Collections;
+
+
+/**
+ * casts rays from an observer to targets.
+ * The action returns for each target a list with
+ * the position and the object of the first non-empty
+ * cell on the ray, the ray ends on the target or on the
+ * grid border, a ray without hit returns an empty list
+ *
+ * {@code [A|B] = .grid/raycast( Grid, 3, 3, 8, 7, [1, 99] )}
+ */
+public final class CRaycast extends IBaseVisibilityAction
+{
+    /**
+     * serial id
+     */
+    private static final long serialVersionUID = 2317722851400613374L;
+    /**
+     * action name
+     */
+    private static final IPath NAME = namebyclass( CRaycast.class, "grid" );
+
+    @Nonnull
+    @Override
+    public IPath name()
+    {
+        return NAME;
+    }
+
+    @Nonnull
+    @Override
+    protected ITerm apply( @Nonnull final ObjectMatrix2D p_grid, final int p_row, final int p_column, final int p_targetrow, final int p_targetcolumn )
+    {
+        final long l_hit = CLineTraversal.raycast( p_grid, p_row, p_column, p_targetrow, p_targetcolumn );
+        if ( l_hit == CLineTraversal.NOHIT )
+            return CRawTerm.of( Collections.emptyList() );
+
+        final Object l_object = p_grid.getQuick( CCell.row( l_hit ), CCell.column( l_hit ) );
+        return CRawTerm.of( Arrays.asList( CRawTerm.of( CCell.position( l_hit ) ), l_object instanceof ITerm ? (ITerm) l_object : CRawTerm.of( l_object ) ) );
+    }
+}
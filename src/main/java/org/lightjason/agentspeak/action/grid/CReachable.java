@@ -0,0 +1,145 @@
+/*
+ * @cond LICENSE
+ * ######################################################################################
+ * # LGPL License                                                                       #
+ * #                                                                                    #
+ * # This file is part of the LightJason                                                #
+ * # Copyright (c) 2015-19, LightJason (info@lightjason.org)                            #
+ * # This program is free software: you can redistribute it and/or modify               #
+ * # it under the terms of the GNU Lesser General Public License as                     #
+ * # published by the Free Software Foundation, either version 3 of the                 #
+ * # License, or (at your option) any later version.                                    #
+ * #                                                                                    #
+ * # This program is distributed in the hope that it will be useful,                    #
+ * # but WITHOUT ANY WARRANTY; without even the implied warranty of                     #
+ * # MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                      #
+ * # GNU Lesser General Public License for more details.                                #
+ * #                                                                                    #
+ * # You should have received a copy of the GNU Lesser General Public License           #
+ * # along with this program. If not, see http://www.gnu.org/licenses/                  #
+ * ######################################################################################
+ * @endcond
+ */
+
+package org.lightjason.agentspeak.action.grid;
+
+import cern.colt.matrix.tdouble.DoubleMatrix1D;
+import cern.colt.matrix.tobject.ObjectMatrix2D;
+import com.codepoetics.protonpack.StreamUtils;
+import org.lightjason.agentspeak.action.IBaseAction;
+import org.lightjason.agentspeak.action.grid.routing.CPrimitiveAStarRouting;
+import org.lightjason.agentspeak.action.grid.routing.EDistance;
+import org.lightjason.agentspeak.action.grid.routing.ESearchDirection;
+import org.lightjason.agentspeak.action.grid.routing.IRouting;
+import org.lightjason.agentspeak.action.grid.routing.ISearchDirection;
+import org.lightjason.agentspeak.common.IPath;
+import org.lightjason.agentspeak.language.CCommon;
+import org.lightjason.agentspeak.language.CRawTerm;
+import org.lightjason.agentspeak.language.ITerm;
+import org.lightjason.agentspeak.language.execution.IContext;
+import org.lightjason.agentspeak.language.fuzzy.IFuzzyValue;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+
+/**
+ * checks if goal positions are reachable.
+ * The action checks with the connected components
+ * of the walkable cells, if a goal position can be
+ * reached from a start position without a route search,
+ * the first argument is the grid, all other arguments
+ * are pairs of start and goal positions, positions can
+ * be numerical pairs or lists or blas vectors, the action
+ * returns a boolean value for each pair
+ *
+ * {@code [A|B] = .grid/reachable(Grid, 1,1, 8,7, [3,3], [5,5])}
+ */
+public final class CReachable extends IBaseAction
+{
+    /**
+     * serial id
+     */
+    private static final long serialVersionUID = 1849576630283451066L;
+    /**
+     * action name
+     */
+    private static final IPath NAME = namebyclass( CReachable.class, "grid" );
+    /**
+     * routing
+     */
+    private final IRouting m_routing;
+
+    /**
+     * ctor
+     */
+    public CReachable()
+    {
+        this( ESearchDirection.NEVER );
+    }
+
+    /**
+     * ctor
+     *
+     * @param p_searchdirection search direction
+     */
+    public CReachable( @Nonnull final ISearchDirection p_searchdirection )
+    {
+        this( new CPrimitiveAStarRouting( p_searchdirection == ESearchDirection.NEVER ? EDistance.MANHATTAN : EDistance.OCTILE, p_searchdirection ) );
+    }
+
+    /**
+     * ctor
+     *
+     * @param p_routing routing
+     */
+    public CReachable( @Nonnull final IRouting p_routing )
+    {
+        m_routing = p_routing;
+    }
+
+    @Nonnull
+    @Override
+    public IPath name()
+    {
+        return NAME;
+    }
+
+    @Nonnegative
+    @Override
+    public int minimalArgumentNumber()
+    {
+        return 1;
+    }
+
+    @Nonnull
+    @Override
+    public Stream<IFuzzyValue<?>> execute( final boolean p_parallel, @Nonnull final IContext p_context,
+                                           @Nonnull final List<ITerm> p_argument, @Nonnull final List<ITerm> p_return )
+    {
+        final List<ITerm> l_arguments = CCommon.flatten( p_argument ).collect( Collectors.toList() );
+        final ObjectMatrix2D l_grid = l_arguments.get( 0 ).raw();
+
+        final AtomicInteger l_group = new AtomicInteger();
+        final List<DoubleMatrix1D> l_positions = StreamUtils.windowed(
+            l_arguments.stream()
+                       .skip( 1 )
+                       .flatMap( IBaseRoutingAction::unpack ),
+            2
+        ).flatMap( i -> IBaseRoutingAction.pack( i.get( 0 ), i.get( 1 ), l_group ) ).collect( Collectors.toList() );
+
+        if ( l_positions.size() < 2 || l_positions.size() % 2 != 0 )
+            return p_context.agent().fuzzy().membership().fail();
+
+        StreamUtils.windowed( l_positions.stream(), 2, 2 )
+                   .map( i -> m_routing.reachable( l_grid, i.get( 0 ), i.get( 1 ) ) )
+                   .map( CRawTerm::of )
+                   .forEach( p_return::add );
+
+        return Stream.empty();
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * @cond LICENSE
+ * ######################################################################################
+ * # LGPL License                                                                       #
+ * #                                                                                    #
+ * # This file is part of the LightJason                                                #
+ * # Copyright (c) 2015-19, LightJason (info@lightjason.org)                            #
+ * # This program is free software: you can redistribute it and/or modify               #
+ * # it under the terms of the GNU Lesser General Public License as                     #
+ * # published by the Free Software Foundation, either version 3 of the                 #
+ * # License, or (at your option) any later version.                                    #
+ * #                                                                                    #
+ * # This program is distributed in the hope that it will be useful,                    #
+ * # but WITHOUT ANY WARRANTY; without even the implied warranty of                     #
+ * # MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                      #
+ * # GNU Lesser General Public License for more details.                                #
+ * #                                                                                    #
+ * # You should have received a copy of the GNU Lesser General Public License           #
+ * # along with this program. If not, see http://www.gnu.org/licenses/                  #
+ * ######################################################################################
+ * @endcond
+ */
+
+
+package org.lightjason.agentspeak.action.grid;
+
+import org.lightjason.agentspeak.action.IBaseAction;
+import org.lightjason.agentspeak.action.grid.routing.CSlicedRouting;
+import org.lightjason.agentspeak.action.grid.routing.ERouteStatus;
+import org.lightjason.agentspeak.common.IPath;
+import org.lightjason.agentspeak.language.CCommon;
+import org.lightjason.agentspeak.language.CRawTerm;
+import org.lightjason.agentspeak.language.ITerm;
+import org.lightjason.agentspeak.language.execution.IContext;
+import org.lightjason.agentspeak.language.fuzzy.IFuzzyValue;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+
+/**
+ * returns the status of a route search.
+ * The argument is a future of the asynchronous route
+ * action or a handle of the time-sliced route action,
+ * the action does not run the search and returns the
+ * status as string, which is pending, found, unreachable
+ * or failed, so a running search can be distinguished
+ * from a search without route or a failed search
+ *
+ * {@code S = .grid/routestatus( F )}
+ */
+public final class CRouteStatus extends IBaseAction
+{
+    /**
+     * serial id
+     */
+    private static final long serialVersionUID = -1542980714262170538L;
+    /**
+     * action name
+     */
+    private static final IPath NAME = namebyclass( CRouteStatus.class, "grid" );
+
+    @Nonnull
+    @Override
+    public IPath name()
+    {
+        return NAME;
+    }
+
+    @Nonnegative
+    @Override
+    public int minimalArgumentNumber()
+    {
+        return 1;
+    }
+
+    @Nonnull
+    @Override
+    public Stream<IFuzzyValue<?>> execute( final boolean p_parallel, @Nonnull final IContext p_context,
+                                           @Nonnull final List<ITerm> p_argument, @Nonnull final List<ITerm> p_return )
+    {
+        final List<ITerm> l_arguments = CCommon.flatten( p_argument ).collect( Collectors.toList() );
+
+        final ERouteStatus l_status;
+        if ( CCommon.isssignableto( l_arguments.get( 0 ), CompletableFuture.class ) )
+            l_status = ERouteStatus.of( l_arguments.get( 0 ).<CompletableFuture<List<?>>>raw() );
+        else if ( CCommon.isssignableto( l_arguments.get( 0 ), CSlicedRouting.CHandle.class ) )
+            l_status = l_arguments.get( 0 ).<CSlicedRouting.CHandle>raw().status();
+        else
+            return p_context.agent().fuzzy().membership().fail();
+
+        p_return.add( CRawTerm.of( l_status.name().toLowerCase( Locale.ROOT ) ) );
+        return Stream.empty();
+    }
+}
@@ -28,6 +28,7 @@ import com.codepoetics.protonpack.StreamUtils;
 import com.codepoetics.protonpack.functions.TriFunction;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import org.lightjason.agentspeak.action.IBaseAction;
+import org.lightjason.agentspeak.action.grid.layer.CLayerRegistry;
 import org.lightjason.agentspeak.common.IPath;
 import org.lightjason.agentspeak.language.CCommon;
 import org.lightjason.agentspeak.language.ITerm;
@@ -110,13 +111,10 @@ public final class CSet extends IBaseAction
             final Number l_col = i.get( 1 ).raw();
             final ObjectMatrix2D l_grid = l_arguments.get( 0 ).raw();
 
-            if ( !m_avoid.apply( l_grid, l_row, l_col ) )
-            {
-                l_grid.setQuick( l_row.intValue(), l_col.intValue(), i.get( 2 ) );
-                return Stream.empty();
-            }
-
-            return p_context.agent().fuzzy().membership().fail();
+            // the check and the setting are executed atomically on the cell
+            return CLayerRegistry.compareandset( l_grid, l_row.intValue(), l_col.intValue(), o -> !m_avoid.apply( l_grid, l_row, l_col ), i.get( 2 ) )
+                   ? Stream.empty()
+                   : p_context.agent().fuzzy().membership().fail();
         } );
     }
 }
@@ -0,0 +1,136 @@
+/*
+ * @cond LICENSE
+ * ######################################################################################
+ * # LGPL License                                                                       #
+ * #                                                                                    #
+ * # This file is part of the LightJason                                                #
+ * # Copyright (c) 2015-19, LightJason (info@lightjason.org)                            #
+ * # This program is free software: you can redistribute it and/or modify               #
+ * # it under the terms of the GNU Lesser General Public License as                     #
+ * # published by the Free Software Foundation, either version 3 of the                 #
+ * # License, or (at your option) any later version.                                    #
+ * #                                                                                    #
+ * # This program is distributed in the hope that it will be useful,                    #
+ * # but WITHOUT ANY WARRANTY; without even the implied warranty of                     #
+ * # MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                      #
+ * # GNU Lesser General Public License for more details.                                #
+ * #                                                                                    #
+ * # You should have received a copy of the GNU Lesser General Public License           #
+ * # along with this program. If not, see http://www.gnu.org/licenses/                  #
+ * ######################################################################################
+ * @endcond
+ */
+
+package org.lightjason.agentspeak.action.grid;
+
+import cern.colt.matrix.tdouble.DoubleMatrix1D;
+import cern.colt.matrix.tdouble.impl.DenseDoubleMatrix1D;
+import cern.colt.matrix.tobject.ObjectMatrix2D;
+import org.lightjason.agentspeak.action.IBaseAction;
+import org.lightjason.agentspeak.action.grid.routing.CSlicedRouting;
+import org.lightjason.agentspeak.action.grid.routing.IDistance;
+import org.lightjason.agentspeak.action.grid.routing.ISearchDirection;
+import org.lightjason.agentspeak.common.IPath;
+import org.lightjason.agentspeak.language.CCommon;
+import org.lightjason.agentspeak.language.CRawTerm;
+import org.lightjason.agentspeak.language.ITerm;
+import org.lightjason.agentspeak.language.execution.IContext;
+import org.lightjason.agentspeak.language.fuzzy.IFuzzyValue;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+
+/**
+ * starts a time-sliced route search.
+ * The action returns a handle of the search without
+ * running any expansion, the search is run slice by
+ * slice with the poll route action, so a long search
+ * is spread over many agent cycles, the arguments are
+ * the grid, the start and the goal position, the action
+ * fails if the goal is not reachable
+ *
+ * {@code H = .grid/slicedroute( Grid, [3, 3], [8, 7] )}
+ */
+public final class CSlicedRoute extends IBaseAction
+{
+    /**
+     * serial id
+     */
+    private static final long serialVersionUID = -3961208475391860447L;
+    /**
+     * action name
+     */
+    private static final IPath NAME = namebyclass( CSlicedRoute.class, "grid" );
+    /**
+     * routing
+     */
+    private final CSlicedRouting m_routing;
+
+    /**
+     * ctor
+     */
+    public CSlicedRoute()
+    {
+        this( new CSlicedRouting() );
+    }
+
+    /**
+     * ctor
+     *
+     * @param p_distance distance
+     * @param p_searchdirection search direction
+     * @param p_slice number of expansions of a slice
+     */
+    public CSlicedRoute( @Nonnull final IDistance p_distance, @Nonnull final ISearchDirection p_searchdirection, @Nonnull final Number p_slice )
+    {
+        this( new CSlicedRouting( p_distance, p_searchdirection, p_slice ) );
+    }
+
+    /**
+     * ctor
+     *
+     * @param p_routing sliced routing
+     */
+    public CSlicedRoute( @Nonnull final CSlicedRouting p_routing )
+    {
+        m_routing = p_routing;
+    }
+
+    @Nonnull
+    @Override
+    public IPath name()
+    {
+        return NAME;
+    }
+
+    @Nonnegative
+    @Override
+    public int minimalArgumentNumber()
+    {
+        return 1;
+    }
+
+    @Nonnull
+    @Override
+    public Stream<IFuzzyValue<?>> execute( final boolean p_parallel, @Nonnull final IContext p_context,
+                                           @Nonnull final List<ITerm> p_argument, @Nonnull final List<ITerm> p_return )
+    {
+        final List<ITerm> l_arguments = CCommon.flatten( p_argument ).collect( Collectors.toList() );
+        final List<Number> l_values = l_arguments.stream().skip( 1 ).flatMap( IBaseRoutingAction::unpack ).collect( Collectors.toList() );
+        if ( l_values.size() != 4 )
+            return p_context.agent().fuzzy().membership().fail();
+
+        final ObjectMatrix2D l_grid = l_arguments.get( 0 ).raw();
+        final DoubleMatrix1D l_start = new DenseDoubleMatrix1D( new double[]{l_values.get( 0 ).doubleValue(), l_values.get( 1 ).doubleValue()} );
+        final DoubleMatrix1D l_end = new DenseDoubleMatrix1D( new double[]{l_values.get( 2 ).doubleValue(), l_values.get( 3 ).doubleValue()} );
+        if ( !m_routing.reachable( l_grid, l_start, l_end ) )
+            return p_context.agent().fuzzy().membership().fail();
+
+        p_return.add( CRawTerm.of( m_routing.start( l_grid, l_start, l_end ) ) );
+        return Stream.empty();
+    }
+}
@@ -26,6 +26,7 @@ package org.lightjason.agentspeak.action.grid;
 import cern.colt.matrix.tobject.impl.SparseObjectMatrix2D;
 import com.codepoetics.protonpack.StreamUtils;
 import org.lightjason.agentspeak.action.IBaseAction;
+import org.lightjason.agentspeak.action.grid.layer.CWalkableBitmap;
 import org.lightjason.agentspeak.common.IPath;
 import org.lightjason.agentspeak.language.CCommon;
 import org.lightjason.agentspeak.language.CRawTerm;
@@ -42,7 +43,9 @@ import java.util.stream.Stream;
 /**
  * create sparse grid environment.
  * The action creates sparse grid environments based
- * on the given size.
+ * on the given size, a walkability bitmap can be attached
+ * to each grid, it is disabled by default, because the
+ * bitmap allocates one bit for each cell.
  *
  * {@code [A|B] .grid/sparsegrid(5,5, [3,3, 20,20])}
  */
@@ -56,6 +59,28 @@ public final class CSparseGrid extends IBaseAction
      * action name
      */
     private static final IPath NAME = namebyclass( CSparseGrid.class, "grid" );
+    /**
+     * attach walkability bitmap
+     */
+    private final boolean m_bitmap;
+
+    /**
+     * ctor
+     */
+    public CSparseGrid()
+    {
+        this( false );
+    }
+
+    /**
+     * ctor
+     *
+     * @param p_bitmap attach walkability bitmap
+     */
+    public CSparseGrid( final boolean p_bitmap )
+    {
+        m_bitmap = p_bitmap;
+    }
 
     @Nonnull
     @Override
@@ -78,7 +103,12 @@ public final class CSparseGrid extends IBaseAction
     {
         StreamUtils.windowed( CCommon.flatten( p_argument ), 2, 2 )
                    .map( i -> new SparseObjectMatrix2D( i.get( 0 ).<Number>raw().intValue(), i.get( 1 ).<Number>raw().intValue() ) )
-                   .forEach( i -> p_return.add( CRawTerm.of( i ) ) );
+                   .forEach( i ->
+                   {
+                       if ( m_bitmap )
+                           CWalkableBitmap.attach( i );
+                       p_return.add( CRawTerm.of( i ) );
+                   } );
 
         return Stream.empty();
     }
@@ -0,0 +1,118 @@
+/*
+ * @cond LICENSE
+ * ######################################################################################
+ * # LGPL License                                                                       #
+ * #                                                                                    #
+ * # This file is part of the LightJason                                                #
+ * # Copyright (c) 2015-19, LightJason (info@lightjason.org)                            #
+ * # This program is free software: you can redistribute it and/or modify               #
+ * # it under the terms of the GNU Lesser General Public License as                     #
+ * # published by the Free Software Foundation, either version 3 of the                 #
+ * # License, or (at your option) any later version.                                    #
+ * #                                                                                    #
+ * # This program is distributed in the hope that it will be useful,                    #
+ * # but WITHOUT ANY WARRANTY; without even the implied warranty of                     #
+ * # MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                      #
+ * # GNU Lesser General Public License for more details.                                #
+ * #                                                                                    #
+ * # You should have received a copy of the GNU Lesser General Public License           #
+ * # along with this program. If not, see http://www.gnu.org/licenses/                  #
+ * ######################################################################################
+ * @endcond
+ */
+
+package org.lightjason.agentspeak.action.grid;
+
+import com.codepoetics.protonpack.StreamUtils;
+import org.lightjason.agentspeak.action.IBaseAction;
+import org.lightjason.agentspeak.action.grid.layer.CWalkableBitmap;
+import org.lightjason.agentspeak.action.grid.matrix.CTiledObjectMatrix2D;
+import org.lightjason.agentspeak.common.IPath;
+import org.lightjason.agentspeak.language.CCommon;
+import org.lightjason.agentspeak.language.CRawTerm;
+import org.lightjason.agentspeak.language.ITerm;
+import org.lightjason.agentspeak.language.execution.IContext;
+import org.lightjason.agentspeak.language.fuzzy.IFuzzyValue;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import java.util.List;
+import java.util.stream.Stream;
+
+
+/**
+ * create a tiled grid environment.
+ * The action creates grid environments based on the
+ * given size, which cells are stored in lazy allocated
+ * tiles, so mostly empty grids with dense areas need
+ * memory only for the occupied tiles and a cell access
+ * needs no hashing, a walkability bitmap can be attached
+ * to each grid, it is disabled by default, because the
+ * bitmap allocates one bit for each cell.
+ *
+ * {@code [A|B] .grid/tiledgrid(5,5, [3,3, 20,20])}
+ */
+public final class CTiledGrid extends IBaseAction
+{
+    /**
+     * serial id
+     */
+    private static final long serialVersionUID = -1175843070432526376L;
+    /**
+     * action name
+     */
+    private static final IPath NAME = namebyclass( CTiledGrid.class, "grid" );
+    /**
+     * attach walkability bitmap
+     */
+    private final boolean m_bitmap;
+
+    /**
+     * ctor
+     */
+    public CTiledGrid()
+    {
+        this( false );
+    }
+
+    /**
+     * ctor
+     *
+     * @param p_bitmap attach walkability bitmap
+     */
+    public CTiledGrid( final boolean p_bitmap )
+    {
+        m_bitmap = p_bitmap;
+    }
+
+    @Nonnull
+    @Override
+    public IPath name()
+    {
+        return NAME;
+    }
+
+    @Nonnegative
+    @Override
+    public int minimalArgumentNumber()
+    {
+        return 1;
+    }
+
+    @Nonnull
+    @Override
+    public Stream<IFuzzyValue<?>> execute( final boolean p_parallel, @Nonnull final IContext p_context,
+                                           @Nonnull final List<ITerm> p_argument, @Nonnull final List<ITerm> p_return )
+    {
+        StreamUtils.windowed( CCommon.flatten( p_argument ), 2, 2 )
+                   .map( i -> new CTiledObjectMatrix2D( i.get( 0 ).<Number>raw().intValue(), i.get( 1 ).<Number>raw().intValue() ) )
+                   .forEach( i ->
+                   {
+                       if ( m_bitmap )
+                           CWalkableBitmap.attach( i );
+                       p_return.add( CRawTerm.of( i ) );
+                   } );
+
+        return Stream.empty();
+    }
+}
@@ -25,6 +25,7 @@ package org.lightjason.agentspeak.action.grid;
 
 import cern.colt.matrix.tdouble.DoubleMatrix1D;
 import cern.colt.matrix.tdouble.impl.DenseDoubleMatrix1D;
+import cern.colt.matrix.tobject.ObjectMatrix2D;
 import com.codepoetics.protonpack.StreamUtils;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import org.lightjason.agentspeak.action.IBaseAction;
@@ -56,6 +57,10 @@ public abstract class IBaseRoutingAction extends IBaseAction
      * routing algorithm
      */
     protected final IRouting m_routing;
+    /**
+     * reachable check before the routing
+     */
+    private final boolean m_reachable;
 
     /**
      * ctor
@@ -63,8 +68,20 @@ public abstract class IBaseRoutingAction extends IBaseAction
      * @param p_routing routing
      */
     protected IBaseRoutingAction( final IRouting p_routing )
+    {
+        this( p_routing, true );
+    }
+
+    /**
+     * ctor
+     *
+     * @param p_routing routing
+     * @param p_reachable reachable check of the goals before the routing
+     */
+    protected IBaseRoutingAction( final IRouting p_routing, final boolean p_reachable )
     {
         m_routing = p_routing;
+        m_reachable = p_reachable;
     }
 
     @Nonnull
@@ -73,27 +90,77 @@ public abstract class IBaseRoutingAction extends IBaseAction
                                            @Nonnull final List<ITerm> p_argument, @Nonnull final List<ITerm> p_return )
     {
         final List<ITerm> l_arguments = CCommon.flatten( p_argument ).collect( Collectors.toList() );
+        final ObjectMatrix2D l_grid = l_arguments.get( 0 ).raw();
+        final List<List<DoubleMatrix1D>> l_sections = sections( l_arguments );
+
+        // unreachable goals are detected before any search is started
+        if ( !this.reachable( l_grid, l_sections ) )
+            return p_context.agent().fuzzy().membership().fail();
+
+        final List<DoubleMatrix1D> l_route = this.route( p_parallel, l_grid, l_sections );
 
-        // build route (unpack input data to 1d-matrices
+        // at least 2 points / start and goal position must exist
+        if ( l_route.size() > 1 )
+        {
+            p_return.add( CRawTerm.of( l_route ) );
+            return Stream.empty();
+        }
+        return p_context.agent().fuzzy().membership().fail();
+    }
+
+    /**
+     * builds the route sections of the flatten arguments,
+     * the first argument is the grid, all other arguments
+     * are the positions
+     *
+     * @param p_arguments flatten arguments
+     * @return list of start and goal pairs
+     */
+    @Nonnull
+    protected static List<List<DoubleMatrix1D>> sections( @Nonnull final List<ITerm> p_arguments )
+    {
+        // unpack input data to 1d-matrices and build the route sections
         final AtomicInteger l_group = new AtomicInteger();
-        final List<DoubleMatrix1D> l_route = StreamUtils.windowed(
+        return StreamUtils.windowed(
             StreamUtils.windowed(
-                l_arguments.stream()
+                p_arguments.stream()
                            .skip( 1 )
                            .flatMap( IBaseRoutingAction::unpack ),
                 2
             ).flatMap( i -> pack( i.get( 0 ), i.get( 1 ), l_group ) ),
             2,
             2
-        ).flatMap( i -> m_routing.apply( l_arguments.get( 0 ).raw(), i.get( 0 ), i.get( 1 ) ) ).collect( Collectors.toList() );
+        ).collect( Collectors.toList() );
+    }
 
-        // at least 2 points / start and goal position must exist
-        if ( l_route.size() > 1 )
-        {
-            p_return.add( CRawTerm.of( l_route ) );
-            return Stream.empty();
-        }
-        return p_context.agent().fuzzy().membership().fail();
+    /**
+     * checks if all sections are reachable,
+     * iif the check is enabled
+     *
+     * @param p_grid grid
+     * @param p_sections route sections
+     * @return false if a goal is definitely not reachable
+     */
+    protected final boolean reachable( @Nonnull final ObjectMatrix2D p_grid, @Nonnull final List<List<DoubleMatrix1D>> p_sections )
+    {
+        return !m_reachable || p_sections.stream().allMatch( i -> m_routing.reachable( p_grid, i.get( 0 ), i.get( 1 ) ) );
+    }
+
+    /**
+     * calculates the route of all sections
+     *
+     * @param p_parallel parallel execution
+     * @param p_grid grid
+     * @param p_sections route sections
+     * @return route
+     */
+    @Nonnull
+    protected final List<DoubleMatrix1D> route( final boolean p_parallel, @Nonnull final ObjectMatrix2D p_grid,
+                                                @Nonnull final List<List<DoubleMatrix1D>> p_sections )
+    {
+        return ( p_parallel ? p_sections.parallelStream() : p_sections.stream() )
+                   .flatMap( i -> m_routing.apply( p_grid, i.get( 0 ), i.get( 1 ) ) )
+                   .collect( Collectors.toList() );
     }
 
     /**
@@ -102,7 +169,7 @@ public abstract class IBaseRoutingAction extends IBaseAction
      * @param p_term term value
      * @return number stream
      */
-    private static Stream<Number> unpack( @Nonnull final ITerm p_term )
+    protected static Stream<Number> unpack( @Nonnull final ITerm p_term )
     {
         if ( CCommon.isssignableto( p_term, Number.class ) )
             return Stream.of( p_term.<Number>raw() );
@@ -121,7 +188,7 @@ public abstract class IBaseRoutingAction extends IBaseAction
      * @param p_used switch to avoid windowed structure
      * @return double matrix stream
      */
-    private static Stream<DoubleMatrix1D> pack( @NonNull final Number p_value1, @Nonnull final Number p_value2, @Nonnull final AtomicInteger p_used )
+    protected static Stream<DoubleMatrix1D> pack( @NonNull final Number p_value1, @Nonnull final Number p_value2, @Nonnull final AtomicInteger p_used )
     {
         return p_used.getAndIncrement() % 2 == 0
                ? Stream.of( new DenseDoubleMatrix1D( new double[]{p_value1.doubleValue(), p_value2.doubleValue()} ) )
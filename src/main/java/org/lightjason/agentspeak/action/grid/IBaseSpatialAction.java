@@ -0,0 +1,108 @@
+/*
+ * @cond LICENSE
+ * ######################################################################################
+ * # LGPL License                                                                       #
+ * #                                                                                    #
+ * # This file is part of the LightJason                                                #
+ * # Copyright (c) 2015-19, LightJason (info@lightjason.org)                            #
+ * # This program is free software: you can redistribute it and/or modify               #
+ * # it under the terms of the GNU Lesser General Public License as                     #
+ * # published by the Free Software Foundation, either version 3 of the                 #
+ * # License, or (at your option) any later version.                                    #
+ * #                                                                                    #
+ * # This program is distributed in the hope that it will be useful,                    #
+ * # but WITHOUT ANY WARRANTY; without even the implied warranty of                     #
+ * # MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                      #
+ * # GNU Lesser General Public License for more details.                                #
+ * #                                                                                    #
+ * # You should have received a copy of the GNU Lesser General Public License           #
+ * # along with this program. If not, see http://www.gnu.org/licenses/                  #
+ * ######################################################################################
+ * @endcond
+ */
+
+
+package org.lightjason.agentspeak.action.grid;
+
+import cern.colt.matrix.tobject.ObjectMatrix2D;
+import com.codepoetics.protonpack.StreamUtils;
+import org.lightjason.agentspeak.action.IBaseAction;
+import org.lightjason.agentspeak.action.grid.layer.CSpatialIndex;
+import org.lightjason.agentspeak.action.grid.routing.CCell;
+import org.lightjason.agentspeak.language.CCommon;
+import org.lightjason.agentspeak.language.CRawTerm;
+import org.lightjason.agentspeak.language.ITerm;
+import org.lightjason.agentspeak.language.execution.IContext;
+import org.lightjason.agentspeak.language.fuzzy.IFuzzyValue;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+
+/**
+ * abstract spatial query action, the spatial
+ * index is attached to the grid on the first call
+ * and each query returns a list of the found objects
+ */
+public abstract class IBaseSpatialAction extends IBaseAction
+{
+    /**
+     * serial id
+     */
+    private static final long serialVersionUID = -1364529021829432517L;
+    /**
+     * number of arguments of a query
+     */
+    private final int m_arguments;
+
+    /**
+     * ctor
+     *
+     * @param p_arguments number of arguments of a query
+     */
+    protected IBaseSpatialAction( @Nonnegative final int p_arguments )
+    {
+        m_arguments = p_arguments;
+    }
+
+    @Nonnegative
+    @Override
+    public final int minimalArgumentNumber()
+    {
+        return 1;
+    }
+
+    @Nonnull
+    @Override
+    public final Stream<IFuzzyValue<?>> execute( final boolean p_parallel, @Nonnull final IContext p_context,
+                                                 @Nonnull final List<ITerm> p_argument, @Nonnull final List<ITerm> p_return )
+    {
+        final List<ITerm> l_arguments = CCommon.flatten( p_argument ).collect( Collectors.toList() );
+        final ObjectMatrix2D l_grid = l_arguments.get( 0 ).raw();
+        final CSpatialIndex l_index = CSpatialIndex.attach( l_grid );
+
+        StreamUtils.windowed( l_arguments.stream().skip( 1 ), m_arguments, m_arguments )
+                   .map( i -> this.query( l_index, i.stream().map( ITerm::<Number>raw ).collect( Collectors.toList() ) )
+                                  .mapToObj( j -> l_grid.getQuick( CCell.row( j ), CCell.column( j ) ) )
+                                  .map( j -> j instanceof ITerm ? (ITerm) j : CRawTerm.of( j ) )
+                                  .collect( Collectors.toList() ) )
+                   .forEach( i -> p_return.add( CRawTerm.of( i ) ) );
+
+        return Stream.empty();
+    }
+
+    /**
+     * runs a query
+     *
+     * @param p_index spatial index
+     * @param p_arguments query arguments
+     * @return packed cells
+     */
+    @Nonnull
+    protected abstract LongStream query( @Nonnull final CSpatialIndex p_index, @Nonnull final List<Number> p_arguments );
+
+}
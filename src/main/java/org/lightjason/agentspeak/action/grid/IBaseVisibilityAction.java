@@ -0,0 +1,103 @@
+/*
+ * @cond LICENSE
+ * ######################################################################################
+ * # LGPL License                                                                       #
+ * #                                                                                    #
+ * # This file is part of the LightJason                                                #
+ * # Copyright (c) 2015-19, LightJason (info@lightjason.org)                            #
+ * # This program is free software: you can redistribute it and/or modify               #
+ * # it under the terms of the GNU Lesser General Public License as                     #
+ * # published by the Free Software Foundation, either version 3 of the                 #
+ * # License, or (at your option) any later version.                                    #
+ * #                                                                                    #
+ * # This program is distributed in the hope that it will be useful,                    #
+ * # but WITHOUT ANY WARRANTY; without even the implied warranty of                     #
+ * # MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                      #
+ * # GNU Lesser General Public License for more details.                                #
+ * #                                                                                    #
+ * # You should have received a copy of the GNU Lesser General Public License           #
+ * # along with this program. If not, see http://www.gnu.org/licenses/                  #
+ * ######################################################################################
+ * @endcond
+ */
+
+
+package org.lightjason.agentspeak.action.grid;
+
+import cern.colt.matrix.tobject.ObjectMatrix2D;
+import com.codepoetics.protonpack.StreamUtils;
+import org.lightjason.agentspeak.action.IBaseAction;
+import org.lightjason.agentspeak.action.grid.routing.CCell;
+import org.lightjason.agentspeak.language.CCommon;
+import org.lightjason.agentspeak.language.ITerm;
+import org.lightjason.agentspeak.language.execution.IContext;
+import org.lightjason.agentspeak.language.fuzzy.IFuzzyValue;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+
+/**
+ * abstract visibility action, the arguments are the grid,
+ * the observer position and the target positions, the
+ * positions can be numbers or vectors, each target is
+ * checked independently, so the targets are processed
+ * in parallel on parallel execution
+ */
+public abstract class IBaseVisibilityAction extends IBaseAction
+{
+    /**
+     * serial id
+     */
+    private static final long serialVersionUID = 4163904357712460918L;
+
+    @Nonnegative
+    @Override
+    public final int minimalArgumentNumber()
+    {
+        return 1;
+    }
+
+    @Nonnull
+    @Override
+    public final Stream<IFuzzyValue<?>> execute( final boolean p_parallel, @Nonnull final IContext p_context,
+                                                 @Nonnull final List<ITerm> p_argument, @Nonnull final List<ITerm> p_return )
+    {
+        final List<ITerm> l_arguments = CCommon.flatten( p_argument ).collect( Collectors.toList() );
+        final List<Number> l_values = l_arguments.stream().skip( 1 ).flatMap( IBaseRoutingAction::unpack ).collect( Collectors.toList() );
+        if ( l_values.size() < 4 || l_values.size() % 2 != 0 )
+            return p_context.agent().fuzzy().membership().fail();
+
+        final ObjectMatrix2D l_grid = l_arguments.get( 0 ).raw();
+        final int l_row = l_values.get( 0 ).intValue();
+        final int l_column = l_values.get( 1 ).intValue();
+        final List<Long> l_targets = StreamUtils.windowed( l_values.stream().skip( 2 ), 2, 2 )
+                                                .map( i -> CCell.of( i.get( 0 ).intValue(), i.get( 1 ).intValue() ) )
+                                                .collect( Collectors.toList() );
+
+        p_return.addAll(
+            ( p_parallel ? l_targets.parallelStream() : l_targets.stream() )
+                .map( i -> this.apply( l_grid, l_row, l_column, CCell.row( i ), CCell.column( i ) ) )
+                .collect( Collectors.toList() )
+        );
+
+        return Stream.empty();
+    }
+
+    /**
+     * checks a target
+     *
+     * @param p_grid grid
+     * @param p_row observer row
+     * @param p_column observer column
+     * @param p_targetrow target row
+     * @param p_targetcolumn target column
+     * @return result term
+     */
+    @Nonnull
+    protected abstract ITerm apply( @Nonnull final ObjectMatrix2D p_grid, final int p_row, final int p_column, final int p_targetrow, final int p_targetcolumn );
+
+}
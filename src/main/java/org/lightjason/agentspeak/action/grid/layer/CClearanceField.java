@@ -0,0 +1,340 @@
+/*
+ * @cond LICENSE
+ * ######################################################################################
+ * # LGPL License                                                                       #
+ * #                                                                                    #
+ * # This file is part of the LightJason                                                #
+ * # Copyright (c) 2015-19, LightJason (info@lightjason.org)                            #
+ * # This program is free software: you can redistribute it and/or modify               #
+ * # it under the terms of the GNU Lesser General Public License as                     #
+ * # published by the Free Software Foundation, either version 3 of the                 #
+ * # License, or (at your option) any later version.                                    #
+ * #                                                                                    #
+ * # This program is distributed in the hope that it will be useful,                    #
+ * # but WITHOUT ANY WARRANTY; without even the implied warranty of                     #
+ * # MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                      #
+ * # GNU Lesser General Public License for more details.                                #
+ * #                                                                                    #
+ * # You should have received a copy of the GNU Lesser General Public License           #
+ * # along with this program. If not, see http://www.gnu.org/licenses/                  #
+ * ######################################################################################
+ * @endcond
+ */
+
+package org.lightjason.agentspeak.action.grid.layer;
+
+import cern.colt.matrix.tobject.ObjectMatrix2D;
+import org.lightjason.agentspeak.action.grid.routing.CIndexedHeap;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.locks.StampedLock;
+
+
+/**
+ * euclidean clearance field of a grid.
+ * Each cell stores the squared distance to the nearest
+ * non-empty cell and the index of this cell, changes are
+ * propagated with the dynamic brushfire algorithm, so a
+ * change touches only the cells whose nearest non-empty
+ * cell has been changed, cells outside the grid count as
+ * non-empty on reading the clearance
+ *
+ * @see <a href="https://doi.org/10.1016/j.robot.2012.08.010"></a>
+ */
+public final class CClearanceField implements ILayer
+{
+    /**
+     * cell without nearest non-empty cell
+     */
+    private static final int CLEAR = -1;
+    /**
+     * row offsets of the adjacent cells
+     */
+    private static final int[] ROWOFFSET = {-1, -1, -1, 0, 0, 1, 1, 1};
+    /**
+     * column offsets of the adjacent cells
+     */
+    private static final int[] COLUMNOFFSET = {-1, 0, 1, -1, 1, -1, 0, 1};
+    /**
+     * number of rows
+     */
+    private final int m_rows;
+    /**
+     * number of columns
+     */
+    private final int m_columns;
+    /**
+     * index of the nearest non-empty cell
+     */
+    private final int[] m_obstacle;
+    /**
+     * squared distance to the nearest non-empty cell
+     */
+    private final int[] m_distance;
+    /**
+     * raise flag of each cell
+     */
+    private final boolean[] m_raise;
+    /**
+     * open list
+     */
+    private final CIndexedHeap m_open;
+    /**
+     * lock of the propagation, readers use optimistic reads
+     */
+    private final StampedLock m_lock = new StampedLock();
+
+    /**
+     * ctor
+     *
+     * @param p_grid grid
+     */
+    public CClearanceField( @Nonnull final ObjectMatrix2D p_grid )
+    {
+        m_rows = p_grid.rows();
+        m_columns = p_grid.columns();
+        m_obstacle = new int[m_rows * m_columns];
+        m_distance = new int[m_rows * m_columns];
+        m_raise = new boolean[m_rows * m_columns];
+        m_open = new CIndexedHeap( m_rows * m_columns );
+        this.reset( p_grid );
+    }
+
+    /**
+     * returns the clearance field of a grid, if it exists
+     *
+     * @param p_grid grid
+     * @return clearance field or null
+     */
+    @Nullable
+    public static CClearanceField of( @Nonnull final ObjectMatrix2D p_grid )
+    {
+        return CLayerRegistry.<CClearanceField>find( p_grid, CClearanceField.class ).orElse( null );
+    }
+
+    /**
+     * attaches a clearance field to a grid
+     *
+     * @param p_grid grid
+     * @return clearance field
+     */
+    @Nonnull
+    public static CClearanceField attach( @Nonnull final ObjectMatrix2D p_grid )
+    {
+        return CLayerRegistry.layer( p_grid, CClearanceField.class, CClearanceField::new );
+    }
+
+    /**
+     * returns the euclidean distance of a cell to the
+     * nearest non-empty cell or to the nearest cell outside
+     * the grid, a non-empty cell has got zero clearance,
+     * the distance is read consistently with the propagation
+     *
+     * @param p_row row
+     * @param p_column column
+     * @return clearance
+     */
+    public double clearance( final int p_row, final int p_column )
+    {
+        if ( p_row < 0 || p_row >= m_rows || p_column < 0 || p_column >= m_columns )
+            return 0;
+
+        final int l_border = Math.min( Math.min( p_row, m_rows - 1 - p_row ), Math.min( p_column, m_columns - 1 - p_column ) ) + 1;
+        final int l_cell = p_row * m_columns + p_column;
+        final long l_stamp = m_lock.tryOptimisticRead();
+        int l_distance = m_distance[l_cell];
+        if ( !m_lock.validate( l_stamp ) )
+        {
+            final long l_read = m_lock.readLock();
+            try
+            {
+                l_distance = m_distance[l_cell];
+            }
+            finally
+            {
+                m_lock.unlockRead( l_read );
+            }
+        }
+
+        return l_distance < l_border * l_border ? Math.sqrt( l_distance ) : l_border;
+    }
+
+    @Override
+    public void update( @Nonnull final ObjectMatrix2D p_grid, final int p_row, final int p_column,
+                        @Nullable final Object p_old, @Nullable final Object p_new )
+    {
+        final int l_cell = p_row * m_columns + p_column;
+        final long l_stamp = m_lock.writeLock();
+        try
+        {
+            if ( this.occupied( l_cell ) == Objects.nonNull( p_new ) )
+                return;
+
+            if ( Objects.nonNull( p_new ) )
+                this.obstacle( l_cell );
+            else
+            {
+                this.clear( l_cell );
+                m_raise[l_cell] = true;
+                m_open.push( l_cell, 0, 0 );
+            }
+
+            this.propagate();
+        }
+        finally
+        {
+            m_lock.unlockWrite( l_stamp );
+        }
+    }
+
+    @Override
+    public void reset( @Nonnull final ObjectMatrix2D p_grid )
+    {
+        final long l_stamp = m_lock.writeLock();
+        try
+        {
+            Arrays.fill( m_obstacle, CLEAR );
+            Arrays.fill( m_distance, Integer.MAX_VALUE );
+            Arrays.fill( m_raise, false );
+            m_open.clear();
+
+            for ( int i = 0; i < m_rows; i++ )
+                for ( int j = 0; j < m_columns; j++ )
+                    if ( Objects.nonNull( p_grid.getQuick( i, j ) ) )
+                        this.obstacle( i * m_columns + j );
+
+            this.propagate();
+        }
+        finally
+        {
+            m_lock.unlockWrite( l_stamp );
+        }
+    }
+
+    /**
+     * sets a cell as non-empty cell
+     *
+     * @param p_cell cell index
+     */
+    private void obstacle( final int p_cell )
+    {
+        m_obstacle[p_cell] = p_cell;
+        m_distance[p_cell] = 0;
+        m_open.push( p_cell, 0, 0 );
+    }
+
+    /**
+     * removes the nearest non-empty cell of a cell
+     *
+     * @param p_cell cell index
+     */
+    private void clear( final int p_cell )
+    {
+        m_obstacle[p_cell] = CLEAR;
+        m_distance[p_cell] = Integer.MAX_VALUE;
+    }
+
+    /**
+     * checks if a cell is non-empty
+     *
+     * @param p_cell cell index
+     * @return non-empty flag
+     */
+    private boolean occupied( final int p_cell )
+    {
+        return m_obstacle[p_cell] == p_cell;
+    }
+
+    /**
+     * processes the open list in order of the distances
+     */
+    private void propagate()
+    {
+        while ( !m_open.isEmpty() )
+        {
+            final int l_cell = m_open.pop();
+            if ( m_raise[l_cell] )
+                this.raise( l_cell );
+            else if ( m_obstacle[l_cell] != CLEAR && this.occupied( m_obstacle[l_cell] ) )
+                this.lower( l_cell );
+        }
+    }
+
+    /**
+     * clears the adjacent cells, whose nearest non-empty
+     * cell has been removed, and queues the adjacent cells
+     * with a valid nearest non-empty cell, which are expanded
+     * into the cleared area
+     *
+     * @param p_cell cell index
+     */
+    private void raise( final int p_cell )
+    {
+        final int l_row = p_cell / m_columns;
+        final int l_column = p_cell % m_columns;
+        for ( int i = 0; i < ROWOFFSET.length; i++ )
+        {
+            final int l_neighbour = this.neighbour( l_row + ROWOFFSET[i], l_column + COLUMNOFFSET[i] );
+            if ( l_neighbour == CLEAR || m_obstacle[l_neighbour] == CLEAR || m_raise[l_neighbour] )
+                continue;
+
+            m_open.push( l_neighbour, m_distance[l_neighbour], 0 );
+            if ( !this.occupied( m_obstacle[l_neighbour] ) )
+            {
+                this.clear( l_neighbour );
+                m_raise[l_neighbour] = true;
+            }
+        }
+
+        m_raise[p_cell] = false;
+    }
+
+    /**
+     * expands the nearest non-empty cell of
+     * a cell to the adjacent cells
+     *
+     * @param p_cell cell index
+     */
+    private void lower( final int p_cell )
+    {
+        final int l_obstacle = m_obstacle[p_cell];
+        final int l_obstaclerow = l_obstacle / m_columns;
+        final int l_obstaclecolumn = l_obstacle % m_columns;
+        final int l_row = p_cell / m_columns;
+        final int l_column = p_cell % m_columns;
+
+        for ( int i = 0; i < ROWOFFSET.length; i++ )
+        {
+            final int l_neighbourrow = l_row + ROWOFFSET[i];
+            final int l_neighbourcolumn = l_column + COLUMNOFFSET[i];
+            final int l_neighbour = this.neighbour( l_neighbourrow, l_neighbourcolumn );
+            if ( l_neighbour == CLEAR || m_raise[l_neighbour] )
+                continue;
+
+            final int l_rowdelta = l_neighbourrow - l_obstaclerow;
+            final int l_columndelta = l_neighbourcolumn - l_obstaclecolumn;
+            final int l_distance = l_rowdelta * l_rowdelta + l_columndelta * l_columndelta;
+            if ( l_distance >= m_distance[l_neighbour] )
+                continue;
+
+            m_obstacle[l_neighbour] = l_obstacle;
+            m_distance[l_neighbour] = l_distance;
+            m_open.push( l_neighbour, l_distance, 0 );
+        }
+    }
+
+    /**
+     * returns the index of a cell inside the grid
+     *
+     * @param p_row row
+     * @param p_column column
+     * @return cell index or CLEAR
+     */
+    private int neighbour( final int p_row, final int p_column )
+    {
+        return p_row < 0 || p_row >= m_rows || p_column < 0 || p_column >= m_columns ? CLEAR : p_row * m_columns + p_column;
+    }
+}
@@ -0,0 +1,476 @@
+/*
+ * @cond LICENSE
+ * ######################################################################################
+ * # LGPL License                                                                       #
+ * #                                                                                    #
+ * # This file is part of the LightJason                                                #
+ * # Copyright (c) 2015-19, LightJason (info@lightjason.org)                            #
+ * # This program is free software: you can redistribute it and/or modify               #
+ * # it under the terms of the GNU Lesser General Public License as                     #
+ * # published by the Free Software Foundation, either version 3 of the                 #
+ * # License, or (at your option) any later version.                                    #
+ * #                                                                                    #
+ * # This program is distributed in the hope that it will be useful,                    #
+ * # but WITHOUT ANY WARRANTY; without even the implied warranty of                     #
+ * # MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                      #
+ * # GNU Lesser General Public License for more details.                                #
+ * #                                                                                    #
+ * # You should have received a copy of the GNU Lesser General Public License           #
+ * # along with this program. If not, see http://www.gnu.org/licenses/                  #
+ * ######################################################################################
+ * @endcond
+ */
+
+package org.lightjason.agentspeak.action.grid.layer;
+
+import cern.colt.matrix.tobject.ObjectMatrix2D;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+
+/**
+ * registry of grid layers.
+ * Each grid instance (identity) gets a modification version
+ * and a set of layers, grids are referenced weakly, so
+ * the registry does not hold grids which are not used anymore,
+ * changes of the grid must be done with the set method, otherwise
+ * layers must be updated manually, the changes of a cell including
+ * the layer updates are atomic iif the grid supports cell locking,
+ * on grids with buffered writes the layers are updated by the grid
+ */
+public final class CLayerRegistry
+{
+    /**
+     * grid entries
+     */
+    private static final Map<CKey, CEntry> ENTRIES = new ConcurrentHashMap<>();
+    /**
+     * queue of collected grids
+     */
+    private static final ReferenceQueue<ObjectMatrix2D> COLLECTED = new ReferenceQueue<>();
+
+    /**
+     * private ctor
+     */
+    private CLayerRegistry()
+    {
+    }
+
+    /**
+     * returns the modification version of a grid
+     *
+     * @param p_grid grid
+     * @return version
+     */
+    public static long version( @Nonnull final ObjectMatrix2D p_grid )
+    {
+        final CEntry l_entry = ENTRIES.get( new CKey( p_grid, null ) );
+        return Objects.isNull( l_entry ) ? 0 : l_entry.m_version.get();
+    }
+
+    /**
+     * returns a layer of the grid and creates it if not exists
+     *
+     * @param p_grid grid
+     * @param p_key layer key e.g. layer class
+     * @param p_factory layer factory
+     * @tparam T layer type
+     * @return layer
+     */
+    @Nonnull
+    @SuppressWarnings( "unchecked" )
+    public static <T extends ILayer> T layer( @Nonnull final ObjectMatrix2D p_grid, @Nonnull final Object p_key,
+                                              @Nonnull final Function<ObjectMatrix2D, T> p_factory )
+    {
+        final CEntry l_entry = entry( p_grid );
+        return (T) l_entry.m_layers.computeIfAbsent( p_key, i ->
+        {
+            l_entry.m_factories.put( p_key, p_factory );
+            return p_factory.apply( p_grid );
+        } );
+    }
+
+    /**
+     * returns an existing layer of the grid
+     *
+     * @param p_grid grid
+     * @param p_key layer key
+     * @tparam T layer type
+     * @return optional layer
+     */
+    @Nonnull
+    @SuppressWarnings( "unchecked" )
+    public static <T extends ILayer> Optional<T> find( @Nonnull final ObjectMatrix2D p_grid, @Nonnull final Object p_key )
+    {
+        final CEntry l_entry = ENTRIES.get( new CKey( p_grid, null ) );
+        return Objects.isNull( l_entry ) ? Optional.empty() : Optional.ofNullable( (T) l_entry.m_layers.get( p_key ) );
+    }
+
+    /**
+     * removes a layer of the grid
+     *
+     * @param p_grid grid
+     * @param p_key layer key
+     * @return removing flag
+     */
+    public static boolean remove( @Nonnull final ObjectMatrix2D p_grid, @Nonnull final Object p_key )
+    {
+        final CEntry l_entry = ENTRIES.get( new CKey( p_grid, null ) );
+        if ( Objects.isNull( l_entry ) )
+            return false;
+
+        l_entry.m_factories.remove( p_key );
+        return Objects.nonNull( l_entry.m_layers.remove( p_key ) );
+    }
+
+    /**
+     * sets a cell value and updates version and layers
+     *
+     * @param p_grid grid
+     * @param p_row row
+     * @param p_column column
+     * @param p_value new value
+     * @return old value
+     */
+    @Nullable
+    public static Object set( @Nonnull final ObjectMatrix2D p_grid, final int p_row, final int p_column, @Nullable final Object p_value )
+    {
+        final CEntry l_entry = entry( p_grid );
+        lock( l_entry, p_grid, p_row, p_column );
+        try
+        {
+            final Object l_old = p_grid.getQuick( p_row, p_column );
+            p_grid.setQuick( p_row, p_column, p_value );
+            changed( l_entry, p_grid, p_row, p_column, l_old, p_value );
+            return l_old;
+        }
+        finally
+        {
+            unlock( l_entry, p_grid, p_row, p_column );
+        }
+    }
+
+    /**
+     * sets a cell value iif the current value
+     * matches and updates version and layers
+     *
+     * @param p_grid grid
+     * @param p_row row
+     * @param p_column column
+     * @param p_expected matching of the current value
+     * @param p_value new value
+     * @return setting flag
+     */
+    public static boolean compareandset( @Nonnull final ObjectMatrix2D p_grid, final int p_row, final int p_column,
+                                         @Nonnull final Predicate<Object> p_expected, @Nullable final Object p_value )
+    {
+        final CEntry l_entry = entry( p_grid );
+        lock( l_entry, p_grid, p_row, p_column );
+        try
+        {
+            final Object l_old = p_grid.getQuick( p_row, p_column );
+            if ( !p_expected.test( l_old ) )
+                return false;
+
+            p_grid.setQuick( p_row, p_column, p_value );
+            changed( l_entry, p_grid, p_row, p_column, l_old, p_value );
+            return true;
+        }
+        finally
+        {
+            unlock( l_entry, p_grid, p_row, p_column );
+        }
+    }
+
+    /**
+     * moves a cell value to an empty cell
+     * and updates version and layers
+     *
+     * @param p_grid grid
+     * @param p_fromrow source row
+     * @param p_fromcolumn source column
+     * @param p_torow target row
+     * @param p_tocolumn target column
+     * @return moving flag, false if the source is empty or the target is not empty
+     */
+    public static boolean move( @Nonnull final ObjectMatrix2D p_grid, final int p_fromrow, final int p_fromcolumn,
+                                final int p_torow, final int p_tocolumn )
+    {
+        if ( p_fromrow == p_torow && p_fromcolumn == p_tocolumn )
+            return false;
+
+        // cells are locked in row-major order, so concurrent moves cannot deadlock
+        final boolean l_order = p_fromrow < p_torow || p_fromrow == p_torow && p_fromcolumn < p_tocolumn;
+        final int l_firstrow = l_order ? p_fromrow : p_torow;
+        final int l_firstcolumn = l_order ? p_fromcolumn : p_tocolumn;
+        final int l_secondrow = l_order ? p_torow : p_fromrow;
+        final int l_secondcolumn = l_order ? p_tocolumn : p_fromcolumn;
+
+        final CEntry l_entry = entry( p_grid );
+        lock( l_entry, p_grid, l_firstrow, l_firstcolumn );
+        try
+        {
+            lock( l_entry, p_grid, l_secondrow, l_secondcolumn );
+            try
+            {
+                final Object l_value = p_grid.getQuick( p_fromrow, p_fromcolumn );
+                if ( Objects.isNull( l_value ) || Objects.nonNull( p_grid.getQuick( p_torow, p_tocolumn ) ) )
+                    return false;
+
+                begin( l_entry, p_grid );
+                try
+                {
+                    p_grid.setQuick( p_torow, p_tocolumn, l_value );
+                    p_grid.setQuick( p_fromrow, p_fromcolumn, null );
+                }
+                finally
+                {
+                    end( l_entry, p_grid );
+                }
+
+                changed( l_entry, p_grid, p_torow, p_tocolumn, null, l_value );
+                changed( l_entry, p_grid, p_fromrow, p_fromcolumn, l_value, null );
+                return true;
+            }
+            finally
+            {
+                unlock( l_entry, p_grid, l_secondrow, l_secondcolumn );
+            }
+        }
+        finally
+        {
+            unlock( l_entry, p_grid, l_firstrow, l_firstcolumn );
+        }
+    }
+
+    /**
+     * updates version and layers after a cell
+     * has been changed outside of the registry
+     *
+     * @param p_grid grid
+     * @param p_row row
+     * @param p_column column
+     * @param p_old old value
+     * @param p_new new value
+     */
+    public static void update( @Nonnull final ObjectMatrix2D p_grid, final int p_row, final int p_column,
+                               @Nullable final Object p_old, @Nullable final Object p_new )
+    {
+        final CEntry l_entry = entry( p_grid );
+        l_entry.m_version.incrementAndGet();
+        l_entry.m_layers.values().forEach( i -> i.update( p_grid, p_row, p_column, p_old, p_new ) );
+    }
+
+    /**
+     * updates version and resets all layers after
+     * the grid has been changed outside of the registry
+     *
+     * @param p_grid grid
+     */
+    public static void reset( @Nonnull final ObjectMatrix2D p_grid )
+    {
+        final CEntry l_entry = entry( p_grid );
+        l_entry.m_version.incrementAndGet();
+        l_entry.m_layers.values().forEach( i -> i.reset( p_grid ) );
+    }
+
+    /**
+     * updates version and rebuilds all layers with their
+     * factories after the grid size has been changed, so
+     * the attached layers are kept with the new extent
+     *
+     * @param p_grid grid
+     */
+    public static void resize( @Nonnull final ObjectMatrix2D p_grid )
+    {
+        final CEntry l_entry = entry( p_grid );
+        l_entry.m_version.incrementAndGet();
+        l_entry.m_layers.replaceAll( ( k, v ) -> l_entry.m_factories.get( k ).apply( p_grid ) );
+    }
+
+    /**
+     * updates version and layers of an entry after a registry change,
+     * buffered writes are skipped, because the grid updates the layers
+     *
+     * @param p_entry entry
+     * @param p_grid grid
+     * @param p_row row
+     * @param p_column column
+     * @param p_old old value
+     * @param p_new new value
+     */
+    private static void changed( @Nonnull final CEntry p_entry, @Nonnull final ObjectMatrix2D p_grid, final int p_row, final int p_column,
+                                 @Nullable final Object p_old, @Nullable final Object p_new )
+    {
+        if ( p_entry.m_buffering )
+            return;
+
+        p_entry.m_version.incrementAndGet();
+        p_entry.m_layers.values().forEach( i -> i.update( p_grid, p_row, p_column, p_old, p_new ) );
+    }
+
+    /**
+     * locks a cell iif the grid supports cell locking
+     *
+     * @param p_entry entry
+     * @param p_grid grid
+     * @param p_row row
+     * @param p_column column
+     */
+    private static void lock( @Nonnull final CEntry p_entry, @Nonnull final ObjectMatrix2D p_grid, final int p_row, final int p_column )
+    {
+        if ( p_entry.m_locking )
+            ( (ICellLocking) p_grid ).lock( p_row, p_column );
+    }
+
+    /**
+     * unlocks a cell iif the grid supports cell locking
+     *
+     * @param p_entry entry
+     * @param p_grid grid
+     * @param p_row row
+     * @param p_column column
+     */
+    private static void unlock( @Nonnull final CEntry p_entry, @Nonnull final ObjectMatrix2D p_grid, final int p_row, final int p_column )
+    {
+        if ( p_entry.m_locking )
+            ( (ICellLocking) p_grid ).unlock( p_row, p_column );
+    }
+
+    /**
+     * starts a write group iif the grid buffers writes
+     *
+     * @param p_entry entry
+     * @param p_grid grid
+     */
+    private static void begin( @Nonnull final CEntry p_entry, @Nonnull final ObjectMatrix2D p_grid )
+    {
+        if ( p_entry.m_buffering )
+            ( (IWriteBuffering) p_grid ).begin();
+    }
+
+    /**
+     * ends a write group iif the grid buffers writes
+     *
+     * @param p_entry entry
+     * @param p_grid grid
+     */
+    private static void end( @Nonnull final CEntry p_entry, @Nonnull final ObjectMatrix2D p_grid )
+    {
+        if ( p_entry.m_buffering )
+            ( (IWriteBuffering) p_grid ).end();
+    }
+
+    /**
+     * returns the entry of a grid and creates it if not exists
+     *
+     * @param p_grid grid
+     * @return entry
+     */
+    @Nonnull
+    private static CEntry entry( @Nonnull final ObjectMatrix2D p_grid )
+    {
+        for ( Reference<? extends ObjectMatrix2D> l_key = COLLECTED.poll(); Objects.nonNull( l_key ); l_key = COLLECTED.poll() )
+            ENTRIES.remove( l_key );
+
+        final CEntry l_entry = ENTRIES.get( new CKey( p_grid, null ) );
+        return Objects.nonNull( l_entry )
+               ? l_entry
+               : ENTRIES.computeIfAbsent( new CKey( p_grid, COLLECTED ), i -> new CEntry( p_grid ) );
+    }
+
+
+    /**
+     * weak identity key of a grid
+     */
+    private static final class CKey extends WeakReference<ObjectMatrix2D>
+    {
+        /**
+         * identity hash code
+         */
+        private final int m_hash;
+
+        /**
+         * ctor
+         *
+         * @param p_grid grid
+         * @param p_queue reference queue or null
+         */
+        CKey( @Nonnull final ObjectMatrix2D p_grid, @Nullable final ReferenceQueue<ObjectMatrix2D> p_queue )
+        {
+            super( p_grid, p_queue );
+            m_hash = System.identityHashCode( p_grid );
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return m_hash;
+        }
+
+        @Override
+        public boolean equals( final Object p_object )
+        {
+            if ( this == p_object )
+                return true;
+
+            if ( !( p_object instanceof CKey ) )
+                return false;
+
+            final ObjectMatrix2D l_grid = this.get();
+            return Objects.nonNull( l_grid ) && l_grid == ( (CKey) p_object ).get();
+        }
+    }
+
+    /**
+     * registry entry of a grid
+     */
+    private static final class CEntry
+    {
+        /**
+         * modification version
+         */
+        private final AtomicLong m_version = new AtomicLong();
+        /**
+         * layers
+         */
+        private final Map<Object, ILayer> m_layers = new ConcurrentHashMap<>();
+        /**
+         * layer factories to rebuild the layers, the factories
+         * get the grid as argument, so they do not reference it
+         */
+        private final Map<Object, Function<ObjectMatrix2D, ? extends ILayer>> m_factories = new ConcurrentHashMap<>();
+        /**
+         * grid supports cell locking, the entry must not reference
+         * the grid, because the grid is the weak key of the entry
+         */
+        private final boolean m_locking;
+        /**
+         * grid buffers writes
+         */
+        private final boolean m_buffering;
+
+        /**
+         * ctor
+         *
+         * @param p_grid grid
+         */
+        CEntry( @Nonnull final ObjectMatrix2D p_grid )
+        {
+            // the type check is done once, because a failing interface check is expensive on each change
+            m_locking = p_grid instanceof ICellLocking;
+            m_buffering = p_grid instanceof IWriteBuffering;
+        }
+    }
+}
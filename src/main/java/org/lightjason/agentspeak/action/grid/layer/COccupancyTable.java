@@ -0,0 +1,202 @@
+/*
+ * @cond LICENSE
+ * ######################################################################################
+ * # LGPL License                                                                       #
+ * #                                                                                    #
+ * # This file is part of the LightJason                                                #
+ * # Copyright (c) 2015-19, LightJason (info@lightjason.org)                            #
+ * # This program is free software: you can redistribute it and/or modify               #
+ * # it under the terms of the GNU Lesser General Public License as                     #
+ * # published by the Free Software Foundation, either version 3 of the                 #
+ * # License, or (at your option) any later version.                                    #
+ * #                                                                                    #
+ * # This program is distributed in the hope that it will be useful,                    #
+ * # but WITHOUT ANY WARRANTY; without even the implied warranty of                     #
+ * # MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                      #
+ * # GNU Lesser General Public License for more details.                                #
+ * #                                                                                    #
+ * # You should have received a copy of the GNU Lesser General Public License           #
+ * # along with this program. If not, see http://www.gnu.org/licenses/                  #
+ * ######################################################################################
+ * @endcond
+ */
+
+
+package org.lightjason.agentspeak.action.grid.layer;
+
+import cern.colt.matrix.tobject.ObjectMatrix2D;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Arrays;
+import java.util.Objects;
+
+
+/**
+ * occupancy table of a grid.
+ * The table is a two-dimensional fenwick tree of the
+ * occupied cells, which is the incremental variant of a
+ * summed-area table, so a cell change and the number of
+ * occupied cells of a rectangle need O(log rows * log columns)
+ */
+public final class COccupancyTable implements ILayer
+{
+    /**
+     * number of rows
+     */
+    private final int m_rows;
+    /**
+     * number of columns
+     */
+    private final int m_columns;
+    /**
+     * fenwick tree with one-based indices
+     */
+    private final int[] m_tree;
+
+    /**
+     * ctor
+     *
+     * @param p_grid grid
+     */
+    public COccupancyTable( @Nonnull final ObjectMatrix2D p_grid )
+    {
+        m_rows = p_grid.rows();
+        m_columns = p_grid.columns();
+        m_tree = new int[( m_rows + 1 ) * ( m_columns + 1 )];
+        this.reset( p_grid );
+    }
+
+    /**
+     * returns the table of a grid, if it exists
+     *
+     * @param p_grid grid
+     * @return table or null
+     */
+    @Nullable
+    public static COccupancyTable of( @Nonnull final ObjectMatrix2D p_grid )
+    {
+        return CLayerRegistry.<COccupancyTable>find( p_grid, COccupancyTable.class ).orElse( null );
+    }
+
+    /**
+     * attaches a table to a grid
+     *
+     * @param p_grid grid
+     * @return table
+     */
+    @Nonnull
+    public static COccupancyTable attach( @Nonnull final ObjectMatrix2D p_grid )
+    {
+        return CLayerRegistry.layer( p_grid, COccupancyTable.class, COccupancyTable::new );
+    }
+
+    /**
+     * returns the number of occupied cells of a rectangle,
+     * cells outside the grid are counted as occupied, so a
+     * rectangle, which leaves the grid, is never empty
+     *
+     * @param p_fromrow first row
+     * @param p_fromcolumn first column
+     * @param p_torow last row (inclusive)
+     * @param p_tocolumn last column (inclusive)
+     * @return number of occupied cells
+     */
+    @Nonnegative
+    public synchronized int count( final int p_fromrow, final int p_fromcolumn, final int p_torow, final int p_tocolumn )
+    {
+        if ( p_fromrow > p_torow || p_fromcolumn > p_tocolumn )
+            return 0;
+
+        final long l_area = ( (long) p_torow - p_fromrow + 1 ) * ( (long) p_tocolumn - p_fromcolumn + 1 );
+        final int l_fromrow = Math.max( 0, p_fromrow );
+        final int l_fromcolumn = Math.max( 0, p_fromcolumn );
+        final int l_torow = Math.min( m_rows - 1, p_torow );
+        final int l_tocolumn = Math.min( m_columns - 1, p_tocolumn );
+        if ( l_fromrow > l_torow || l_fromcolumn > l_tocolumn )
+            return (int) Math.min( Integer.MAX_VALUE, l_area );
+
+        final long l_inside = ( (long) l_torow - l_fromrow + 1 ) * ( l_tocolumn - l_fromcolumn + 1 );
+        return (int) Math.min(
+            Integer.MAX_VALUE,
+            l_area - l_inside
+            + this.prefix( l_torow + 1, l_tocolumn + 1 )
+            - this.prefix( l_fromrow, l_tocolumn + 1 )
+            - this.prefix( l_torow + 1, l_fromcolumn )
+            + this.prefix( l_fromrow, l_fromcolumn )
+        );
+    }
+
+    /**
+     * checks if all cells of a rectangle are empty
+     *
+     * @param p_fromrow first row
+     * @param p_fromcolumn first column
+     * @param p_torow last row (inclusive)
+     * @param p_tocolumn last column (inclusive)
+     * @return empty flag
+     */
+    public boolean empty( final int p_fromrow, final int p_fromcolumn, final int p_torow, final int p_tocolumn )
+    {
+        return this.count( p_fromrow, p_fromcolumn, p_torow, p_tocolumn ) == 0;
+    }
+
+    @Override
+    public synchronized void update( @Nonnull final ObjectMatrix2D p_grid, final int p_row, final int p_column,
+                                     @Nullable final Object p_old, @Nullable final Object p_new )
+    {
+        if ( Objects.isNull( p_old ) == Objects.isNull( p_new ) )
+            return;
+
+        final int l_delta = Objects.isNull( p_new ) ? -1 : 1;
+        for ( int i = p_row + 1; i <= m_rows; i += i & -i )
+            for ( int j = p_column + 1; j <= m_columns; j += j & -j )
+                m_tree[i * ( m_columns + 1 ) + j] += l_delta;
+    }
+
+    @Override
+    public synchronized void reset( @Nonnull final ObjectMatrix2D p_grid )
+    {
+        Arrays.fill( m_tree, 0 );
+        p_grid.forEachNonZero( ( r, c, v ) ->
+        {
+            m_tree[( r + 1 ) * ( m_columns + 1 ) + c + 1] = 1;
+            return v;
+        } );
+
+        // linear build, each node is added to its parent along the rows and then along the columns
+        for ( int i = 1; i <= m_rows; i++ )
+            for ( int j = 1; j <= m_columns; j++ )
+            {
+                final int l_parent = j + ( j & -j );
+                if ( l_parent <= m_columns )
+                    m_tree[i * ( m_columns + 1 ) + l_parent] += m_tree[i * ( m_columns + 1 ) + j];
+            }
+
+        for ( int i = 1; i <= m_rows; i++ )
+        {
+            final int l_parent = i + ( i & -i );
+            if ( l_parent <= m_rows )
+                for ( int j = 1; j <= m_columns; j++ )
+                    m_tree[l_parent * ( m_columns + 1 ) + j] += m_tree[i * ( m_columns + 1 ) + j];
+        }
+    }
+
+    /**
+     * number of occupied cells of the rectangle
+     * from the origin to the cell (exclusive)
+     *
+     * @param p_rows number of rows
+     * @param p_columns number of columns
+     * @return number of occupied cells
+     */
+    private int prefix( final int p_rows, final int p_columns )
+    {
+        int l_sum = 0;
+        for ( int i = p_rows; i > 0; i -= i & -i )
+            for ( int j = p_columns; j > 0; j -= j & -j )
+                l_sum += m_tree[i * ( m_columns + 1 ) + j];
+        return l_sum;
+    }
+}
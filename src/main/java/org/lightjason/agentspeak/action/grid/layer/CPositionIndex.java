@@ -0,0 +1,183 @@
+/*
+ * @cond LICENSE
+ * ######################################################################################
+ * # LGPL License                                                                       #
+ * #                                                                                    #
+ * # This file is part of the LightJason                                                #
+ * # Copyright (c) 2015-19, LightJason (info@lightjason.org)                            #
+ * # This program is free software: you can redistribute it and/or modify               #
+ * # it under the terms of the GNU Lesser General Public License as                     #
+ * # published by the Free Software Foundation, either version 3 of the                 #
+ * # License, or (at your option) any later version.                                    #
+ * #                                                                                    #
+ * # This program is distributed in the hope that it will be useful,                    #
+ * # but WITHOUT ANY WARRANTY; without even the implied warranty of                     #
+ * # MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                      #
+ * # GNU Lesser General Public License for more details.                                #
+ * #                                                                                    #
+ * # You should have received a copy of the GNU Lesser General Public License           #
+ * # along with this program. If not, see http://www.gnu.org/licenses/                  #
+ * ######################################################################################
+ * @endcond
+ */
+
+
+package org.lightjason.agentspeak.action.grid.layer;
+
+import cern.colt.matrix.tobject.ObjectMatrix2D;
+import org.lightjason.agentspeak.action.grid.routing.CCell;
+import org.lightjason.agentspeak.language.ITerm;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+
+/**
+ * reverse index of a grid.
+ * The index maps each object to its packed cells,
+ * terms are indexed by their raw value, so the position
+ * of an object is found in constant time instead of a
+ * grid scan, if equal objects exist in multiple cells the
+ * index contains all cells and returns the last set cell
+ */
+public final class CPositionIndex implements ILayer
+{
+    /**
+     * packed cells of the objects in set order, the arrays are
+     * replaced on change, so reads do not need any lock
+     */
+    private final Map<Object, long[]> m_positions = new ConcurrentHashMap<>();
+
+    /**
+     * ctor
+     *
+     * @param p_grid grid
+     */
+    public CPositionIndex( @Nonnull final ObjectMatrix2D p_grid )
+    {
+        this.reset( p_grid );
+    }
+
+    /**
+     * returns the index of a grid, if it exists
+     *
+     * @param p_grid grid
+     * @return index or null
+     */
+    @Nullable
+    public static CPositionIndex of( @Nonnull final ObjectMatrix2D p_grid )
+    {
+        return CLayerRegistry.<CPositionIndex>find( p_grid, CPositionIndex.class ).orElse( null );
+    }
+
+    /**
+     * attaches an index to a grid
+     *
+     * @param p_grid grid
+     * @return index
+     */
+    @Nonnull
+    public static CPositionIndex attach( @Nonnull final ObjectMatrix2D p_grid )
+    {
+        return CLayerRegistry.layer( p_grid, CPositionIndex.class, CPositionIndex::new );
+    }
+
+    /**
+     * returns the position of an object
+     *
+     * @param p_object object or term
+     * @return last set packed cell or null
+     */
+    @Nullable
+    public Long position( @Nullable final Object p_object )
+    {
+        final Object l_key = key( p_object );
+        final long[] l_cells = Objects.isNull( l_key ) ? null : m_positions.get( l_key );
+        return Objects.isNull( l_cells ) ? null : l_cells[l_cells.length - 1];
+    }
+
+    /**
+     * number of indexed objects
+     *
+     * @return size
+     */
+    public int size()
+    {
+        return m_positions.size();
+    }
+
+    @Override
+    public synchronized void update( @Nonnull final ObjectMatrix2D p_grid, final int p_row, final int p_column,
+                                     @Nullable final Object p_old, @Nullable final Object p_new )
+    {
+        final long l_cell = CCell.of( p_row, p_column );
+        final Object l_old = key( p_old );
+        final Object l_new = key( p_new );
+
+        // only the changed cell is removed, so equal objects in other cells are kept
+        if ( Objects.nonNull( l_old ) )
+            m_positions.computeIfPresent( l_old, ( k, v ) -> remove( v, l_cell ) );
+
+        if ( Objects.nonNull( l_new ) )
+            m_positions.compute( l_new, ( k, v ) -> append( v, l_cell ) );
+    }
+
+    @Override
+    public synchronized void reset( @Nonnull final ObjectMatrix2D p_grid )
+    {
+        m_positions.clear();
+        p_grid.forEachNonZero( ( r, c, v ) ->
+        {
+            final Object l_key = key( v );
+            if ( Objects.nonNull( l_key ) )
+                m_positions.compute( l_key, ( k, i ) -> append( i, CCell.of( r, c ) ) );
+            return v;
+        } );
+    }
+
+    /**
+     * removes a cell of the cells
+     *
+     * @param p_cells packed cells
+     * @param p_cell packed cell
+     * @return new cells or null if no cell exists
+     */
+    @Nullable
+    private static long[] remove( @Nonnull final long[] p_cells, final long p_cell )
+    {
+        final long[] l_cells = Arrays.stream( p_cells ).filter( i -> i != p_cell ).toArray();
+        return l_cells.length == 0 ? null : l_cells;
+    }
+
+    /**
+     * appends a cell as last set cell
+     *
+     * @param p_cells packed cells or null
+     * @param p_cell packed cell
+     * @return new cells
+     */
+    @Nonnull
+    private static long[] append( @Nullable final long[] p_cells, final long p_cell )
+    {
+        final long[] l_cells = Objects.isNull( p_cells ) ? new long[0] : Arrays.stream( p_cells ).filter( i -> i != p_cell ).toArray();
+        final long[] l_result = Arrays.copyOf( l_cells, l_cells.length + 1 );
+        l_result[l_cells.length] = p_cell;
+        return l_result;
+    }
+
+    /**
+     * returns the index key of an object
+     *
+     * @param p_object object
+     * @return raw value of a term, the object or null
+     */
+    @Nullable
+    private static Object key( @Nullable final Object p_object )
+    {
+        return p_object instanceof ITerm ? ( (ITerm) p_object ).raw() : p_object;
+    }
+}
@@ -0,0 +1,419 @@
+/*
+ * @cond LICENSE
+ * ######################################################################################
+ * # LGPL License                                                                       #
+ * #                                                                                    #
+ * # This file is part of the LightJason                                                #
+ * # Copyright (c) 2015-19, LightJason (info@lightjason.org)                            #
+ * # This program is free software: you can redistribute it and/or modify               #
+ * # it under the terms of the GNU Lesser General Public License as                     #
+ * # published by the Free Software Foundation, either version 3 of the                 #
+ * # License, or (at your option) any later version.                                    #
+ * #                                                                                    #
+ * # This program is distributed in the hope that it will be useful,                    #
+ * # but WITHOUT ANY WARRANTY; without even the implied warranty of                     #
+ * # MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                      #
+ * # GNU Lesser General Public License for more details.                                #
+ * #                                                                                    #
+ * # You should have received a copy of the GNU Lesser General Public License           #
+ * # along with this program. If not, see http://www.gnu.org/licenses/                  #
+ * ######################################################################################
+ * @endcond
+ */
+
+
+package org.lightjason.agentspeak.action.grid.layer;
+
+import cern.colt.matrix.tobject.ObjectMatrix2D;
+import org.lightjason.agentspeak.action.grid.routing.CCell;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.function.LongConsumer;
+import java.util.function.LongPredicate;
+import java.util.stream.LongStream;
+
+
+/**
+ * spatial index of a grid as hierarchical occupancy pyramid.
+ * The lowest level stores the occupancy of 8 x 8 cell blocks
+ * as bit mask, each upper level stores the number of occupied
+ * cells of blocks with the double size, so queries skip empty
+ * blocks and the cost depends on the number of results and
+ * not on the queried area, a cell change updates one counter
+ * on each level
+ */
+public final class CSpatialIndex implements ILayer
+{
+    /**
+     * number of bits of the block size
+     */
+    private static final int BLOCKBITS = 3;
+    /**
+     * block size
+     */
+    private static final int BLOCKSIZE = 1 << BLOCKBITS;
+    /**
+     * column mask of a block row
+     */
+    private static final long ROWMASK = 0x0101010101010101L;
+    /**
+     * number of rows
+     */
+    private final int m_rows;
+    /**
+     * number of columns
+     */
+    private final int m_columns;
+    /**
+     * number of rows of each level
+     */
+    private final int[] m_levelrows;
+    /**
+     * number of columns of each level
+     */
+    private final int[] m_levelcolumns;
+    /**
+     * occupancy bits of the lowest level blocks
+     */
+    private final long[] m_masks;
+    /**
+     * occupied cells of the upper level blocks (index 0 is unused)
+     */
+    private final int[][] m_counts;
+
+    /**
+     * ctor
+     *
+     * @param p_grid grid
+     */
+    public CSpatialIndex( @Nonnull final ObjectMatrix2D p_grid )
+    {
+        m_rows = p_grid.rows();
+        m_columns = p_grid.columns();
+
+        int l_rows = Math.max( 1, ( m_rows + BLOCKSIZE - 1 ) >>> BLOCKBITS );
+        int l_columns = Math.max( 1, ( m_columns + BLOCKSIZE - 1 ) >>> BLOCKBITS );
+        final int l_levels = 33 - Integer.numberOfLeadingZeros( Math.max( l_rows, l_columns ) - 1 );
+
+        m_levelrows = new int[l_levels];
+        m_levelcolumns = new int[l_levels];
+        m_counts = new int[l_levels][];
+        for ( int i = 0; i < l_levels; i++ )
+        {
+            m_levelrows[i] = l_rows;
+            m_levelcolumns[i] = l_columns;
+            m_counts[i] = i == 0 ? new int[0] : new int[l_rows * l_columns];
+            l_rows = ( l_rows + 1 ) >>> 1;
+            l_columns = ( l_columns + 1 ) >>> 1;
+        }
+
+        m_masks = new long[m_levelrows[0] * m_levelcolumns[0]];
+        this.reset( p_grid );
+    }
+
+    /**
+     * returns the index of a grid, if it exists
+     *
+     * @param p_grid grid
+     * @return index or null
+     */
+    @Nullable
+    public static CSpatialIndex of( @Nonnull final ObjectMatrix2D p_grid )
+    {
+        return CLayerRegistry.<CSpatialIndex>find( p_grid, CSpatialIndex.class ).orElse( null );
+    }
+
+    /**
+     * attaches an index to a grid
+     *
+     * @param p_grid grid
+     * @return index
+     */
+    @Nonnull
+    public static CSpatialIndex attach( @Nonnull final ObjectMatrix2D p_grid )
+    {
+        return CLayerRegistry.layer( p_grid, CSpatialIndex.class, CSpatialIndex::new );
+    }
+
+    /**
+     * number of occupied cells
+     *
+     * @return number of cells
+     */
+    @Nonnegative
+    public synchronized int size()
+    {
+        final int l_top = m_counts.length - 1;
+        return l_top == 0 ? Long.bitCount( m_masks[0] ) : m_counts[l_top][0];
+    }
+
+    /**
+     * returns the occupied cells of a rectangle
+     *
+     * @param p_fromrow first row
+     * @param p_fromcolumn first column
+     * @param p_torow last row (inclusive)
+     * @param p_tocolumn last column (inclusive)
+     * @return packed cells in block order
+     */
+    @Nonnull
+    public LongStream range( final int p_fromrow, final int p_fromcolumn, final int p_torow, final int p_tocolumn )
+    {
+        final LongStream.Builder l_cells = LongStream.builder();
+        this.query( p_fromrow, p_fromcolumn, p_torow, p_tocolumn, i -> true, l_cells );
+        return l_cells.build();
+    }
+
+    /**
+     * returns the occupied cells within an euclidean radius
+     *
+     * @param p_row center row
+     * @param p_column center column
+     * @param p_radius radius
+     * @return packed cells in block order
+     */
+    @Nonnull
+    public LongStream radius( final int p_row, final int p_column, @Nonnegative final double p_radius )
+    {
+        final int l_radius = (int) Math.floor( p_radius );
+        final double l_square = p_radius * p_radius;
+        final LongStream.Builder l_cells = LongStream.builder();
+        this.query(
+            p_row - l_radius, p_column - l_radius, p_row + l_radius, p_column + l_radius,
+            i -> distance( p_row, p_column, CCell.row( i ), CCell.column( i ) ) <= l_square,
+            l_cells
+        );
+        return l_cells.build();
+    }
+
+    /**
+     * returns the nearest occupied cells of a cell
+     * by a best-first search over the blocks,
+     * the cell itself is not returned
+     *
+     * @param p_row row
+     * @param p_column column
+     * @param p_count maximum number of cells
+     * @return packed cells ordered by the euclidean distance
+     */
+    @Nonnull
+    public synchronized LongStream nearest( final int p_row, final int p_column, @Nonnegative final int p_count )
+    {
+        // entries are distance, level (-1 for cells), row and column of the block or cell
+        final PriorityQueue<long[]> l_queue = new PriorityQueue<>(
+            Comparator.<long[]>comparingLong( i -> i[0] ).thenComparingLong( i -> i[1] ).thenComparingLong( i -> i[2] ).thenComparingLong( i -> i[3] )
+        );
+        final LongStream.Builder l_cells = LongStream.builder();
+        final int l_top = m_counts.length - 1;
+        l_queue.add( new long[]{this.blockdistance( p_row, p_column, l_top, 0, 0 ), l_top, 0, 0} );
+
+        for ( int l_found = 0; l_found < p_count && !l_queue.isEmpty(); )
+        {
+            final long[] l_entry = l_queue.poll();
+            final int l_level = (int) l_entry[1];
+            final int l_row = (int) l_entry[2];
+            final int l_column = (int) l_entry[3];
+
+            if ( l_level < 0 )
+            {
+                if ( l_row != p_row || l_column != p_column )
+                {
+                    l_cells.add( CCell.of( l_row, l_column ) );
+                    l_found++;
+                }
+                continue;
+            }
+
+            if ( l_level == 0 )
+            {
+                for ( long l_mask = m_masks[l_row * m_levelcolumns[0] + l_column]; l_mask != 0; l_mask &= l_mask - 1 )
+                {
+                    final int l_bit = Long.numberOfTrailingZeros( l_mask );
+                    final int l_cellrow = ( l_row << BLOCKBITS ) + ( l_bit >>> BLOCKBITS );
+                    final int l_cellcolumn = ( l_column << BLOCKBITS ) + ( l_bit & ( BLOCKSIZE - 1 ) );
+                    l_queue.add( new long[]{distance( p_row, p_column, l_cellrow, l_cellcolumn ), -1, l_cellrow, l_cellcolumn} );
+                }
+                continue;
+            }
+
+            for ( int i = l_row << 1; i <= ( l_row << 1 ) + 1 && i < m_levelrows[l_level - 1]; i++ )
+                for ( int j = l_column << 1; j <= ( l_column << 1 ) + 1 && j < m_levelcolumns[l_level - 1]; j++ )
+                    if ( this.occupied( l_level - 1, i, j ) )
+                        l_queue.add( new long[]{this.blockdistance( p_row, p_column, l_level - 1, i, j ), l_level - 1, i, j} );
+        }
+
+        return l_cells.build();
+    }
+
+    @Override
+    public synchronized void update( @Nonnull final ObjectMatrix2D p_grid, final int p_row, final int p_column,
+                                     @Nullable final Object p_old, @Nullable final Object p_new )
+    {
+        if ( Objects.isNull( p_old ) == Objects.isNull( p_new ) )
+            return;
+
+        final int l_row = p_row >>> BLOCKBITS;
+        final int l_column = p_column >>> BLOCKBITS;
+        final long l_bit = 1L << ( ( p_row & ( BLOCKSIZE - 1 ) ) << BLOCKBITS | p_column & ( BLOCKSIZE - 1 ) );
+        final int l_delta = Objects.isNull( p_new ) ? -1 : 1;
+
+        if ( l_delta > 0 )
+            m_masks[l_row * m_levelcolumns[0] + l_column] |= l_bit;
+        else
+            m_masks[l_row * m_levelcolumns[0] + l_column] &= ~l_bit;
+
+        for ( int i = 1; i < m_counts.length; i++ )
+            m_counts[i][( l_row >>> i ) * m_levelcolumns[i] + ( l_column >>> i )] += l_delta;
+    }
+
+    @Override
+    public synchronized void reset( @Nonnull final ObjectMatrix2D p_grid )
+    {
+        Arrays.fill( m_masks, 0 );
+        p_grid.forEachNonZero( ( r, c, v ) ->
+        {
+            m_masks[( r >>> BLOCKBITS ) * m_levelcolumns[0] + ( c >>> BLOCKBITS )] |= 1L << ( ( r & ( BLOCKSIZE - 1 ) ) << BLOCKBITS | c & ( BLOCKSIZE - 1 ) );
+            return v;
+        } );
+
+        // the counters are built bottom-up
+        for ( int l = 1; l < m_counts.length; l++ )
+        {
+            Arrays.fill( m_counts[l], 0 );
+            for ( int i = 0; i < m_levelrows[l - 1]; i++ )
+                for ( int j = 0; j < m_levelcolumns[l - 1]; j++ )
+                    m_counts[l][( i >>> 1 ) * m_levelcolumns[l] + ( j >>> 1 )] += l == 1
+                                                                                  ? Long.bitCount( m_masks[i * m_levelcolumns[0] + j] )
+                                                                                  : m_counts[l - 1][i * m_levelcolumns[l - 1] + j];
+        }
+    }
+
+    /**
+     * visits the occupied cells of a rectangle
+     *
+     * @param p_fromrow first row
+     * @param p_fromcolumn first column
+     * @param p_torow last row (inclusive)
+     * @param p_tocolumn last column (inclusive)
+     * @param p_filter cell filter
+     * @param p_consumer cell consumer
+     */
+    private synchronized void query( final int p_fromrow, final int p_fromcolumn, final int p_torow, final int p_tocolumn,
+                                     @Nonnull final LongPredicate p_filter, @Nonnull final LongConsumer p_consumer )
+    {
+        final int l_fromrow = Math.max( 0, p_fromrow );
+        final int l_fromcolumn = Math.max( 0, p_fromcolumn );
+        final int l_torow = Math.min( m_rows - 1, p_torow );
+        final int l_tocolumn = Math.min( m_columns - 1, p_tocolumn );
+        if ( l_fromrow > l_torow || l_fromcolumn > l_tocolumn )
+            return;
+
+        this.visit( m_counts.length - 1, 0, 0, l_fromrow, l_fromcolumn, l_torow, l_tocolumn, p_filter, p_consumer );
+    }
+
+    /**
+     * visits a block recursively
+     *
+     * @param p_level level
+     * @param p_row block row
+     * @param p_column block column
+     * @param p_fromrow first row
+     * @param p_fromcolumn first column
+     * @param p_torow last row (inclusive)
+     * @param p_tocolumn last column (inclusive)
+     * @param p_filter cell filter
+     * @param p_consumer cell consumer
+     */
+    private void visit( final int p_level, final int p_row, final int p_column,
+                        final int p_fromrow, final int p_fromcolumn, final int p_torow, final int p_tocolumn,
+                        @Nonnull final LongPredicate p_filter, @Nonnull final LongConsumer p_consumer )
+    {
+        final int l_shift = BLOCKBITS + p_level;
+        if ( !this.occupied( p_level, p_row, p_column )
+             || ( p_row << l_shift ) > p_torow || ( ( p_row + 1 ) << l_shift ) <= p_fromrow
+             || ( p_column << l_shift ) > p_tocolumn || ( ( p_column + 1 ) << l_shift ) <= p_fromcolumn )
+            return;
+
+        if ( p_level > 0 )
+        {
+            for ( int i = p_row << 1; i <= ( p_row << 1 ) + 1 && i < m_levelrows[p_level - 1]; i++ )
+                for ( int j = p_column << 1; j <= ( p_column << 1 ) + 1 && j < m_levelcolumns[p_level - 1]; j++ )
+                    this.visit( p_level - 1, i, j, p_fromrow, p_fromcolumn, p_torow, p_tocolumn, p_filter, p_consumer );
+            return;
+        }
+
+        // the rectangle is cut to the block and applied as bit mask
+        final int l_row = p_row << BLOCKBITS;
+        final int l_column = p_column << BLOCKBITS;
+        final int l_fromrow = Math.max( p_fromrow, l_row ) - l_row;
+        final int l_torow = Math.min( p_torow, l_row + BLOCKSIZE - 1 ) - l_row;
+        final int l_fromcolumn = Math.max( p_fromcolumn, l_column ) - l_column;
+        final int l_tocolumn = Math.min( p_tocolumn, l_column + BLOCKSIZE - 1 ) - l_column;
+
+        final long l_columns = ( ( 1L << ( l_tocolumn - l_fromcolumn + 1 ) ) - 1 ) << l_fromcolumn;
+        final long l_rows = ( l_torow == BLOCKSIZE - 1 ? -1L : ( 1L << ( ( l_torow + 1 ) << BLOCKBITS ) ) - 1 ) & -( 1L << ( l_fromrow << BLOCKBITS ) );
+
+        for ( long l_mask = m_masks[p_row * m_levelcolumns[0] + p_column] & l_columns * ROWMASK & l_rows; l_mask != 0; l_mask &= l_mask - 1 )
+        {
+            final int l_bit = Long.numberOfTrailingZeros( l_mask );
+            final long l_cell = CCell.of( l_row + ( l_bit >>> BLOCKBITS ), l_column + ( l_bit & ( BLOCKSIZE - 1 ) ) );
+            if ( p_filter.test( l_cell ) )
+                p_consumer.accept( l_cell );
+        }
+    }
+
+    /**
+     * checks if a block contains occupied cells
+     *
+     * @param p_level level
+     * @param p_row block row
+     * @param p_column block column
+     * @return occupied flag
+     */
+    private boolean occupied( final int p_level, final int p_row, final int p_column )
+    {
+        return p_level == 0
+               ? m_masks[p_row * m_levelcolumns[0] + p_column] != 0
+               : m_counts[p_level][p_row * m_levelcolumns[p_level] + p_column] > 0;
+    }
+
+    /**
+     * squared minimal distance of a cell to a block
+     *
+     * @param p_row row
+     * @param p_column column
+     * @param p_level block level
+     * @param p_blockrow block row
+     * @param p_blockcolumn block column
+     * @return squared distance
+     */
+    private long blockdistance( final int p_row, final int p_column, final int p_level, final int p_blockrow, final int p_blockcolumn )
+    {
+        final int l_shift = BLOCKBITS + p_level;
+        final long l_row = Math.max( 0, Math.max( ( (long) p_blockrow << l_shift ) - p_row, p_row - ( ( (long) p_blockrow + 1 << l_shift ) - 1 ) ) );
+        final long l_column = Math.max( 0, Math.max( ( (long) p_blockcolumn << l_shift ) - p_column, p_column - ( ( (long) p_blockcolumn + 1 << l_shift ) - 1 ) ) );
+        return l_row * l_row + l_column * l_column;
+    }
+
+    /**
+     * squared distance of two cells
+     *
+     * @param p_row1 first row
+     * @param p_column1 first column
+     * @param p_row2 second row
+     * @param p_column2 second column
+     * @return squared distance
+     */
+    private static long distance( final int p_row1, final int p_column1, final int p_row2, final int p_column2 )
+    {
+        final long l_row = p_row1 - p_row2;
+        final long l_column = p_column1 - p_column2;
+        return l_row * l_row + l_column * l_column;
+    }
+}
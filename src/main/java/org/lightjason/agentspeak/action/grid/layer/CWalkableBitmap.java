@@ -0,0 +1,187 @@
+/*
+ * @cond LICENSE
+ * ######################################################################################
+ * # LGPL License                                                                       #
+ * #                                                                                    #
+ * # This file is part of the LightJason                                                #
+ * # Copyright (c) 2015-19, LightJason (info@lightjason.org)                            #
+ * # This program is free software: you can redistribute it and/or modify               #
+ * # it under the terms of the GNU Lesser General Public License as                     #
+ * # published by the Free Software Foundation, either version 3 of the                 #
+ * # License, or (at your option) any later version.                                    #
+ * #                                                                                    #
+ * # This program is distributed in the hope that it will be useful,                    #
+ * # but WITHOUT ANY WARRANTY; without even the implied warranty of                     #
+ * # MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                      #
+ * # GNU Lesser General Public License for more details.                                #
+ * #                                                                                    #
+ * # You should have received a copy of the GNU Lesser General Public License           #
+ * # along with this program. If not, see http://www.gnu.org/licenses/                  #
+ * ######################################################################################
+ * @endcond
+ */
+
+package org.lightjason.agentspeak.action.grid.layer;
+
+import cern.colt.matrix.tobject.ObjectMatrix2D;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Arrays;
+import java.util.Objects;
+
+
+/**
+ * walkability bitmap of a grid.
+ * Each row is stored as long words, a bit is set
+ * if the cell is empty, so the neighbourhood of a cell
+ * can be read with a few bit operations instead of
+ * a matrix access for each neighbour cell
+ */
+public final class CWalkableBitmap implements ILayer
+{
+    /**
+     * number of rows
+     */
+    private final int m_rows;
+    /**
+     * number of columns
+     */
+    private final int m_columns;
+    /**
+     * number of words per row
+     */
+    private final int m_words;
+    /**
+     * bits of all rows
+     */
+    private final long[] m_bits;
+
+    /**
+     * ctor
+     *
+     * @param p_grid grid
+     */
+    public CWalkableBitmap( @Nonnull final ObjectMatrix2D p_grid )
+    {
+        m_rows = p_grid.rows();
+        m_columns = p_grid.columns();
+        m_words = ( m_columns + 63 ) >>> 6;
+        m_bits = new long[m_rows * m_words];
+        this.reset( p_grid );
+    }
+
+    /**
+     * returns the bitmap of a grid, if it exists
+     *
+     * @param p_grid grid
+     * @return bitmap or null
+     */
+    @Nullable
+    public static CWalkableBitmap of( @Nonnull final ObjectMatrix2D p_grid )
+    {
+        return CLayerRegistry.<CWalkableBitmap>find( p_grid, CWalkableBitmap.class ).orElse( null );
+    }
+
+    /**
+     * attaches a bitmap to a grid
+     *
+     * @param p_grid grid
+     * @return bitmap
+     */
+    @Nonnull
+    public static CWalkableBitmap attach( @Nonnull final ObjectMatrix2D p_grid )
+    {
+        return CLayerRegistry.layer( p_grid, CWalkableBitmap.class, CWalkableBitmap::new );
+    }
+
+    /**
+     * checks if a cell is inside the grid and empty
+     *
+     * @param p_row row
+     * @param p_column column
+     * @return walkable flag
+     */
+    public boolean walkable( final int p_row, final int p_column )
+    {
+        return p_row >= 0 && p_row < m_rows && p_column >= 0 && p_column < m_columns
+               && ( m_bits[p_row * m_words + ( p_column >>> 6 )] & ( 1L << p_column ) ) != 0;
+    }
+
+    /**
+     * returns the walkable neighbours of a cell as bit mask,
+     * bits 0 to 7 are north, east, south, west, north-east,
+     * north-west, south-east and south-west, cells outside
+     * the grid are not walkable
+     *
+     * @param p_row row
+     * @param p_column column
+     * @return neighbourhood mask
+     */
+    public int neighbourhood( final int p_row, final int p_column )
+    {
+        // windows with the bits of the columns left, center and right (bit 0 to 2)
+        final int l_north = this.window( p_row - 1, p_column );
+        final int l_center = this.window( p_row, p_column );
+        final int l_south = this.window( p_row + 1, p_column );
+
+        return ( l_north >>> 1 & 1 )
+               | ( l_center >>> 1 & 2 )
+               | ( l_south << 1 & 4 )
+               | ( l_center << 3 & 8 )
+               | ( l_north << 2 & 16 )
+               | ( l_north << 5 & 32 )
+               | ( l_south << 4 & 64 )
+               | ( l_south << 7 & 128 );
+    }
+
+    @Override
+    public synchronized void update( @Nonnull final ObjectMatrix2D p_grid, final int p_row, final int p_column,
+                                     @Nullable final Object p_old, @Nullable final Object p_new )
+    {
+        final int l_word = p_row * m_words + ( p_column >>> 6 );
+        if ( Objects.isNull( p_new ) )
+            m_bits[l_word] |= 1L << p_column;
+        else
+            m_bits[l_word] &= ~( 1L << p_column );
+    }
+
+    @Override
+    public synchronized void reset( @Nonnull final ObjectMatrix2D p_grid )
+    {
+        // all cells are set to empty and the non-empty cells are cleared
+        final long l_last = ( m_columns & 63 ) == 0 ? -1L : ( 1L << ( m_columns & 63 ) ) - 1;
+        Arrays.fill( m_bits, -1L );
+        for ( int i = 0; i < m_rows && m_words > 0; i++ )
+            m_bits[( i + 1 ) * m_words - 1] = l_last;
+
+        p_grid.forEachNonZero( ( r, c, v ) ->
+        {
+            m_bits[r * m_words + ( c >>> 6 )] &= ~( 1L << c );
+            return v;
+        } );
+    }
+
+    /**
+     * returns the bits of three adjacent cells of a row
+     *
+     * @param p_row row
+     * @param p_column center column
+     * @return bit 0 left, bit 1 center and bit 2 right cell
+     */
+    private int window( final int p_row, final int p_column )
+    {
+        if ( p_row < 0 || p_row >= m_rows )
+            return 0;
+
+        final int l_offset = p_row * m_words;
+        final int l_left = p_column - 1;
+        final int l_right = p_column + 1;
+
+        // the three cells can be spread over two words
+        final long l_leftbit = l_left >= 0 ? m_bits[l_offset + ( l_left >>> 6 )] >>> ( l_left & 63 ) & 1 : 0;
+        final long l_centerbit = m_bits[l_offset + ( p_column >>> 6 )] >>> ( p_column & 63 ) & 1;
+        final long l_rightbit = l_right < m_columns ? m_bits[l_offset + ( l_right >>> 6 )] >>> ( l_right & 63 ) & 1 : 0;
+        return (int) ( l_leftbit | l_centerbit << 1 | l_rightbit << 2 );
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * @cond LICENSE
+ * ######################################################################################
+ * # LGPL License                                                                       #
+ * #                                                                                    #
+ * # This file is part of the LightJason                                                #
+ * # Copyright (c) 2015-19, LightJason (info@lightjason.org)                            #
+ * # This program is free software: you can redistribute it and/or modify               #
+ * # it under the terms of the GNU Lesser General Public License as                     #
+ * # published by the Free Software Foundation, either version 3 of the                 #
+ * # License, or (at your option) any later version.                                    #
+ * #                                                                                    #
+ * # This program is distributed in the hope that it will be useful,                    #
+ * # but WITHOUT ANY WARRANTY; without even the implied warranty of                     #
+ * # MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                      #
+ * # GNU Lesser General Public License for more details.                                #
+ * #                                                                                    #
+ * # You should have received a copy of the GNU Lesser General Public License           #
+ * # along with this program. If not, see http://www.gnu.org/licenses/                  #
+ * ######################################################################################
+ * @endcond
+ */
+
+
+package org.lightjason.agentspeak.action.grid.layer;
+
+
+/**
+ * grid with cell locks, the layer
+ * registry locks a cell while the cell
+ * and the layers are changed, so the changes
+ * of a cell are atomic
+ */
+public interface ICellLocking
+{
+
+    /**
+     * locks a cell
+     *
+     * @param p_row row
+     * @param p_column column
+     */
+    void lock( final int p_row, final int p_column );
+
+    /**
+     * unlocks a cell
+     *
+     * @param p_row row
+     * @param p_column column
+     */
+    void unlock( final int p_row, final int p_column );
+
+}
@@ -0,0 +1,58 @@
+/*
+ * @cond LICENSE
+ * ######################################################################################
+ * # LGPL License                                                                       #
+ * #                                                                                    #
+ * # This file is part of the LightJason                                                #
+ * # Copyright (c) 2015-19, LightJason (info@lightjason.org)                            #
+ * # This program is free software: you can redistribute it and/or modify               #
+ * # it under the terms of the GNU Lesser General Public License as                     #
+ * # published by the Free Software Foundation, either version 3 of the                 #
+ * # License, or (at your option) any later version.                                    #
+ * #                                                                                    #
+ * # This program is distributed in the hope that it will be useful,                    #
+ * # but WITHOUT ANY WARRANTY; without even the implied warranty of                     #
+ * # MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                      #
+ * # GNU Lesser General Public License for more details.                                #
+ * #                                                                                    #
+ * # You should have received a copy of the GNU Lesser General Public License           #
+ * # along with this program. If not, see http://www.gnu.org/licenses/                  #
+ * ######################################################################################
+ * @endcond
+ */
+
+package org.lightjason.agentspeak.action.grid.layer;
+
+import cern.colt.matrix.tobject.ObjectMatrix2D;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+
+/**
+ * data layer which is attached to a grid
+ * and will be updated on grid changes
+ */
+public interface ILayer
+{
+
+    /**
+     * a single cell of the grid has been changed
+     *
+     * @param p_grid grid
+     * @param p_row row
+     * @param p_column column
+     * @param p_old old cell value
+     * @param p_new new cell value
+     */
+    void update( @Nonnull final ObjectMatrix2D p_grid, final int p_row, final int p_column, @Nullable final Object p_old, @Nullable final Object p_new );
+
+    /**
+     * the grid has been changed in an unknown way,
+     * so all data must be rebuild
+     *
+     * @param p_grid grid
+     */
+    void reset( @Nonnull final ObjectMatrix2D p_grid );
+
+}
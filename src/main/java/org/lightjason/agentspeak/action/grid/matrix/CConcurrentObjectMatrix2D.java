@@ -0,0 +1,145 @@
+/*
+ * @cond LICENSE
+ * ######################################################################################
+ * # LGPL License                                                                       #
+ * #                                                                                    #
+ * # This file is part of the LightJason                                                #
+ * # Copyright (c) 2015-19, LightJason (info@lightjason.org)                            #
+ * # This program is free software: you can redistribute it and/or modify               #
+ * # it under the terms of the GNU Lesser General Public License as                     #
+ * # published by the Free Software Foundation, either version 3 of the                 #
+ * # License, or (at your option) any later version.                                    #
+ * #                                                                                    #
+ * # This program is distributed in the hope that it will be useful,                    #
+ * # but WITHOUT ANY WARRANTY; without even the implied warranty of                     #
+ * # MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                      #
+ * # GNU Lesser General Public License for more details.                                #
+ * #                                                                                    #
+ * # You should have received a copy of the GNU Lesser General Public License           #
+ * # along with this program. If not, see http://www.gnu.org/licenses/                  #
+ * ######################################################################################
+ * @endcond
+ */
+
+
+package org.lightjason.agentspeak.action.grid.matrix;
+
+import cern.colt.matrix.tobject.ObjectMatrix1D;
+import cern.colt.matrix.tobject.ObjectMatrix2D;
+import cern.colt.matrix.tobject.impl.DenseObjectMatrix1D;
+import org.lightjason.agentspeak.action.grid.layer.ICellLocking;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+
+/**
+ * dense object matrix on an atomic array.
+ * Each cell is read with acquire and written with release
+ * semantic, so different cells can be changed concurrently
+ * and readers see the value without locking, each cell
+ * has got a spin lock, which is acquired by a single
+ * compare-and-set, so the layer registry changes a cell
+ * including the layer updates atomically, readers are
+ * never blocked
+ */
+public final class CConcurrentObjectMatrix2D extends IBaseObjectMatrix2D implements ICellLocking
+{
+    /**
+     * serial id
+     */
+    private static final long serialVersionUID = -4532083468046823164L;
+    /**
+     * number of spins before a locking thread yields
+     */
+    private static final int SPINS = 64;
+    /**
+     * cells (row-major)
+     */
+    private final AtomicReferenceArray<Object> m_cells;
+    /**
+     * cell locks
+     */
+    private final AtomicIntegerArray m_locks;
+
+    /**
+     * ctor
+     *
+     * @param p_rows number of rows
+     * @param p_columns number of columns
+     */
+    public CConcurrentObjectMatrix2D( @Nonnegative final int p_rows, @Nonnegative final int p_columns )
+    {
+        this.setUp( p_rows, p_columns );
+        m_cells = new AtomicReferenceArray<>( p_rows * p_columns );
+        m_locks = new AtomicIntegerArray( p_rows * p_columns );
+    }
+
+    @Override
+    public void lock( final int p_row, final int p_column )
+    {
+        final int l_index = (int) this.index( p_row, p_column );
+        for ( int i = 0; !m_locks.compareAndSet( l_index, 0, 1 ); i++ )
+            // the lock holder could be suspended, so the thread yields after a short spinning
+            if ( i < SPINS )
+                Thread.onSpinWait();
+            else
+                Thread.yield();
+    }
+
+    @Override
+    public void unlock( final int p_row, final int p_column )
+    {
+        m_locks.setRelease( (int) this.index( p_row, p_column ), 0 );
+    }
+
+    @Nullable
+    @Override
+    public Object getQuick( final int p_row, final int p_column )
+    {
+        return this.get( this.index( p_row, p_column ) );
+    }
+
+    @Override
+    public void setQuick( final int p_row, final int p_column, @Nullable final Object p_value )
+    {
+        this.set( this.index( p_row, p_column ), p_value );
+    }
+
+    @Nonnull
+    @Override
+    public Object elements()
+    {
+        return m_cells;
+    }
+
+    @Nonnull
+    @Override
+    public ObjectMatrix2D like( final int p_rows, final int p_columns )
+    {
+        return new CConcurrentObjectMatrix2D( p_rows, p_columns );
+    }
+
+    @Nonnull
+    @Override
+    public ObjectMatrix1D like1D( final int p_size )
+    {
+        return new DenseObjectMatrix1D( p_size );
+    }
+
+    @Nullable
+    @Override
+    protected Object get( final long p_index )
+    {
+        return m_cells.get( (int) p_index );
+    }
+
+    @Override
+    protected void set( final long p_index, @Nullable final Object p_value )
+    {
+        m_cells.setRelease( (int) p_index, p_value );
+    }
+}
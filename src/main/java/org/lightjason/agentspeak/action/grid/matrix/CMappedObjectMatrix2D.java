@@ -0,0 +1,515 @@
+/*
+ * @cond LICENSE
+ * ######################################################################################
+ * # LGPL License                                                                       #
+ * #                                                                                    #
+ * # This file is part of the LightJason                                                #
+ * # Copyright (c) 2015-19, LightJason (info@lightjason.org)                            #
+ * # This program is free software: you can redistribute it and/or modify               #
+ * # it under the terms of the GNU Lesser General Public License as                     #
+ * # published by the Free Software Foundation, either version 3 of the                 #
+ * # License, or (at your option) any later version.                                    #
+ * #                                                                                    #
+ * # This program is distributed in the hope that it will be useful,                    #
+ * # but WITHOUT ANY WARRANTY; without even the implied warranty of                     #
+ * # MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                      #
+ * # GNU Lesser General Public License for more details.                                #
+ * #                                                                                    #
+ * # You should have received a copy of the GNU Lesser General Public License           #
+ * # along with this program. If not, see http://www.gnu.org/licenses/                  #
+ * ######################################################################################
+ * @endcond
+ */
+
+package org.lightjason.agentspeak.action.grid.matrix;
+
+import cern.colt.matrix.tobject.ObjectMatrix1D;
+import cern.colt.matrix.tobject.ObjectMatrix2D;
+import cern.colt.matrix.tobject.impl.DenseObjectMatrix1D;
+import org.lightjason.agentspeak.common.CCommon;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.io.ObjectStreamException;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.IntFunction;
+
+
+/**
+ * object matrix with memory-mapped cells.
+ * Each cell stores an integer object id within a
+ * memory-mapped file, the objects are stored in an
+ * id table on the heap, so the matrix size is not limited
+ * by the heap, an existing file is opened without reading
+ * the cells, ids of a persisted file are resolved by
+ * a resolver function, because the objects are not stored
+ * within the file, all views are supported, a cell id is
+ * written with release and read with acquire semantic, so
+ * a reader gets the object of a concurrent write
+ */
+public final class CMappedObjectMatrix2D extends IBaseObjectMatrix2D
+{
+    /**
+     * serial id
+     */
+    private static final long serialVersionUID = -2281469307398815634L;
+    /**
+     * file magic number
+     */
+    private static final int MAGIC = 0x4c4a4752;
+    /**
+     * header size in bytes (magic, rows, columns, next id)
+     */
+    private static final int HEADER = 16;
+    /**
+     * number of bits of the cells of a segment
+     */
+    private static final int SEGMENTBITS = 28;
+    /**
+     * cell mask of a segment
+     */
+    private static final long SEGMENTMASK = ( 1L << SEGMENTBITS ) - 1;
+    /**
+     * cell id access of the mapped segments
+     */
+    private static final VarHandle CELL = MethodHandles.byteBufferViewVarHandle( int[].class, ByteOrder.BIG_ENDIAN );
+    /**
+     * file path
+     */
+    private final String m_path;
+    /**
+     * mapped header
+     */
+    private final transient MappedByteBuffer m_header;
+    /**
+     * mapped cell segments
+     */
+    private final transient MappedByteBuffer[] m_segments;
+    /**
+     * object table
+     */
+    private final transient CObjectTable m_table;
+
+    /**
+     * ctor
+     *
+     * @param p_path file path
+     * @param p_header mapped header
+     * @param p_segments mapped segments
+     * @param p_resolver resolver of ids without object
+     */
+    private CMappedObjectMatrix2D( @Nonnull final Path p_path, @Nonnull final MappedByteBuffer p_header, @Nonnull final MappedByteBuffer[] p_segments,
+                                   @Nonnull final IntFunction<Object> p_resolver )
+    {
+        // the fields are set directly, because the setup is limited to integer cell numbers
+        rows = p_header.getInt( 4 );
+        columns = p_header.getInt( 8 );
+        rowZero = 0;
+        columnZero = 0;
+        rowStride = columns;
+        columnStride = 1;
+        isNoView = true;
+
+        m_path = p_path.toAbsolutePath().toString();
+        m_header = p_header;
+        m_segments = p_segments;
+        m_table = new CObjectTable( p_header, p_resolver );
+    }
+
+    /**
+     * creates a new matrix file, an existing
+     * file will be overwritten
+     *
+     * @param p_path file path
+     * @param p_rows number of rows
+     * @param p_columns number of columns
+     * @return matrix
+     * @throws IOException on file errors
+     */
+    @Nonnull
+    public static CMappedObjectMatrix2D create( @Nonnull final Path p_path, @Nonnegative final int p_rows, @Nonnegative final int p_columns ) throws IOException
+    {
+        try (
+            FileChannel l_channel = FileChannel.open(
+                p_path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE
+            )
+        )
+        {
+            // the file is allocated sparse, so unused cells do not need disk space
+            final MappedByteBuffer l_header = l_channel.map( FileChannel.MapMode.READ_WRITE, 0, HEADER );
+            l_header.putInt( 0, MAGIC );
+            l_header.putInt( 4, p_rows );
+            l_header.putInt( 8, p_columns );
+            l_header.putInt( 12, 1 );
+
+            return new CMappedObjectMatrix2D( p_path, l_header, map( l_channel, (long) p_rows * p_columns ), Integer::valueOf );
+        }
+    }
+
+    /**
+     * opens an existing matrix file
+     *
+     * @param p_path file path
+     * @return matrix
+     * @throws IOException on file errors
+     */
+    @Nonnull
+    public static CMappedObjectMatrix2D open( @Nonnull final Path p_path ) throws IOException
+    {
+        return open( p_path, Integer::valueOf );
+    }
+
+    /**
+     * opens an existing matrix file
+     *
+     * @param p_path file path
+     * @param p_resolver resolver of persisted ids, which have got no object
+     * @return matrix
+     * @throws IOException on file errors
+     */
+    @Nonnull
+    public static CMappedObjectMatrix2D open( @Nonnull final Path p_path, @Nonnull final IntFunction<Object> p_resolver ) throws IOException
+    {
+        try ( FileChannel l_channel = FileChannel.open( p_path, StandardOpenOption.READ, StandardOpenOption.WRITE ) )
+        {
+            if ( l_channel.size() < HEADER )
+                throw new IOException( CCommon.languagestring( CMappedObjectMatrix2D.class, "invalidheader", p_path ) );
+
+            final MappedByteBuffer l_header = l_channel.map( FileChannel.MapMode.READ_WRITE, 0, HEADER );
+            final long l_cells = (long) l_header.getInt( 4 ) * l_header.getInt( 8 );
+            if ( l_header.getInt( 0 ) != MAGIC || l_header.getInt( 4 ) < 0 || l_header.getInt( 8 ) < 0 || l_channel.size() < HEADER + 4 * l_cells )
+                throw new IOException( CCommon.languagestring( CMappedObjectMatrix2D.class, "invalidheader", p_path ) );
+
+            return new CMappedObjectMatrix2D( p_path, l_header, map( l_channel, l_cells ), p_resolver );
+        }
+    }
+
+    /**
+     * opens a matrix file or creates it if not exists
+     *
+     * @param p_path file path
+     * @param p_rows number of rows
+     * @param p_columns number of columns
+     * @return matrix
+     * @throws IOException on file errors
+     */
+    @Nonnull
+    public static CMappedObjectMatrix2D of( @Nonnull final Path p_path, @Nonnegative final int p_rows, @Nonnegative final int p_columns ) throws IOException
+    {
+        return Files.exists( p_path ) ? open( p_path ) : create( p_path, p_rows, p_columns );
+    }
+
+    /**
+     * maps the cell segments
+     *
+     * @param p_channel file channel
+     * @param p_cells number of cells
+     * @return segments
+     * @throws IOException on mapping error
+     */
+    @Nonnull
+    private static MappedByteBuffer[] map( @Nonnull final FileChannel p_channel, final long p_cells ) throws IOException
+    {
+        final MappedByteBuffer[] l_segments = new MappedByteBuffer[(int) ( ( p_cells + SEGMENTMASK ) >>> SEGMENTBITS )];
+        for ( int i = 0; i < l_segments.length; i++ )
+        {
+            final long l_first = (long) i << SEGMENTBITS;
+            l_segments[i] = p_channel.map( FileChannel.MapMode.READ_WRITE, HEADER + 4 * l_first, 4 * Math.min( SEGMENTMASK + 1, p_cells - l_first ) );
+        }
+        return l_segments;
+    }
+
+    /**
+     * returns the file path
+     *
+     * @return path
+     */
+    @Nonnull
+    public Path path()
+    {
+        return Paths.get( m_path );
+    }
+
+    /**
+     * returns the object id of a cell
+     *
+     * @param p_row row
+     * @param p_column column
+     * @return id or zero if the cell is empty
+     */
+    public int id( final int p_row, final int p_column )
+    {
+        return this.id( this.index( p_row, p_column ) );
+    }
+
+    /**
+     * writes all changes to the file
+     */
+    public void flush()
+    {
+        m_header.force();
+        Arrays.stream( m_segments ).forEach( MappedByteBuffer::force );
+    }
+
+    @Nullable
+    @Override
+    public Object getQuick( final int p_row, final int p_column )
+    {
+        return this.get( this.index( p_row, p_column ) );
+    }
+
+    @Override
+    public void setQuick( final int p_row, final int p_column, @Nullable final Object p_value )
+    {
+        this.set( this.index( p_row, p_column ), p_value );
+    }
+
+    @Nonnull
+    @Override
+    public Object elements()
+    {
+        return m_segments;
+    }
+
+    @Nonnull
+    @Override
+    public ObjectMatrix2D like( final int p_rows, final int p_columns )
+    {
+        try
+        {
+            final Path l_path = Files.createTempFile( "grid", ".map" );
+            l_path.toFile().deleteOnExit();
+            return create( l_path, p_rows, p_columns );
+        }
+        catch ( final IOException l_exception )
+        {
+            throw new UncheckedIOException( l_exception );
+        }
+    }
+
+    @Nonnull
+    @Override
+    public ObjectMatrix1D like1D( final int p_size )
+    {
+        return new DenseObjectMatrix1D( p_size );
+    }
+
+    @Nullable
+    @Override
+    protected Object get( final long p_index )
+    {
+        // an id can be released and used again by another object between reading the id and the object,
+        // so the object is only returned if the cell has got the id after reading the object
+        while ( true )
+        {
+            final int l_id = this.id( p_index );
+            if ( l_id == 0 )
+                return null;
+
+            final Object l_object = m_table.object( l_id );
+            if ( l_id != this.id( p_index ) )
+                continue;
+
+            return Objects.isNull( l_object ) ? m_table.resolve( l_id ) : l_object;
+        }
+    }
+
+    @Override
+    protected void set( final long p_index, @Nullable final Object p_value )
+    {
+        final MappedByteBuffer l_segment = m_segments[(int) ( p_index >>> SEGMENTBITS )];
+        final int l_position = (int) ( p_index & SEGMENTMASK ) << 2;
+
+        synchronized ( m_table )
+        {
+            final int l_old = (int) CELL.getAcquire( l_segment, l_position );
+            CELL.setRelease( l_segment, l_position, m_table.acquire( p_value ) );
+            m_table.release( l_old );
+        }
+    }
+
+    /**
+     * returns the object id of a linear cell index
+     *
+     * @param p_index linear index
+     * @return id or zero if the cell is empty
+     */
+    private int id( final long p_index )
+    {
+        return (int) CELL.getAcquire( m_segments[(int) ( p_index >>> SEGMENTBITS )], (int) ( p_index & SEGMENTMASK ) << 2 );
+    }
+
+    /**
+     * on deserialization the file is mapped again
+     *
+     * @return mapped matrix
+     * @throws ObjectStreamException on mapping error
+     */
+    private Object readResolve() throws ObjectStreamException
+    {
+        try
+        {
+            return open( Paths.get( m_path ) );
+        }
+        catch ( final IOException l_exception )
+        {
+            throw new UncheckedIOException( l_exception );
+        }
+    }
+
+
+    /**
+     * object table with reference counting, changes
+     * are synchronized by the matrix, objects are
+     * written with release and read with acquire semantic
+     */
+    private static final class CObjectTable
+    {
+        /**
+         * object access of the table
+         */
+        private static final VarHandle OBJECT = MethodHandles.arrayElementVarHandle( Object[].class );
+        /**
+         * persisted header with the next free id
+         */
+        private final MappedByteBuffer m_header;
+        /**
+         * resolver of ids without object
+         */
+        private final IntFunction<Object> m_resolver;
+        /**
+         * ids of the objects
+         */
+        private final Map<Object, Integer> m_ids = new IdentityHashMap<>();
+        /**
+         * free ids
+         */
+        private final Deque<Integer> m_free = new ArrayDeque<>();
+        /**
+         * objects by id
+         */
+        private volatile Object[] m_objects = new Object[16];
+        /**
+         * references of each id
+         */
+        private int[] m_references = new int[16];
+
+        /**
+         * ctor
+         *
+         * @param p_header header
+         * @param p_resolver resolver
+         */
+        CObjectTable( @Nonnull final MappedByteBuffer p_header, @Nonnull final IntFunction<Object> p_resolver )
+        {
+            m_header = p_header;
+            m_resolver = p_resolver;
+        }
+
+        /**
+         * returns the object of an id
+         *
+         * @param p_id id
+         * @return object or null if the id has got no object
+         */
+        @Nullable
+        Object object( final int p_id )
+        {
+            final Object[] l_objects = m_objects;
+            return p_id < l_objects.length ? OBJECT.getAcquire( l_objects, p_id ) : null;
+        }
+
+        /**
+         * resolves a persisted id without object
+         *
+         * @param p_id id
+         * @return object
+         */
+        @Nullable
+        Object resolve( final int p_id )
+        {
+            // the object can be set after the cell has been read
+            final Object l_object = this.object( p_id );
+            return Objects.isNull( l_object ) ? m_resolver.apply( p_id ) : l_object;
+        }
+
+        /**
+         * returns the id of an object and increments the references
+         *
+         * @param p_object object or null
+         * @return id or zero
+         */
+        int acquire( @Nullable final Object p_object )
+        {
+            if ( Objects.isNull( p_object ) )
+                return 0;
+
+            final Integer l_existing = m_ids.get( p_object );
+            if ( Objects.nonNull( l_existing ) )
+            {
+                m_references[l_existing]++;
+                return l_existing;
+            }
+
+            final int l_id = m_free.isEmpty() ? this.next() : m_free.pop();
+            if ( l_id >= m_objects.length )
+            {
+                final int l_size = Math.max( l_id + 1, m_objects.length * 2 );
+                m_references = Arrays.copyOf( m_references, l_size );
+                m_objects = Arrays.copyOf( m_objects, l_size );
+            }
+
+            m_ids.put( p_object, l_id );
+            m_references[l_id] = 1;
+            OBJECT.setRelease( m_objects, l_id, p_object );
+            return l_id;
+        }
+
+        /**
+         * decrements the references of an id and
+         * frees the id if it is not used anymore
+         *
+         * @param p_id id
+         */
+        void release( final int p_id )
+        {
+            // persisted ids without object are not counted
+            if ( p_id == 0 || p_id >= m_objects.length || Objects.isNull( m_objects[p_id] ) || --m_references[p_id] > 0 )
+                return;
+
+            m_ids.remove( m_objects[p_id] );
+            OBJECT.setRelease( m_objects, p_id, null );
+            m_free.push( p_id );
+        }
+
+        /**
+         * returns the next unused id and stores
+         * the following id within the header
+         *
+         * @return id
+         */
+        private int next()
+        {
+            final int l_id = m_header.getInt( 12 );
+            m_header.putInt( 12, l_id + 1 );
+            return l_id;
+        }
+    }
+}
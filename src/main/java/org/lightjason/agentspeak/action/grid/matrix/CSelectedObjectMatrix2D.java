@@ -0,0 +1,176 @@
+/*
+ * @cond LICENSE
+ * ######################################################################################
+ * # LGPL License                                                                       #
+ * #                                                                                    #
+ * # This file is part of the LightJason                                                #
+ * # Copyright (c) 2015-19, LightJason (info@lightjason.org)                            #
+ * # This program is free software: you can redistribute it and/or modify               #
+ * # it under the terms of the GNU Lesser General Public License as                     #
+ * # published by the Free Software Foundation, either version 3 of the                 #
+ * # License, or (at your option) any later version.                                    #
+ * #                                                                                    #
+ * # This program is distributed in the hope that it will be useful,                    #
+ * # but WITHOUT ANY WARRANTY; without even the implied warranty of                     #
+ * # MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                      #
+ * # GNU Lesser General Public License for more details.                                #
+ * #                                                                                    #
+ * # You should have received a copy of the GNU Lesser General Public License           #
+ * # along with this program. If not, see http://www.gnu.org/licenses/                  #
+ * ######################################################################################
+ * @endcond
+ */
+
+
+package org.lightjason.agentspeak.action.grid.matrix;
+
+import cern.colt.matrix.AbstractMatrix2D;
+import cern.colt.matrix.tobject.ObjectMatrix1D;
+import cern.colt.matrix.tobject.ObjectMatrix2D;
+import cern.colt.matrix.tobject.impl.DenseObjectMatrix1D;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+
+/**
+ * selection view of a matrix with linear cell indices,
+ * the linear index of a cell is the sum of the selected
+ * row and column offset
+ */
+final class CSelectedObjectMatrix2D extends ObjectMatrix2D
+{
+    /**
+     * serial id
+     */
+    private static final long serialVersionUID = 8412980853300471735L;
+    /**
+     * matrix
+     */
+    private final IBaseObjectMatrix2D m_matrix;
+    /**
+     * linear offsets of the rows
+     */
+    private long[] m_rowoffsets;
+    /**
+     * linear offsets of the columns
+     */
+    private long[] m_columnoffsets;
+
+    /**
+     * ctor
+     *
+     * @param p_matrix matrix
+     * @param p_rowoffsets linear offsets of the rows
+     * @param p_columnoffsets linear offsets of the columns
+     */
+    CSelectedObjectMatrix2D( @Nonnull final IBaseObjectMatrix2D p_matrix, @Nonnull final long[] p_rowoffsets, @Nonnull final long[] p_columnoffsets )
+    {
+        this.setUp( p_rowoffsets.length, p_columnoffsets.length, 0, 0, 1, 1 );
+        isNoView = false;
+        m_matrix = p_matrix;
+        m_rowoffsets = p_rowoffsets;
+        m_columnoffsets = p_columnoffsets;
+    }
+
+    @Override
+    public long index( final int p_row, final int p_column )
+    {
+        return m_rowoffsets[rowZero + p_row * rowStride] + m_columnoffsets[columnZero + p_column * columnStride];
+    }
+
+    @Nullable
+    @Override
+    public Object getQuick( final int p_row, final int p_column )
+    {
+        return m_matrix.get( this.index( p_row, p_column ) );
+    }
+
+    @Override
+    public void setQuick( final int p_row, final int p_column, @Nullable final Object p_value )
+    {
+        m_matrix.set( this.index( p_row, p_column ), p_value );
+    }
+
+    @Nonnull
+    @Override
+    public Object elements()
+    {
+        return m_matrix.elements();
+    }
+
+    @Nonnull
+    @Override
+    public ObjectMatrix2D like( final int p_rows, final int p_columns )
+    {
+        return m_matrix.like( p_rows, p_columns );
+    }
+
+    @Nonnull
+    @Override
+    public ObjectMatrix1D like1D( final int p_size )
+    {
+        return m_matrix.like1D( p_size );
+    }
+
+    @Nonnull
+    @Override
+    public ObjectMatrix1D viewRow( final int p_row )
+    {
+        this.checkRow( p_row );
+        return new CViewObjectMatrix1D( m_matrix, IntStream.range( 0, columns ).mapToLong( i -> this.index( p_row, i ) ).toArray() );
+    }
+
+    @Nonnull
+    @Override
+    public ObjectMatrix1D viewColumn( final int p_column )
+    {
+        this.checkColumn( p_column );
+        return new CViewObjectMatrix1D( m_matrix, IntStream.range( 0, rows ).mapToLong( i -> this.index( i, p_column ) ).toArray() );
+    }
+
+    @Nonnull
+    @Override
+    public ObjectMatrix1D vectorize()
+    {
+        final ObjectMatrix1D l_vector = new DenseObjectMatrix1D( (int) this.size() );
+        for ( int j = 0, l_index = 0; j < columns; j++ )
+            for ( int i = 0; i < rows; i++ )
+                l_vector.setQuick( l_index++, this.getQuick( i, j ) );
+        return l_vector;
+    }
+
+    @Nonnull
+    @Override
+    protected ObjectMatrix1D like1D( final int p_size, final int p_zero, final int p_stride )
+    {
+        // zero and stride are linear indices of the matrix like the index of a cell
+        return new CViewObjectMatrix1D( m_matrix, 0, p_size, p_zero, p_stride );
+    }
+
+    @Nonnull
+    @Override
+    protected ObjectMatrix2D viewSelectionLike( @Nonnull final int[] p_rowoffsets, @Nonnull final int[] p_columnoffsets )
+    {
+        return new CSelectedObjectMatrix2D(
+            m_matrix,
+            Arrays.stream( p_rowoffsets ).mapToLong( i -> m_rowoffsets[i] ).toArray(),
+            Arrays.stream( p_columnoffsets ).mapToLong( i -> m_columnoffsets[i] ).toArray()
+        );
+    }
+
+    @Nonnull
+    @Override
+    protected AbstractMatrix2D vDice()
+    {
+        super.vDice();
+
+        // the offsets are swapped, because the row and column offset are not calculated by the strides
+        final long[] l_offsets = m_rowoffsets;
+        m_rowoffsets = m_columnoffsets;
+        m_columnoffsets = l_offsets;
+        return this;
+    }
+}
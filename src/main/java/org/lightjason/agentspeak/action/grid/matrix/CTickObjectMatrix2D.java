@@ -0,0 +1,336 @@
+/*
+ * @cond LICENSE
+ * ######################################################################################
+ * # LGPL License                                                                       #
+ * #                                                                                    #
+ * # This file is part of the LightJason                                                #
+ * # Copyright (c) 2015-19, LightJason (info@lightjason.org)                            #
+ * # This program is free software: you can redistribute it and/or modify               #
+ * # it under the terms of the GNU Lesser General Public License as                     #
+ * # published by the Free Software Foundation, either version 3 of the                 #
+ * # License, or (at your option) any later version.                                    #
+ * #                                                                                    #
+ * # This program is distributed in the hope that it will be useful,                    #
+ * # but WITHOUT ANY WARRANTY; without even the implied warranty of                     #
+ * # MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                      #
+ * # GNU Lesser General Public License for more details.                                #
+ * #                                                                                    #
+ * # You should have received a copy of the GNU Lesser General Public License           #
+ * # along with this program. If not, see http://www.gnu.org/licenses/                  #
+ * ######################################################################################
+ * @endcond
+ */
+
+
+package org.lightjason.agentspeak.action.grid.matrix;
+
+import cern.colt.matrix.tobject.ObjectMatrix1D;
+import cern.colt.matrix.tobject.ObjectMatrix2D;
+import org.lightjason.agentspeak.action.grid.layer.CLayerRegistry;
+import org.lightjason.agentspeak.action.grid.layer.IWriteBuffering;
+import org.lightjason.agentspeak.action.grid.routing.CCell;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+
+/**
+ * double-buffered object matrix for lockstep simulations.
+ * All reads get the stable front grid, writes are appended
+ * to one write queue without locking, so the writes are
+ * ordered by their call and not by the thread scheduling,
+ * the commit collapses the writes of a group on the same cell
+ * to the last write, resolves all other writes on the same cell
+ * with the conflict policy, so each write call is a writer
+ * independent of the thread which runs the agent,
+ * applies the writes on the back grid and swaps front and back
+ * grid, so all agents of a cycle read the same state and a
+ * reader never sees a partial commit, a move is a group of
+ * writes which is applied all or none, the layers of the matrix
+ * are updated on commit, the commit must not run concurrently
+ * to writes
+ */
+public final class CTickObjectMatrix2D extends IBaseObjectMatrix2D implements IWriteBuffering
+{
+    /**
+     * serial id
+     */
+    private static final long serialVersionUID = 2893315473417082567L;
+    /**
+     * number of columns of the grids
+     */
+    private final int m_columns;
+    /**
+     * conflict policy
+     */
+    private final IConflictPolicy m_policy;
+    /**
+     * front grid
+     */
+    private volatile ObjectMatrix2D m_front;
+    /**
+     * back grid
+     */
+    private transient ObjectMatrix2D m_back;
+    /**
+     * buffered writes in call order
+     */
+    private final transient Queue<CWrite> m_writes = new ConcurrentLinkedQueue<>();
+    /**
+     * group counter
+     */
+    private final transient AtomicLong m_groups = new AtomicLong();
+    /**
+     * open group of the current thread or zero
+     */
+    private final transient ThreadLocal<CGroup> m_group = ThreadLocal.withInitial( CGroup::new );
+    /**
+     * writes of the last commit, which are not applied on the back grid
+     */
+    private final transient List<CWrite> m_changes = new ArrayList<>();
+
+    /**
+     * ctor
+     *
+     * @param p_front front grid
+     * @param p_policy conflict policy
+     */
+    public CTickObjectMatrix2D( @Nonnull final ObjectMatrix2D p_front, @Nonnull final IConflictPolicy p_policy )
+    {
+        this.setUp( p_front.rows(), p_front.columns() );
+        m_columns = p_front.columns();
+        m_front = p_front;
+        m_back = p_front.copy();
+        m_policy = p_policy;
+    }
+
+    /**
+     * returns the front grid
+     *
+     * @return front grid
+     */
+    @Nonnull
+    public ObjectMatrix2D front()
+    {
+        return m_front;
+    }
+
+    /**
+     * number of buffered writes
+     *
+     * @return number of writes
+     */
+    @Nonnegative
+    public int pending()
+    {
+        return m_writes.size();
+    }
+
+    /**
+     * applies the buffered writes and clears the write buffer
+     *
+     * @return number of changed cells
+     */
+    @Nonnegative
+    public synchronized int commit()
+    {
+        // the back grid has not been read since the last swap, so it gets the changes of the last commit
+        m_changes.forEach( i -> m_back.setQuick( CCell.row( i.m_cell ), CCell.column( i.m_cell ), i.m_value ) );
+        m_changes.clear();
+
+        // writes of each cell in call order, a later write of a group replaces its former write,
+        // each write without group gets its own group, so agents which share a thread are different writers
+        final Map<Long, Map<Long, CWrite>> l_cells = new LinkedHashMap<>();
+        for ( CWrite l_write = m_writes.poll(); Objects.nonNull( l_write ); l_write = m_writes.poll() )
+        {
+            final Map<Long, CWrite> l_writes = l_cells.computeIfAbsent( l_write.m_cell, i -> new LinkedHashMap<>() );
+            l_writes.remove( l_write.m_group );
+            l_writes.put( l_write.m_group, l_write );
+        }
+
+        // a group loses, if one of its writes is not applied
+        final Set<Long> l_lost = new HashSet<>();
+        final List<CWrite> l_winner = new ArrayList<>();
+        l_cells.forEach( ( k, v ) ->
+        {
+            final List<CWrite> l_writes = new ArrayList<>( v.values() );
+            final int l_index = l_writes.size() == 1
+                                ? 0
+                                : m_policy.apply(
+                                    CCell.row( k ), CCell.column( k ), m_front.getQuick( CCell.row( k ), CCell.column( k ) ),
+                                    l_writes.stream().map( i -> i.m_value ).collect( Collectors.toList() )
+                                );
+
+            // a write with the applied value is not lost
+            for ( int i = 0; i < l_writes.size(); i++ )
+                if ( l_index < 0 || i != l_index && !Objects.equals( l_writes.get( i ).m_value, l_writes.get( l_index ).m_value ) )
+                    l_lost.add( l_writes.get( i ).m_group );
+
+            if ( l_index >= 0 )
+                l_winner.add( l_writes.get( l_index ) );
+        } );
+
+        l_winner.stream().filter( i -> !l_lost.contains( i.m_group ) ).forEach( m_changes::add );
+
+        final Object[] l_old = new Object[m_changes.size()];
+        for ( int i = 0; i < l_old.length; i++ )
+        {
+            final CWrite l_write = m_changes.get( i );
+            l_old[i] = m_back.getQuick( CCell.row( l_write.m_cell ), CCell.column( l_write.m_cell ) );
+            m_back.setQuick( CCell.row( l_write.m_cell ), CCell.column( l_write.m_cell ), l_write.m_value );
+        }
+
+        final ObjectMatrix2D l_front = m_front;
+        m_front = m_back;
+        m_back = l_front;
+
+        for ( int i = 0; i < l_old.length; i++ )
+        {
+            final CWrite l_write = m_changes.get( i );
+            CLayerRegistry.update( this, CCell.row( l_write.m_cell ), CCell.column( l_write.m_cell ), l_old[i], l_write.m_value );
+        }
+
+        return l_old.length;
+    }
+
+    @Override
+    public void begin()
+    {
+        m_group.get().m_id = m_groups.incrementAndGet();
+    }
+
+    @Override
+    public void end()
+    {
+        m_group.get().m_id = 0;
+    }
+
+    @Nullable
+    @Override
+    public Object getQuick( final int p_row, final int p_column )
+    {
+        return this.isView() ? this.get( this.index( p_row, p_column ) ) : m_front.getQuick( p_row, p_column );
+    }
+
+    @Override
+    public void setQuick( final int p_row, final int p_column, @Nullable final Object p_value )
+    {
+        if ( this.isView() )
+            this.set( this.index( p_row, p_column ), p_value );
+        else
+            this.write( CCell.of( p_row, p_column ), p_value );
+    }
+
+    @Nonnull
+    @Override
+    public Object elements()
+    {
+        return m_front.elements();
+    }
+
+    @Nonnull
+    @Override
+    public ObjectMatrix2D like( final int p_rows, final int p_columns )
+    {
+        return new CTickObjectMatrix2D( m_front.like( p_rows, p_columns ), m_policy );
+    }
+
+    @Nonnull
+    @Override
+    public ObjectMatrix1D like1D( final int p_size )
+    {
+        return m_front.like1D( p_size );
+    }
+
+    @Nullable
+    @Override
+    protected Object get( final long p_index )
+    {
+        return m_front.getQuick( (int) ( p_index / m_columns ), (int) ( p_index % m_columns ) );
+    }
+
+    @Override
+    protected void set( final long p_index, @Nullable final Object p_value )
+    {
+        this.write( CCell.of( (int) ( p_index / m_columns ), (int) ( p_index % m_columns ) ), p_value );
+    }
+
+    /**
+     * appends a write to the write queue
+     *
+     * @param p_cell packed cell
+     * @param p_value value
+     */
+    private void write( final long p_cell, @Nullable final Object p_value )
+    {
+        final long l_group = m_group.get().m_id;
+        m_writes.add( new CWrite( p_cell, p_value, l_group == 0 ? m_groups.incrementAndGet() : l_group ) );
+    }
+
+    /**
+     * on deserialization the write buffer is created again
+     *
+     * @return tick matrix
+     */
+    private Object readResolve()
+    {
+        return new CTickObjectMatrix2D( m_front, m_policy );
+    }
+
+
+    /**
+     * open group of a thread
+     */
+    private static final class CGroup
+    {
+        /**
+         * group or zero
+         */
+        private long m_id;
+    }
+
+    /**
+     * buffered write
+     */
+    private static final class CWrite
+    {
+        /**
+         * packed cell
+         */
+        private final long m_cell;
+        /**
+         * value
+         */
+        private final Object m_value;
+        /**
+         * group
+         */
+        private final long m_group;
+
+        /**
+         * ctor
+         *
+         * @param p_cell packed cell
+         * @param p_value value
+         * @param p_group group
+         */
+        CWrite( final long p_cell, @Nullable final Object p_value, final long p_group )
+        {
+            m_cell = p_cell;
+            m_value = p_value;
+            m_group = p_group;
+        }
+    }
+}
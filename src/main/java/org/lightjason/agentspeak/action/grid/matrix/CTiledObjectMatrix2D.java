@@ -0,0 +1,407 @@
+/*
+ * @cond LICENSE
+ * ######################################################################################
+ * # LGPL License                                                                       #
+ * #                                                                                    #
+ * # This file is part of the LightJason                                                #
+ * # Copyright (c) 2015-19, LightJason (info@lightjason.org)                            #
+ * # This program is free software: you can redistribute it and/or modify               #
+ * # it under the terms of the GNU Lesser General Public License as                     #
+ * # published by the Free Software Foundation, either version 3 of the                 #
+ * # License, or (at your option) any later version.                                    #
+ * #                                                                                    #
+ * # This program is distributed in the hope that it will be useful,                    #
+ * # but WITHOUT ANY WARRANTY; without even the implied warranty of                     #
+ * # MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                      #
+ * # GNU Lesser General Public License for more details.                                #
+ * #                                                                                    #
+ * # You should have received a copy of the GNU Lesser General Public License           #
+ * # along with this program. If not, see http://www.gnu.org/licenses/                  #
+ * ######################################################################################
+ * @endcond
+ */
+
+
+package org.lightjason.agentspeak.action.grid.matrix;
+
+import cern.colt.function.tobject.IntIntObjectFunction;
+import cern.colt.matrix.tobject.ObjectMatrix1D;
+import cern.colt.matrix.tobject.ObjectMatrix2D;
+import cern.colt.matrix.tobject.impl.DenseObjectMatrix1D;
+import org.lightjason.agentspeak.action.grid.layer.CLayerRegistry;
+import org.lightjason.agentspeak.action.grid.routing.CCell;
+import org.lightjason.agentspeak.common.CCommon;
+import org.lightjason.agentspeak.error.CIllegalArgumentException;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReference;
+
+
+/**
+ * object matrix with lazy allocated tiles.
+ * The cells are stored in tiles of 64 x 64 cells,
+ * a tile is allocated on the first write and released
+ * if all cells are empty, so the memory depends on the
+ * occupied area, a cell access needs a tile and a cell
+ * array access, the matrix can grow into all directions,
+ * a growth into negative coordinates moves all cells by
+ * a multiple of the tile size, views must be created
+ * again after a growth, the tile structure is replaced
+ * on a growth, so a read gets the cell of the structure
+ * before or after the growth, writes and growths are
+ * synchronized
+ */
+public final class CTiledObjectMatrix2D extends IBaseObjectMatrix2D
+{
+    /**
+     * serial id
+     */
+    private static final long serialVersionUID = 6316339593958046710L;
+    /**
+     * number of bits of the tile size
+     */
+    private static final int TILEBITS = 6;
+    /**
+     * tile size
+     */
+    private static final int TILESIZE = 1 << TILEBITS;
+    /**
+     * cell mask within a tile
+     */
+    private static final int TILEMASK = TILESIZE - 1;
+    /**
+     * tile structure, which is shared with all views
+     * and is the lock of writes and growths
+     */
+    private final AtomicReference<CTiles> m_tiles;
+
+    /**
+     * ctor
+     *
+     * @param p_rows number of rows
+     * @param p_columns number of columns
+     */
+    public CTiledObjectMatrix2D( @Nonnegative final int p_rows, @Nonnegative final int p_columns )
+    {
+        m_tiles = new AtomicReference<>( this.allocate( p_rows, p_columns, 0, 0 ) );
+    }
+
+    /**
+     * returns the row offset, which is the sum of
+     * all row movements of growths into negative rows
+     *
+     * @return row offset
+     */
+    public int rowoffset()
+    {
+        return m_tiles.get().m_rowoffset;
+    }
+
+    /**
+     * returns the column offset, which is the sum of
+     * all column movements of growths into negative columns
+     *
+     * @return column offset
+     */
+    public int columnoffset()
+    {
+        return m_tiles.get().m_columnoffset;
+    }
+
+    /**
+     * returns the number of allocated tiles
+     *
+     * @return number of tiles
+     */
+    public int tiles()
+    {
+        return (int) Arrays.stream( m_tiles.get().m_cells ).filter( Objects::nonNull ).count();
+    }
+
+    /**
+     * grows the matrix, so that the cell is within the matrix,
+     * on growing into negative coordinates all cells are moved
+     * by a multiple of the tile size, the layers of the grid are
+     * rebuilt for the new extent, because the cell indices are changed
+     *
+     * @param p_row row, can be negative
+     * @param p_column column, can be negative
+     * @return packed cell of the movement of all cells
+     */
+    public long ensure( final int p_row, final int p_column )
+    {
+        if ( this.isView() )
+            throw new IllegalStateException();
+
+        synchronized ( m_tiles )
+        {
+            if ( p_row >= 0 && p_row < rows && p_column >= 0 && p_column < columns )
+                return CCell.of( 0, 0 );
+
+            final int l_rowshift = p_row < 0 ? ( -p_row + TILEMASK ) & ~TILEMASK : 0;
+            final int l_columnshift = p_column < 0 ? ( -p_column + TILEMASK ) & ~TILEMASK : 0;
+            final int l_rows = Math.max( rows + l_rowshift, p_row + l_rowshift + 1 );
+            final int l_columns = Math.max( columns + l_columnshift, p_column + l_columnshift + 1 );
+
+            // tiles are moved as a whole, so no cell must be copied
+            final CTiles l_old = m_tiles.get();
+            final CTiles l_new = this.allocate( l_rows, l_columns, l_old.m_rowoffset + l_rowshift, l_old.m_columnoffset + l_columnshift );
+
+            for ( int i = 0; i < l_old.m_cells.length; i++ )
+            {
+                if ( Objects.isNull( l_old.m_cells[i] ) )
+                    continue;
+
+                final int l_tile = ( i / l_old.m_tilecolumns + ( l_rowshift >>> TILEBITS ) ) * l_new.m_tilecolumns
+                                   + i % l_old.m_tilecolumns + ( l_columnshift >>> TILEBITS );
+                l_new.m_cells[l_tile] = l_old.m_cells[i];
+                l_new.m_count[l_tile] = l_old.m_count[i];
+            }
+
+            m_tiles.set( l_new );
+
+            CLayerRegistry.resize( this );
+
+            return CCell.of( l_rowshift, l_columnshift );
+        }
+    }
+
+    @Nullable
+    @Override
+    public Object getQuick( final int p_row, final int p_column )
+    {
+        // the matrix reads with the row stride of the structure, because the growth changes the row stride
+        final CTiles l_tiles = m_tiles.get();
+        return l_tiles.get( this.isView() ? (int) this.index( p_row, p_column ) : p_row << l_tiles.m_columnbits | p_column );
+    }
+
+    @Override
+    public void setQuick( final int p_row, final int p_column, @Nullable final Object p_value )
+    {
+        synchronized ( m_tiles )
+        {
+            m_tiles.get().set( (int) this.index( p_row, p_column ), p_value );
+        }
+    }
+
+    @Nonnull
+    @Override
+    public ObjectMatrix2D forEachNonZero( @Nonnull final IntIntObjectFunction p_function )
+    {
+        if ( this.isView() )
+            return super.forEachNonZero( p_function );
+
+        // only allocated tiles are visited
+        final CTiles l_tiles = m_tiles.get();
+        for ( int i = 0; i < l_tiles.m_cells.length; i++ )
+        {
+            final Object[] l_cells = l_tiles.m_cells[i];
+            if ( Objects.isNull( l_cells ) )
+                continue;
+
+            final int l_row = ( i / l_tiles.m_tilecolumns ) << TILEBITS;
+            final int l_column = ( i % l_tiles.m_tilecolumns ) << TILEBITS;
+            for ( int j = 0; j < l_cells.length; j++ )
+                if ( Objects.nonNull( l_cells[j] ) )
+                {
+                    final int l_cellrow = l_row + ( j >>> TILEBITS );
+                    final int l_cellcolumn = l_column + ( j & TILEMASK );
+                    final Object l_value = p_function.apply( l_cellrow, l_cellcolumn, l_cells[j] );
+                    if ( l_value != l_cells[j] )
+                        this.setQuick( l_cellrow, l_cellcolumn, l_value );
+                }
+        }
+        return this;
+    }
+
+    @Nonnull
+    @Override
+    public Object elements()
+    {
+        return m_tiles.get().m_cells;
+    }
+
+    @Nonnull
+    @Override
+    public ObjectMatrix2D like( final int p_rows, final int p_columns )
+    {
+        return new CTiledObjectMatrix2D( p_rows, p_columns );
+    }
+
+    @Nonnull
+    @Override
+    public ObjectMatrix1D like1D( final int p_size )
+    {
+        return new DenseObjectMatrix1D( p_size );
+    }
+
+    @Nullable
+    @Override
+    protected Object get( final long p_index )
+    {
+        return m_tiles.get().get( (int) p_index );
+    }
+
+    @Override
+    protected void set( final long p_index, @Nullable final Object p_value )
+    {
+        synchronized ( m_tiles )
+        {
+            m_tiles.get().set( (int) p_index, p_value );
+        }
+    }
+
+    /**
+     * allocates an empty tile structure and
+     * sets the size of the matrix
+     *
+     * @param p_rows number of rows
+     * @param p_columns number of columns
+     * @param p_rowoffset row offset of all growths
+     * @param p_columnoffset column offset of all growths
+     * @return tile structure
+     */
+    @Nonnull
+    private CTiles allocate( final int p_rows, final int p_columns, final int p_rowoffset, final int p_columnoffset )
+    {
+        final int l_tilerows = ( p_rows + TILEMASK ) >>> TILEBITS;
+        final int l_tilecolumns = ( p_columns + TILEMASK ) >>> TILEBITS;
+        final int l_columnbits = Math.max( TILEBITS, 32 - Integer.numberOfLeadingZeros( Math.max( 1, l_tilecolumns << TILEBITS ) - 1 ) );
+        if ( (long) l_tilerows * TILESIZE << l_columnbits > Integer.MAX_VALUE )
+            throw new CIllegalArgumentException( CCommon.languagestring( this, "toolarge", p_rows, p_columns ) );
+
+        // cells are addressed linear with a power-of-two row stride, so views can decode row and column with bit operations
+        this.setUp( p_rows, p_columns, 0, 0, 1 << l_columnbits, 1 );
+        return new CTiles( l_tilerows, l_tilecolumns, l_columnbits, p_rowoffset, p_columnoffset );
+    }
+
+
+    /**
+     * tile structure
+     */
+    private static final class CTiles implements Serializable
+    {
+        /**
+         * serial id
+         */
+        private static final long serialVersionUID = -3271637010384458421L;
+        /**
+         * tiles (row-major)
+         */
+        private final Object[][] m_cells;
+        /**
+         * number of non-empty cells of each tile
+         */
+        private final int[] m_count;
+        /**
+         * number of tile columns
+         */
+        private final int m_tilecolumns;
+        /**
+         * number of bits of the column capacity
+         */
+        private final int m_columnbits;
+        /**
+         * row offset of all growths
+         */
+        private final int m_rowoffset;
+        /**
+         * column offset of all growths
+         */
+        private final int m_columnoffset;
+
+        /**
+         * ctor
+         *
+         * @param p_tilerows number of tile rows
+         * @param p_tilecolumns number of tile columns
+         * @param p_columnbits number of bits of the column capacity
+         * @param p_rowoffset row offset of all growths
+         * @param p_columnoffset column offset of all growths
+         */
+        CTiles( final int p_tilerows, final int p_tilecolumns, final int p_columnbits, final int p_rowoffset, final int p_columnoffset )
+        {
+            m_cells = new Object[p_tilerows * p_tilecolumns][];
+            m_count = new int[m_cells.length];
+            m_tilecolumns = p_tilecolumns;
+            m_columnbits = p_columnbits;
+            m_rowoffset = p_rowoffset;
+            m_columnoffset = p_columnoffset;
+        }
+
+        /**
+         * returns the value of a linear cell index
+         *
+         * @param p_index linear index
+         * @return value
+         */
+        @Nullable
+        Object get( final int p_index )
+        {
+            final Object[] l_tile = m_cells[this.tile( p_index )];
+            return Objects.isNull( l_tile ) ? null : l_tile[this.offset( p_index )];
+        }
+
+        /**
+         * sets the value of a linear cell index
+         *
+         * @param p_index linear index
+         * @param p_value value
+         */
+        void set( final int p_index, @Nullable final Object p_value )
+        {
+            final int l_tile = this.tile( p_index );
+            Object[] l_cells = m_cells[l_tile];
+            if ( Objects.isNull( l_cells ) )
+            {
+                if ( Objects.isNull( p_value ) )
+                    return;
+
+                l_cells = new Object[TILESIZE * TILESIZE];
+                m_cells[l_tile] = l_cells;
+            }
+
+            final int l_offset = this.offset( p_index );
+            final boolean l_old = Objects.nonNull( l_cells[l_offset] );
+            l_cells[l_offset] = p_value;
+
+            if ( l_old == Objects.nonNull( p_value ) )
+                return;
+
+            if ( l_old )
+            {
+                if ( --m_count[l_tile] == 0 )
+                    m_cells[l_tile] = null;
+            }
+            else
+                m_count[l_tile]++;
+        }
+
+        /**
+         * returns the tile of a linear cell index
+         *
+         * @param p_index linear index
+         * @return tile index
+         */
+        private int tile( final int p_index )
+        {
+            return ( p_index >>> m_columnbits + TILEBITS ) * m_tilecolumns + ( ( p_index & ( 1 << m_columnbits ) - 1 ) >>> TILEBITS );
+        }
+
+        /**
+         * returns the cell offset within a tile of a linear cell index
+         *
+         * @param p_index linear index
+         * @return offset
+         */
+        private int offset( final int p_index )
+        {
+            return ( p_index >>> m_columnbits & TILEMASK ) << TILEBITS | p_index & TILEMASK;
+        }
+    }
+}
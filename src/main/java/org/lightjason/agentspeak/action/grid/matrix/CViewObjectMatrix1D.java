@@ -0,0 +1,202 @@
+/*
+ * @cond LICENSE
+ * ######################################################################################
+ * # LGPL License                                                                       #
+ * #                                                                                    #
+ * # This file is part of the LightJason                                                #
+ * # Copyright (c) 2015-19, LightJason (info@lightjason.org)                            #
+ * # This program is free software: you can redistribute it and/or modify               #
+ * # it under the terms of the GNU Lesser General Public License as                     #
+ * # published by the Free Software Foundation, either version 3 of the                 #
+ * # License, or (at your option) any later version.                                    #
+ * #                                                                                    #
+ * # This program is distributed in the hope that it will be useful,                    #
+ * # but WITHOUT ANY WARRANTY; without even the implied warranty of                     #
+ * # MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                      #
+ * # GNU Lesser General Public License for more details.                                #
+ * #                                                                                    #
+ * # You should have received a copy of the GNU Lesser General Public License           #
+ * # along with this program. If not, see http://www.gnu.org/licenses/                  #
+ * ######################################################################################
+ * @endcond
+ */
+
+
+package org.lightjason.agentspeak.action.grid.matrix;
+
+import cern.colt.matrix.tobject.ObjectMatrix1D;
+import cern.colt.matrix.tobject.ObjectMatrix2D;
+import cern.colt.matrix.tobject.ObjectMatrix3D;
+import cern.colt.matrix.tobject.impl.DenseObjectMatrix2D;
+import cern.colt.matrix.tobject.impl.DenseObjectMatrix3D;
+import org.lightjason.agentspeak.common.CCommon;
+import org.lightjason.agentspeak.error.CIllegalArgumentException;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.stream.IntStream;
+
+
+/**
+ * one-dimensional view of a matrix with linear cell indices,
+ * the view is a strided range of linear indices or a
+ * selection of linear indices
+ */
+final class CViewObjectMatrix1D extends ObjectMatrix1D
+{
+    /**
+     * serial id
+     */
+    private static final long serialVersionUID = -5781410716329146118L;
+    /**
+     * matrix
+     */
+    private final IBaseObjectMatrix2D m_matrix;
+    /**
+     * linear index of the first element
+     */
+    private final long m_zero;
+    /**
+     * linear indices of the selected elements
+     */
+    private final long[] m_offsets;
+
+    /**
+     * ctor
+     *
+     * @param p_matrix matrix
+     * @param p_offset linear offset of the elements
+     * @param p_size number of elements
+     * @param p_zero index of the first element
+     * @param p_stride number of indices between two elements
+     */
+    CViewObjectMatrix1D( @Nonnull final IBaseObjectMatrix2D p_matrix, final long p_offset,
+                         @Nonnegative final int p_size, final int p_zero, final int p_stride )
+    {
+        this.setUp( p_size, p_zero, p_stride );
+        isNoView = false;
+        m_matrix = p_matrix;
+        m_zero = p_offset;
+        m_offsets = null;
+    }
+
+    /**
+     * ctor
+     *
+     * @param p_matrix matrix
+     * @param p_offsets linear indices of the elements
+     */
+    CViewObjectMatrix1D( @Nonnull final IBaseObjectMatrix2D p_matrix, @Nonnull final long[] p_offsets )
+    {
+        this.setUp( p_offsets.length );
+        isNoView = false;
+        m_matrix = p_matrix;
+        m_zero = 0;
+        m_offsets = p_offsets;
+    }
+
+    @Nullable
+    @Override
+    public Object getQuick( final int p_index )
+    {
+        return m_matrix.get( this.linear( p_index ) );
+    }
+
+    @Override
+    public void setQuick( final int p_index, @Nullable final Object p_value )
+    {
+        m_matrix.set( this.linear( p_index ), p_value );
+    }
+
+    @Nonnull
+    @Override
+    public Object elements()
+    {
+        return m_matrix.elements();
+    }
+
+    @Nonnull
+    @Override
+    public ObjectMatrix1D like( final int p_size )
+    {
+        return m_matrix.like1D( p_size );
+    }
+
+    @Nonnull
+    @Override
+    public ObjectMatrix2D like2D( final int p_rows, final int p_columns )
+    {
+        return m_matrix.like( p_rows, p_columns );
+    }
+
+    @Nonnull
+    @Override
+    public ObjectMatrix2D reshape( final int p_rows, final int p_columns )
+    {
+        if ( (long) p_rows * p_columns != size )
+            throw new CIllegalArgumentException( CCommon.languagestring( this, "reshape", size, p_rows + " x " + p_columns ) );
+
+        final ObjectMatrix2D l_matrix = new DenseObjectMatrix2D( p_rows, p_columns );
+        for ( int j = 0, l_index = 0; j < p_columns; j++ )
+            for ( int i = 0; i < p_rows; i++ )
+                l_matrix.setQuick( i, j, this.getQuick( l_index++ ) );
+        return l_matrix;
+    }
+
+    @Nonnull
+    @Override
+    public ObjectMatrix3D reshape( final int p_slices, final int p_rows, final int p_columns )
+    {
+        if ( (long) p_slices * p_rows * p_columns != size )
+            throw new CIllegalArgumentException( CCommon.languagestring( this, "reshape", size, p_slices + " x " + p_rows + " x " + p_columns ) );
+
+        final ObjectMatrix3D l_matrix = new DenseObjectMatrix3D( p_slices, p_rows, p_columns );
+        for ( int s = 0, l_index = 0; s < p_slices; s++ )
+            for ( int j = 0; j < p_columns; j++ )
+                for ( int i = 0; i < p_rows; i++ )
+                    l_matrix.setQuick( s, i, j, this.getQuick( l_index++ ) );
+        return l_matrix;
+    }
+
+    @Nonnull
+    @Override
+    public ObjectMatrix1D viewSelection( @Nullable final int[] p_indexes )
+    {
+        // the linear indices are calculated with long values, so the selection does not overflow on large matrices
+        final int[] l_indexes = Objects.isNull( p_indexes ) ? IntStream.range( 0, size ).toArray() : p_indexes;
+        this.checkIndexes( l_indexes );
+        return new CViewObjectMatrix1D( m_matrix, Arrays.stream( l_indexes ).mapToLong( this::linear ).toArray() );
+    }
+
+    @Nonnull
+    @Override
+    protected ObjectMatrix1D viewSelectionLike( @Nonnull final int[] p_offsets )
+    {
+        return new CViewObjectMatrix1D( m_matrix, Arrays.stream( p_offsets ).mapToLong( this::offset ).toArray() );
+    }
+
+    /**
+     * returns the linear index of an element
+     *
+     * @param p_index element index
+     * @return linear index
+     */
+    private long linear( final int p_index )
+    {
+        return this.offset( zero + (long) p_index * stride );
+    }
+
+    /**
+     * returns the linear index of an offset
+     *
+     * @param p_offset offset of the view
+     * @return linear index
+     */
+    private long offset( final long p_offset )
+    {
+        return Objects.isNull( m_offsets ) ? m_zero + p_offset : m_offsets[(int) p_offset];
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * @cond LICENSE
+ * ######################################################################################
+ * # LGPL License                                                                       #
+ * #                                                                                    #
+ * # This file is part of the LightJason                                                #
+ * # Copyright (c) 2015-19, LightJason (info@lightjason.org)                            #
+ * # This program is free software: you can redistribute it and/or modify               #
+ * # it under the terms of the GNU Lesser General Public License as                     #
+ * # published by the Free Software Foundation, either version 3 of the                 #
+ * # License, or (at your option) any later version.                                    #
+ * #                                                                                    #
+ * # This program is distributed in the hope that it will be useful,                    #
+ * # but WITHOUT ANY WARRANTY; without even the implied warranty of                     #
+ * # MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                      #
+ * # GNU Lesser General Public License for more details.                                #
+ * #                                                                                    #
+ * # You should have received a copy of the GNU Lesser General Public License           #
+ * # along with this program. If not, see http://www.gnu.org/licenses/                  #
+ * ######################################################################################
+ * @endcond
+ */
+
+
+package org.lightjason.agentspeak.action.grid.matrix;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.List;
+import java.util.Objects;
+
+
+/**
+ * conflict policies of buffered writes
+ */
+public enum EConflictPolicy implements IConflictPolicy
+{
+    /**
+     * the writes are applied iif all writes
+     * have got the same value, otherwise the
+     * current value is kept, so the result does
+     * not depend on the thread scheduling
+     */
+    REJECT
+    {
+        @Override
+        public int apply( final int p_row, final int p_column, @Nullable final Object p_current, @Nonnull final List<Object> p_writes )
+        {
+            final Object l_value = p_writes.get( 0 );
+            return p_writes.stream().allMatch( i -> Objects.equals( l_value, i ) ) ? p_writes.size() - 1 : -1;
+        }
+    },
+
+    /**
+     * the first write is applied
+     */
+    FIRST
+    {
+        @Override
+        public int apply( final int p_row, final int p_column, @Nullable final Object p_current, @Nonnull final List<Object> p_writes )
+        {
+            return 0;
+        }
+    },
+
+    /**
+     * the last write is applied
+     */
+    LAST
+    {
+        @Override
+        public int apply( final int p_row, final int p_column, @Nullable final Object p_current, @Nonnull final List<Object> p_writes )
+        {
+            return p_writes.size() - 1;
+        }
+    }
+
+}
@@ -0,0 +1,186 @@
+/*
+ * @cond LICENSE
+ * ######################################################################################
+ * # LGPL License                                                                       #
+ * #                                                                                    #
+ * # This file is part of the LightJason                                                #
+ * # Copyright (c) 2015-19, LightJason (info@lightjason.org)                            #
+ * # This program is free software: you can redistribute it and/or modify               #
+ * # it under the terms of the GNU Lesser General Public License as                     #
+ * # published by the Free Software Foundation, either version 3 of the                 #
+ * # License, or (at your option) any later version.                                    #
+ * #                                                                                    #
+ * # This program is distributed in the hope that it will be useful,                    #
+ * # but WITHOUT ANY WARRANTY; without even the implied warranty of                     #
+ * # MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                      #
+ * # GNU Lesser General Public License for more details.                                #
+ * #                                                                                    #
+ * # You should have received a copy of the GNU Lesser General Public License           #
+ * # along with this program. If not, see http://www.gnu.org/licenses/                  #
+ * ######################################################################################
+ * @endcond
+ */
+
+
+package org.lightjason.agentspeak.action.grid.matrix;
+
+import cern.colt.matrix.AbstractMatrix2D;
+import cern.colt.matrix.tobject.ObjectMatrix1D;
+import cern.colt.matrix.tobject.ObjectMatrix2D;
+import cern.colt.matrix.tobject.impl.DenseObjectMatrix1D;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.stream.IntStream;
+
+
+/**
+ * abstract object matrix with linear cell indices.
+ * A cell is addressed by a long linear index, which
+ * is the sum of row and column offset, so views
+ * work on matrices with more than 2^31 cells,
+ * the view offset is stored as long value, because
+ * the row and column zero are integer values
+ */
+public abstract class IBaseObjectMatrix2D extends ObjectMatrix2D
+{
+    /**
+     * serial id
+     */
+    private static final long serialVersionUID = 3408113651437904512L;
+    /**
+     * linear offset of a view
+     */
+    private long m_offset;
+
+    /**
+     * returns the value of a linear cell index
+     *
+     * @param p_index linear index
+     * @return value
+     */
+    @Nullable
+    protected abstract Object get( long p_index );
+
+    /**
+     * sets the value of a linear cell index
+     *
+     * @param p_index linear index
+     * @param p_value value
+     */
+    protected abstract void set( long p_index, @Nullable Object p_value );
+
+    @Override
+    public long index( final int p_row, final int p_column )
+    {
+        return m_offset + rowZero + (long) p_row * rowStride + columnZero + (long) p_column * columnStride;
+    }
+
+    @Override
+    public long size()
+    {
+        return (long) rows * columns;
+    }
+
+    @Nonnull
+    @Override
+    public ObjectMatrix1D viewRow( final int p_row )
+    {
+        this.checkRow( p_row );
+        return new CViewObjectMatrix1D( this, m_offset + rowZero + (long) p_row * rowStride + columnZero, columns, 0, columnStride );
+    }
+
+    @Nonnull
+    @Override
+    public ObjectMatrix1D viewColumn( final int p_column )
+    {
+        this.checkColumn( p_column );
+        return new CViewObjectMatrix1D( this, m_offset + columnZero + (long) p_column * columnStride + rowZero, rows, 0, rowStride );
+    }
+
+    @Nonnull
+    @Override
+    public ObjectMatrix2D viewSelection( @Nullable final int[] p_rows, @Nullable final int[] p_columns )
+    {
+        // offsets are calculated with long values, the default implementation overflows on large matrices
+        final int[] l_rows = Objects.isNull( p_rows ) ? IntStream.range( 0, rows ).toArray() : p_rows;
+        final int[] l_columns = Objects.isNull( p_columns ) ? IntStream.range( 0, columns ).toArray() : p_columns;
+        this.checkRowIndexes( l_rows );
+        this.checkColumnIndexes( l_columns );
+
+        return new CSelectedObjectMatrix2D(
+            this,
+            Arrays.stream( l_rows ).mapToLong( i -> m_offset + rowZero + (long) i * rowStride ).toArray(),
+            Arrays.stream( l_columns ).mapToLong( i -> columnZero + (long) i * columnStride ).toArray()
+        );
+    }
+
+    @Nonnull
+    @Override
+    public ObjectMatrix1D vectorize()
+    {
+        final ObjectMatrix1D l_vector = new DenseObjectMatrix1D( (int) this.size() );
+        for ( int j = 0, l_index = 0; j < columns; j++ )
+            for ( int i = 0; i < rows; i++ )
+                l_vector.setQuick( l_index++, this.getQuick( i, j ) );
+        return l_vector;
+    }
+
+    @Nonnull
+    @Override
+    protected final ObjectMatrix1D like1D( final int p_size, final int p_zero, final int p_stride )
+    {
+        return new CViewObjectMatrix1D( this, m_offset, p_size, p_zero, p_stride );
+    }
+
+    @Nonnull
+    @Override
+    protected final ObjectMatrix2D viewSelectionLike( @Nonnull final int[] p_rowoffsets, @Nonnull final int[] p_columnoffsets )
+    {
+        return new CSelectedObjectMatrix2D(
+            this,
+            Arrays.stream( p_rowoffsets ).mapToLong( i -> m_offset + i ).toArray(),
+            Arrays.stream( p_columnoffsets ).asLongStream().toArray()
+        );
+    }
+
+    @Nonnull
+    @Override
+    protected AbstractMatrix2D vPart( final int p_row, final int p_column, final int p_height, final int p_width )
+    {
+        this.checkBox( p_row, p_column, p_height, p_width );
+        m_offset += (long) p_row * rowStride + (long) p_column * columnStride;
+        rows = p_height;
+        columns = p_width;
+        isNoView = false;
+        return this;
+    }
+
+    @Nonnull
+    @Override
+    protected AbstractMatrix2D vRowFlip()
+    {
+        if ( rows > 0 )
+        {
+            m_offset += (long) ( rows - 1 ) * rowStride;
+            rowStride = -rowStride;
+            isNoView = false;
+        }
+        return this;
+    }
+
+    @Nonnull
+    @Override
+    protected AbstractMatrix2D vColumnFlip()
+    {
+        if ( columns > 0 )
+        {
+            m_offset += (long) ( columns - 1 ) * columnStride;
+            columnStride = -columnStride;
+            isNoView = false;
+        }
+        return this;
+    }
+}
@@ -0,0 +1,51 @@
+/*
+ * @cond LICENSE
+ * ######################################################################################
+ * # LGPL License                                                                       #
+ * #                                                                                    #
+ * # This file is part of the LightJason                                                #
+ * # Copyright (c) 2015-19, LightJason (info@lightjason.org)                            #
+ * # This program is free software: you can redistribute it and/or modify               #
+ * # it under the terms of the GNU Lesser General Public License as                     #
+ * # published by the Free Software Foundation, either version 3 of the                 #
+ * # License, or (at your option) any later version.                                    #
+ * #                                                                                    #
+ * # This program is distributed in the hope that it will be useful,                    #
+ * # but WITHOUT ANY WARRANTY; without even the implied warranty of                     #
+ * # MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                      #
+ * # GNU Lesser General Public License for more details.                                #
+ * #                                                                                    #
+ * # You should have received a copy of the GNU Lesser General Public License           #
+ * # along with this program. If not, see http://www.gnu.org/licenses/                  #
+ * ######################################################################################
+ * @endcond
+ */
+
+
+package org.lightjason.agentspeak.action.grid.matrix;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.List;
+
+
+/**
+ * conflict policy of buffered writes,
+ * which resolves the writes on the same cell
+ */
+@FunctionalInterface
+public interface IConflictPolicy
+{
+
+    /**
+     * resolves the conflicting writes of a cell
+     *
+     * @param p_row row
+     * @param p_column column
+     * @param p_current current cell value
+     * @param p_writes written values in buffer order
+     * @return index of the applied write or -1 to keep the current value
+     */
+    int apply( final int p_row, final int p_column, @Nullable final Object p_current, @Nonnull final List<Object> p_writes );
+
+}
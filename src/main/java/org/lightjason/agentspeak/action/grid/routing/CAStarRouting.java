@@ -135,12 +135,13 @@ public final class CAStarRouting extends IBaseRouting
         final Set<INode> l_closedlist = Collections.synchronizedSet( new HashSet<>() );
         // we want the nodes with the lowest projected f value to be checked first
         final Queue<INode> l_openlist = new PriorityBlockingQueue<>(
-            (int) p_grid.size() / 4,
+            (int) Math.max( 1, Math.min( p_grid.size() / 4, 1024 ) ),
             new CScoreComparator( l_fscore )
         );
 
         l_openlist.add( CNode.of( p_start ) );
         final INode l_end = CNode.of( p_end );
+        final IDistance l_distance = this.distance( p_grid );
 
         while ( !l_openlist.isEmpty() )
         {
@@ -152,7 +153,7 @@ public final class CAStarRouting extends IBaseRouting
             this.neighbour( p_grid, l_current.position() )
                 .parallel()
                 .map( CNode::of )
-                .forEach( i -> this.score( p_grid, l_current, i, l_end, l_openlist, l_closedlist, l_gscore, l_fscore ) );
+                .forEach( i -> this.score( l_distance, l_current, i, l_end, l_openlist, l_closedlist, l_gscore, l_fscore ) );
 
             reorganizequeue( l_openlist );
         }
@@ -164,7 +165,7 @@ public final class CAStarRouting extends IBaseRouting
     /**
      * calculates the score and updates the openlist
      *
-     * @param p_grid grid
+     * @param p_distance distance of the grid
      * @param p_current current node
      * @param p_end end node
      * @param p_neigbour neighbour nodes
@@ -173,20 +174,20 @@ public final class CAStarRouting extends IBaseRouting
      * @param p_gscore g-score map
      * @param p_fscore f-score map
      */
-    private void score( @Nonnull final ObjectMatrix2D p_grid, @Nonnull final INode p_current, @Nonnull final INode p_neigbour, final INode p_end,
+    private void score( @Nonnull final IDistance p_distance, @Nonnull final INode p_current, @Nonnull final INode p_neigbour, final INode p_end,
                         @Nonnull final Queue<INode> p_openlist, @Nonnull final Set<INode> p_closedlist,
                         @Nonnull final Map<INode, Double> p_gscore, @Nonnull final Map<INode, Double> p_fscore )
     {
         if ( p_closedlist.contains( p_neigbour ) )
             return;
 
-        final double l_gscore = p_gscore.getOrDefault( p_current, 0D ) + m_distance.apply( p_current.position(), p_neigbour.position() ).doubleValue();
+        final double l_gscore = p_gscore.getOrDefault( p_current, 0D ) + p_distance.apply( p_current.position(), p_neigbour.position() ).doubleValue();
         if ( p_openlist.contains( p_neigbour ) && l_gscore >= p_gscore.getOrDefault( p_neigbour, 0D ) )
             return;
 
         p_neigbour.accept( p_current );
         p_gscore.put( p_neigbour, l_gscore );
-        p_fscore.put( p_neigbour, l_gscore + m_weight.doubleValue() * m_distance.heuristic( p_neigbour.position(), p_end.position() ).doubleValue() );
+        p_fscore.put( p_neigbour, l_gscore + m_weight.doubleValue() * p_distance.heuristic( p_neigbour.position(), p_end.position() ).doubleValue() );
 
         p_openlist.add( p_neigbour );
     }
@@ -0,0 +1,592 @@
+/*
+ * @cond LICENSE
+ * ######################################################################################
+ * # LGPL License                                                                       #
+ * #                                                                                    #
+ * # This file is part of the LightJason                                                #
+ * # Copyright (c) 2015-19, LightJason (info@lightjason.org)                            #
+ * # This program is free software: you can redistribute it and/or modify               #
+ * # it under the terms of the GNU Lesser General Public License as                     #
+ * # published by the Free Software Foundation, either version 3 of the                 #
+ * # License, or (at your option) any later version.                                    #
+ * #                                                                                    #
+ * # This program is distributed in the hope that it will be useful,                    #
+ * # but WITHOUT ANY WARRANTY; without even the implied warranty of                     #
+ * # MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                      #
+ * # GNU Lesser General Public License for more details.                                #
+ * #                                                                                    #
+ * # You should have received a copy of the GNU Lesser General Public License           #
+ * # along with this program. If not, see http://www.gnu.org/licenses/                  #
+ * ######################################################################################
+ * @endcond
+ */
+
+package org.lightjason.agentspeak.action.grid.routing;
+
+import cern.colt.matrix.tdouble.DoubleMatrix1D;
+import cern.colt.matrix.tobject.ObjectMatrix2D;
+import org.apache.commons.lang3.tuple.ImmutablePair;
+import org.apache.commons.lang3.tuple.Pair;
+import org.lightjason.agentspeak.action.grid.layer.CLayerRegistry;
+import org.lightjason.agentspeak.action.grid.layer.ILayer;
+import org.lightjason.agentspeak.common.CCommon;
+import org.lightjason.agentspeak.error.CIllegalArgumentException;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.BiFunction;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+
+/**
+ * anytime repairing a-star (ARA*) routing.
+ * The search starts with a high heuristic weight and
+ * runs within an expansion and a time budget, if the
+ * budget is exhausted the best route found so far is
+ * returned and the search state is kept, so the next
+ * call with the same start and goal continues the search,
+ * after each finished search the weight is decreased and
+ * the search is repaired with the inconsistent cells until
+ * the weight reaches 1, each route is returned with its
+ * suboptimality bound, which holds for an admissible and
+ * consistent heuristic, the search states are dropped on
+ * any change of the grid
+ *
+ * @see <a href="https://papers.nips.cc/paper/2382-ara-anytime-a-with-provable-bounds-on-sub-optimality.pdf"></a>
+ */
+public final class CAnytimeRouting extends IBaseRouting
+{
+    /**
+     * default initial weight
+     */
+    public static final double WEIGHT = 3;
+    /**
+     * default weight decrement
+     */
+    public static final double DECREMENT = 0.5;
+    /**
+     * default expansion budget of a call
+     */
+    public static final int EXPANSIONS = Integer.MAX_VALUE;
+    /**
+     * default time budget of a call in milliseconds
+     */
+    public static final double DURATION = 5;
+    /**
+     * default number of search states of a grid
+     */
+    public static final int CAPACITY = 16;
+    /**
+     * serial id
+     */
+    private static final long serialVersionUID = -6170883493436557069L;
+    /**
+     * number of expansions between two time checks
+     */
+    private static final int TIMECHECK = 64;
+    /**
+     * initial weight
+     */
+    private final double m_weight;
+    /**
+     * weight decrement
+     */
+    private final double m_decrement;
+    /**
+     * expansion budget
+     */
+    private final int m_expansions;
+    /**
+     * time budget in nanoseconds
+     */
+    private final long m_duration;
+    /**
+     * number of search states of a grid
+     */
+    private final int m_capacity;
+
+    /**
+     * ctor
+     */
+    public CAnytimeRouting()
+    {
+        this( EDistance.MANHATTAN, ESearchDirection.NEVER );
+    }
+
+    /**
+     * ctor
+     *
+     * @param p_distance distance
+     * @param p_searchdirection search direction
+     */
+    public CAnytimeRouting( @Nonnull final IDistance p_distance, @Nonnull final ISearchDirection p_searchdirection )
+    {
+        this( p_distance, p_searchdirection, WEIGHT, DECREMENT, EXPANSIONS, DURATION );
+    }
+
+    /**
+     * ctor
+     *
+     * @param p_distance distance
+     * @param p_searchdirection search direction
+     * @param p_weight initial weight
+     * @param p_decrement weight decrement
+     * @param p_expansions expansion budget of a call
+     * @param p_duration time budget of a call in milliseconds
+     */
+    public CAnytimeRouting( @Nonnull final IDistance p_distance, @Nonnull final ISearchDirection p_searchdirection,
+                            @Nonnull final Number p_weight, @Nonnull final Number p_decrement,
+                            @Nonnull final Number p_expansions, @Nonnull final Number p_duration )
+    {
+        super( p_distance, p_searchdirection );
+
+        if ( p_distance == EDistance.MANHATTAN && p_searchdirection != ESearchDirection.NEVER )
+            throw new CIllegalArgumentException( CCommon.languagestring( this, "manhattendigitalmovement" ) );
+
+        m_weight = Math.max( 1, p_weight.doubleValue() );
+        m_decrement = p_decrement.doubleValue() > 0 ? p_decrement.doubleValue() : DECREMENT;
+        m_expansions = Math.max( 1, p_expansions.intValue() );
+        m_duration = (long) ( Math.max( 0, p_duration.doubleValue() ) * 1000000 );
+        m_capacity = CAPACITY;
+    }
+
+    /**
+     * ctor
+     *
+     * @param p_distance distance
+     * @param p_searchdirection search direction
+     * @param p_walkable walkable check
+     * @param p_weight initial weight
+     * @param p_decrement weight decrement
+     * @param p_expansions expansion budget of a call
+     * @param p_duration time budget of a call in milliseconds
+     * @param p_capacity number of search states of a grid
+     */
+    public CAnytimeRouting( @Nonnull final IDistance p_distance, @Nonnull final ISearchDirection p_searchdirection,
+                            @Nonnull final BiFunction<ObjectMatrix2D, DoubleMatrix1D, Boolean> p_walkable,
+                            @Nonnull final Number p_weight, @Nonnull final Number p_decrement,
+                            @Nonnull final Number p_expansions, @Nonnull final Number p_duration, @Nonnull final Number p_capacity )
+    {
+        super( p_distance, p_searchdirection, p_walkable );
+
+        if ( p_distance == EDistance.MANHATTAN && p_searchdirection != ESearchDirection.NEVER )
+            throw new CIllegalArgumentException( CCommon.languagestring( this, "manhattendigitalmovement" ) );
+
+        m_weight = Math.max( 1, p_weight.doubleValue() );
+        m_decrement = p_decrement.doubleValue() > 0 ? p_decrement.doubleValue() : DECREMENT;
+        m_expansions = Math.max( 1, p_expansions.intValue() );
+        m_duration = (long) ( Math.max( 0, p_duration.doubleValue() ) * 1000000 );
+        m_capacity = Math.max( 1, p_capacity.intValue() );
+    }
+
+    @Override
+    public Stream<DoubleMatrix1D> apply( @Nonnull final ObjectMatrix2D p_grid, @Nonnull final DoubleMatrix1D p_start, @Nonnull final DoubleMatrix1D p_end )
+    {
+        return this.solution( p_grid, p_start, p_end ).getLeft();
+    }
+
+    @Nonnull
+    @Override
+    protected int[] route( @Nonnull final ObjectMatrix2D p_grid, final long p_start, final long p_end )
+    {
+        final int l_columns = p_grid.columns();
+        return Arrays.stream( this.search( p_grid, p_start, p_end ).getLeft() ).mapToInt( i -> CCell.index( i, l_columns ) ).toArray();
+    }
+
+    /**
+     * runs the search within the budget and returns the
+     * best route with its suboptimality bound, the cost
+     * of the route is at most bound times the optimal cost
+     *
+     * @param p_grid grid
+     * @param p_start start position
+     * @param p_end goal position
+     * @return pair of route and bound, the route is empty and the
+     * bound is infinity if no route has been found so far
+     */
+    @Nonnull
+    public Pair<Stream<DoubleMatrix1D>, Double> solution( @Nonnull final ObjectMatrix2D p_grid, @Nonnull final DoubleMatrix1D p_start,
+                                                          @Nonnull final DoubleMatrix1D p_end )
+    {
+        final Pair<long[], Double> l_solution = this.search( p_grid, CCell.of( p_start ), CCell.of( p_end ) );
+        return new ImmutablePair<>( constructpath( l_solution.getLeft() ), l_solution.getRight() );
+    }
+
+    /**
+     * runs the search within the budget on packed cells
+     *
+     * @param p_grid grid
+     * @param p_start packed start cell
+     * @param p_end packed goal cell
+     * @return pair of packed cells of the route and bound
+     */
+    @Nonnull
+    private Pair<long[], Double> search( @Nonnull final ObjectMatrix2D p_grid, final long p_start, final long p_end )
+    {
+        if ( !CCell.inside( p_start, p_grid.rows(), p_grid.columns() ) || !CCell.inside( p_end, p_grid.rows(), p_grid.columns() ) )
+            return new ImmutablePair<>( new long[0], Double.POSITIVE_INFINITY );
+
+        final CSearch l_search = CLayerRegistry.layer( p_grid, Arrays.asList( this.configuration(), m_weight, m_decrement ), i -> new CSearches( m_capacity ) )
+                                               .get( new ImmutablePair<>( p_start, p_end ), () -> new CSearch( this, p_start, p_end ) );
+
+        synchronized ( l_search )
+        {
+            l_search.improve( p_grid, m_expansions, m_duration );
+            return new ImmutablePair<>( l_search.m_route, l_search.m_bound );
+        }
+    }
+
+    /**
+     * search state of a start and goal, the state
+     * of a packed cell is stored by the slot of the cell,
+     * so the state grows with the visited cells and
+     * any grid size can be searched
+     */
+    private static final class CSearch
+    {
+        /**
+         * initial number of slots
+         */
+        private static final int INITIALSIZE = 64;
+        /**
+         * cell is closed
+         */
+        private static final byte CLOSED = 1;
+        /**
+         * cell is inconsistent
+         */
+        private static final byte INCONSISTENT = 2;
+        /**
+         * routing
+         */
+        private final CAnytimeRouting m_routing;
+        /**
+         * packed start cell
+         */
+        private final long m_start;
+        /**
+         * packed goal cell
+         */
+        private final long m_goal;
+        /**
+         * slots of the visited cells
+         */
+        private final CSparseIndex m_index = new CSparseIndex( INITIALSIZE );
+        /**
+         * open list of slots
+         */
+        private final CIndexedHeap m_openlist = new CIndexedHeap( INITIALSIZE );
+        /**
+         * g-score of each slot
+         */
+        private double[] m_gscore = CSparseIndex.infinity( INITIALSIZE );
+        /**
+         * parent slot of each slot
+         */
+        private int[] m_parent = new int[INITIALSIZE];
+        /**
+         * closed and inconsistent flags of each slot
+         */
+        private byte[] m_flag = new byte[INITIALSIZE];
+        /**
+         * neighbour buffer
+         */
+        private final long[] m_neighbour = new long[8];
+        /**
+         * inconsistent slots
+         */
+        private int[] m_inconsistent = new int[16];
+        /**
+         * number of inconsistent slots
+         */
+        private int m_inconsistentsize;
+        /**
+         * current weight
+         */
+        private double m_weight;
+        /**
+         * search has been finished with weight 1 or the goal is not reachable
+         */
+        private boolean m_finished;
+        /**
+         * best route
+         */
+        private long[] m_route = new long[0];
+        /**
+         * suboptimality bound of the best route
+         */
+        private double m_bound = Double.POSITIVE_INFINITY;
+
+        /**
+         * ctor
+         *
+         * @param p_routing routing
+         * @param p_start packed start cell
+         * @param p_goal packed goal cell
+         */
+        CSearch( @Nonnull final CAnytimeRouting p_routing, final long p_start, final long p_goal )
+        {
+            m_routing = p_routing;
+            m_start = p_start;
+            m_goal = p_goal;
+            m_weight = p_routing.m_weight;
+
+            final int l_start = this.slot( p_start );
+            m_gscore[l_start] = 0;
+            m_parent[l_start] = -1;
+            m_openlist.push( l_start, this.key( l_start ), this.heuristic( l_start ) );
+        }
+
+        /**
+         * continues the search within the budget, the search
+         * state is shared by routings with the same configuration,
+         * so the budget is passed by the calling routing
+         *
+         * @param p_grid grid
+         * @param p_expansions expansion budget
+         * @param p_duration time budget in nanoseconds
+         */
+        void improve( @Nonnull final ObjectMatrix2D p_grid, final int p_expansions, final long p_duration )
+        {
+            final IWalkable l_walkable = m_routing.resolve( p_grid );
+            final long l_deadline = System.nanoTime() + p_duration;
+            int l_expansions = 0;
+
+            while ( !m_finished )
+            {
+                // the search is finished iif the goal key is not greater than the minimal open key
+                if ( m_openlist.isEmpty() || this.gscore( m_goal ) <= m_openlist.peekprimary() )
+                {
+                    this.publish();
+                    continue;
+                }
+
+                if ( l_expansions >= p_expansions
+                     || l_expansions % TIMECHECK == 0 && l_expansions > 0 && System.nanoTime() > l_deadline )
+                    return;
+
+                this.expand( p_grid, l_walkable, m_openlist.pop() );
+                l_expansions++;
+            }
+        }
+
+        /**
+         * expands a cell, successors which are closed
+         * already are stored as inconsistent cells
+         *
+         * @param p_grid grid
+         * @param p_walkable resolved walkable function
+         * @param p_slot slot of the cell
+         */
+        private void expand( @Nonnull final ObjectMatrix2D p_grid, @Nonnull final IWalkable p_walkable, final int p_slot )
+        {
+            m_flag[p_slot] |= CLOSED;
+
+            final long l_cell = m_index.cell( p_slot );
+            for ( int i = 0, l_count = m_routing.neighbour( p_grid, p_walkable, l_cell, m_neighbour ); i < l_count; i++ )
+            {
+                final int l_next = this.slot( m_neighbour[i] );
+                final double l_gscore = m_gscore[p_slot] + m_routing.m_distance.apply( l_cell, m_neighbour[i] );
+                if ( l_gscore >= m_gscore[l_next] )
+                    continue;
+
+                m_gscore[l_next] = l_gscore;
+                m_parent[l_next] = p_slot;
+
+                if ( ( m_flag[l_next] & CLOSED ) == 0 )
+                    m_openlist.push( l_next, this.key( l_next ), this.heuristic( l_next ) );
+                else if ( ( m_flag[l_next] & INCONSISTENT ) == 0 )
+                {
+                    m_flag[l_next] |= INCONSISTENT;
+                    if ( m_inconsistentsize == m_inconsistent.length )
+                        m_inconsistent = Arrays.copyOf( m_inconsistent, m_inconsistent.length * 2 );
+                    m_inconsistent[m_inconsistentsize++] = l_next;
+                }
+            }
+        }
+
+        /**
+         * publishes the route of a finished search with its bound
+         * and prepares the next search with a decreased weight
+         */
+        private void publish()
+        {
+            // the open and inconsistent slots are collected to calculate the bound and to build the next open list
+            final int[] l_slots = new int[m_openlist.size() + m_inconsistentsize];
+            int l_size = 0;
+            while ( !m_openlist.isEmpty() )
+                l_slots[l_size++] = m_openlist.pop();
+            for ( int i = 0; i < m_inconsistentsize; i++ )
+                l_slots[l_size++] = m_inconsistent[i];
+            m_inconsistentsize = 0;
+
+            final double l_goal = this.gscore( m_goal );
+            if ( l_goal == Double.POSITIVE_INFINITY )
+            {
+                m_finished = true;
+                return;
+            }
+
+            double l_minimum = Double.POSITIVE_INFINITY;
+            for ( int i = 0; i < l_size; i++ )
+                l_minimum = Math.min( l_minimum, m_gscore[l_slots[i]] + this.heuristic( l_slots[i] ) );
+
+            m_route = this.path();
+            m_bound = Math.max( 1, Math.min( m_weight, l_goal / l_minimum ) );
+            m_finished = m_weight <= 1 || m_bound <= 1;
+            if ( m_finished )
+                return;
+
+            m_weight = Math.max( 1, m_weight - m_routing.m_decrement );
+            Arrays.fill( m_flag, (byte) 0 );
+            for ( int i = 0; i < l_size; i++ )
+                m_openlist.push( l_slots[i], this.key( l_slots[i] ), this.heuristic( l_slots[i] ) );
+        }
+
+        /**
+         * builds the route from the parent slots
+         *
+         * @return packed cells from start to goal
+         */
+        @Nonnull
+        private long[] path()
+        {
+            final int l_goal = m_index.find( m_goal );
+            int l_length = 0;
+            for ( int i = l_goal; i >= 0; i = m_parent[i] )
+                l_length++;
+
+            final long[] l_path = new long[l_length];
+            for ( int i = l_goal; i >= 0; i = m_parent[i] )
+                l_path[--l_length] = m_index.cell( i );
+
+            return l_path;
+        }
+
+        /**
+         * g-score of a cell
+         *
+         * @param p_cell packed cell
+         * @return score or infinity if the cell is not visited
+         */
+        private double gscore( final long p_cell )
+        {
+            final int l_slot = m_index.find( p_cell );
+            return l_slot < 0 ? Double.POSITIVE_INFINITY : m_gscore[l_slot];
+        }
+
+        /**
+         * returns the slot of a cell and grows
+         * the slot arrays if a slot is created
+         *
+         * @param p_cell packed cell
+         * @return slot
+         */
+        private int slot( final long p_cell )
+        {
+            final int l_slot = m_index.slot( p_cell );
+            if ( l_slot == m_gscore.length )
+            {
+                final int l_length = m_gscore.length << 1;
+                m_gscore = CSparseIndex.grow( m_gscore, l_length );
+                m_parent = Arrays.copyOf( m_parent, l_length );
+                m_flag = Arrays.copyOf( m_flag, l_length );
+                m_openlist.ensure( l_length );
+            }
+            return l_slot;
+        }
+
+        /**
+         * weighted key of a slot
+         *
+         * @param p_slot slot
+         * @return key
+         */
+        private double key( final int p_slot )
+        {
+            return m_gscore[p_slot] + m_weight * this.heuristic( p_slot );
+        }
+
+        /**
+         * heuristic of a slot to the goal, the lower bound of the
+         * routing is used, because the distance heuristic can
+         * overestimate diagonal movement and the bound would be false
+         *
+         * @param p_slot slot
+         * @return heuristic
+         */
+        private double heuristic( final int p_slot )
+        {
+            final long l_cell = m_index.cell( p_slot );
+            return m_routing.lowerbound( CCell.row( l_cell ), CCell.column( l_cell ), CCell.row( m_goal ), CCell.column( m_goal ) );
+        }
+    }
+
+    /**
+     * grid layer with the least-recently used search states,
+     * all states are dropped on a cell change
+     */
+    private static final class CSearches implements ILayer
+    {
+        /**
+         * search states by start and goal cell
+         */
+        private final Map<Pair<Long, Long>, CSearch> m_searches;
+
+        /**
+         * ctor
+         *
+         * @param p_capacity maximum number of search states
+         */
+        CSearches( final int p_capacity )
+        {
+            m_searches = new LinkedHashMap<>( 16, 0.75f, true )
+            {
+                private static final long serialVersionUID = 3209735183531366613L;
+
+                @Override
+                protected boolean removeEldestEntry( final Map.Entry<Pair<Long, Long>, CSearch> p_eldest )
+                {
+                    return this.size() > p_capacity;
+                }
+            };
+        }
+
+        /**
+         * returns the search state of a start and goal and creates it if not exists
+         *
+         * @param p_key packed start and goal cell
+         * @param p_factory search state factory
+         * @return search state
+         */
+        @Nonnull
+        synchronized CSearch get( @Nonnull final Pair<Long, Long> p_key, @Nonnull final Supplier<CSearch> p_factory )
+        {
+            final CSearch l_search = m_searches.get( p_key );
+            if ( Objects.nonNull( l_search ) )
+                return l_search;
+
+            final CSearch l_new = p_factory.get();
+            m_searches.put( p_key, l_new );
+            return l_new;
+        }
+
+        @Override
+        public synchronized void update( @Nonnull final ObjectMatrix2D p_grid, final int p_row, final int p_column,
+                                         @Nullable final Object p_old, @Nullable final Object p_new )
+        {
+            m_searches.clear();
+        }
+
+        @Override
+        public synchronized void reset( @Nonnull final ObjectMatrix2D p_grid )
+        {
+            m_searches.clear();
+        }
+    }
+}
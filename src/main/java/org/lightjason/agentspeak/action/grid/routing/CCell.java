@@ -0,0 +1,145 @@
+/*
+ * @cond LICENSE
+ * ######################################################################################
+ * # LGPL License                                                                       #
+ * #                                                                                    #
+ * # This file is part of the LightJason                                                #
+ * # Copyright (c) 2015-19, LightJason (info@lightjason.org)                            #
+ * # This program is free software: you can redistribute it and/or modify               #
+ * # it under the terms of the GNU Lesser General Public License as                     #
+ * # published by the Free Software Foundation, either version 3 of the                 #
+ * # License, or (at your option) any later version.                                    #
+ * #                                                                                    #
+ * # This program is distributed in the hope that it will be useful,                    #
+ * # but WITHOUT ANY WARRANTY; without even the implied warranty of                     #
+ * # MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                      #
+ * # GNU Lesser General Public License for more details.                                #
+ * #                                                                                    #
+ * # You should have received a copy of the GNU Lesser General Public License           #
+ * # along with this program. If not, see http://www.gnu.org/licenses/                  #
+ * ######################################################################################
+ * @endcond
+ */
+
+package org.lightjason.agentspeak.action.grid.routing;
+
+import cern.colt.matrix.tdouble.DoubleMatrix1D;
+import cern.colt.matrix.tdouble.impl.DenseDoubleMatrix1D;
+
+import javax.annotation.Nonnull;
+
+
+/**
+ * packed primitive cell coordinates.
+ * A cell is stored as long value with the row
+ * in the upper and the column in the lower 32 bits,
+ * so positions can be used without allocation, the
+ * methods adapt between the packed value and blas
+ * vectors of the agentspeak actions
+ */
+public final class CCell
+{
+
+    /**
+     * private ctor
+     */
+    private CCell()
+    {
+    }
+
+    /**
+     * packs a cell
+     *
+     * @param p_row row
+     * @param p_column column
+     * @return packed cell
+     */
+    public static long of( final int p_row, final int p_column )
+    {
+        return ( (long) p_row << 32 ) | ( p_column & 0xffffffffL );
+    }
+
+    /**
+     * packs a position vector
+     *
+     * @param p_position position vector
+     * @return packed cell
+     */
+    public static long of( @Nonnull final DoubleMatrix1D p_position )
+    {
+        return of( (int) p_position.getQuick( 0 ), (int) p_position.getQuick( 1 ) );
+    }
+
+    /**
+     * returns the row of a packed cell
+     *
+     * @param p_cell packed cell
+     * @return row
+     */
+    public static int row( final long p_cell )
+    {
+        return (int) ( p_cell >> 32 );
+    }
+
+    /**
+     * returns the column of a packed cell
+     *
+     * @param p_cell packed cell
+     * @return column
+     */
+    public static int column( final long p_cell )
+    {
+        return (int) p_cell;
+    }
+
+    /**
+     * returns the position vector of a packed cell
+     *
+     * @param p_cell packed cell
+     * @return position vector
+     */
+    @Nonnull
+    public static DoubleMatrix1D position( final long p_cell )
+    {
+        return new DenseDoubleMatrix1D( new double[]{row( p_cell ), column( p_cell )} );
+    }
+
+    /**
+     * checks if a packed cell is inside a grid
+     *
+     * @param p_cell packed cell
+     * @param p_rows number of grid rows
+     * @param p_columns number of grid columns
+     * @return inside flag
+     */
+    public static boolean inside( final long p_cell, final int p_rows, final int p_columns )
+    {
+        final int l_row = row( p_cell );
+        final int l_column = column( p_cell );
+        return l_row >= 0 && l_row < p_rows && l_column >= 0 && l_column < p_columns;
+    }
+
+    /**
+     * returns the cell index (row * columns + column) of a packed cell
+     *
+     * @param p_cell packed cell
+     * @param p_columns number of grid columns
+     * @return cell index
+     */
+    public static int index( final long p_cell, final int p_columns )
+    {
+        return row( p_cell ) * p_columns + column( p_cell );
+    }
+
+    /**
+     * returns the packed cell of a cell index
+     *
+     * @param p_index cell index
+     * @param p_columns number of grid columns
+     * @return packed cell
+     */
+    public static long unindex( final int p_index, final int p_columns )
+    {
+        return of( p_index / p_columns, p_index % p_columns );
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * @cond LICENSE
+ * ######################################################################################
+ * # LGPL License                                                                       #
+ * #                                                                                    #
+ * # This file is part of the LightJason                                                #
+ * # Copyright (c) 2015-19, LightJason (info@lightjason.org)                            #
+ * # This program is free software: you can redistribute it and/or modify               #
+ * # it under the terms of the GNU Lesser General Public License as                     #
+ * # published by the Free Software Foundation, either version 3 of the                 #
+ * # License, or (at your option) any later version.                                    #
+ * #                                                                                    #
+ * # This program is distributed in the hope that it will be useful,                    #
+ * # but WITHOUT ANY WARRANTY; without even the implied warranty of                     #
+ * # MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                      #
+ * # GNU Lesser General Public License for more details.                                #
+ * #                                                                                    #
+ * # You should have received a copy of the GNU Lesser General Public License           #
+ * # along with this program. If not, see http://www.gnu.org/licenses/                  #
+ * ######################################################################################
+ * @endcond
+ */
+
+package org.lightjason.agentspeak.action.grid.routing;
+
+import cern.colt.matrix.tobject.ObjectMatrix2D;
+import org.lightjason.agentspeak.action.grid.layer.CClearanceField;
+import org.lightjason.agentspeak.common.CCommon;
+import org.lightjason.agentspeak.error.CIllegalArgumentException;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import java.util.Objects;
+
+
+/**
+ * walkable function with a minimum clearance.
+ * A cell is walkable iif the euclidean distance to the
+ * nearest non-empty cell and to the grid border is not
+ * lower than the clearance, so agents which are larger than
+ * a cell can be routed on the original grid, the distances are
+ * read from the clearance field of the grid, which is updated
+ * incrementally and resolved once per search, a clearance of
+ * one is equal to empty cells
+ *
+ * {@code new CPrimitiveAStarRouting( EDistance.OCTILE, ESearchDirection.NEVER, new CClearance( 2 ), 1 )}
+ */
+public final class CClearance implements IWalkable
+{
+    /**
+     * serial id
+     */
+    private static final long serialVersionUID = 5826001934179574342L;
+    /**
+     * minimum clearance
+     */
+    private final double m_clearance;
+
+    /**
+     * ctor
+     *
+     * @param p_clearance minimum clearance
+     */
+    public CClearance( @Nonnull final Number p_clearance )
+    {
+        if ( p_clearance.doubleValue() <= 0 )
+            throw new CIllegalArgumentException( CCommon.languagestring( this, "clearancepositive", p_clearance ) );
+
+        m_clearance = p_clearance.doubleValue();
+    }
+
+    /**
+     * returns the minimum clearance
+     *
+     * @return clearance
+     */
+    public double clearance()
+    {
+        return m_clearance;
+    }
+
+    @Override
+    @Nonnegative
+    public int influence()
+    {
+        return Math.max( 0, (int) Math.ceil( m_clearance ) - 1 );
+    }
+
+    @Override
+    public boolean walkable( @Nonnull final ObjectMatrix2D p_grid, final int p_row, final int p_column )
+    {
+        if ( p_row < 0 || p_row >= p_grid.rows() || p_column < 0 || p_column >= p_grid.columns() )
+            return false;
+
+        return m_clearance <= 1
+               ? Objects.isNull( p_grid.getQuick( p_row, p_column ) )
+               : CClearanceField.attach( p_grid ).clearance( p_row, p_column ) >= m_clearance;
+    }
+
+    @Nonnull
+    @Override
+    public IWalkable resolve( @Nonnull final ObjectMatrix2D p_grid )
+    {
+        if ( m_clearance <= 1 )
+            return this;
+
+        final CClearanceField l_field = CClearanceField.attach( p_grid );
+        return ( g, r, c ) -> l_field.clearance( r, c ) >= m_clearance;
+    }
+
+    @Override
+    public int hashCode()
+    {
+        return Double.hashCode( m_clearance );
+    }
+
+    @Override
+    public boolean equals( final Object p_object )
+    {
+        return p_object instanceof CClearance && ( (CClearance) p_object ).m_clearance == m_clearance;
+    }
+
+    @Override
+    public String toString()
+    {
+        return "clearance " + m_clearance;
+    }
+}
@@ -0,0 +1,583 @@
+/*
+ * @cond LICENSE
+ * ######################################################################################
+ * # LGPL License                                                                       #
+ * #                                                                                    #
+ * # This file is part of the LightJason                                                #
+ * # Copyright (c) 2015-19, LightJason (info@lightjason.org)                            #
+ * # This program is free software: you can redistribute it and/or modify               #
+ * # it under the terms of the GNU Lesser General Public License as                     #
+ * # published by the Free Software Foundation, either version 3 of the                 #
+ * # License, or (at your option) any later version.                                    #
+ * #                                                                                    #
+ * # This program is distributed in the hope that it will be useful,                    #
+ * # but WITHOUT ANY WARRANTY; without even the implied warranty of                     #
+ * # MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                      #
+ * # GNU Lesser General Public License for more details.                                #
+ * #                                                                                    #
+ * # You should have received a copy of the GNU Lesser General Public License           #
+ * # along with this program. If not, see http://www.gnu.org/licenses/                  #
+ * ######################################################################################
+ * @endcond
+ */
+
+package org.lightjason.agentspeak.action.grid.routing;
+
+import cern.colt.matrix.tobject.ObjectMatrix2D;
+import org.lightjason.agentspeak.action.grid.layer.ILayer;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Arrays;
+
+
+/**
+ * grid layer with a connected-component labelling of
+ * the walkable cells, each cell references a component
+ * element and the elements are stored in a union-find
+ * structure with path halving and union by rank, a cell
+ * which becomes walkable gets a new element which is
+ * merged with its neighbours, a cell which becomes blocked
+ * is removed from its element, if its walkable neighbours
+ * are not connected within the ring of the 8 surrounding
+ * cells, the component can be split and is marked stale,
+ * so only this component is labelled again on the next
+ * query, a negative result is confirmed by a search on
+ * the smaller component, so changes without the layer
+ * registry cannot create a wrong unreachable result
+ */
+final class CConnectedComponents implements ILayer
+{
+    /**
+     * number of additional elements before the labelling is compacted
+     */
+    private static final int ELEMENTRESERVE = 64;
+    /**
+     * row offsets of the ring cells
+     */
+    private static final int[] RINGROW = {-1, -1, -1, 0, 1, 1, 1, 0};
+    /**
+     * column offsets of the ring cells
+     */
+    private static final int[] RINGCOLUMN = {-1, 0, 1, 1, 1, 0, -1, -1};
+    /**
+     * routing with the walkable and neighbour definition
+     */
+    private final IBaseRouting m_routing;
+    /**
+     * element of each cell (-1 if the cell is not walkable)
+     */
+    private int[] m_element = new int[0];
+    /**
+     * parent element of each element
+     */
+    private int[] m_parent = new int[0];
+    /**
+     * rank of each root element
+     */
+    private byte[] m_rank = new byte[0];
+    /**
+     * approximated number of cells of each root element
+     */
+    private int[] m_count = new int[0];
+    /**
+     * component of a root element must be labelled again
+     */
+    private boolean[] m_stale = new boolean[0];
+    /**
+     * number of elements
+     */
+    private int m_elements;
+    /**
+     * neighbour buffer
+     */
+    private final int[] m_neighbour = new int[8];
+    /**
+     * queue buffer of the breadth-first searches
+     */
+    private int[] m_queue = new int[64];
+    /**
+     * changed cells, which are applied on the next query
+     */
+    private int[] m_pending = new int[16];
+    /**
+     * number of changed cells
+     */
+    private int m_pendingsize;
+    /**
+     * labelling must be rebuild
+     */
+    private boolean m_dirty = true;
+
+    /**
+     * ctor
+     *
+     * @param p_routing routing
+     */
+    CConnectedComponents( @Nonnull final IBaseRouting p_routing )
+    {
+        m_routing = p_routing;
+    }
+
+    /**
+     * checks if the goal cell can be reached from the start cell,
+     * a start cell which is not walkable (e.g. the cell of the agent)
+     * is connected with the components of its walkable neighbours
+     *
+     * @param p_grid grid
+     * @param p_startrow start row
+     * @param p_startcolumn start column
+     * @param p_endrow goal row
+     * @param p_endcolumn goal column
+     * @return reachable flag
+     */
+    synchronized boolean reachable( @Nonnull final ObjectMatrix2D p_grid, final int p_startrow, final int p_startcolumn,
+                                    final int p_endrow, final int p_endcolumn )
+    {
+        // the cell indices cannot be stored, so the routing decides
+        if ( (long) p_grid.rows() * p_grid.columns() > IBaseRouting.MAXIMUMCELLS )
+            return true;
+
+        final int l_columns = p_grid.columns();
+        final int l_start = p_startrow * l_columns + p_startcolumn;
+        final int l_end = p_endrow * l_columns + p_endcolumn;
+        if ( l_start == l_end )
+            return true;
+
+        if ( m_element.length != p_grid.rows() * l_columns )
+            m_dirty = true;
+        if ( !m_dirty )
+            this.apply( p_grid );
+
+        // cells which are changed without the layer registry are detected on the query cells
+        if ( m_dirty
+             || m_routing.walkable( p_grid, p_startrow, p_startcolumn ) != m_element[l_start] >= 0
+             || m_routing.walkable( p_grid, p_endrow, p_endcolumn ) != m_element[l_end] >= 0 )
+            this.rebuild( p_grid );
+
+        if ( m_element[l_end] < 0 )
+            return false;
+
+        final int l_root = this.root( p_grid, l_end );
+        if ( m_element[l_start] >= 0 )
+        {
+            if ( this.root( p_grid, l_start ) == l_root )
+                return true;
+        }
+        else
+        {
+            // the neighbour buffer is used by labelling a stale component
+            final int[] l_neighbour = Arrays.copyOf( m_neighbour, m_routing.neighbour( p_grid, p_startrow, p_startcolumn, m_neighbour ) );
+            for ( final int l_cell : l_neighbour )
+                if ( m_element[l_cell] >= 0 && this.root( p_grid, l_cell ) == l_root )
+                    return true;
+        }
+
+        return this.confirm( p_grid, l_start, l_end );
+    }
+
+    @Override
+    public synchronized void update( @Nonnull final ObjectMatrix2D p_grid, final int p_row, final int p_column,
+                                     @Nullable final Object p_old, @Nullable final Object p_new )
+    {
+        if ( m_dirty )
+            return;
+
+        // other layers (e.g. the clearance) can be updated after this layer, so the change is applied on the query
+        if ( m_pendingsize >= m_element.length >>> 3 )
+        {
+            m_dirty = true;
+            m_pendingsize = 0;
+            return;
+        }
+
+        if ( m_pendingsize == m_pending.length )
+            m_pending = Arrays.copyOf( m_pending, m_pending.length << 1 );
+        m_pending[m_pendingsize++] = p_row * p_grid.columns() + p_column;
+    }
+
+    /**
+     * applies the changed cells, the change of a
+     * cell can modify the walkability of the neighbourhood
+     *
+     * @param p_grid grid
+     */
+    private void apply( @Nonnull final ObjectMatrix2D p_grid )
+    {
+        final int l_columns = p_grid.columns();
+        final int l_influence = m_routing.influence();
+        for ( int n = 0; n < m_pendingsize && !m_dirty; n++ )
+        {
+            final int l_row = m_pending[n] / l_columns;
+            final int l_column = m_pending[n] % l_columns;
+            for ( int i = Math.max( 0, l_row - l_influence ); i <= Math.min( p_grid.rows() - 1, l_row + l_influence ); i++ )
+                for ( int j = Math.max( 0, l_column - l_influence ); j <= Math.min( l_columns - 1, l_column + l_influence ); j++ )
+                    this.change( p_grid, i, j );
+        }
+        m_pendingsize = 0;
+    }
+
+    @Override
+    public synchronized void reset( @Nonnull final ObjectMatrix2D p_grid )
+    {
+        m_dirty = true;
+        m_pendingsize = 0;
+    }
+
+    /**
+     * updates the labelling of a cell, whose walkability can be changed
+     *
+     * @param p_grid grid
+     * @param p_row row
+     * @param p_column column
+     */
+    private void change( @Nonnull final ObjectMatrix2D p_grid, final int p_row, final int p_column )
+    {
+        final int l_cell = p_row * p_grid.columns() + p_column;
+        final boolean l_walkable = m_routing.walkable( p_grid, p_row, p_column );
+        if ( l_walkable == m_element[l_cell] >= 0 )
+            return;
+
+        if ( l_walkable )
+        {
+            if ( m_elements >= m_element.length + ELEMENTRESERVE )
+            {
+                m_dirty = true;
+                return;
+            }
+
+            m_element[l_cell] = this.element( 1 );
+            for ( int i = 0, l_count = m_routing.neighbour( p_grid, p_row, p_column, m_neighbour ); i < l_count; i++ )
+                if ( m_element[m_neighbour[i]] >= 0 )
+                    this.union( m_element[l_cell], m_element[m_neighbour[i]] );
+            return;
+        }
+
+        final int l_root = this.find( m_element[l_cell] );
+        m_element[l_cell] = -1;
+        m_count[l_root]--;
+        if ( !m_stale[l_root] && !this.ring( p_grid, p_row, p_column, l_root ) )
+            m_stale[l_root] = true;
+    }
+
+    /**
+     * checks if the walkable cells of a component around a
+     * blocked cell are connected within the 8 surrounding
+     * cells, so the blocked cell cannot split the component
+     *
+     * @param p_grid grid
+     * @param p_row row of the blocked cell
+     * @param p_column column of the blocked cell
+     * @param p_root root element of the component
+     * @return true if the component cannot be split
+     */
+    private boolean ring( @Nonnull final ObjectMatrix2D p_grid, final int p_row, final int p_column, final int p_root )
+    {
+        final int l_columns = p_grid.columns();
+        int l_walkable = 0;
+        int l_component = 0;
+        for ( int i = 0; i < RINGROW.length; i++ )
+        {
+            final int l_row = p_row + RINGROW[i];
+            final int l_column = p_column + RINGCOLUMN[i];
+            if ( l_row < 0 || l_row >= p_grid.rows() || l_column < 0 || l_column >= l_columns )
+                continue;
+
+            if ( m_routing.walkable( p_grid, l_row, l_column ) )
+                l_walkable |= 1 << i;
+
+            // a cell of the component which becomes blocked later on cannot be reached, so the test fails
+            final int l_element = m_element[l_row * l_columns + l_column];
+            if ( l_element >= 0 && this.find( l_element ) == p_root )
+                l_component |= 1 << i;
+        }
+
+        if ( l_component == 0 )
+            return true;
+        if ( ( l_component & l_walkable ) == 0 )
+            return false;
+
+        // flood fill over the neighbour relation restricted to the walkable ring cells
+        int l_reached = Integer.lowestOneBit( l_component & l_walkable );
+        for ( int l_open = l_reached; l_open != 0; )
+        {
+            final int l_index = Integer.numberOfTrailingZeros( l_open );
+            l_open &= l_open - 1;
+
+            final int l_row = p_row + RINGROW[l_index];
+            final int l_column = p_column + RINGCOLUMN[l_index];
+            for ( int n = 0, l_count = m_routing.neighbour( p_grid, l_row, l_column, m_neighbour ); n < l_count; n++ )
+            {
+                final int l_bit = ringbit( m_neighbour[n] / l_columns - p_row, m_neighbour[n] % l_columns - p_column ) & l_walkable & ~l_reached;
+                l_reached |= l_bit;
+                l_open |= l_bit;
+            }
+        }
+
+        return ( l_component & ~l_reached ) == 0;
+    }
+
+    /**
+     * returns the root element of a walkable cell and
+     * labels a stale component of the cell again
+     *
+     * @param p_grid grid
+     * @param p_cell walkable cell
+     * @return root element
+     */
+    private int root( @Nonnull final ObjectMatrix2D p_grid, final int p_cell )
+    {
+        final int l_root = this.find( m_element[p_cell] );
+        if ( !m_stale[l_root] )
+            return l_root;
+
+        // a stale root is still valid for joined cells, the rebuild is done on the next query
+        if ( m_elements >= m_element.length + ELEMENTRESERVE )
+        {
+            m_dirty = true;
+            return l_root;
+        }
+
+        final int l_count = this.label( p_grid, m_routing.resolve( p_grid ), p_cell, this.element( 0 ) );
+        m_count[l_root] = Math.max( 0, m_count[l_root] - l_count );
+        return m_element[p_cell];
+    }
+
+    /**
+     * confirms a negative result with a breadth-first search
+     * from the component with less cells, which is never
+     * larger than the search of the routing on the start
+     * component, cells which are not labelled as walkable
+     * mark the labelling for a rebuild
+     *
+     * @param p_grid grid
+     * @param p_start start cell
+     * @param p_end goal cell
+     * @return reachable flag
+     */
+    private boolean confirm( @Nonnull final ObjectMatrix2D p_grid, final int p_start, final int p_end )
+    {
+        final int l_columns = p_grid.columns();
+        final boolean l_startwalkable = m_element[p_start] >= 0;
+        final int l_startcount = l_startwalkable ? m_count[this.find( m_element[p_start] )] : this.neighbourcount( p_grid, p_start );
+        final boolean l_fromend = m_count[this.find( m_element[p_end] )] <= l_startcount;
+
+        final CSparseIndex l_visited = new CSparseIndex( 64 );
+        int l_size = 0;
+        if ( l_fromend || l_startwalkable )
+        {
+            m_queue[l_size++] = l_fromend ? p_end : p_start;
+            l_visited.slot( m_queue[0] );
+        }
+        else
+            for ( int i = 0, l_count = m_routing.neighbour( p_grid, p_start / l_columns, p_start % l_columns, m_neighbour ); i < l_count; i++ )
+            {
+                m_queue[l_size++] = m_neighbour[i];
+                l_visited.slot( m_neighbour[i] );
+            }
+
+        for ( int l_head = 0; l_head < l_size; l_head++ )
+        {
+            final int l_cell = m_queue[l_head];
+            if ( m_element[l_cell] < 0 )
+                m_dirty = true;
+
+            final int l_row = l_cell / l_columns;
+            final int l_column = l_cell % l_columns;
+            if ( l_cell == ( l_fromend ? p_start : p_end )
+                 || l_fromend && !l_startwalkable && Math.abs( l_row - p_start / l_columns ) <= 1 && Math.abs( l_column - p_start % l_columns ) <= 1
+                    && this.adjacent( p_grid, p_start, l_cell ) )
+            {
+                m_dirty = true;
+                return true;
+            }
+
+            for ( int i = 0, l_count = m_routing.neighbour( p_grid, l_row, l_column, m_neighbour ); i < l_count; i++ )
+                if ( l_visited.find( m_neighbour[i] ) < 0 )
+                {
+                    l_visited.slot( m_neighbour[i] );
+                    if ( l_size == m_queue.length )
+                        m_queue = Arrays.copyOf( m_queue, m_queue.length << 1 );
+                    m_queue[l_size++] = m_neighbour[i];
+                }
+        }
+
+        return false;
+    }
+
+    /**
+     * checks if a cell is a neighbour of the start cell
+     *
+     * @param p_grid grid
+     * @param p_start start cell
+     * @param p_cell cell
+     * @return neighbour flag
+     */
+    private boolean adjacent( @Nonnull final ObjectMatrix2D p_grid, final int p_start, final int p_cell )
+    {
+        for ( int i = 0, l_count = m_routing.neighbour( p_grid, p_start / p_grid.columns(), p_start % p_grid.columns(), m_neighbour ); i < l_count; i++ )
+            if ( m_neighbour[i] == p_cell )
+                return true;
+        return false;
+    }
+
+    /**
+     * returns the number of cells of the components
+     * around a cell which is not walkable
+     *
+     * @param p_grid grid
+     * @param p_cell cell
+     * @return number of cells
+     */
+    private int neighbourcount( @Nonnull final ObjectMatrix2D p_grid, final int p_cell )
+    {
+        long l_count = 0;
+        for ( int i = 0, l_size = m_routing.neighbour( p_grid, p_cell / p_grid.columns(), p_cell % p_grid.columns(), m_neighbour ); i < l_size; i++ )
+            if ( m_element[m_neighbour[i]] >= 0 )
+                l_count += m_count[this.find( m_element[m_neighbour[i]] )];
+        return (int) Math.min( Integer.MAX_VALUE, l_count );
+    }
+
+    /**
+     * rebuilds the labelling with one element of each component
+     *
+     * @param p_grid grid
+     */
+    private void rebuild( @Nonnull final ObjectMatrix2D p_grid )
+    {
+        final int l_rows = p_grid.rows();
+        final int l_columns = p_grid.columns();
+        if ( m_element.length != l_rows * l_columns )
+            m_element = new int[l_rows * l_columns];
+
+        final IWalkable l_walkable = m_routing.resolve( p_grid );
+        for ( int i = 0; i < l_rows; i++ )
+            for ( int j = 0; j < l_columns; j++ )
+                m_element[i * l_columns + j] = m_routing.walkable( p_grid, l_walkable, i, j ) ? Integer.MAX_VALUE : -1;
+
+        m_elements = 0;
+        m_pendingsize = 0;
+        m_dirty = false;
+        for ( int i = 0; i < m_element.length; i++ )
+            if ( m_element[i] == Integer.MAX_VALUE )
+                this.label( p_grid, l_walkable, i, this.element( 0 ) );
+    }
+
+    /**
+     * labels the component of a cell with a new element
+     * by a breadth-first search
+     *
+     * @param p_grid grid
+     * @param p_walkable resolved walkable function
+     * @param p_cell walkable cell
+     * @param p_element new root element
+     * @return number of labelled cells
+     */
+    private int label( @Nonnull final ObjectMatrix2D p_grid, @Nonnull final IWalkable p_walkable, final int p_cell, final int p_element )
+    {
+        final int l_columns = p_grid.columns();
+        int l_size = 1;
+        m_queue[0] = p_cell;
+        m_element[p_cell] = p_element;
+
+        for ( int l_head = 0; l_head < l_size; l_head++ )
+        {
+            final int l_cell = m_queue[l_head];
+            for ( int i = 0, l_count = m_routing.neighbour( p_grid, p_walkable, l_cell / l_columns, l_cell % l_columns, m_neighbour ); i < l_count; i++ )
+                if ( m_element[m_neighbour[i]] != p_element )
+                {
+                    m_element[m_neighbour[i]] = p_element;
+                    if ( l_size == m_queue.length )
+                        m_queue = Arrays.copyOf( m_queue, m_queue.length << 1 );
+                    m_queue[l_size++] = m_neighbour[i];
+                }
+        }
+
+        m_count[p_element] = l_size;
+        return l_size;
+    }
+
+    /**
+     * creates a new root element
+     *
+     * @param p_count number of cells
+     * @return element
+     */
+    private int element( final int p_count )
+    {
+        if ( m_elements == m_parent.length )
+        {
+            final int l_length = Math.max( 16, m_parent.length << 1 );
+            m_parent = Arrays.copyOf( m_parent, l_length );
+            m_rank = Arrays.copyOf( m_rank, l_length );
+            m_count = Arrays.copyOf( m_count, l_length );
+            m_stale = Arrays.copyOf( m_stale, l_length );
+        }
+
+        m_parent[m_elements] = m_elements;
+        m_rank[m_elements] = 0;
+        m_count[m_elements] = p_count;
+        m_stale[m_elements] = false;
+        return m_elements++;
+    }
+
+    /**
+     * returns the root element
+     *
+     * @param p_element element
+     * @return root element
+     */
+    private int find( final int p_element )
+    {
+        int l_element = p_element;
+        while ( m_parent[l_element] != l_element )
+        {
+            m_parent[l_element] = m_parent[m_parent[l_element]];
+            l_element = m_parent[l_element];
+        }
+        return l_element;
+    }
+
+    /**
+     * joins the components of two elements,
+     * a joined stale component is stale
+     *
+     * @param p_element1 first element
+     * @param p_element2 second element
+     */
+    private void union( final int p_element1, final int p_element2 )
+    {
+        int l_root1 = this.find( p_element1 );
+        int l_root2 = this.find( p_element2 );
+        if ( l_root1 == l_root2 )
+            return;
+
+        if ( m_rank[l_root1] < m_rank[l_root2] )
+        {
+            final int l_swap = l_root1;
+            l_root1 = l_root2;
+            l_root2 = l_swap;
+        }
+        else if ( m_rank[l_root1] == m_rank[l_root2] )
+            m_rank[l_root1]++;
+
+        m_parent[l_root2] = l_root1;
+        m_count[l_root1] += m_count[l_root2];
+        m_stale[l_root1] |= m_stale[l_root2];
+    }
+
+    /**
+     * returns the ring bit of a cell offset
+     *
+     * @param p_row row offset
+     * @param p_column column offset
+     * @return bit or zero if the offset is not on the ring
+     */
+    private static int ringbit( final int p_row, final int p_column )
+    {
+        for ( int i = 0; i < RINGROW.length; i++ )
+            if ( RINGROW[i] == p_row && RINGCOLUMN[i] == p_column )
+                return 1 << i;
+        return 0;
+    }
+}
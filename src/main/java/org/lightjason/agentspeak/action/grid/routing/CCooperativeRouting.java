@@ -0,0 +1,364 @@
+/*
+ * @cond LICENSE
+ * ######################################################################################
+ * # LGPL License                                                                       #
+ * #                                                                                    #
+ * # This file is part of the LightJason                                                #
+ * # Copyright (c) 2015-19, LightJason (info@lightjason.org)                            #
+ * # This program is free software: you can redistribute it and/or modify               #
+ * # it under the terms of the GNU Lesser General Public License as                     #
+ * # published by the Free Software Foundation, either version 3 of the                 #
+ * # License, or (at your option) any later version.                                    #
+ * #                                                                                    #
+ * # This program is distributed in the hope that it will be useful,                    #
+ * # but WITHOUT ANY WARRANTY; without even the implied warranty of                     #
+ * # MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                      #
+ * # GNU Lesser General Public License for more details.                                #
+ * #                                                                                    #
+ * # You should have received a copy of the GNU Lesser General Public License           #
+ * # along with this program. If not, see http://www.gnu.org/licenses/                  #
+ * ######################################################################################
+ * @endcond
+ */
+
+package org.lightjason.agentspeak.action.grid.routing;
+
+import cern.colt.matrix.tdouble.DoubleMatrix1D;
+import cern.colt.matrix.tobject.ObjectMatrix2D;
+import org.lightjason.agentspeak.common.CCommon;
+import org.lightjason.agentspeak.error.CIllegalArgumentException;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.BiFunction;
+import java.util.stream.Stream;
+
+
+/**
+ * cooperative routing with windowed hierarchical cooperative a-star (WHCA*).
+ * The search runs in space-time against the reservation table of the grid,
+ * an agent can move to a walkable neighbour or wait, a move is blocked if
+ * the target cell is reserved by another agent at the next tick or if two
+ * agents would swap their cells, the search depth is limited by the window
+ * and the exact distances of a flow field to the goal are used as heuristic,
+ * the route after the window follows the flow field and is not reserved,
+ * so an agent should plan again before the window ends
+ *
+ * @see <a href="https://www.aaai.org/Papers/AIIDE/2005/AIIDE05-020.pdf"></a>
+ */
+public final class CCooperativeRouting extends IBaseRouting
+{
+    /**
+     * default window size
+     */
+    public static final int WINDOW = 16;
+    /**
+     * serial id
+     */
+    private static final long serialVersionUID = 4731840587710493532L;
+    /**
+     * agent identifier of a search without reservation
+     */
+    private static final int NOAGENT = -2;
+    /**
+     * cost of waiting one tick
+     */
+    private static final double WAITCOST = 1;
+    /**
+     * window size
+     */
+    private final int m_window;
+    /**
+     * flow field routing for the heuristic and the route after the window
+     */
+    private final CFlowFieldRouting m_field;
+
+    /**
+     * ctor
+     */
+    public CCooperativeRouting()
+    {
+        this( EDistance.MANHATTAN, ESearchDirection.NEVER, WINDOW );
+    }
+
+    /**
+     * ctor
+     *
+     * @param p_distance distance
+     * @param p_searchdirection search direction
+     */
+    public CCooperativeRouting( @Nonnull final IDistance p_distance, @Nonnull final ISearchDirection p_searchdirection )
+    {
+        this( p_distance, p_searchdirection, WINDOW );
+    }
+
+    /**
+     * ctor
+     *
+     * @param p_distance distance
+     * @param p_searchdirection search direction
+     * @param p_window number of reserved ticks
+     */
+    public CCooperativeRouting( @Nonnull final IDistance p_distance, @Nonnull final ISearchDirection p_searchdirection, @Nonnull final Number p_window )
+    {
+        super( p_distance, p_searchdirection );
+
+        if ( p_distance == EDistance.MANHATTAN && p_searchdirection != ESearchDirection.NEVER )
+            throw new CIllegalArgumentException( CCommon.languagestring( this, "manhattendigitalmovement" ) );
+
+        m_window = Math.max( 1, p_window.intValue() );
+        m_field = new CFlowFieldRouting( p_distance, p_searchdirection );
+    }
+
+    /**
+     * ctor
+     *
+     * @param p_distance distance
+     * @param p_searchdirection search direction
+     * @param p_walkable walkable check
+     * @param p_window number of reserved ticks
+     */
+    public CCooperativeRouting( @Nonnull final IDistance p_distance, @Nonnull final ISearchDirection p_searchdirection,
+                                @Nonnull final BiFunction<ObjectMatrix2D, DoubleMatrix1D, Boolean> p_walkable, @Nonnull final Number p_window )
+    {
+        super( p_distance, p_searchdirection, p_walkable );
+
+        if ( p_distance == EDistance.MANHATTAN && p_searchdirection != ESearchDirection.NEVER )
+            throw new CIllegalArgumentException( CCommon.languagestring( this, "manhattendigitalmovement" ) );
+
+        m_window = Math.max( 1, p_window.intValue() );
+        m_field = new CFlowFieldRouting( p_distance, p_searchdirection, p_walkable, CFlowFieldRouting.CAPACITY );
+    }
+
+    /**
+     * {@inheritDoc}
+     * The route avoids the reservations of the grid, but
+     * does not reserve any cell
+     */
+    @Override
+    public Stream<DoubleMatrix1D> apply( @Nonnull final ObjectMatrix2D p_grid, @Nonnull final DoubleMatrix1D p_start, @Nonnull final DoubleMatrix1D p_end )
+    {
+        return constructpath( this.route( p_grid, null, CCell.of( p_start ), CCell.of( p_end ) ), p_grid.columns() );
+    }
+
+    @Nonnull
+    @Override
+    protected int[] route( @Nonnull final ObjectMatrix2D p_grid, final long p_start, final long p_end )
+    {
+        return this.route( p_grid, null, p_start, p_end );
+    }
+
+    /**
+     * calculates and reserves the route of an agent,
+     * the route contains one cell for each tick starting
+     * at the current tick of the reservation table, so
+     * waiting is a repeated cell
+     *
+     * @param p_grid grid
+     * @param p_agent agent
+     * @param p_start start position
+     * @param p_end goal position
+     * @return position stream or empty stream
+     */
+    @Nonnull
+    public Stream<DoubleMatrix1D> apply( @Nonnull final ObjectMatrix2D p_grid, @Nonnull final Object p_agent,
+                                        @Nonnull final DoubleMatrix1D p_start, @Nonnull final DoubleMatrix1D p_end )
+    {
+        return constructpath( this.route( p_grid, p_agent, CCell.of( p_start ), CCell.of( p_end ) ), p_grid.columns() );
+    }
+
+    /**
+     * returns the reservation table of a grid
+     *
+     * @param p_grid grid
+     * @return reservation table
+     */
+    @Nonnull
+    public CReservationTable table( @Nonnull final ObjectMatrix2D p_grid )
+    {
+        return CReservationTable.attach( p_grid, m_window );
+    }
+
+    /**
+     * plans a route, the search and the reservation are
+     * done while holding the monitor of the reservation table
+     *
+     * @param p_grid grid
+     * @param p_agent agent or null for a search without reservation
+     * @param p_start packed start cell
+     * @param p_end packed goal cell
+     * @return cell indices of the route or empty array
+     */
+    @Nonnull
+    private int[] route( @Nonnull final ObjectMatrix2D p_grid, @Nullable final Object p_agent, final long p_start, final long p_end )
+    {
+        if ( !CCell.inside( p_start, p_grid.rows(), p_grid.columns() ) || !CCell.inside( p_end, p_grid.rows(), p_grid.columns() ) )
+            return new int[0];
+
+        // the field is built before the search, because both use the thread-local search state
+        final CFlowField l_field = m_field.field( p_grid, CCell.row( p_end ), CCell.column( p_end ) );
+        if ( !l_field.reachable( CCell.row( p_start ), CCell.column( p_start ) ) )
+            return new int[0];
+
+        final CReservationTable l_table = this.table( p_grid );
+        synchronized ( l_table )
+        {
+            final int l_agent = Objects.isNull( p_agent ) ? NOAGENT : l_table.identifier( p_agent );
+            final int l_window = Math.min( m_window, l_table.window() );
+            final int[] l_reservation = this.search( p_grid, l_table, l_field, l_agent, l_window, p_start, p_end );
+            if ( l_reservation.length == 0 )
+                return l_reservation;
+
+            if ( l_agent != NOAGENT )
+                l_table.reserve( l_agent, l_reservation );
+
+            // a route to the goal ends with the first tick of the resting on the goal
+            final int l_goal = CCell.row( p_end ) * p_grid.columns() + CCell.column( p_end );
+            if ( l_reservation[l_reservation.length - 1] == l_goal )
+            {
+                int l_length = l_reservation.length;
+                while ( l_length > 1 && l_reservation[l_length - 2] == l_goal )
+                    l_length--;
+                return Arrays.copyOf( l_reservation, l_length );
+            }
+
+            // after the window the route follows the flow field
+            final int l_last = l_reservation[l_reservation.length - 1];
+            final int[] l_remainder = l_field.route( l_last / p_grid.columns(), l_last % p_grid.columns() );
+            final int[] l_route = Arrays.copyOf( l_reservation, l_reservation.length + l_remainder.length - 1 );
+            System.arraycopy( l_remainder, 1, l_route, l_reservation.length, l_remainder.length - 1 );
+            return l_route;
+        }
+    }
+
+    /**
+     * runs the space-time search, the states are indexed by
+     * the tick and the cell within the window around the start
+     *
+     * @param p_grid grid
+     * @param p_table reservation table
+     * @param p_field flow field of the goal
+     * @param p_agent agent identifier
+     * @param p_window window size
+     * @param p_start packed start cell
+     * @param p_end packed goal cell
+     * @return cell indices for each tick of the window or empty array
+     */
+    @Nonnull
+    private int[] search( @Nonnull final ObjectMatrix2D p_grid, @Nonnull final CReservationTable p_table, @Nonnull final CFlowField p_field,
+                          final int p_agent, final int p_window, final long p_start, final long p_end )
+    {
+        final int l_columns = p_grid.columns();
+        final int l_startrow = CCell.row( p_start );
+        final int l_startcolumn = CCell.column( p_start );
+        final int l_goal = CCell.row( p_end ) * l_columns + CCell.column( p_end );
+        final int l_tick = p_table.tick();
+
+        final int l_width = 2 * p_window + 1;
+        final int l_area = l_width * l_width;
+        final int[] l_neighbour = new int[8];
+        final IWalkable l_walkable = this.resolve( p_grid );
+        final CSearchState l_state = CSearchState.of( ( p_window + 1 ) * l_area );
+        final CIndexedHeap l_openlist = l_state.open();
+
+        final int l_start = p_window * l_width + p_window;
+        final double l_startheuristic = p_field.distance( l_startrow, l_startcolumn );
+        l_state.update( l_start, 0, -1 );
+        l_openlist.push( l_start, l_startheuristic, l_startheuristic );
+
+        while ( !l_openlist.isEmpty() )
+        {
+            final int l_current = l_openlist.pop();
+            final int l_time = l_current / l_area;
+            final int l_row = l_startrow + l_current % l_area / l_width - p_window;
+            final int l_column = l_startcolumn + l_current % l_area % l_width - p_window;
+            final int l_cell = l_row * l_columns + l_column;
+
+            if ( l_time == p_window || l_cell == l_goal && resting( p_table, p_agent, l_goal, l_tick + l_time, l_tick + p_window ) )
+                return reservation( l_state.path( l_current ), l_area, l_width, p_window, l_startrow, l_startcolumn, l_columns, l_goal );
+
+            l_state.close( l_current );
+            final double l_gscore = l_state.gscore( l_current );
+
+            final int l_count = this.neighbour( p_grid, l_walkable, l_row, l_column, l_neighbour );
+            for ( int i = -1; i < l_count; i++ )
+            {
+                final int l_next = i < 0 ? l_cell : l_neighbour[i];
+                final int l_nextrow = l_next / l_columns;
+                final int l_nextcolumn = l_next % l_columns;
+
+                // the target cell must be free at the next tick and two agents cannot swap their cells
+                final int l_owner = p_table.owner( l_next, l_tick + l_time );
+                if ( !p_table.free( l_next, l_tick + l_time + 1, p_agent )
+                     || l_owner != CReservationTable.FREE && l_owner != p_agent && l_owner == p_table.owner( l_cell, l_tick + l_time + 1 ) )
+                    continue;
+
+                final int l_nextstate = ( l_time + 1 ) * l_area + ( l_nextrow - l_startrow + p_window ) * l_width + l_nextcolumn - l_startcolumn + p_window;
+                if ( l_state.closed( l_nextstate ) )
+                    continue;
+
+                final double l_nextgscore = l_gscore + ( i < 0 ? WAITCOST : m_distance.apply( l_row, l_column, l_nextrow, l_nextcolumn ) );
+                if ( l_nextgscore >= l_state.gscore( l_nextstate ) )
+                    continue;
+
+                final double l_heuristic = p_field.distance( l_nextrow, l_nextcolumn );
+                l_state.update( l_nextstate, l_nextgscore, l_current );
+                l_openlist.push( l_nextstate, l_nextgscore + l_heuristic, l_heuristic );
+            }
+        }
+
+        return new int[0];
+    }
+
+    /**
+     * checks if an agent can rest on the goal until the window ends
+     *
+     * @param p_table reservation table
+     * @param p_agent agent identifier
+     * @param p_goal goal cell index
+     * @param p_from first tick
+     * @param p_to last tick
+     * @return resting flag
+     */
+    private static boolean resting( @Nonnull final CReservationTable p_table, final int p_agent, final int p_goal, final int p_from, final int p_to )
+    {
+        for ( int i = p_from; i <= p_to; i++ )
+            if ( !p_table.free( p_goal, i, p_agent ) )
+                return false;
+
+        return true;
+    }
+
+    /**
+     * converts the search states of a path to cell indices,
+     * a path which ends on the goal before the window ends is
+     * filled up with the goal, so the agent rests on the goal
+     *
+     * @param p_path state indices
+     * @param p_area number of cells of the window
+     * @param p_width width of the window
+     * @param p_window window size
+     * @param p_startrow start row
+     * @param p_startcolumn start column
+     * @param p_columns number of grid columns
+     * @param p_goal goal cell index
+     * @return cell index of each tick
+     */
+    @Nonnull
+    private static int[] reservation( @Nonnull final int[] p_path, final int p_area, final int p_width, final int p_window,
+                                      final int p_startrow, final int p_startcolumn, final int p_columns, final int p_goal )
+    {
+        final int[] l_cells = new int[p_window + 1];
+        for ( int i = 0; i < p_path.length; i++ )
+            l_cells[i] = ( p_startrow + p_path[i] % p_area / p_width - p_window ) * p_columns
+                         + p_startcolumn + p_path[i] % p_area % p_width - p_window;
+
+        if ( l_cells[p_path.length - 1] != p_goal )
+            return Arrays.copyOf( l_cells, p_path.length );
+
+        Arrays.fill( l_cells, p_path.length, l_cells.length, p_goal );
+        return l_cells;
+    }
+}
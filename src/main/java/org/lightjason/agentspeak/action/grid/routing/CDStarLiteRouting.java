@@ -0,0 +1,611 @@
+/*
+ * @cond LICENSE
+ * ######################################################################################
+ * # LGPL License                                                                       #
+ * #                                                                                    #
+ * # This file is part of the LightJason                                                #
+ * # Copyright (c) 2015-19, LightJason (info@lightjason.org)                            #
+ * # This program is free software: you can redistribute it and/or modify               #
+ * # it under the terms of the GNU Lesser General Public License as                     #
+ * # published by the Free Software Foundation, either version 3 of the                 #
+ * # License, or (at your option) any later version.                                    #
+ * #                                                                                    #
+ * # This program is distributed in the hope that it will be useful,                    #
+ * # but WITHOUT ANY WARRANTY; without even the implied warranty of                     #
+ * # MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                      #
+ * # GNU Lesser General Public License for more details.                                #
+ * #                                                                                    #
+ * # You should have received a copy of the GNU Lesser General Public License           #
+ * # along with this program. If not, see http://www.gnu.org/licenses/                  #
+ * ######################################################################################
+ * @endcond
+ */
+
+package org.lightjason.agentspeak.action.grid.routing;
+
+import cern.colt.matrix.tdouble.DoubleMatrix1D;
+import cern.colt.matrix.tobject.ObjectMatrix2D;
+import org.lightjason.agentspeak.action.grid.layer.CLayerRegistry;
+import org.lightjason.agentspeak.action.grid.layer.ILayer;
+import org.lightjason.agentspeak.common.CCommon;
+import org.lightjason.agentspeak.error.CIllegalArgumentException;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.BiFunction;
+import java.util.function.IntFunction;
+import java.util.stream.Stream;
+
+
+/**
+ * incremental routing with D* Lite.
+ * The search runs from the goal to the start and the search
+ * state of each goal is kept between calls, cell changes
+ * are collected by the grid layer and on the next call only
+ * the vertices around the changed cells are updated, so a
+ * replanning repairs the affected part of the search only,
+ * the state of a goal is shared by all starts, a moved start
+ * is handled by the key modifier, the scores are stored
+ * for the visited cells only, so a cached goal does not
+ * hold state of the size of the grid
+ *
+ * @see <a href="http://idm-lab.org/bib/abstracts/papers/aaai02b.pdf"></a>
+ */
+public final class CDStarLiteRouting extends IBaseRouting
+{
+    /**
+     * default number of goals with cached search state of a grid
+     */
+    public static final int CAPACITY = 16;
+    /**
+     * serial id
+     */
+    private static final long serialVersionUID = 2950372614620113718L;
+    /**
+     * number of goals with cached search state of a grid
+     */
+    private final int m_capacity;
+
+    /**
+     * ctor
+     */
+    public CDStarLiteRouting()
+    {
+        this( EDistance.MANHATTAN, ESearchDirection.NEVER, CAPACITY );
+    }
+
+    /**
+     * ctor
+     *
+     * @param p_distance distance
+     */
+    public CDStarLiteRouting( @Nonnull final IDistance p_distance )
+    {
+        this( p_distance, ESearchDirection.NEVER, CAPACITY );
+    }
+
+    /**
+     * ctor
+     *
+     * @param p_distance distance
+     * @param p_searchdirection search direction
+     */
+    public CDStarLiteRouting( @Nonnull final IDistance p_distance, @Nonnull final ISearchDirection p_searchdirection )
+    {
+        this( p_distance, p_searchdirection, CAPACITY );
+    }
+
+    /**
+     * ctor
+     *
+     * @param p_distance distance
+     * @param p_searchdirection search direction
+     * @param p_capacity number of goals with cached search state of a grid
+     */
+    public CDStarLiteRouting( @Nonnull final IDistance p_distance, @Nonnull final ISearchDirection p_searchdirection, @Nonnull final Number p_capacity )
+    {
+        super( p_distance, p_searchdirection );
+        if ( p_distance == EDistance.MANHATTAN && p_searchdirection != ESearchDirection.NEVER )
+            throw new CIllegalArgumentException( CCommon.languagestring( this, "manhattendigitalmovement" ) );
+        m_capacity = Math.max( 1, p_capacity.intValue() );
+    }
+
+    /**
+     * ctor
+     *
+     * @param p_distance distance
+     * @param p_searchdirection search direction
+     * @param p_walkable walkable check
+     * @param p_capacity number of goals with cached search state of a grid
+     */
+    public CDStarLiteRouting( @Nonnull final IDistance p_distance, @Nonnull final ISearchDirection p_searchdirection,
+                              @Nonnull final BiFunction<ObjectMatrix2D, DoubleMatrix1D, Boolean> p_walkable, @Nonnull final Number p_capacity )
+    {
+        super( p_distance, p_searchdirection, p_walkable );
+        if ( p_distance == EDistance.MANHATTAN && p_searchdirection != ESearchDirection.NEVER )
+            throw new CIllegalArgumentException( CCommon.languagestring( this, "manhattendigitalmovement" ) );
+        m_capacity = Math.max( 1, p_capacity.intValue() );
+    }
+
+    @Override
+    public Stream<DoubleMatrix1D> apply( @Nonnull final ObjectMatrix2D p_grid, @Nonnull final DoubleMatrix1D p_start, @Nonnull final DoubleMatrix1D p_end )
+    {
+        return this.path( p_grid, p_start, p_end );
+    }
+
+    @Nonnull
+    @Override
+    protected int[] route( @Nonnull final ObjectMatrix2D p_grid, final long p_start, final long p_end )
+    {
+        final int l_rows = p_grid.rows();
+        final int l_columns = p_grid.columns();
+        final int l_startrow = CCell.row( p_start );
+        final int l_startcolumn = CCell.column( p_start );
+        final int l_endrow = CCell.row( p_end );
+        final int l_endcolumn = CCell.column( p_end );
+
+        if ( l_startrow < 0 || l_startrow >= l_rows || l_startcolumn < 0 || l_startcolumn >= l_columns
+             || l_endrow < 0 || l_endrow >= l_rows || l_endcolumn < 0 || l_endcolumn >= l_columns )
+            return new int[0];
+
+        final int l_end = l_endrow * l_columns + l_endcolumn;
+        return CLayerRegistry.layer( p_grid, this.configuration(), i -> new CPlanners( m_capacity, this.influence() ) )
+                             .get( l_end, i -> new CPlanner( this, p_grid, l_end ) )
+                             .route( p_grid, l_startrow * l_columns + l_startcolumn );
+    }
+
+
+    /**
+     * D* Lite search state of a goal
+     */
+    private static final class CPlanner
+    {
+        /**
+         * initial number of slots
+         */
+        private static final int INITIALSIZE = 64;
+        /**
+         * relative tolerance of the key comparison
+         */
+        private static final double TOLERANCE = 1e-9;
+        /**
+         * routing
+         */
+        private final CDStarLiteRouting m_routing;
+        /**
+         * number of columns
+         */
+        private final int m_columns;
+        /**
+         * goal cell
+         */
+        private final int m_goal;
+        /**
+         * slots of the visited cells
+         */
+        private final CSparseIndex m_index = new CSparseIndex( INITIALSIZE );
+        /**
+         * open list of slots
+         */
+        private final CIndexedHeap m_openlist = new CIndexedHeap( INITIALSIZE );
+        /**
+         * g-score of each slot
+         */
+        private double[] m_gscore = CSparseIndex.infinity( INITIALSIZE );
+        /**
+         * one-step lookahead score of each slot
+         */
+        private double[] m_rhs = CSparseIndex.infinity( INITIALSIZE );
+        /**
+         * neighbour buffer
+         */
+        private final int[] m_neighbour = new int[8];
+        /**
+         * neighbour buffer of the vertex update
+         */
+        private final int[] m_successor = new int[8];
+        /**
+         * lock of the changed cells
+         */
+        private final Object m_changelock = new Object();
+        /**
+         * changed cells which are not processed
+         */
+        private int[] m_changes = new int[16];
+        /**
+         * number of changed cells
+         */
+        private int m_changesize;
+        /**
+         * key modifier
+         */
+        private double m_keymodifier;
+        /**
+         * start cell of the last search
+         */
+        private int m_last = -1;
+
+        /**
+         * ctor
+         *
+         * @param p_routing routing
+         * @param p_grid grid
+         * @param p_goal goal cell
+         */
+        CPlanner( @Nonnull final CDStarLiteRouting p_routing, @Nonnull final ObjectMatrix2D p_grid, final int p_goal )
+        {
+            m_routing = p_routing;
+            m_columns = p_grid.columns();
+            m_goal = p_goal;
+        }
+
+        /**
+         * adds a changed cell
+         *
+         * @param p_row row
+         * @param p_column column
+         */
+        void changed( final int p_row, final int p_column )
+        {
+            synchronized ( m_changelock )
+            {
+                if ( m_changesize == m_changes.length )
+                    m_changes = Arrays.copyOf( m_changes, m_changes.length * 2 );
+                m_changes[m_changesize++] = p_row * m_columns + p_column;
+            }
+        }
+
+        /**
+         * calculates the route from a start cell
+         *
+         * @param p_grid grid
+         * @param p_start start cell
+         * @return cell indices or empty array
+         */
+        @Nonnull
+        synchronized int[] route( @Nonnull final ObjectMatrix2D p_grid, final int p_start )
+        {
+            if ( p_start == m_goal )
+                return new int[]{m_goal};
+
+            if ( m_last < 0 )
+            {
+                final int l_goal = this.slot( m_goal );
+                m_rhs[l_goal] = 0;
+                m_openlist.push( l_goal, this.heuristic( p_start, m_goal ), 0 );
+            }
+            else
+                m_keymodifier += this.heuristic( m_last, p_start );
+            m_last = p_start;
+
+            this.repair( p_grid, p_start );
+            this.search( p_grid, p_start );
+
+            return Double.isInfinite( this.gscore( p_start ) )
+                   ? new int[0]
+                   : this.path( p_grid, p_start );
+        }
+
+        /**
+         * updates all vertices around the changed cells,
+         * because the walkability of a cell changes the
+         * edges into the cell and the diagonal edges
+         * along the cell
+         *
+         * @param p_grid grid
+         * @param p_start start cell
+         */
+        private void repair( @Nonnull final ObjectMatrix2D p_grid, final int p_start )
+        {
+            final int[] l_changes;
+            synchronized ( m_changelock )
+            {
+                l_changes = Arrays.copyOf( m_changes, m_changesize );
+                m_changesize = 0;
+            }
+
+            for ( final int l_cell : l_changes )
+            {
+                final int l_row = l_cell / m_columns;
+                final int l_column = l_cell % m_columns;
+
+                for ( int i = Math.max( 0, l_row - 1 ); i <= Math.min( p_grid.rows() - 1, l_row + 1 ); i++ )
+                    for ( int j = Math.max( 0, l_column - 1 ); j <= Math.min( m_columns - 1, l_column + 1 ); j++ )
+                        this.update( p_grid, i * m_columns + j, p_start );
+            }
+        }
+
+        /**
+         * computes the shortest path until the start is consistent
+         *
+         * @param p_grid grid
+         * @param p_start start cell
+         */
+        private void search( @Nonnull final ObjectMatrix2D p_grid, final int p_start )
+        {
+            while ( !m_openlist.isEmpty() )
+            {
+                final double l_startgscore = this.gscore( p_start );
+                final double l_startrhs = this.rhs( p_start );
+                final double l_startprimary = Math.min( l_startgscore, l_startrhs ) + m_keymodifier;
+                final double l_primary = m_openlist.peekprimary();
+                final double l_secondary = m_openlist.peeksecondary();
+
+                // keys with an equal primary value are processed too, because the
+                // sums of the keys contain rounding errors, so an equal key can be
+                // a bit larger than the key of the start
+                if ( l_primary > l_startprimary + TOLERANCE * Math.max( 1, l_startprimary ) && l_startrhs == l_startgscore )
+                    return;
+
+                final int l_slot = m_openlist.peek();
+                final int l_current = (int) m_index.cell( l_slot );
+                final double l_newsecondary = Math.min( m_gscore[l_slot], m_rhs[l_slot] );
+                final double l_newprimary = l_newsecondary + this.heuristic( p_start, l_current ) + m_keymodifier;
+
+                // outdated key of a moved start
+                if ( l_primary < l_newprimary || l_primary == l_newprimary && l_secondary < l_newsecondary )
+                {
+                    m_openlist.push( l_slot, l_newprimary, l_newsecondary );
+                    continue;
+                }
+
+                m_openlist.pop();
+                if ( m_gscore[l_slot] > m_rhs[l_slot] )
+                    m_gscore[l_slot] = m_rhs[l_slot];
+                else
+                {
+                    m_gscore[l_slot] = Double.POSITIVE_INFINITY;
+                    this.update( p_grid, l_current, p_start );
+                }
+
+                // edges exist only into walkable cells
+                final int l_row = l_current / m_columns;
+                final int l_column = l_current % m_columns;
+                if ( !m_routing.walkable( p_grid, l_row, l_column ) )
+                    continue;
+
+                for ( int i = 0, l_count = m_routing.adjacent( p_grid, l_row, l_column, m_neighbour ); i < l_count; i++ )
+                    this.update( p_grid, m_neighbour[i], p_start );
+            }
+        }
+
+        /**
+         * updates the one-step lookahead score and the open list entry of a cell
+         *
+         * @param p_grid grid
+         * @param p_cell cell
+         * @param p_start start cell
+         */
+        private void update( @Nonnull final ObjectMatrix2D p_grid, final int p_cell, final int p_start )
+        {
+            int l_slot = m_index.find( p_cell );
+            if ( p_cell != m_goal )
+            {
+                // an unvisited cell without any finite successor stays without slot
+                final double l_rhs = this.successor( p_grid, p_cell, m_successor );
+                if ( l_slot < 0 && l_rhs == Double.POSITIVE_INFINITY )
+                    return;
+
+                l_slot = this.slot( p_cell );
+                m_rhs[l_slot] = l_rhs;
+            }
+
+            if ( m_gscore[l_slot] == m_rhs[l_slot] )
+            {
+                m_openlist.remove( l_slot );
+                return;
+            }
+
+            final double l_secondary = Math.min( m_gscore[l_slot], m_rhs[l_slot] );
+            m_openlist.push( l_slot, l_secondary + this.heuristic( p_start, p_cell ) + m_keymodifier, l_secondary );
+        }
+
+        /**
+         * returns the best score over all successors
+         *
+         * @param p_grid grid
+         * @param p_cell cell
+         * @param p_buffer neighbour buffer
+         * @return minimal edge cost plus score
+         */
+        private double successor( @Nonnull final ObjectMatrix2D p_grid, final int p_cell, @Nonnull final int[] p_buffer )
+        {
+            final int l_row = p_cell / m_columns;
+            final int l_column = p_cell % m_columns;
+
+            double l_best = Double.POSITIVE_INFINITY;
+            for ( int i = 0, l_count = m_routing.neighbour( p_grid, l_row, l_column, p_buffer ); i < l_count; i++ )
+                l_best = Math.min(
+                    l_best,
+                    this.gscore( p_buffer[i] ) + m_routing.m_distance.apply( l_row, l_column, p_buffer[i] / m_columns, p_buffer[i] % m_columns )
+                );
+
+            return l_best;
+        }
+
+        /**
+         * follows the best successors from the start to the goal
+         *
+         * @param p_grid grid
+         * @param p_start start cell
+         * @return cell indices
+         */
+        @Nonnull
+        private int[] path( @Nonnull final ObjectMatrix2D p_grid, final int p_start )
+        {
+            int[] l_path = new int[64];
+            int l_length = 0;
+
+            for ( int l_current = p_start; ; )
+            {
+                if ( l_length == l_path.length )
+                    l_path = Arrays.copyOf( l_path, l_path.length * 2 );
+                l_path[l_length++] = l_current;
+
+                if ( l_current == m_goal )
+                    return Arrays.copyOf( l_path, l_length );
+
+                // the path cannot be longer than the number of visited cells
+                if ( l_length > m_index.size() )
+                    return new int[0];
+
+                final int l_row = l_current / m_columns;
+                final int l_column = l_current % m_columns;
+                int l_next = -1;
+                double l_best = Double.POSITIVE_INFINITY;
+                for ( int i = 0, l_count = m_routing.neighbour( p_grid, l_row, l_column, m_neighbour ); i < l_count; i++ )
+                {
+                    final double l_score = this.gscore( m_neighbour[i] )
+                                           + m_routing.m_distance.apply( l_row, l_column, m_neighbour[i] / m_columns, m_neighbour[i] % m_columns );
+                    if ( l_score < l_best )
+                    {
+                        l_best = l_score;
+                        l_next = m_neighbour[i];
+                    }
+                }
+
+                if ( l_next < 0 )
+                    return new int[0];
+                l_current = l_next;
+            }
+        }
+
+        /**
+         * g-score of a cell
+         *
+         * @param p_cell cell index
+         * @return g-score or infinity if the cell is not visited
+         */
+        private double gscore( final int p_cell )
+        {
+            final int l_slot = m_index.find( p_cell );
+            return l_slot < 0 ? Double.POSITIVE_INFINITY : m_gscore[l_slot];
+        }
+
+        /**
+         * one-step lookahead score of a cell
+         *
+         * @param p_cell cell index
+         * @return score or infinity if the cell is not visited
+         */
+        private double rhs( final int p_cell )
+        {
+            final int l_slot = m_index.find( p_cell );
+            return l_slot < 0 ? Double.POSITIVE_INFINITY : m_rhs[l_slot];
+        }
+
+        /**
+         * returns the slot of a cell and grows
+         * the slot arrays if a slot is created
+         *
+         * @param p_cell cell index
+         * @return slot
+         */
+        private int slot( final int p_cell )
+        {
+            final int l_slot = m_index.slot( p_cell );
+            if ( l_slot == m_gscore.length )
+            {
+                final int l_length = m_gscore.length << 1;
+                m_gscore = CSparseIndex.grow( m_gscore, l_length );
+                m_rhs = CSparseIndex.grow( m_rhs, l_length );
+                m_openlist.ensure( l_length );
+            }
+            return l_slot;
+        }
+
+        /**
+         * heuristic of two cells, the key modifier
+         * and the repair require a consistent heuristic
+         *
+         * @param p_first first cell
+         * @param p_second second cell
+         * @return heuristic value
+         */
+        private double heuristic( final int p_first, final int p_second )
+        {
+            return m_routing.lowerbound( p_first / m_columns, p_first % m_columns, p_second / m_columns, p_second % m_columns );
+        }
+    }
+
+    /**
+     * grid layer with the least-recently used search states
+     */
+    private static final class CPlanners implements ILayer
+    {
+        /**
+         * search states by goal cell
+         */
+        private final Map<Integer, CPlanner> m_planners;
+        /**
+         * influence radius of a cell change
+         */
+        private final int m_influence;
+
+        /**
+         * ctor
+         *
+         * @param p_capacity maximum number of search states
+         * @param p_influence influence radius of a cell change
+         */
+        CPlanners( final int p_capacity, final int p_influence )
+        {
+            m_influence = p_influence;
+            m_planners = new LinkedHashMap<>( 16, 0.75f, true )
+            {
+                private static final long serialVersionUID = -1744064005532839036L;
+
+                @Override
+                protected boolean removeEldestEntry( final Map.Entry<Integer, CPlanner> p_eldest )
+                {
+                    return this.size() > p_capacity;
+                }
+            };
+        }
+
+        /**
+         * returns the search state of a goal and creates it if not exists
+         *
+         * @param p_goal goal cell
+         * @param p_factory search state factory
+         * @return search state
+         */
+        @Nonnull
+        synchronized CPlanner get( final int p_goal, @Nonnull final IntFunction<CPlanner> p_factory )
+        {
+            final CPlanner l_planner = m_planners.get( p_goal );
+            if ( Objects.nonNull( l_planner ) )
+                return l_planner;
+
+            final CPlanner l_new = p_factory.apply( p_goal );
+            m_planners.put( p_goal, l_new );
+            return l_new;
+        }
+
+        @Override
+        public synchronized void update( @Nonnull final ObjectMatrix2D p_grid, final int p_row, final int p_column,
+                                         @Nullable final Object p_old, @Nullable final Object p_new )
+        {
+            if ( m_influence == 0 )
+            {
+                m_planners.values().forEach( i -> i.changed( p_row, p_column ) );
+                return;
+            }
+
+            for ( int i = Math.max( 0, p_row - m_influence ); i <= Math.min( p_grid.rows() - 1, p_row + m_influence ); i++ )
+                for ( int j = Math.max( 0, p_column - m_influence ); j <= Math.min( p_grid.columns() - 1, p_column + m_influence ); j++ )
+                    for ( final CPlanner l_planner : m_planners.values() )
+                        l_planner.changed( i, j );
+        }
+
+        @Override
+        public synchronized void reset( @Nonnull final ObjectMatrix2D p_grid )
+        {
+            m_planners.clear();
+        }
+    }
+}
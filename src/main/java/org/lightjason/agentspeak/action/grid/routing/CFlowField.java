@@ -0,0 +1,207 @@
+/*
+ * @cond LICENSE
+ * ######################################################################################
+ * # LGPL License                                                                       #
+ * #                                                                                    #
+ * # This file is part of the LightJason                                                #
+ * # Copyright (c) 2015-19, LightJason (info@lightjason.org)                            #
+ * # This program is free software: you can redistribute it and/or modify               #
+ * # it under the terms of the GNU Lesser General Public License as                     #
+ * # published by the Free Software Foundation, either version 3 of the                 #
+ * # License, or (at your option) any later version.                                    #
+ * #                                                                                    #
+ * # This program is distributed in the hope that it will be useful,                    #
+ * # but WITHOUT ANY WARRANTY; without even the implied warranty of                     #
+ * # MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                      #
+ * # GNU Lesser General Public License for more details.                                #
+ * #                                                                                    #
+ * # You should have received a copy of the GNU Lesser General Public License           #
+ * # along with this program. If not, see http://www.gnu.org/licenses/                  #
+ * ######################################################################################
+ * @endcond
+ */
+
+package org.lightjason.agentspeak.action.grid.routing;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+
+/**
+ * flow field of a goal cell.
+ * The field stores for each cell the distance to the goal
+ * and the direction of the next step, so any route to
+ * the goal is read in O(route length) without a search,
+ * a field is immutable and can be shared by all agents
+ */
+public final class CFlowField
+{
+    /**
+     * directions by ordinal
+     */
+    private static final EDirection[] DIRECTIONS = EDirection.values();
+    /**
+     * number of rows
+     */
+    private final int m_rows;
+    /**
+     * number of columns
+     */
+    private final int m_columns;
+    /**
+     * goal cell index
+     */
+    private final int m_goal;
+    /**
+     * distance of each cell to the goal
+     */
+    private final float[] m_distance;
+    /**
+     * direction ordinal of each cell or -1 if the goal is not reachable
+     */
+    private final byte[] m_direction;
+
+    /**
+     * ctor
+     *
+     * @param p_rows number of rows
+     * @param p_columns number of columns
+     * @param p_goal goal cell index
+     * @param p_distance distance of each cell
+     * @param p_direction direction ordinal of each cell
+     */
+    CFlowField( final int p_rows, final int p_columns, final int p_goal, @Nonnull final float[] p_distance, @Nonnull final byte[] p_direction )
+    {
+        m_rows = p_rows;
+        m_columns = p_columns;
+        m_goal = p_goal;
+        m_distance = p_distance;
+        m_direction = p_direction;
+    }
+
+    /**
+     * goal row
+     *
+     * @return row
+     */
+    public int goalrow()
+    {
+        return m_goal / m_columns;
+    }
+
+    /**
+     * goal column
+     *
+     * @return column
+     */
+    public int goalcolumn()
+    {
+        return m_goal % m_columns;
+    }
+
+    /**
+     * checks if the goal is reachable from a cell
+     *
+     * @param p_row row
+     * @param p_column column
+     * @return reachable flag
+     */
+    public boolean reachable( final int p_row, final int p_column )
+    {
+        return this.inside( p_row, p_column ) && m_direction[p_row * m_columns + p_column] >= 0;
+    }
+
+    /**
+     * returns the distance of a cell to the goal
+     *
+     * @param p_row row
+     * @param p_column column
+     * @return distance or infinity if the goal is not reachable
+     */
+    public double distance( final int p_row, final int p_column )
+    {
+        return this.reachable( p_row, p_column ) ? m_distance[p_row * m_columns + p_column] : Double.POSITIVE_INFINITY;
+    }
+
+    /**
+     * returns the direction of the next step
+     *
+     * @param p_row row
+     * @param p_column column
+     * @return direction (self on the goal) or null if the goal is not reachable
+     */
+    @Nullable
+    public EDirection direction( final int p_row, final int p_column )
+    {
+        return this.reachable( p_row, p_column ) ? DIRECTIONS[m_direction[p_row * m_columns + p_column]] : null;
+    }
+
+    /**
+     * returns the route from a cell to the goal
+     *
+     * @param p_row row
+     * @param p_column column
+     * @return cell indices (row * columns + column) or empty array if the goal is not reachable
+     */
+    @Nonnull
+    public int[] route( final int p_row, final int p_column )
+    {
+        if ( !this.reachable( p_row, p_column ) )
+            return new int[0];
+
+        int l_length = 1;
+        for ( int i = p_row * m_columns + p_column; i != m_goal; i = this.next( i ) )
+            l_length++;
+
+        final int[] l_route = new int[l_length];
+        l_route[0] = p_row * m_columns + p_column;
+        for ( int i = 1; i < l_length; i++ )
+            l_route[i] = this.next( l_route[i - 1] );
+
+        return l_route;
+    }
+
+    /**
+     * checks if a cell change can modify the field,
+     * this is the case if the cell or a neighbour
+     * is reachable
+     *
+     * @param p_row row
+     * @param p_column column
+     * @param p_influence number of cells around the cell, whose walkability can be changed as well
+     * @return affected flag
+     */
+    public boolean affected( final int p_row, final int p_column, final int p_influence )
+    {
+        for ( int i = -1 - p_influence; i <= 1 + p_influence; i++ )
+            for ( int j = -1 - p_influence; j <= 1 + p_influence; j++ )
+                if ( this.reachable( p_row + i, p_column + j ) )
+                    return true;
+
+        return false;
+    }
+
+    /**
+     * returns the next cell
+     *
+     * @param p_cell cell index
+     * @return next cell index
+     */
+    private int next( final int p_cell )
+    {
+        final EDirection l_direction = DIRECTIONS[m_direction[p_cell]];
+        return p_cell + l_direction.row() * m_columns + l_direction.column();
+    }
+
+    /**
+     * checks if a cell is inside the field
+     *
+     * @param p_row row
+     * @param p_column column
+     * @return inside flag
+     */
+    private boolean inside( final int p_row, final int p_column )
+    {
+        return p_row >= 0 && p_row < m_rows && p_column >= 0 && p_column < m_columns;
+    }
+}
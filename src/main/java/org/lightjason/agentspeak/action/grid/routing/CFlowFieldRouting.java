@@ -0,0 +1,335 @@
+/*
+ * @cond LICENSE
+ * ######################################################################################
+ * # LGPL License                                                                       #
+ * #                                                                                    #
+ * # This file is part of the LightJason                                                #
+ * # Copyright (c) 2015-19, LightJason (info@lightjason.org)                            #
+ * # This program is free software: you can redistribute it and/or modify               #
+ * # it under the terms of the GNU Lesser General Public License as                     #
+ * # published by the Free Software Foundation, either version 3 of the                 #
+ * # License, or (at your option) any later version.                                    #
+ * #                                                                                    #
+ * # This program is distributed in the hope that it will be useful,                    #
+ * # but WITHOUT ANY WARRANTY; without even the implied warranty of                     #
+ * # MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                      #
+ * # GNU Lesser General Public License for more details.                                #
+ * #                                                                                    #
+ * # You should have received a copy of the GNU Lesser General Public License           #
+ * # along with this program. If not, see http://www.gnu.org/licenses/                  #
+ * ######################################################################################
+ * @endcond
+ */
+
+package org.lightjason.agentspeak.action.grid.routing;
+
+import cern.colt.matrix.tdouble.DoubleMatrix1D;
+import cern.colt.matrix.tobject.ObjectMatrix2D;
+import org.lightjason.agentspeak.action.grid.layer.CLayerRegistry;
+import org.lightjason.agentspeak.action.grid.layer.ILayer;
+import org.lightjason.agentspeak.common.CCommon;
+import org.lightjason.agentspeak.error.CIllegalArgumentException;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.BiFunction;
+import java.util.function.IntFunction;
+import java.util.stream.Stream;
+
+
+/**
+ * flow field routing (dijkstra map).
+ * A single reverse search from the goal creates a flow
+ * field with the distance and next direction of each cell,
+ * fields are cached per grid and goal and shared by
+ * routings with equal configuration, so all routes to
+ * the same goal are read without a search, a grid
+ * change drops the fields which can reach the cell
+ *
+ * @see <a href="https://www.redblobgames.com/pathfinding/tower-defense/"></a>
+ */
+public final class CFlowFieldRouting extends IBaseRouting
+{
+    /**
+     * default number of cached fields of a grid
+     */
+    public static final int CAPACITY = 16;
+    /**
+     * serial id
+     */
+    private static final long serialVersionUID = -5264618911329464129L;
+    /**
+     * number of cached fields of a grid
+     */
+    private final int m_capacity;
+
+    /**
+     * ctor
+     */
+    public CFlowFieldRouting()
+    {
+        this( EDistance.MANHATTAN, ESearchDirection.NEVER, CAPACITY );
+    }
+
+    /**
+     * ctor
+     *
+     * @param p_distance distance
+     */
+    public CFlowFieldRouting( @Nonnull final IDistance p_distance )
+    {
+        this( p_distance, ESearchDirection.NEVER, CAPACITY );
+    }
+
+    /**
+     * ctor
+     *
+     * @param p_distance distance
+     * @param p_searchdirection search direction
+     */
+    public CFlowFieldRouting( @Nonnull final IDistance p_distance, @Nonnull final ISearchDirection p_searchdirection )
+    {
+        this( p_distance, p_searchdirection, CAPACITY );
+    }
+
+    /**
+     * ctor
+     *
+     * @param p_distance distance
+     * @param p_searchdirection search direction
+     * @param p_capacity number of cached fields of a grid
+     */
+    public CFlowFieldRouting( @Nonnull final IDistance p_distance, @Nonnull final ISearchDirection p_searchdirection, @Nonnull final Number p_capacity )
+    {
+        super( p_distance, p_searchdirection );
+        m_capacity = Math.max( 1, p_capacity.intValue() );
+
+        if ( p_distance == EDistance.MANHATTAN && p_searchdirection != ESearchDirection.NEVER )
+            throw new CIllegalArgumentException( CCommon.languagestring( this, "manhattendigitalmovement" ) );
+    }
+
+    /**
+     * ctor
+     *
+     * @param p_distance distance
+     * @param p_searchdirection search direction
+     * @param p_walkable walkable check
+     * @param p_capacity number of cached fields of a grid
+     */
+    public CFlowFieldRouting( @Nonnull final IDistance p_distance, @Nonnull final ISearchDirection p_searchdirection,
+                              @Nonnull final BiFunction<ObjectMatrix2D, DoubleMatrix1D, Boolean> p_walkable, @Nonnull final Number p_capacity )
+    {
+        super( p_distance, p_searchdirection, p_walkable );
+        m_capacity = Math.max( 1, p_capacity.intValue() );
+
+        if ( p_distance == EDistance.MANHATTAN && p_searchdirection != ESearchDirection.NEVER )
+            throw new CIllegalArgumentException( CCommon.languagestring( this, "manhattendigitalmovement" ) );
+    }
+
+    @Override
+    public Stream<DoubleMatrix1D> apply( @Nonnull final ObjectMatrix2D p_grid, @Nonnull final DoubleMatrix1D p_start, @Nonnull final DoubleMatrix1D p_end )
+    {
+        return this.path( p_grid, p_start, p_end );
+    }
+
+    @Nonnull
+    @Override
+    protected int[] route( @Nonnull final ObjectMatrix2D p_grid, final long p_start, final long p_end )
+    {
+        if ( !CCell.inside( p_end, p_grid.rows(), p_grid.columns() ) )
+            return new int[0];
+
+        return this.field( p_grid, CCell.row( p_end ), CCell.column( p_end ) ).route( CCell.row( p_start ), CCell.column( p_start ) );
+    }
+
+    /**
+     * returns the flow field of a goal
+     *
+     * @param p_grid grid
+     * @param p_row goal row
+     * @param p_column goal column
+     * @return flow field
+     */
+    @Nonnull
+    public CFlowField field( @Nonnull final ObjectMatrix2D p_grid, final int p_row, final int p_column )
+    {
+        return CLayerRegistry.layer( p_grid, this.configuration(), i -> new CFieldCache( m_capacity, this.influence() ) )
+                             .get( p_row * p_grid.columns() + p_column, i -> this.build( p_grid, p_row, p_column ) );
+    }
+
+    /**
+     * builds the flow field with a reverse dijkstra search,
+     * the neighbour model is symmetric, so the neighbours
+     * of a cell are the cells which can reach the cell
+     *
+     * @param p_grid grid
+     * @param p_row goal row
+     * @param p_column goal column
+     * @return flow field
+     */
+    @Nonnull
+    private CFlowField build( @Nonnull final ObjectMatrix2D p_grid, final int p_row, final int p_column )
+    {
+        final int l_columns = p_grid.columns();
+        final int l_goal = p_row * l_columns + p_column;
+        final float[] l_distance = new float[p_grid.rows() * l_columns];
+        final byte[] l_direction = new byte[l_distance.length];
+        Arrays.fill( l_direction, (byte) -1 );
+
+        if ( !this.walkable( p_grid, p_row, p_column ) )
+            return new CFlowField( p_grid.rows(), l_columns, l_goal, l_distance, l_direction );
+
+        final int[] l_neighbour = new int[8];
+        final CSearchState l_state = CSearchState.of( l_distance.length );
+        final CIndexedHeap l_openlist = l_state.open();
+
+        l_state.update( l_goal, 0, -1 );
+        l_openlist.push( l_goal, 0, 0 );
+
+        while ( !l_openlist.isEmpty() )
+        {
+            final int l_current = l_openlist.pop();
+            final int l_row = l_current / l_columns;
+            final int l_column = l_current % l_columns;
+            final int l_parent = l_state.parent( l_current );
+            final double l_currentgscore = l_state.gscore( l_current );
+
+            l_state.close( l_current );
+            l_distance[l_current] = (float) l_currentgscore;
+            l_direction[l_current] = (byte) (
+                l_parent < 0
+                ? EDirection.SELF
+                : EDirection.of( l_parent / l_columns - l_row, l_parent % l_columns - l_column )
+            ).ordinal();
+
+            for ( int i = 0, l_count = this.neighbour( p_grid, l_row, l_column, l_neighbour ); i < l_count; i++ )
+            {
+                final int l_next = l_neighbour[i];
+                if ( l_state.closed( l_next ) )
+                    continue;
+
+                final double l_gscore = l_currentgscore + m_distance.apply( l_next / l_columns, l_next % l_columns, l_row, l_column );
+                if ( l_gscore >= l_state.gscore( l_next ) )
+                    continue;
+
+                l_state.update( l_next, l_gscore, l_current );
+                l_openlist.push( l_next, l_gscore, 0 );
+            }
+        }
+
+        // cells which are not walkable e.g. occupied by the agent itself get the direction to the best neighbour
+        for ( int i = 0; i < l_distance.length; i++ )
+        {
+            if ( l_state.closed( i ) )
+                continue;
+
+            final int l_row = i / l_columns;
+            final int l_column = i % l_columns;
+            double l_best = Double.POSITIVE_INFINITY;
+            for ( int j = 0, l_count = this.neighbour( p_grid, l_row, l_column, l_neighbour ); j < l_count; j++ )
+            {
+                final int l_next = l_neighbour[j];
+                final double l_gscore = l_state.gscore( l_next ) + m_distance.apply( l_row, l_column, l_next / l_columns, l_next % l_columns );
+                if ( !l_state.closed( l_next ) || l_gscore >= l_best )
+                    continue;
+
+                l_best = l_gscore;
+                l_distance[i] = (float) l_gscore;
+                l_direction[i] = (byte) EDirection.of( l_next / l_columns - l_row, l_next % l_columns - l_column ).ordinal();
+            }
+        }
+
+        return new CFlowField( p_grid.rows(), l_columns, l_goal, l_distance, l_direction );
+    }
+
+
+    /**
+     * grid layer with the least-recently used flow fields
+     */
+    private static final class CFieldCache implements ILayer
+    {
+        /**
+         * fields by goal cell
+         */
+        private final Map<Integer, CFlowField> m_fields;
+        /**
+         * influence radius of a cell change
+         */
+        private final int m_influence;
+        /**
+         * modification counter
+         */
+        private long m_modification;
+
+        /**
+         * ctor
+         *
+         * @param p_capacity maximum number of fields
+         * @param p_influence influence radius of a cell change
+         */
+        CFieldCache( final int p_capacity, final int p_influence )
+        {
+            m_influence = p_influence;
+            m_fields = new LinkedHashMap<>( 16, 0.75f, true )
+            {
+                private static final long serialVersionUID = 7306296018484733519L;
+
+                @Override
+                protected boolean removeEldestEntry( final Map.Entry<Integer, CFlowField> p_eldest )
+                {
+                    return this.size() > p_capacity;
+                }
+            };
+        }
+
+        /**
+         * returns the field of a goal and builds it if not exists,
+         * a field is not cached if the grid has been changed
+         * during the build
+         *
+         * @param p_goal goal cell index
+         * @param p_builder field builder
+         * @return field
+         */
+        @Nonnull
+        CFlowField get( final int p_goal, @Nonnull final IntFunction<CFlowField> p_builder )
+        {
+            final long l_modification;
+            synchronized ( this )
+            {
+                final CFlowField l_field = m_fields.get( p_goal );
+                if ( Objects.nonNull( l_field ) )
+                    return l_field;
+
+                l_modification = m_modification;
+            }
+
+            final CFlowField l_field = p_builder.apply( p_goal );
+            synchronized ( this )
+            {
+                if ( l_modification == m_modification )
+                    m_fields.put( p_goal, l_field );
+            }
+            return l_field;
+        }
+
+        @Override
+        public synchronized void update( @Nonnull final ObjectMatrix2D p_grid, final int p_row, final int p_column,
+                                         @Nullable final Object p_old, @Nullable final Object p_new )
+        {
+            m_modification++;
+            m_fields.values().removeIf( i -> i.affected( p_row, p_column, m_influence ) );
+        }
+
+        @Override
+        public synchronized void reset( @Nonnull final ObjectMatrix2D p_grid )
+        {
+            m_modification++;
+            m_fields.clear();
+        }
+    }
+}
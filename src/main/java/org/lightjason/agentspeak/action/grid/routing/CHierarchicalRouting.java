@@ -0,0 +1,892 @@
+/*
+ * @cond LICENSE
+ * ######################################################################################
+ * # LGPL License                                                                       #
+ * #                                                                                    #
+ * # This file is part of the LightJason                                                #
+ * # Copyright (c) 2015-19, LightJason (info@lightjason.org)                            #
+ * # This program is free software: you can redistribute it and/or modify               #
+ * # it under the terms of the GNU Lesser General Public License as                     #
+ * # published by the Free Software Foundation, either version 3 of the                 #
+ * # License, or (at your option) any later version.                                    #
+ * #                                                                                    #
+ * # This program is distributed in the hope that it will be useful,                    #
+ * # but WITHOUT ANY WARRANTY; without even the implied warranty of                     #
+ * # MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                      #
+ * # GNU Lesser General Public License for more details.                                #
+ * #                                                                                    #
+ * # You should have received a copy of the GNU Lesser General Public License           #
+ * # along with this program. If not, see http://www.gnu.org/licenses/                  #
+ * ######################################################################################
+ * @endcond
+ */
+
+package org.lightjason.agentspeak.action.grid.routing;
+
+import cern.colt.matrix.tdouble.DoubleMatrix1D;
+import cern.colt.matrix.tobject.ObjectMatrix2D;
+import org.lightjason.agentspeak.action.grid.layer.CLayerRegistry;
+import org.lightjason.agentspeak.action.grid.layer.ILayer;
+import org.lightjason.agentspeak.common.CCommon;
+import org.lightjason.agentspeak.error.CIllegalArgumentException;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiFunction;
+import java.util.function.IntFunction;
+import java.util.stream.Stream;
+
+
+/**
+ * hierarchical path-finding a-star (HPA*).
+ * The grid is split into square clusters, the entrances
+ * on the cluster borders are connected by precomputed
+ * intra-cluster distances, a route is searched on this
+ * abstract graph and refined within the clusters only,
+ * the abstraction is stored as grid layer, so a cell
+ * change rebuilds only the cluster of the cell and
+ * its neighbours, routes are near-optimal
+ *
+ * @see <a href="https://webdocs.cs.ualberta.ca/~mmueller/ps/hpastar.pdf"></a>
+ */
+public final class CHierarchicalRouting extends IBaseRouting
+{
+    /**
+     * default cluster size
+     */
+    public static final int CLUSTERSIZE = 16;
+    /**
+     * serial id
+     */
+    private static final long serialVersionUID = 3470316349437271364L;
+    /**
+     * maximum width of an entrance with a single transition
+     */
+    private static final int ENTRANCEWIDTH = 6;
+    /**
+     * cluster size
+     */
+    private final int m_clustersize;
+
+    /**
+     * ctor
+     */
+    public CHierarchicalRouting()
+    {
+        this( EDistance.MANHATTAN, ESearchDirection.NEVER, CLUSTERSIZE );
+    }
+
+    /**
+     * ctor
+     *
+     * @param p_distance distance
+     */
+    public CHierarchicalRouting( @Nonnull final IDistance p_distance )
+    {
+        this( p_distance, ESearchDirection.NEVER, CLUSTERSIZE );
+    }
+
+    /**
+     * ctor
+     *
+     * @param p_distance distance
+     * @param p_searchdirection search direction
+     */
+    public CHierarchicalRouting( @Nonnull final IDistance p_distance, @Nonnull final ISearchDirection p_searchdirection )
+    {
+        this( p_distance, p_searchdirection, CLUSTERSIZE );
+    }
+
+    /**
+     * ctor
+     *
+     * @param p_distance distance
+     * @param p_searchdirection search direction
+     * @param p_clustersize number of rows and columns of a cluster
+     */
+    public CHierarchicalRouting( @Nonnull final IDistance p_distance, @Nonnull final ISearchDirection p_searchdirection, @Nonnull final Number p_clustersize )
+    {
+        super( p_distance, p_searchdirection );
+        m_clustersize = clustersize( p_clustersize );
+
+        if ( p_distance == EDistance.MANHATTAN && p_searchdirection != ESearchDirection.NEVER )
+            throw new CIllegalArgumentException( CCommon.languagestring( this, "manhattendigitalmovement" ) );
+    }
+
+    /**
+     * ctor
+     *
+     * @param p_distance distance
+     * @param p_searchdirection search direction
+     * @param p_walkable walkable check
+     * @param p_clustersize number of rows and columns of a cluster
+     */
+    public CHierarchicalRouting( @Nonnull final IDistance p_distance, @Nonnull final ISearchDirection p_searchdirection,
+                                 @Nonnull final BiFunction<ObjectMatrix2D, DoubleMatrix1D, Boolean> p_walkable, @Nonnull final Number p_clustersize )
+    {
+        super( p_distance, p_searchdirection, p_walkable );
+        m_clustersize = clustersize( p_clustersize );
+    }
+
+    @Override
+    public Stream<DoubleMatrix1D> apply( @Nonnull final ObjectMatrix2D p_grid, @Nonnull final DoubleMatrix1D p_start, @Nonnull final DoubleMatrix1D p_end )
+    {
+        return this.path( p_grid, p_start, p_end );
+    }
+
+    @Nonnull
+    @Override
+    protected int[] route( @Nonnull final ObjectMatrix2D p_grid, final long p_start, final long p_end )
+    {
+        final int l_rows = p_grid.rows();
+        final int l_columns = p_grid.columns();
+        final int l_startrow = CCell.row( p_start );
+        final int l_startcolumn = CCell.column( p_start );
+        final int l_endrow = CCell.row( p_end );
+        final int l_endcolumn = CCell.column( p_end );
+
+        if ( l_startrow < 0 || l_startrow >= l_rows || l_startcolumn < 0 || l_startcolumn >= l_columns
+             || l_endrow < 0 || l_endrow >= l_rows || l_endcolumn < 0 || l_endcolumn >= l_columns )
+            return new int[0];
+
+        final int l_start = l_startrow * l_columns + l_startcolumn;
+        final int l_end = l_endrow * l_columns + l_endcolumn;
+        if ( l_start == l_end )
+            return new int[]{l_start};
+
+        // the goal distances are calculated from the goal, so it must be walkable
+        if ( !this.walkable( p_grid, l_endrow, l_endcolumn ) )
+            return new int[0];
+
+        final CAbstraction l_abstraction = CLayerRegistry.layer(
+            p_grid,
+            Arrays.asList( this.configuration(), m_clustersize ),
+            i -> new CAbstraction( i, m_clustersize, this.influence() )
+        );
+        final CGraph l_graph = l_abstraction.get( i -> this.build( p_grid, l_abstraction, i ) );
+
+        // start and goal within the same cluster are routed locally first
+        final int l_cluster = l_abstraction.cluster( l_startrow, l_startcolumn );
+        if ( l_cluster == l_abstraction.cluster( l_endrow, l_endcolumn ) )
+        {
+            final int[] l_path = this.local( p_grid, l_abstraction, l_cluster, l_start, l_end );
+            if ( l_path.length > 0 )
+                return l_path;
+        }
+
+        final int[] l_path = this.search( p_grid, l_abstraction, l_graph, l_start, l_end );
+        return l_path.length == 0
+               ? new int[0]
+               : this.refine( p_grid, l_abstraction, l_path );
+    }
+
+    /**
+     * searches the route on the abstract graph, start and
+     * goal are added as temporary nodes of their clusters
+     *
+     * @param p_grid grid
+     * @param p_abstraction abstraction
+     * @param p_graph abstract graph
+     * @param p_start start cell
+     * @param p_end goal cell
+     * @return cells of the abstract route or empty array
+     */
+    @Nonnull
+    private int[] search( @Nonnull final ObjectMatrix2D p_grid, @Nonnull final CAbstraction p_abstraction, @Nonnull final CGraph p_graph,
+                          final int p_start, final int p_end )
+    {
+        final int l_columns = p_grid.columns();
+        final int l_endrow = p_end / l_columns;
+        final int l_endcolumn = p_end % l_columns;
+        final int l_startcluster = p_abstraction.cluster( p_start / l_columns, p_start % l_columns );
+        final int l_endcluster = p_abstraction.cluster( l_endrow, l_endcolumn );
+        final double[] l_startcost = this.costs( p_grid, p_abstraction, l_startcluster, p_graph.m_clusters[l_startcluster].m_nodes, p_start );
+        final double[] l_endcost = this.costs( p_grid, p_abstraction, l_endcluster, p_graph.m_clusters[l_endcluster].m_nodes, p_end );
+
+        // temporary nodes are stored behind the cluster nodes
+        final int l_startnode = p_graph.size();
+        final int l_endnode = l_startnode + 1;
+        final CSearchState l_state = CSearchState.of( l_startnode + 2 );
+        final CIndexedHeap l_openlist = l_state.open();
+        final IDistance l_distance = this.distance( p_grid );
+
+        l_state.update( l_startnode, 0, -1 );
+        l_openlist.push( l_startnode, 0, 0 );
+
+        while ( !l_openlist.isEmpty() )
+        {
+            final int l_current = l_openlist.pop();
+            if ( l_current == l_endnode )
+                return Arrays.stream( l_state.path( l_endnode ) ).map( i -> p_graph.cell( i, p_start, p_end ) ).toArray();
+
+            l_state.close( l_current );
+            final double l_gscore = l_state.gscore( l_current );
+
+            if ( l_current == l_startnode )
+            {
+                for ( int i = 0; i < l_startcost.length; i++ )
+                    this.relax( l_distance, l_state, p_graph.m_offset[l_startcluster] + i, l_gscore + l_startcost[i], l_current,
+                                p_graph.m_clusters[l_startcluster].m_nodes[i], l_columns, l_endrow, l_endcolumn );
+                continue;
+            }
+
+            final int l_clusterindex = p_graph.m_owner[l_current];
+            final CCluster l_cluster = p_graph.m_clusters[l_clusterindex];
+            final int l_node = l_current - p_graph.m_offset[l_clusterindex];
+            final int l_cell = l_cluster.m_nodes[l_node];
+            final int l_size = l_cluster.m_nodes.length;
+
+            // intra-cluster edges
+            for ( int i = 0; i < l_size; i++ )
+                if ( i != l_node )
+                    this.relax( l_distance, l_state, p_graph.m_offset[l_clusterindex] + i, l_gscore + l_cluster.m_costs[l_node * l_size + i], l_current,
+                                l_cluster.m_nodes[i], l_columns, l_endrow, l_endcolumn );
+
+            // inter-cluster edges
+            for ( final int l_partner : l_cluster.m_partners[l_node] )
+            {
+                final int l_partnercluster = p_abstraction.cluster( l_partner / l_columns, l_partner % l_columns );
+                this.relax( l_distance, l_state, p_graph.m_offset[l_partnercluster] + Arrays.binarySearch( p_graph.m_clusters[l_partnercluster].m_nodes, l_partner ),
+                            l_gscore + l_distance.apply( l_cell / l_columns, l_cell % l_columns, l_partner / l_columns, l_partner % l_columns ),
+                            l_current, l_partner, l_columns, l_endrow, l_endcolumn );
+            }
+
+            if ( l_clusterindex == l_endcluster )
+                this.relax( l_distance, l_state, l_endnode, l_gscore + l_endcost[l_node], l_current, p_end, l_columns, l_endrow, l_endcolumn );
+        }
+
+        return new int[0];
+    }
+
+    /**
+     * relaxes an edge of the abstract graph
+     *
+     * @param p_distance distance of the grid
+     * @param p_state search state
+     * @param p_node target node
+     * @param p_gscore g-score over the edge
+     * @param p_parent source node
+     * @param p_cell cell of the target node
+     * @param p_columns number of grid columns
+     * @param p_endrow goal row
+     * @param p_endcolumn goal column
+     */
+    private void relax( @Nonnull final IDistance p_distance, @Nonnull final CSearchState p_state, final int p_node, final double p_gscore, final int p_parent,
+                        final int p_cell, final int p_columns, final int p_endrow, final int p_endcolumn )
+    {
+        if ( p_state.closed( p_node ) || p_gscore >= p_state.gscore( p_node ) )
+            return;
+
+        final double l_heuristic = p_distance.heuristic( p_cell / p_columns, p_cell % p_columns, p_endrow, p_endcolumn );
+        p_state.update( p_node, p_gscore, p_parent );
+        p_state.open().push( p_node, p_gscore + l_heuristic, l_heuristic );
+    }
+
+    /**
+     * refines the abstract route to a route of neighbour cells
+     *
+     * @param p_grid grid
+     * @param p_abstraction abstraction
+     * @param p_path cells of the abstract route
+     * @return cells of the route
+     */
+    @Nonnull
+    private int[] refine( @Nonnull final ObjectMatrix2D p_grid, @Nonnull final CAbstraction p_abstraction, @Nonnull final int[] p_path )
+    {
+        final int l_columns = p_grid.columns();
+        final List<int[]> l_segments = new ArrayList<>( p_path.length );
+        int l_length = 1;
+
+        for ( int i = 1; i < p_path.length; i++ )
+        {
+            final int l_cluster = p_abstraction.cluster( p_path[i - 1] / l_columns, p_path[i - 1] % l_columns );
+
+            // inter-cluster edges are single steps
+            final int[] l_segment = l_cluster == p_abstraction.cluster( p_path[i] / l_columns, p_path[i] % l_columns )
+                                    ? this.local( p_grid, p_abstraction, l_cluster, p_path[i - 1], p_path[i] )
+                                    : new int[]{p_path[i - 1], p_path[i]};
+            l_segments.add( l_segment );
+            l_length += l_segment.length - 1;
+        }
+
+        final int[] l_route = new int[l_length];
+        l_route[0] = p_path[0];
+
+        int l_index = 1;
+        for ( final int[] l_segment : l_segments )
+        {
+            System.arraycopy( l_segment, 1, l_route, l_index, l_segment.length - 1 );
+            l_index += l_segment.length - 1;
+        }
+
+        return this.smooth( p_grid, l_route );
+    }
+
+    /**
+     * shortens a route, a section of the route is replaced
+     * by a single step, iif the end of the section is a
+     * neighbour cell and the step is not more expensive,
+     * so detours over the cluster entrances are removed
+     *
+     * @param p_grid grid
+     * @param p_route cells of the route
+     * @return cells of the shortened route
+     */
+    @Nonnull
+    private int[] smooth( @Nonnull final ObjectMatrix2D p_grid, @Nonnull final int[] p_route )
+    {
+        final int l_columns = p_grid.columns();
+        final Map<Integer, Integer> l_index = new HashMap<>( p_route.length * 2 );
+        final double[] l_gscore = new double[p_route.length];
+        for ( int i = 0; i < p_route.length; i++ )
+        {
+            l_index.put( p_route[i], i );
+            if ( i > 0 )
+                l_gscore[i] = l_gscore[i - 1] + m_distance.apply(
+                    p_route[i - 1] / l_columns, p_route[i - 1] % l_columns, p_route[i] / l_columns, p_route[i] % l_columns
+                );
+        }
+
+        final IWalkable l_walkable = this.resolve( p_grid );
+        final int[] l_neighbours = new int[8];
+        final int[] l_route = new int[p_route.length];
+        int l_length = 0;
+
+        for ( int i = 0; i < p_route.length - 1; )
+        {
+            l_route[l_length++] = p_route[i];
+
+            int l_next = i + 1;
+            final int l_row = p_route[i] / l_columns;
+            final int l_column = p_route[i] % l_columns;
+            for ( int j = this.neighbour( p_grid, l_walkable, l_row, l_column, l_neighbours ) - 1; j >= 0; j-- )
+            {
+                final int l_candidate = l_index.getOrDefault( l_neighbours[j], -1 );
+                if ( l_candidate > l_next
+                     && m_distance.apply( l_row, l_column, l_neighbours[j] / l_columns, l_neighbours[j] % l_columns ) <= l_gscore[l_candidate] - l_gscore[i] )
+                    l_next = l_candidate;
+            }
+
+            i = l_next;
+        }
+
+        l_route[l_length++] = p_route[p_route.length - 1];
+        return l_length == p_route.length ? p_route : Arrays.copyOf( l_route, l_length );
+    }
+
+    /**
+     * builds a cluster with the entrances and the
+     * distances between the entrances
+     *
+     * @param p_grid grid
+     * @param p_abstraction abstraction
+     * @param p_cluster cluster index
+     * @return cluster
+     */
+    @Nonnull
+    private CCluster build( @Nonnull final ObjectMatrix2D p_grid, @Nonnull final CAbstraction p_abstraction, final int p_cluster )
+    {
+        final int l_rowmin = p_abstraction.row( p_cluster );
+        final int l_columnmin = p_abstraction.column( p_cluster );
+        final int l_rowmax = Math.min( l_rowmin + m_clustersize, p_grid.rows() );
+        final int l_columnmax = Math.min( l_columnmin + m_clustersize, p_grid.columns() );
+        final Map<Integer, List<Integer>> l_entrances = new TreeMap<>();
+
+        if ( l_rowmin > 0 )
+            this.entrances( p_grid, l_entrances, l_rowmin, l_columnmin, -1, 0, l_columnmax - l_columnmin );
+        if ( l_rowmax < p_grid.rows() )
+            this.entrances( p_grid, l_entrances, l_rowmax - 1, l_columnmin, 1, 0, l_columnmax - l_columnmin );
+        if ( l_columnmin > 0 )
+            this.entrances( p_grid, l_entrances, l_rowmin, l_columnmin, 0, -1, l_rowmax - l_rowmin );
+        if ( l_columnmax < p_grid.columns() )
+            this.entrances( p_grid, l_entrances, l_rowmin, l_columnmax - 1, 0, 1, l_rowmax - l_rowmin );
+
+        final int[] l_nodes = l_entrances.keySet().stream().mapToInt( i -> i ).toArray();
+        final int[][] l_partners = l_entrances.values().stream().map( i -> i.stream().mapToInt( j -> j ).toArray() ).toArray( int[][]::new );
+        final double[] l_costs = new double[l_nodes.length * l_nodes.length];
+
+        // movement is symmetric, so the last node does not need its own search
+        for ( int i = 0; i < l_nodes.length - 1; i++ )
+        {
+            final double[] l_distances = this.costs( p_grid, p_abstraction, p_cluster, l_nodes, l_nodes[i] );
+            for ( int j = i + 1; j < l_nodes.length; j++ )
+            {
+                l_costs[i * l_nodes.length + j] = l_distances[j];
+                l_costs[j * l_nodes.length + i] = l_distances[j];
+            }
+        }
+
+        return new CCluster( l_nodes, l_partners, l_costs );
+    }
+
+    /**
+     * adds the entrances of a cluster border, a
+     * narrow entrance gets a single transition in the
+     * middle and a wide entrance gets transitions
+     * on both ends, diagonal crossings are added
+     * iif both adjacent cardinal cells are blocked
+     *
+     * @param p_grid grid
+     * @param p_entrances map with entrance cell and cells of the neighbour cluster
+     * @param p_row row of the first border cell
+     * @param p_column column of the first border cell
+     * @param p_rowoffset row offset to the neighbour cluster
+     * @param p_columnoffset column offset to the neighbour cluster
+     * @param p_length border length
+     */
+    private void entrances( @Nonnull final ObjectMatrix2D p_grid, @Nonnull final Map<Integer, List<Integer>> p_entrances,
+                            final int p_row, final int p_column, final int p_rowoffset, final int p_columnoffset, final int p_length )
+    {
+        // the border runs perpendicular to the offset direction
+        final int l_rowstep = p_rowoffset == 0 ? 1 : 0;
+        final int l_columnstep = p_columnoffset == 0 ? 1 : 0;
+        final int l_columns = p_grid.columns();
+
+        for ( int i = 0, l_begin = 0; i <= p_length; i++ )
+        {
+            if ( i < p_length
+                 && this.walkable( p_grid, p_row + i * l_rowstep, p_column + i * l_columnstep )
+                 && this.walkable( p_grid, p_row + i * l_rowstep + p_rowoffset, p_column + i * l_columnstep + p_columnoffset ) )
+                continue;
+
+            final int l_width = i - l_begin;
+            final int[] l_transitions = l_width == 0
+                                        ? new int[0]
+                                        : l_width < ENTRANCEWIDTH
+                                          ? new int[]{l_begin + l_width / 2}
+                                          : new int[]{l_begin, i - 1};
+
+            for ( final int l_transition : l_transitions )
+            {
+                final int l_row = p_row + l_transition * l_rowstep;
+                final int l_column = p_column + l_transition * l_columnstep;
+                p_entrances.computeIfAbsent( l_row * l_columns + l_column, j -> new ArrayList<>( 2 ) )
+                           .add( ( l_row + p_rowoffset ) * l_columns + l_column + p_columnoffset );
+            }
+
+            l_begin = i + 1;
+        }
+
+        // a diagonal crossing between two blocked cardinal cells has no cardinal entrance
+        if ( !this.diagonal( false, false ) )
+            return;
+
+        for ( int i = 0; i < p_length; i++ )
+        {
+            final int l_row = p_row + i * l_rowstep;
+            final int l_column = p_column + i * l_columnstep;
+            if ( !this.walkable( p_grid, l_row, l_column ) || this.walkable( p_grid, l_row + p_rowoffset, l_column + p_columnoffset ) )
+                continue;
+
+            for ( int j = -1; j <= 1; j += 2 )
+            {
+                final int l_partnerrow = l_row + p_rowoffset + j * l_rowstep;
+                final int l_partnercolumn = l_column + p_columnoffset + j * l_columnstep;
+                if ( l_partnerrow < 0 || l_partnerrow >= p_grid.rows() || l_partnercolumn < 0 || l_partnercolumn >= l_columns
+                     || this.walkable( p_grid, l_row + j * l_rowstep, l_column + j * l_columnstep )
+                     || !this.walkable( p_grid, l_partnerrow, l_partnercolumn ) )
+                    continue;
+
+                final List<Integer> l_partners = p_entrances.computeIfAbsent( l_row * l_columns + l_column, k -> new ArrayList<>( 2 ) );
+                if ( !l_partners.contains( l_partnerrow * l_columns + l_partnercolumn ) )
+                    l_partners.add( l_partnerrow * l_columns + l_partnercolumn );
+            }
+        }
+    }
+
+    /**
+     * calculates the distances from a cell to other cells of the cluster
+     *
+     * @param p_grid grid
+     * @param p_abstraction abstraction
+     * @param p_cluster cluster index
+     * @param p_targets target cells
+     * @param p_cell cell within the cluster
+     * @return distances to each target cell
+     */
+    @Nonnull
+    private double[] costs( @Nonnull final ObjectMatrix2D p_grid, @Nonnull final CAbstraction p_abstraction, final int p_cluster,
+                            @Nonnull final int[] p_targets, final int p_cell )
+    {
+        final CSearchState l_state = this.explore( p_grid, p_abstraction, p_cluster, p_cell, -1 );
+        final int l_columns = p_grid.columns();
+        final int l_row = p_abstraction.row( p_cluster );
+        final int l_column = p_abstraction.column( p_cluster );
+
+        return Arrays.stream( p_targets )
+                     .mapToDouble( i -> l_state.gscore( ( i / l_columns - l_row ) * m_clustersize + i % l_columns - l_column ) )
+                     .toArray();
+    }
+
+    /**
+     * searches a route within a cluster
+     *
+     * @param p_grid grid
+     * @param p_abstraction abstraction
+     * @param p_cluster cluster index
+     * @param p_start start cell
+     * @param p_end goal cell
+     * @return cells of the route or empty array
+     */
+    @Nonnull
+    private int[] local( @Nonnull final ObjectMatrix2D p_grid, @Nonnull final CAbstraction p_abstraction, final int p_cluster, final int p_start, final int p_end )
+    {
+        final CSearchState l_state = this.explore( p_grid, p_abstraction, p_cluster, p_start, p_end );
+        final int l_columns = p_grid.columns();
+        final int l_row = p_abstraction.row( p_cluster );
+        final int l_column = p_abstraction.column( p_cluster );
+        final int l_end = ( p_end / l_columns - l_row ) * m_clustersize + p_end % l_columns - l_column;
+
+        return l_state.visited( l_end )
+               ? Arrays.stream( l_state.path( l_end ) ).map( i -> ( l_row + i / m_clustersize ) * l_columns + l_column + i % m_clustersize ).toArray()
+               : new int[0];
+    }
+
+    /**
+     * a-star search within the cluster bounds on cluster-local
+     * cell indices, without a goal all reachable cells of
+     * the cluster are explored (dijkstra)
+     *
+     * @param p_grid grid
+     * @param p_abstraction abstraction
+     * @param p_cluster cluster index
+     * @param p_start start cell
+     * @param p_end goal cell or -1
+     * @return search state with cluster-local cell indices
+     */
+    @Nonnull
+    private CSearchState explore( @Nonnull final ObjectMatrix2D p_grid, @Nonnull final CAbstraction p_abstraction, final int p_cluster,
+                                  final int p_start, final int p_end )
+    {
+        final int l_columns = p_grid.columns();
+        final int l_rowmin = p_abstraction.row( p_cluster );
+        final int l_columnmin = p_abstraction.column( p_cluster );
+        final int l_rowmax = Math.min( l_rowmin + m_clustersize, p_grid.rows() );
+        final int l_columnmax = Math.min( l_columnmin + m_clustersize, l_columns );
+        final int l_endrow = p_end < 0 ? 0 : p_end / l_columns;
+        final int l_endcolumn = p_end < 0 ? 0 : p_end % l_columns;
+        final int l_end = p_end < 0 ? -1 : ( l_endrow - l_rowmin ) * m_clustersize + l_endcolumn - l_columnmin;
+
+        final int[] l_neighbour = new int[8];
+        final IDistance l_distance = this.distance( p_grid );
+        final CSearchState l_state = CSearchState.of( m_clustersize * m_clustersize );
+        final CIndexedHeap l_openlist = l_state.open();
+
+        final int l_start = ( p_start / l_columns - l_rowmin ) * m_clustersize + p_start % l_columns - l_columnmin;
+        l_state.update( l_start, 0, -1 );
+        l_openlist.push( l_start, 0, 0 );
+
+        while ( !l_openlist.isEmpty() )
+        {
+            final int l_current = l_openlist.pop();
+            if ( l_current == l_end )
+                break;
+
+            l_state.close( l_current );
+
+            final int l_row = l_rowmin + l_current / m_clustersize;
+            final int l_column = l_columnmin + l_current % m_clustersize;
+            final double l_currentgscore = l_state.gscore( l_current );
+
+            for ( int i = 0, l_count = this.neighbour( p_grid, l_row, l_column, l_neighbour ); i < l_count; i++ )
+            {
+                final int l_nextrow = l_neighbour[i] / l_columns;
+                final int l_nextcolumn = l_neighbour[i] % l_columns;
+                if ( l_nextrow < l_rowmin || l_nextrow >= l_rowmax || l_nextcolumn < l_columnmin || l_nextcolumn >= l_columnmax )
+                    continue;
+
+                final int l_next = ( l_nextrow - l_rowmin ) * m_clustersize + l_nextcolumn - l_columnmin;
+                if ( l_state.closed( l_next ) )
+                    continue;
+
+                final double l_gscore = l_currentgscore + l_distance.apply( l_row, l_column, l_nextrow, l_nextcolumn );
+                if ( l_gscore >= l_state.gscore( l_next ) )
+                    continue;
+
+                final double l_heuristic = p_end < 0 ? 0 : l_distance.heuristic( l_nextrow, l_nextcolumn, l_endrow, l_endcolumn );
+                l_state.update( l_next, l_gscore, l_current );
+                l_openlist.push( l_next, l_gscore + l_heuristic, l_heuristic );
+            }
+        }
+
+        return l_state;
+    }
+
+    /**
+     * checks the cluster size
+     *
+     * @param p_clustersize cluster size
+     * @return cluster size
+     */
+    private static int clustersize( @Nonnull final Number p_clustersize )
+    {
+        if ( p_clustersize.intValue() < 2 )
+            throw new CIllegalArgumentException( CCommon.languagestring( CHierarchicalRouting.class, "clustersize", p_clustersize ) );
+
+        return p_clustersize.intValue();
+    }
+
+
+    /**
+     * cluster with entrance nodes
+     */
+    private static final class CCluster
+    {
+        /**
+         * sorted entrance cells
+         */
+        private final int[] m_nodes;
+        /**
+         * neighbour cluster cells of each entrance
+         */
+        private final int[][] m_partners;
+        /**
+         * distance matrix of the entrances
+         */
+        private final double[] m_costs;
+
+        /**
+         * ctor
+         *
+         * @param p_nodes entrance cells
+         * @param p_partners neighbour cluster cells
+         * @param p_costs distance matrix
+         */
+        CCluster( @Nonnull final int[] p_nodes, @Nonnull final int[][] p_partners, @Nonnull final double[] p_costs )
+        {
+            m_nodes = p_nodes;
+            m_partners = p_partners;
+            m_costs = p_costs;
+        }
+    }
+
+    /**
+     * immutable abstract graph with a
+     * global numbering of the entrance nodes
+     */
+    private static final class CGraph
+    {
+        /**
+         * clusters
+         */
+        private final CCluster[] m_clusters;
+        /**
+         * first node index of each cluster
+         */
+        private final int[] m_offset;
+        /**
+         * cluster index of each node
+         */
+        private final int[] m_owner;
+
+        /**
+         * ctor
+         *
+         * @param p_clusters clusters
+         */
+        CGraph( @Nonnull final CCluster[] p_clusters )
+        {
+            m_clusters = p_clusters;
+            m_offset = new int[p_clusters.length + 1];
+            for ( int i = 0; i < p_clusters.length; i++ )
+                m_offset[i + 1] = m_offset[i] + p_clusters[i].m_nodes.length;
+
+            m_owner = new int[m_offset[p_clusters.length]];
+            for ( int i = 0; i < p_clusters.length; i++ )
+                Arrays.fill( m_owner, m_offset[i], m_offset[i + 1], i );
+        }
+
+        /**
+         * number of nodes
+         *
+         * @return size
+         */
+        int size()
+        {
+            return m_owner.length;
+        }
+
+        /**
+         * returns the cell of a node
+         *
+         * @param p_node node index
+         * @param p_start start cell
+         * @param p_end goal cell
+         * @return cell
+         */
+        int cell( final int p_node, final int p_start, final int p_end )
+        {
+            if ( p_node >= m_owner.length )
+                return p_node == m_owner.length ? p_start : p_end;
+
+            return m_clusters[m_owner[p_node]].m_nodes[p_node - m_offset[m_owner[p_node]]];
+        }
+    }
+
+    /**
+     * grid layer with the cluster abstraction,
+     * changed clusters are rebuilt on the next request
+     */
+    private static final class CAbstraction implements ILayer
+    {
+        /**
+         * cluster size
+         */
+        private final int m_size;
+        /**
+         * influence radius of a cell change
+         */
+        private final int m_influence;
+        /**
+         * number of cluster rows
+         */
+        private final int m_clusterrows;
+        /**
+         * number of cluster columns
+         */
+        private final int m_clustercolumns;
+        /**
+         * changed clusters
+         */
+        private final BitSet m_dirty;
+        /**
+         * modification counter
+         */
+        private final AtomicLong m_modification = new AtomicLong();
+        /**
+         * modification counter of the current graph
+         */
+        private volatile long m_build = -1;
+        /**
+         * current graph
+         */
+        private volatile CGraph m_graph;
+
+        /**
+         * ctor
+         *
+         * @param p_grid grid
+         * @param p_size cluster size
+         * @param p_influence influence radius of a cell change
+         */
+        CAbstraction( @Nonnull final ObjectMatrix2D p_grid, final int p_size, final int p_influence )
+        {
+            m_size = p_size;
+            m_influence = p_influence;
+            m_clusterrows = ( p_grid.rows() + p_size - 1 ) / p_size;
+            m_clustercolumns = ( p_grid.columns() + p_size - 1 ) / p_size;
+            m_dirty = new BitSet( m_clusterrows * m_clustercolumns );
+            m_dirty.set( 0, m_clusterrows * m_clustercolumns );
+        }
+
+        /**
+         * returns the current graph and rebuilds changed clusters
+         *
+         * @param p_builder cluster builder
+         * @return graph
+         */
+        @Nonnull
+        CGraph get( @Nonnull final IntFunction<CCluster> p_builder )
+        {
+            if ( m_build == m_modification.get() )
+                return m_graph;
+
+            synchronized ( this )
+            {
+                final long l_modification;
+                final BitSet l_rebuild = new BitSet( m_dirty.size() );
+                synchronized ( m_dirty )
+                {
+                    l_modification = m_modification.get();
+                    if ( m_build == l_modification )
+                        return m_graph;
+
+                    // entrances of the neighbours depend on the shared borders and corners
+                    m_dirty.stream().forEach( i ->
+                    {
+                        final int l_row = i / m_clustercolumns;
+                        final int l_column = i % m_clustercolumns;
+                        for ( int j = Math.max( 0, l_row - 1 ); j <= Math.min( m_clusterrows - 1, l_row + 1 ); j++ )
+                            for ( int k = Math.max( 0, l_column - 1 ); k <= Math.min( m_clustercolumns - 1, l_column + 1 ); k++ )
+                                l_rebuild.set( j * m_clustercolumns + k );
+                    } );
+                    m_dirty.clear();
+                }
+
+                final CCluster[] l_clusters = Objects.isNull( m_graph )
+                                              ? new CCluster[m_clusterrows * m_clustercolumns]
+                                              : m_graph.m_clusters.clone();
+                l_rebuild.stream().parallel().forEach( i -> l_clusters[i] = p_builder.apply( i ) );
+
+                m_graph = new CGraph( l_clusters );
+                m_build = l_modification;
+                return m_graph;
+            }
+        }
+
+        /**
+         * returns the cluster index of a cell
+         *
+         * @param p_row row
+         * @param p_column column
+         * @return cluster index
+         */
+        int cluster( final int p_row, final int p_column )
+        {
+            return p_row / m_size * m_clustercolumns + p_column / m_size;
+        }
+
+        /**
+         * returns the first row of a cluster
+         *
+         * @param p_cluster cluster index
+         * @return row
+         */
+        int row( final int p_cluster )
+        {
+            return p_cluster / m_clustercolumns * m_size;
+        }
+
+        /**
+         * returns the first column of a cluster
+         *
+         * @param p_cluster cluster index
+         * @return column
+         */
+        int column( final int p_cluster )
+        {
+            return p_cluster % m_clustercolumns * m_size;
+        }
+
+        @Override
+        public void update( @Nonnull final ObjectMatrix2D p_grid, final int p_row, final int p_column, @Nullable final Object p_old, @Nullable final Object p_new )
+        {
+            synchronized ( m_dirty )
+            {
+                for ( int i = Math.max( 0, p_row - m_influence ) / m_size; i <= Math.min( p_grid.rows() - 1, p_row + m_influence ) / m_size; i++ )
+                    for ( int j = Math.max( 0, p_column - m_influence ) / m_size; j <= Math.min( p_grid.columns() - 1, p_column + m_influence ) / m_size; j++ )
+                        m_dirty.set( i * m_clustercolumns + j );
+                m_modification.incrementAndGet();
+            }
+        }
+
+        @Override
+        public void reset( @Nonnull final ObjectMatrix2D p_grid )
+        {
+            synchronized ( m_dirty )
+            {
+                m_dirty.set( 0, m_clusterrows * m_clustercolumns );
+                m_modification.incrementAndGet();
+            }
+        }
+    }
+}
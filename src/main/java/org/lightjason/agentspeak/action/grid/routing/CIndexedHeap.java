@@ -0,0 +1,377 @@
+/*
+ * @cond LICENSE
+ * ######################################################################################
+ * # LGPL License                                                                       #
+ * #                                                                                    #
+ * # This file is part of the LightJason                                                #
+ * # Copyright (c) 2015-19, LightJason (info@lightjason.org)                            #
+ * # This program is free software: you can redistribute it and/or modify               #
+ * # it under the terms of the GNU Lesser General Public License as                     #
+ * # published by the Free Software Foundation, either version 3 of the                 #
+ * # License, or (at your option) any later version.                                    #
+ * #                                                                                    #
+ * # This program is distributed in the hope that it will be useful,                    #
+ * # but WITHOUT ANY WARRANTY; without even the implied warranty of                     #
+ * # MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                      #
+ * # GNU Lesser General Public License for more details.                                #
+ * #                                                                                    #
+ * # You should have received a copy of the GNU Lesser General Public License           #
+ * # along with this program. If not, see http://www.gnu.org/licenses/                  #
+ * ######################################################################################
+ * @endcond
+ */
+
+package org.lightjason.agentspeak.action.grid.routing;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Arrays;
+import java.util.Objects;
+
+
+/**
+ * indexed binary min-heap of cell indices
+ * with lexicographic ordered priority pairs
+ * and decrease-key support, with a sparse index
+ * the data is stored by the slot of the cell, so
+ * the heap grows with the number of pushed cells,
+ * the heap is not thread-safe
+ */
+public final class CIndexedHeap
+{
+    /**
+     * heap array with cell indices
+     */
+    private int[] m_heap;
+    /**
+     * heap position of each cell (-1 if not in heap)
+     */
+    private int[] m_position;
+    /**
+     * primary priority of each cell
+     */
+    private double[] m_primary;
+    /**
+     * secondary priority of each cell
+     */
+    private double[] m_secondary;
+    /**
+     * number of elements
+     */
+    private int m_size;
+    /**
+     * sparse index or null if the data is stored by the cell index
+     */
+    @Nullable
+    private final CSparseIndex m_index;
+
+    /**
+     * ctor
+     *
+     * @param p_capacity number of cells
+     */
+    public CIndexedHeap( @Nonnegative final int p_capacity )
+    {
+        m_heap = new int[Math.max( 16, Math.min( p_capacity, 1024 ) )];
+        m_position = new int[p_capacity];
+        m_primary = new double[p_capacity];
+        m_secondary = new double[p_capacity];
+        m_index = null;
+        Arrays.fill( m_position, -1 );
+    }
+
+    /**
+     * ctor
+     *
+     * @param p_index sparse index of the cells
+     */
+    CIndexedHeap( @Nonnull final CSparseIndex p_index )
+    {
+        m_heap = new int[16];
+        m_position = new int[0];
+        m_primary = new double[0];
+        m_secondary = new double[0];
+        m_index = p_index;
+    }
+
+    /**
+     * number of cells which can be stored
+     *
+     * @return capacity
+     */
+    public int capacity()
+    {
+        return m_position.length;
+    }
+
+    /**
+     * increases the number of cells which can be stored
+     *
+     * @param p_capacity minimal number of cells
+     */
+    public void ensure( @Nonnegative final int p_capacity )
+    {
+        if ( p_capacity <= m_position.length )
+            return;
+
+        final int l_length = m_position.length;
+        final int l_capacity = Math.max( p_capacity, Math.max( 16, l_length + ( l_length >>> 1 ) ) );
+        m_position = Arrays.copyOf( m_position, l_capacity );
+        m_primary = Arrays.copyOf( m_primary, l_capacity );
+        m_secondary = Arrays.copyOf( m_secondary, l_capacity );
+        Arrays.fill( m_position, l_length, l_capacity, -1 );
+    }
+
+    /**
+     * number of elements
+     *
+     * @return size
+     */
+    public int size()
+    {
+        return m_size;
+    }
+
+    /**
+     * checks if the heap is empty
+     *
+     * @return empty flag
+     */
+    public boolean isEmpty()
+    {
+        return m_size == 0;
+    }
+
+    /**
+     * checks if a cell is within the heap
+     *
+     * @param p_cell cell index
+     * @return existing flag
+     */
+    public boolean contains( final int p_cell )
+    {
+        final int l_key = this.key( p_cell );
+        return l_key >= 0 && m_position[l_key] >= 0;
+    }
+
+    /**
+     * removes all elements in O(size)
+     */
+    public void clear()
+    {
+        for ( int i = 0; i < m_size; i++ )
+            m_position[m_heap[i]] = -1;
+        m_size = 0;
+    }
+
+    /**
+     * returns the cell with the lowest priority
+     *
+     * @return cell index
+     */
+    public int peek()
+    {
+        return this.cell( m_heap[0] );
+    }
+
+    /**
+     * returns the primary priority of the top element
+     *
+     * @return primary priority
+     */
+    public double peekprimary()
+    {
+        return m_primary[m_heap[0]];
+    }
+
+    /**
+     * returns the secondary priority of the top element
+     *
+     * @return secondary priority
+     */
+    public double peeksecondary()
+    {
+        return m_secondary[m_heap[0]];
+    }
+
+    /**
+     * returns the primary priority of a cell
+     *
+     * @param p_cell cell index
+     * @return primary priority
+     */
+    public double primary( final int p_cell )
+    {
+        return m_primary[this.key( p_cell )];
+    }
+
+    /**
+     * removes the cell with the lowest priority
+     *
+     * @return cell index
+     */
+    public int pop()
+    {
+        final int l_top = m_heap[0];
+        this.removeat( 0 );
+        return this.cell( l_top );
+    }
+
+    /**
+     * adds a cell or updates the priority
+     * of an existing cell (decrease- and increase-key)
+     *
+     * @param p_cell cell index
+     * @param p_primary primary priority
+     * @param p_secondary secondary priority
+     */
+    public void push( final int p_cell, final double p_primary, final double p_secondary )
+    {
+        final int l_key = Objects.isNull( m_index ) ? p_cell : m_index.slot( p_cell );
+        this.ensure( l_key + 1 );
+        m_primary[l_key] = p_primary;
+        m_secondary[l_key] = p_secondary;
+
+        final int l_position = m_position[l_key];
+        if ( l_position >= 0 )
+        {
+            this.siftdown( this.siftup( l_position ) );
+            return;
+        }
+
+        if ( m_size == m_heap.length )
+            m_heap = Arrays.copyOf( m_heap, Math.min( Math.max( m_heap.length * 2, 16 ), m_position.length ) );
+
+        m_heap[m_size] = l_key;
+        m_position[l_key] = m_size;
+        this.siftup( m_size++ );
+    }
+
+    /**
+     * removes a cell from the heap
+     *
+     * @param p_cell cell index
+     * @return removing flag
+     */
+    public boolean remove( final int p_cell )
+    {
+        final int l_key = this.key( p_cell );
+        final int l_position = l_key < 0 ? -1 : m_position[l_key];
+        if ( l_position < 0 )
+            return false;
+
+        this.removeat( l_position );
+        return true;
+    }
+
+    /**
+     * returns the storage key of a cell
+     *
+     * @param p_cell cell index
+     * @return cell index, slot or -1 if the cell has not got a slot
+     */
+    private int key( final int p_cell )
+    {
+        return Objects.isNull( m_index ) ? p_cell : m_index.find( p_cell );
+    }
+
+    /**
+     * returns the cell of a storage key
+     *
+     * @param p_key cell index or slot
+     * @return cell index
+     */
+    private int cell( final int p_key )
+    {
+        return Objects.isNull( m_index ) ? p_key : (int) m_index.cell( p_key );
+    }
+
+    /**
+     * removes the element on a heap position
+     *
+     * @param p_position heap position
+     */
+    private void removeat( final int p_position )
+    {
+        m_position[m_heap[p_position]] = -1;
+        m_size--;
+        if ( p_position == m_size )
+            return;
+
+        m_heap[p_position] = m_heap[m_size];
+        m_position[m_heap[p_position]] = p_position;
+        this.siftdown( this.siftup( p_position ) );
+    }
+
+    /**
+     * moves an element up
+     *
+     * @param p_position heap position
+     * @return new heap position
+     */
+    private int siftup( final int p_position )
+    {
+        final int l_cell = m_heap[p_position];
+        int l_position = p_position;
+
+        while ( l_position > 0 )
+        {
+            final int l_parent = ( l_position - 1 ) >>> 1;
+            if ( !this.less( l_cell, m_heap[l_parent] ) )
+                break;
+
+            m_heap[l_position] = m_heap[l_parent];
+            m_position[m_heap[l_position]] = l_position;
+            l_position = l_parent;
+        }
+
+        m_heap[l_position] = l_cell;
+        m_position[l_cell] = l_position;
+        return l_position;
+    }
+
+    /**
+     * moves an element down
+     *
+     * @param p_position heap position
+     */
+    private void siftdown( final int p_position )
+    {
+        final int l_cell = m_heap[p_position];
+        int l_position = p_position;
+
+        while ( true )
+        {
+            int l_child = 2 * l_position + 1;
+            if ( l_child >= m_size )
+                break;
+
+            if ( l_child + 1 < m_size && this.less( m_heap[l_child + 1], m_heap[l_child] ) )
+                l_child++;
+
+            if ( !this.less( m_heap[l_child], l_cell ) )
+                break;
+
+            m_heap[l_position] = m_heap[l_child];
+            m_position[m_heap[l_position]] = l_position;
+            l_position = l_child;
+        }
+
+        m_heap[l_position] = l_cell;
+        m_position[l_cell] = l_position;
+    }
+
+    /**
+     * lexicographic priority comparing
+     *
+     * @param p_cell1 first cell
+     * @param p_cell2 second cell
+     * @return first cell is less than second cell
+     */
+    private boolean less( final int p_cell1, final int p_cell2 )
+    {
+        return m_primary[p_cell1] < m_primary[p_cell2]
+               || m_primary[p_cell1] == m_primary[p_cell2] && m_secondary[p_cell1] < m_secondary[p_cell2];
+    }
+}
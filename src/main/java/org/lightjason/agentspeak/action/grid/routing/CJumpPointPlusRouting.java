@@ -0,0 +1,266 @@
+/*
+ * @cond LICENSE
+ * ######################################################################################
+ * # LGPL License                                                                       #
+ * #                                                                                    #
+ * # This file is part of the LightJason                                                #
+ * # Copyright (c) 2015-19, LightJason (info@lightjason.org)                            #
+ * # This program is free software: you can redistribute it and/or modify               #
+ * # it under the terms of the GNU Lesser General Public License as                     #
+ * # published by the Free Software Foundation, either version 3 of the                 #
+ * # License, or (at your option) any later version.                                    #
+ * #                                                                                    #
+ * # This program is distributed in the hope that it will be useful,                    #
+ * # but WITHOUT ANY WARRANTY; without even the implied warranty of                     #
+ * # MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                      #
+ * # GNU Lesser General Public License for more details.                                #
+ * #                                                                                    #
+ * # You should have received a copy of the GNU Lesser General Public License           #
+ * # along with this program. If not, see http://www.gnu.org/licenses/                  #
+ * ######################################################################################
+ * @endcond
+ */
+
+package org.lightjason.agentspeak.action.grid.routing;
+
+import cern.colt.matrix.tdouble.DoubleMatrix1D;
+import cern.colt.matrix.tobject.ObjectMatrix2D;
+import org.lightjason.agentspeak.action.grid.layer.CLayerRegistry;
+import org.lightjason.agentspeak.action.grid.layer.ILayer;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+
+/**
+ * jump point search with precomputed jump distances (JPS+).
+ * For each cell and direction the distance to the next
+ * jump point (positive) or the number of steps to the
+ * next obstacle (negative or zero) is stored as grid layer,
+ * so a jump is a single table lookup, the table is
+ * rebuilt lazily after the grid has been changed
+ *
+ * @see <a href="https://www.gameaipro.com/GameAIPro2/GameAIPro2_Chapter14_JPS_Plus_An_Extreme_A_Star_Speed_Optimization_for_Static_Uniform_Cost_Grids.pdf"></a>
+ */
+public final class CJumpPointPlusRouting extends IBaseJumpPointRouting
+{
+    /**
+     * serial id
+     */
+    private static final long serialVersionUID = -6245209117452998163L;
+
+    /**
+     * ctor
+     */
+    public CJumpPointPlusRouting()
+    {
+        this( EDistance.MANHATTAN, ESearchDirection.NEVER );
+    }
+
+    /**
+     * ctor
+     *
+     * @param p_distance distance
+     */
+    public CJumpPointPlusRouting( @Nonnull final IDistance p_distance )
+    {
+        this( p_distance, ESearchDirection.NEVER );
+    }
+
+    /**
+     * ctor
+     *
+     * @param p_distance distance
+     * @param p_searchdirection search direction
+     */
+    public CJumpPointPlusRouting( @Nonnull final IDistance p_distance, @Nonnull final ISearchDirection p_searchdirection )
+    {
+        super( p_distance, p_searchdirection );
+    }
+
+    /**
+     * ctor
+     *
+     * @param p_distance distance
+     * @param p_searchdirection search direction
+     * @param p_walkable walkable check
+     */
+    public CJumpPointPlusRouting( @Nonnull final IDistance p_distance, @Nonnull final ISearchDirection p_searchdirection,
+                                  @Nonnull final BiFunction<ObjectMatrix2D, DoubleMatrix1D, Boolean> p_walkable )
+    {
+        super( p_distance, p_searchdirection, p_walkable );
+    }
+
+    @Nonnull
+    @Override
+    protected IJump jump( @Nonnull final ObjectMatrix2D p_grid )
+    {
+        final int l_columns = p_grid.columns();
+        final int[] l_table = CLayerRegistry.<CJumpTable>layer( p_grid, this.configuration(), i -> new CJumpTable() ).get( p_grid, this::build );
+
+        return ( r, c, d, er, ec ) ->
+        {
+            final int l_value = l_table[( r * l_columns + c ) * DIRECTIONROW.length + d];
+            final int l_range = Math.abs( l_value );
+            final int l_rowoffset = DIRECTIONROW[d];
+            final int l_columnoffset = DIRECTIONCOLUMN[d];
+            final int l_goalrow = er - r;
+            final int l_goalcolumn = ec - c;
+
+            if ( l_rowoffset != 0 && l_columnoffset != 0 )
+            {
+                // goal is within the direction quadrant, so a target jump point is created on the goal row or column
+                if ( Integer.signum( l_goalrow ) == l_rowoffset && Integer.signum( l_goalcolumn ) == l_columnoffset )
+                {
+                    final int l_steps = Math.min( Math.abs( l_goalrow ), Math.abs( l_goalcolumn ) );
+                    if ( l_steps <= l_range )
+                        return ( r + l_steps * l_rowoffset ) * l_columns + c + l_steps * l_columnoffset;
+                }
+            }
+            else
+            {
+                // goal is on the line
+                if ( l_rowoffset != 0
+                     ? l_goalcolumn == 0 && Integer.signum( l_goalrow ) == l_rowoffset && Math.abs( l_goalrow ) <= l_range
+                     : l_goalrow == 0 && Integer.signum( l_goalcolumn ) == l_columnoffset && Math.abs( l_goalcolumn ) <= l_range )
+                    return er * l_columns + ec;
+
+                // without diagonal movement a horizontal jump creates a target jump point on the goal column
+                if ( m_movement == ESearchDirection.NEVER && l_columnoffset != 0
+                     && Integer.signum( l_goalcolumn ) == l_columnoffset && Math.abs( l_goalcolumn ) <= l_range )
+                    return r * l_columns + ec;
+            }
+
+            return l_value > 0
+                   ? ( r + l_value * l_rowoffset ) * l_columns + c + l_value * l_columnoffset
+                   : -1;
+        };
+    }
+
+    /**
+     * builds the jump table, all entries are computed
+     * by dynamic programming along the direction lines
+     *
+     * @param p_grid grid
+     * @return jump table with 8 entries per cell
+     */
+    @Nonnull
+    private int[] build( @Nonnull final ObjectMatrix2D p_grid )
+    {
+        final int[] l_table = new int[p_grid.rows() * p_grid.columns() * DIRECTIONROW.length];
+
+        // vertical lines first, because horizontal lines without diagonal movement depends on them,
+        // diagonal lines depends on all straight lines
+        for ( final int l_direction : new int[]{0, 2, 1, 3, 4, 5, 6, 7} )
+            this.build( p_grid, l_table, l_direction );
+
+        return l_table;
+    }
+
+    /**
+     * builds the jump table entries of a direction
+     *
+     * @param p_grid grid
+     * @param p_table jump table
+     * @param p_direction direction index
+     */
+    private void build( @Nonnull final ObjectMatrix2D p_grid, @Nonnull final int[] p_table, final int p_direction )
+    {
+        final int l_rows = p_grid.rows();
+        final int l_columns = p_grid.columns();
+        final int l_rowoffset = DIRECTIONROW[p_direction];
+        final int l_columnoffset = DIRECTIONCOLUMN[p_direction];
+        final int l_vertical = direction( l_rowoffset, 0 );
+        final int l_horizontal = l_columnoffset == 0 ? -1 : direction( 0, l_columnoffset );
+        final int l_size = DIRECTIONROW.length;
+
+        // the next cell along the direction must be computed before the current cell
+        for ( int i = 0; i < l_rows; i++ )
+        {
+            final int l_row = l_rowoffset > 0 ? l_rows - 1 - i : i;
+            for ( int j = 0; j < l_columns; j++ )
+            {
+                final int l_column = l_columnoffset > 0 ? l_columns - 1 - j : j;
+                final int l_cell = l_row * l_columns + l_column;
+
+                if ( !this.walkable( p_grid, l_row, l_column ) || !this.step( p_grid, l_row, l_column, l_rowoffset, l_columnoffset ) )
+                {
+                    p_table[l_cell * l_size + p_direction] = 0;
+                    continue;
+                }
+
+                final int l_nextrow = l_row + l_rowoffset;
+                final int l_nextcolumn = l_column + l_columnoffset;
+                final int l_next = ( l_nextrow * l_columns + l_nextcolumn ) * l_size;
+
+                final boolean l_jumppoint = this.forced( p_grid, l_nextrow, l_nextcolumn, l_rowoffset, l_columnoffset )
+                                            || l_rowoffset != 0 && l_columnoffset != 0 && ( p_table[l_next + l_vertical] > 0 || p_table[l_next + l_horizontal] > 0 )
+                                            || l_rowoffset == 0 && m_movement == ESearchDirection.NEVER
+                                               && ( p_table[l_next + direction( 1, 0 )] > 0 || p_table[l_next + direction( -1, 0 )] > 0 );
+
+                final int l_value = p_table[l_next + p_direction];
+                p_table[l_cell * l_size + p_direction] = l_jumppoint ? 1 : l_value > 0 ? l_value + 1 : l_value - 1;
+            }
+        }
+    }
+
+
+    /**
+     * jump table layer
+     */
+    private static final class CJumpTable implements ILayer
+    {
+        /**
+         * modification counter
+         */
+        private final AtomicLong m_modification = new AtomicLong();
+        /**
+         * modification counter of the current table
+         */
+        private volatile long m_build = -1;
+        /**
+         * table
+         */
+        private volatile int[] m_table;
+
+        /**
+         * returns the current table and rebuilds it on changes
+         *
+         * @param p_grid grid
+         * @param p_builder table builder
+         * @return table
+         */
+        @Nonnull
+        int[] get( @Nonnull final ObjectMatrix2D p_grid, @Nonnull final Function<ObjectMatrix2D, int[]> p_builder )
+        {
+            if ( m_build == m_modification.get() )
+                return m_table;
+
+            synchronized ( this )
+            {
+                final long l_modification = m_modification.get();
+                if ( m_build != l_modification )
+                {
+                    m_table = p_builder.apply( p_grid );
+                    m_build = l_modification;
+                }
+                return m_table;
+            }
+        }
+
+        @Override
+        public void update( @Nonnull final ObjectMatrix2D p_grid, final int p_row, final int p_column, @Nullable final Object p_old, @Nullable final Object p_new )
+        {
+            m_modification.incrementAndGet();
+        }
+
+        @Override
+        public void reset( @Nonnull final ObjectMatrix2D p_grid )
+        {
+            m_modification.incrementAndGet();
+        }
+    }
+}
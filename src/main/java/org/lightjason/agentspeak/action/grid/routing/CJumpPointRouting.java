@@ -0,0 +1,157 @@
+/*
+ * @cond LICENSE
+ * ######################################################################################
+ * # LGPL License                                                                       #
+ * #                                                                                    #
+ * # This file is part of the LightJason                                                #
+ * # Copyright (c) 2015-19, LightJason (info@lightjason.org)                            #
+ * # This program is free software: you can redistribute it and/or modify               #
+ * # it under the terms of the GNU Lesser General Public License as                     #
+ * # published by the Free Software Foundation, either version 3 of the                 #
+ * # License, or (at your option) any later version.                                    #
+ * #                                                                                    #
+ * # This program is distributed in the hope that it will be useful,                    #
+ * # but WITHOUT ANY WARRANTY; without even the implied warranty of                     #
+ * # MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                      #
+ * # GNU Lesser General Public License for more details.                                #
+ * #                                                                                    #
+ * # You should have received a copy of the GNU Lesser General Public License           #
+ * # along with this program. If not, see http://www.gnu.org/licenses/                  #
+ * ######################################################################################
+ * @endcond
+ */
+
+package org.lightjason.agentspeak.action.grid.routing;
+
+import cern.colt.matrix.tdouble.DoubleMatrix1D;
+import cern.colt.matrix.tobject.ObjectMatrix2D;
+
+import javax.annotation.Nonnull;
+import java.util.function.BiFunction;
+
+
+/**
+ * jump point search.
+ * The jump scans the grid along straight
+ * and diagonal lines until a cell with a
+ * forced neighbour or the goal is found
+ *
+ * @see <a href="https://harablog.wordpress.com/2011/09/07/jump-point-search/"></a>
+ * @see <a href="https://github.com/qiao/PathFinding.js"></a>
+ */
+public final class CJumpPointRouting extends IBaseJumpPointRouting
+{
+    /**
+     * serial id
+     */
+    private static final long serialVersionUID = 4541718306867281542L;
+
+    /**
+     * ctor
+     */
+    public CJumpPointRouting()
+    {
+        this( EDistance.MANHATTAN, ESearchDirection.NEVER );
+    }
+
+    /**
+     * ctor
+     *
+     * @param p_distance distance
+     */
+    public CJumpPointRouting( @Nonnull final IDistance p_distance )
+    {
+        this( p_distance, ESearchDirection.NEVER );
+    }
+
+    /**
+     * ctor
+     *
+     * @param p_distance distance
+     * @param p_searchdirection search direction
+     */
+    public CJumpPointRouting( @Nonnull final IDistance p_distance, @Nonnull final ISearchDirection p_searchdirection )
+    {
+        super( p_distance, p_searchdirection );
+    }
+
+    /**
+     * ctor
+     *
+     * @param p_distance distance
+     * @param p_searchdirection search direction
+     * @param p_walkable walkable check
+     */
+    public CJumpPointRouting( @Nonnull final IDistance p_distance, @Nonnull final ISearchDirection p_searchdirection,
+                              @Nonnull final BiFunction<ObjectMatrix2D, DoubleMatrix1D, Boolean> p_walkable )
+    {
+        super( p_distance, p_searchdirection, p_walkable );
+    }
+
+    @Nonnull
+    @Override
+    protected IJump jump( @Nonnull final ObjectMatrix2D p_grid )
+    {
+        return ( r, c, d, er, ec ) -> DIRECTIONROW[d] != 0 && DIRECTIONCOLUMN[d] != 0
+                                      ? this.diagonal( p_grid, r + DIRECTIONROW[d], c + DIRECTIONCOLUMN[d], DIRECTIONROW[d], DIRECTIONCOLUMN[d], er, ec )
+                                      : this.straight( p_grid, r + DIRECTIONROW[d], c + DIRECTIONCOLUMN[d], DIRECTIONROW[d], DIRECTIONCOLUMN[d], er, ec );
+    }
+
+    /**
+     * straight jump
+     *
+     * @param p_grid grid
+     * @param p_row first row
+     * @param p_column first column
+     * @param p_rowoffset row direction
+     * @param p_columnoffset column direction
+     * @param p_endrow goal row
+     * @param p_endcolumn goal column
+     * @return jump point cell index or -1
+     */
+    private int straight( @Nonnull final ObjectMatrix2D p_grid, final int p_row, final int p_column, final int p_rowoffset, final int p_columnoffset,
+                          final int p_endrow, final int p_endcolumn )
+    {
+        for ( int l_row = p_row, l_column = p_column; this.walkable( p_grid, l_row, l_column ); l_row += p_rowoffset, l_column += p_columnoffset )
+            if ( l_row == p_endrow && l_column == p_endcolumn
+                 || this.forced( p_grid, l_row, l_column, p_rowoffset, p_columnoffset )
+                 // without diagonal movement a horizontal jump checks the vertical lines
+                 || m_movement == ESearchDirection.NEVER && p_columnoffset != 0
+                    && ( this.straight( p_grid, l_row + 1, l_column, 1, 0, p_endrow, p_endcolumn ) >= 0
+                         || this.straight( p_grid, l_row - 1, l_column, -1, 0, p_endrow, p_endcolumn ) >= 0 ) )
+                return l_row * p_grid.columns() + l_column;
+
+        return -1;
+    }
+
+    /**
+     * diagonal jump
+     *
+     * @param p_grid grid
+     * @param p_row first row
+     * @param p_column first column
+     * @param p_rowoffset row direction
+     * @param p_columnoffset column direction
+     * @param p_endrow goal row
+     * @param p_endcolumn goal column
+     * @return jump point cell index or -1
+     */
+    private int diagonal( @Nonnull final ObjectMatrix2D p_grid, final int p_row, final int p_column, final int p_rowoffset, final int p_columnoffset,
+                          final int p_endrow, final int p_endcolumn )
+    {
+        for ( int l_row = p_row, l_column = p_column; this.walkable( p_grid, l_row, l_column ); l_row += p_rowoffset, l_column += p_columnoffset )
+        {
+            if ( l_row == p_endrow && l_column == p_endcolumn
+                 || this.forced( p_grid, l_row, l_column, p_rowoffset, p_columnoffset )
+                 || this.straight( p_grid, l_row + p_rowoffset, l_column, p_rowoffset, 0, p_endrow, p_endcolumn ) >= 0
+                 || this.straight( p_grid, l_row, l_column + p_columnoffset, 0, p_columnoffset, p_endrow, p_endcolumn ) >= 0 )
+                return l_row * p_grid.columns() + l_column;
+
+            if ( !m_movement.diagonal( this.walkable( p_grid, l_row + p_rowoffset, l_column ), this.walkable( p_grid, l_row, l_column + p_columnoffset ) ) )
+                return -1;
+        }
+
+        return -1;
+    }
+
+}
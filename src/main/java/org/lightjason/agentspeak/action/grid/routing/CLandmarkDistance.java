@@ -0,0 +1,189 @@
+/*
+ * @cond LICENSE
+ * ######################################################################################
+ * # LGPL License                                                                       #
+ * #                                                                                    #
+ * # This file is part of the LightJason                                                #
+ * # Copyright (c) 2015-19, LightJason (info@lightjason.org)                            #
+ * # This program is free software: you can redistribute it and/or modify               #
+ * # it under the terms of the GNU Lesser General Public License as                     #
+ * # published by the Free Software Foundation, either version 3 of the                 #
+ * # License, or (at your option) any later version.                                    #
+ * #                                                                                    #
+ * # This program is distributed in the hope that it will be useful,                    #
+ * # but WITHOUT ANY WARRANTY; without even the implied warranty of                     #
+ * # MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                      #
+ * # GNU Lesser General Public License for more details.                                #
+ * #                                                                                    #
+ * # You should have received a copy of the GNU Lesser General Public License           #
+ * # along with this program. If not, see http://www.gnu.org/licenses/                  #
+ * ######################################################################################
+ * @endcond
+ */
+
+package org.lightjason.agentspeak.action.grid.routing;
+
+import cern.colt.matrix.tdouble.DoubleMatrix1D;
+import cern.colt.matrix.tobject.ObjectMatrix2D;
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import java.io.Serializable;
+import java.util.Objects;
+
+
+/**
+ * landmark (alt) distance of a grid.
+ * The distance is defined by a base distance, the heuristic
+ * is the maximum of the base heuristic and the triangle
+ * inequality bound |d(l, a) - d(l, b)| over all landmarks l,
+ * so the heuristic is admissible as long as the walkable
+ * cells of the routing are a subset of the empty cells,
+ * the distance is bound to a grid, on a search of another
+ * grid the landmarks of this grid are used, if they are
+ * attached, otherwise the base heuristic is used
+ *
+ * @see <a href="https://www.microsoft.com/en-us/research/publication/computing-the-shortest-path-a-search-meets-graph-theory/"></a>
+ */
+public final class CLandmarkDistance implements IDistance, Serializable
+{
+    /**
+     * default number of landmarks
+     */
+    public static final int LANDMARKS = 8;
+    /**
+     * serial id
+     */
+    private static final long serialVersionUID = 4383512796453781146L;
+    /**
+     * grid
+     */
+    private final ObjectMatrix2D m_grid;
+    /**
+     * base distance
+     */
+    private final IDistance m_distance;
+    /**
+     * search direction
+     */
+    private final ISearchDirection m_searchdirection;
+    /**
+     * number of landmarks
+     */
+    private final int m_count;
+    /**
+     * landmark tables
+     */
+    private transient CLandmarks m_landmarks;
+
+    /**
+     * ctor
+     *
+     * @param p_grid grid
+     * @param p_distance base distance
+     * @param p_searchdirection search direction
+     */
+    public CLandmarkDistance( @Nonnull final ObjectMatrix2D p_grid, @Nonnull final IDistance p_distance, @Nonnull final ISearchDirection p_searchdirection )
+    {
+        this( p_grid, p_distance, p_searchdirection, LANDMARKS );
+    }
+
+    /**
+     * ctor
+     *
+     * @param p_grid grid
+     * @param p_distance base distance
+     * @param p_searchdirection search direction
+     * @param p_count number of landmarks
+     */
+    public CLandmarkDistance( @Nonnull final ObjectMatrix2D p_grid, @Nonnull final IDistance p_distance,
+                              @Nonnull final ISearchDirection p_searchdirection, @Nonnegative final int p_count )
+    {
+        m_grid = p_grid;
+        m_distance = p_distance;
+        m_searchdirection = p_searchdirection;
+        m_count = p_count;
+        m_landmarks = CLandmarks.attach( p_grid, p_distance, p_searchdirection, p_count );
+    }
+
+    /**
+     * ctor
+     *
+     * @param p_grid grid
+     * @param p_distance base distance
+     * @param p_searchdirection search direction
+     * @param p_count number of landmarks
+     * @param p_landmarks landmarks of the grid
+     */
+    private CLandmarkDistance( @Nonnull final ObjectMatrix2D p_grid, @Nonnull final IDistance p_distance,
+                               @Nonnull final ISearchDirection p_searchdirection, @Nonnegative final int p_count,
+                               @Nonnull final CLandmarks p_landmarks )
+    {
+        m_grid = p_grid;
+        m_distance = p_distance;
+        m_searchdirection = p_searchdirection;
+        m_count = p_count;
+        m_landmarks = p_landmarks;
+    }
+
+    @Nonnull
+    @Override
+    public IDistance bind( @Nonnull final ObjectMatrix2D p_grid )
+    {
+        if ( p_grid == m_grid )
+            return this;
+
+        final CLandmarks l_landmarks = CLandmarks.of( p_grid, m_distance, m_searchdirection, m_count );
+        return Objects.isNull( l_landmarks )
+               ? m_distance.bind( p_grid )
+               : new CLandmarkDistance( p_grid, m_distance, m_searchdirection, m_count, l_landmarks );
+    }
+
+    @Override
+    public Number apply( @NonNull final DoubleMatrix1D p_value1, @NonNull final DoubleMatrix1D p_value2 )
+    {
+        return m_distance.apply( p_value1, p_value2 );
+    }
+
+    @Override
+    public Number heuristic( @NonNull final DoubleMatrix1D p_value1, @NonNull final DoubleMatrix1D p_value2 )
+    {
+        return this.heuristic( (int) p_value1.getQuick( 0 ), (int) p_value1.getQuick( 1 ), (int) p_value2.getQuick( 0 ), (int) p_value2.getQuick( 1 ) );
+    }
+
+    @Override
+    public double apply( final int p_row1, final int p_column1, final int p_row2, final int p_column2 )
+    {
+        return m_distance.apply( p_row1, p_column1, p_row2, p_column2 );
+    }
+
+    @Override
+    public double heuristic( final int p_row1, final int p_column1, final int p_row2, final int p_column2 )
+    {
+        final double l_heuristic = m_distance.heuristic( p_row1, p_column1, p_row2, p_column2 );
+        final int l_rows = m_grid.rows();
+        final int l_columns = m_grid.columns();
+        if ( !CCell.inside( CCell.of( p_row1, p_column1 ), l_rows, l_columns ) || !CCell.inside( CCell.of( p_row2, p_column2 ), l_rows, l_columns ) )
+            return l_heuristic;
+
+        return Math.max(
+            l_heuristic,
+            CLandmarks.bound( this.landmarks().tables( m_grid ), p_row1 * l_columns + p_column1, p_row2 * l_columns + p_column2 )
+        );
+    }
+
+    /**
+     * returns the landmarks, after deserialization
+     * the landmarks are attached again
+     *
+     * @return landmarks
+     */
+    @Nonnull
+    private CLandmarks landmarks()
+    {
+        if ( Objects.isNull( m_landmarks ) )
+            m_landmarks = CLandmarks.attach( m_grid, m_distance, m_searchdirection, m_count );
+        return m_landmarks;
+    }
+}
@@ -0,0 +1,321 @@
+/*
+ * @cond LICENSE
+ * ######################################################################################
+ * # LGPL License                                                                       #
+ * #                                                                                    #
+ * # This file is part of the LightJason                                                #
+ * # Copyright (c) 2015-19, LightJason (info@lightjason.org)                            #
+ * # This program is free software: you can redistribute it and/or modify               #
+ * # it under the terms of the GNU Lesser General Public License as                     #
+ * # published by the Free Software Foundation, either version 3 of the                 #
+ * # License, or (at your option) any later version.                                    #
+ * #                                                                                    #
+ * # This program is distributed in the hope that it will be useful,                    #
+ * # but WITHOUT ANY WARRANTY; without even the implied warranty of                     #
+ * # MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                      #
+ * # GNU Lesser General Public License for more details.                                #
+ * #                                                                                    #
+ * # You should have received a copy of the GNU Lesser General Public License           #
+ * # along with this program. If not, see http://www.gnu.org/licenses/                  #
+ * ######################################################################################
+ * @endcond
+ */
+
+package org.lightjason.agentspeak.action.grid.routing;
+
+import cern.colt.matrix.tobject.ObjectMatrix2D;
+import org.lightjason.agentspeak.action.grid.layer.CLayerRegistry;
+import org.lightjason.agentspeak.action.grid.layer.ILayer;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.stream.IntStream;
+
+
+/**
+ * landmark distance tables of a grid.
+ * The landmarks are placed evenly on the grid border,
+ * each landmark gets a table with the distances of all
+ * empty cells, which is built with an own dijkstra search,
+ * so all tables are built in parallel, the tables are
+ * rebuilt lazily iif a cell has been emptied, because a
+ * new non-empty cell cannot shorten any distance, so the
+ * old tables remain a lower bound
+ */
+public final class CLandmarks implements ILayer
+{
+    /**
+     * distance
+     */
+    private final IDistance m_distance;
+    /**
+     * search direction
+     */
+    private final ISearchDirection m_searchdirection;
+    /**
+     * number of landmarks
+     */
+    private final int m_count;
+    /**
+     * distance tables, each table contains the
+     * distances of all cells to one landmark
+     */
+    private volatile double[][] m_tables;
+    /**
+     * rebuild flag
+     */
+    private volatile boolean m_dirty = true;
+
+    /**
+     * ctor
+     *
+     * @param p_distance distance
+     * @param p_searchdirection search direction
+     * @param p_count number of landmarks
+     */
+    public CLandmarks( @Nonnull final IDistance p_distance, @Nonnull final ISearchDirection p_searchdirection, @Nonnegative final int p_count )
+    {
+        m_distance = p_distance;
+        m_searchdirection = p_searchdirection;
+        m_count = p_count;
+    }
+
+    /**
+     * attaches the landmarks to a grid, landmarks with
+     * the same configuration are shared
+     *
+     * @param p_grid grid
+     * @param p_distance distance
+     * @param p_searchdirection search direction
+     * @param p_count number of landmarks
+     * @return landmarks
+     */
+    @Nonnull
+    public static CLandmarks attach( @Nonnull final ObjectMatrix2D p_grid, @Nonnull final IDistance p_distance,
+                                     @Nonnull final ISearchDirection p_searchdirection, @Nonnegative final int p_count )
+    {
+        return CLayerRegistry.layer(
+            p_grid,
+            Arrays.asList( CLandmarks.class, p_distance, p_searchdirection, p_count ),
+            i -> new CLandmarks( p_distance, p_searchdirection, p_count )
+        );
+    }
+
+    /**
+     * returns the landmarks of a grid, if they exist
+     *
+     * @param p_grid grid
+     * @param p_distance distance
+     * @param p_searchdirection search direction
+     * @param p_count number of landmarks
+     * @return landmarks or null
+     */
+    @Nullable
+    public static CLandmarks of( @Nonnull final ObjectMatrix2D p_grid, @Nonnull final IDistance p_distance,
+                                 @Nonnull final ISearchDirection p_searchdirection, @Nonnegative final int p_count )
+    {
+        return CLayerRegistry.<CLandmarks>find( p_grid, Arrays.asList( CLandmarks.class, p_distance, p_searchdirection, p_count ) ).orElse( null );
+    }
+
+    /**
+     * returns the current distance tables and rebuilds
+     * the tables, if cells have been emptied
+     *
+     * @param p_grid grid
+     * @return distance tables
+     */
+    @Nonnull
+    public double[][] tables( @Nonnull final ObjectMatrix2D p_grid )
+    {
+        if ( !m_dirty )
+            return m_tables;
+
+        synchronized ( this )
+        {
+            if ( m_dirty )
+            {
+                // the flag is reset before the build, so changes during the build cause a further build
+                m_dirty = false;
+                m_tables = this.build( p_grid );
+            }
+            return m_tables;
+        }
+    }
+
+    /**
+     * returns the landmark lower bound of the distance of two cells
+     *
+     * @param p_tables distance tables
+     * @param p_cell1 first cell index
+     * @param p_cell2 second cell index
+     * @return lower bound
+     */
+    public static double bound( @Nonnull final double[][] p_tables, final int p_cell1, final int p_cell2 )
+    {
+        double l_bound = 0;
+        for ( final double[] l_table : p_tables )
+        {
+            final double l_first = l_table[p_cell1];
+            final double l_second = l_table[p_cell2];
+
+            // a landmark, which cannot be reached from one of the cells (e.g. a non-empty start cell), gives no bound
+            if ( Double.isInfinite( l_first ) || Double.isInfinite( l_second ) )
+                continue;
+
+            l_bound = Math.max( l_bound, Math.abs( l_first - l_second ) );
+        }
+
+        return l_bound;
+    }
+
+    @Override
+    public void update( @Nonnull final ObjectMatrix2D p_grid, final int p_row, final int p_column,
+                        @Nullable final Object p_old, @Nullable final Object p_new )
+    {
+        if ( Objects.nonNull( p_old ) && Objects.isNull( p_new ) )
+            m_dirty = true;
+    }
+
+    @Override
+    public void reset( @Nonnull final ObjectMatrix2D p_grid )
+    {
+        m_dirty = true;
+    }
+
+    /**
+     * builds the tables of all landmarks in parallel
+     *
+     * @param p_grid grid
+     * @return distance tables
+     */
+    @Nonnull
+    private double[][] build( @Nonnull final ObjectMatrix2D p_grid )
+    {
+        return Arrays.stream( this.landmarks( p_grid ) )
+                     .parallel()
+                     .mapToObj( i -> this.dijkstra( p_grid, i ) )
+                     .toArray( double[][]::new );
+    }
+
+    /**
+     * places the landmarks evenly on the grid border, each landmark
+     * is moved to the first empty cell in direction of the grid center
+     *
+     * @param p_grid grid
+     * @return distinct cell indices of the landmarks
+     */
+    @Nonnull
+    private int[] landmarks( @Nonnull final ObjectMatrix2D p_grid )
+    {
+        final int l_rows = p_grid.rows();
+        final int l_columns = p_grid.columns();
+        final int l_perimeter = Math.max( 1, 2 * ( l_rows + l_columns ) - 4 );
+
+        return IntStream.range( 0, m_count )
+                        .map( i -> this.border( l_rows, l_columns, (int) ( (long) i * l_perimeter / m_count ) ) )
+                        .map( i -> inward( p_grid, i / l_columns, i % l_columns ) )
+                        .filter( i -> i >= 0 )
+                        .distinct()
+                        .toArray();
+    }
+
+    /**
+     * returns a border cell by its position on the perimeter,
+     * the perimeter runs clockwise from the top-left corner
+     *
+     * @param p_rows number of rows
+     * @param p_columns number of columns
+     * @param p_position position on the perimeter
+     * @return cell index
+     */
+    private int border( final int p_rows, final int p_columns, final int p_position )
+    {
+        int l_position = p_position;
+        if ( l_position < p_columns )
+            return l_position;
+
+        l_position -= p_columns - 1;
+        if ( l_position < p_rows )
+            return l_position * p_columns + p_columns - 1;
+
+        l_position -= p_rows - 1;
+        if ( l_position < p_columns )
+            return ( p_rows - 1 ) * p_columns + p_columns - 1 - l_position;
+
+        l_position -= p_columns - 1;
+        return Math.max( 0, p_rows - 1 - l_position ) * p_columns;
+    }
+
+    /**
+     * moves from a cell in direction of the grid
+     * center until an empty cell is found
+     *
+     * @param p_grid grid
+     * @param p_row row
+     * @param p_column column
+     * @return cell index or -1
+     */
+    private static int inward( @Nonnull final ObjectMatrix2D p_grid, final int p_row, final int p_column )
+    {
+        final int l_steps = Math.max( Math.abs( p_grid.rows() / 2 - p_row ), Math.abs( p_grid.columns() / 2 - p_column ) );
+        for ( int i = 0; i <= l_steps; i++ )
+        {
+            final int l_row = l_steps == 0 ? p_row : p_row + ( p_grid.rows() / 2 - p_row ) * i / l_steps;
+            final int l_column = l_steps == 0 ? p_column : p_column + ( p_grid.columns() / 2 - p_column ) * i / l_steps;
+            if ( Objects.isNull( p_grid.getQuick( l_row, l_column ) ) )
+                return l_row * p_grid.columns() + l_column;
+        }
+
+        return -1;
+    }
+
+    /**
+     * dijkstra search from a landmark over the empty cells,
+     * the search uses own data structures, so it does not
+     * touch the thread-local search state of a running routing
+     *
+     * @param p_grid grid
+     * @param p_landmark landmark cell index
+     * @return distance of each cell, infinity if a cell is not reachable
+     */
+    @Nonnull
+    private double[] dijkstra( @Nonnull final ObjectMatrix2D p_grid, final int p_landmark )
+    {
+        final int l_rows = p_grid.rows();
+        final int l_columns = p_grid.columns();
+        final double[] l_distance = new double[l_rows * l_columns];
+        final CIndexedHeap l_openlist = new CIndexedHeap( l_distance.length );
+        final long[] l_neighbour = new long[8];
+
+        Arrays.fill( l_distance, Double.POSITIVE_INFINITY );
+        l_distance[p_landmark] = 0;
+        l_openlist.push( p_landmark, 0, 0 );
+
+        while ( !l_openlist.isEmpty() )
+        {
+            final int l_current = l_openlist.pop();
+            final int l_row = l_current / l_columns;
+            final int l_column = l_current % l_columns;
+
+            for ( int i = 0, l_count = m_searchdirection.apply( CCell.of( l_row, l_column ), l_rows, l_columns,
+                                                                j -> Objects.isNull( p_grid.getQuick( CCell.row( j ), CCell.column( j ) ) ),
+                                                                l_neighbour ); i < l_count; i++ )
+            {
+                final int l_nextrow = CCell.row( l_neighbour[i] );
+                final int l_nextcolumn = CCell.column( l_neighbour[i] );
+                final int l_next = l_nextrow * l_columns + l_nextcolumn;
+                final double l_nextdistance = l_distance[l_current] + m_distance.apply( l_row, l_column, l_nextrow, l_nextcolumn );
+                if ( l_nextdistance >= l_distance[l_next] )
+                    continue;
+
+                l_distance[l_next] = l_nextdistance;
+                l_openlist.push( l_next, l_nextdistance, 0 );
+            }
+        }
+
+        return l_distance;
+    }
+}
@@ -30,7 +30,6 @@ import edu.umd.cs.findbugs.annotations.NonNull;
 import javax.annotation.Nonnull;
 import java.io.Serializable;
 import java.text.MessageFormat;
-import java.util.Arrays;
 import java.util.Objects;
 import java.util.concurrent.atomic.AtomicReference;
 
@@ -61,6 +60,10 @@ public final class CNode implements INode, Serializable
      * position
      */
     private final DoubleMatrix1D m_position;
+    /**
+     * packed cell
+     */
+    private final long m_cell;
     /**
      * parent node
      */
@@ -74,6 +77,7 @@ public final class CNode implements INode, Serializable
     public CNode( @Nonnull final DoubleMatrix1D p_position )
     {
         m_position = p_position;
+        m_cell = CCell.of( p_position );
     }
 
 
@@ -83,6 +87,12 @@ public final class CNode implements INode, Serializable
         return m_position;
     }
 
+    @Override
+    public long cell()
+    {
+        return m_cell;
+    }
+
     @Override
     public INode get()
     {
@@ -98,13 +108,13 @@ public final class CNode implements INode, Serializable
     @Override
     public int hashCode()
     {
-        return Arrays.hashCode( m_position.toArray() );
+        return Long.hashCode( m_cell );
     }
 
     @Override
     public boolean equals( final Object p_object )
     {
-        return p_object instanceof INode && p_object.hashCode() == this.hashCode();
+        return p_object instanceof INode && ( (INode) p_object ).cell() == m_cell;
     }
 
     @Override
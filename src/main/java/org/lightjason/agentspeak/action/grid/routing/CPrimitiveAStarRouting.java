@@ -0,0 +1,184 @@
+/*
+ * @cond LICENSE
+ * ######################################################################################
+ * # LGPL License                                                                       #
+ * #                                                                                    #
+ * # This file is part of the LightJason                                                #
+ * # Copyright (c) 2015-19, LightJason (info@lightjason.org)                            #
+ * # This program is free software: you can redistribute it and/or modify               #
+ * # it under the terms of the GNU Lesser General Public License as                     #
+ * # published by the Free Software Foundation, either version 3 of the                 #
+ * # License, or (at your option) any later version.                                    #
+ * #                                                                                    #
+ * # This program is distributed in the hope that it will be useful,                    #
+ * # but WITHOUT ANY WARRANTY; without even the implied warranty of                     #
+ * # MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                      #
+ * # GNU Lesser General Public License for more details.                                #
+ * #                                                                                    #
+ * # You should have received a copy of the GNU Lesser General Public License           #
+ * # along with this program. If not, see http://www.gnu.org/licenses/                  #
+ * ######################################################################################
+ * @endcond
+ */
+
+package org.lightjason.agentspeak.action.grid.routing;
+
+import cern.colt.matrix.tdouble.DoubleMatrix1D;
+import cern.colt.matrix.tobject.ObjectMatrix2D;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import org.lightjason.agentspeak.common.CCommon;
+import org.lightjason.agentspeak.error.CIllegalArgumentException;
+
+import javax.annotation.Nonnull;
+import java.util.function.BiFunction;
+import java.util.stream.Stream;
+
+
+/**
+ * a-star algorithm on primitive data structures.
+ * The search uses cell indices (row * columns + column)
+ * instead of node objects, a generation-stamped g-score
+ * and parent array, a closed bitset and an indexed
+ * binary heap with decrease-key as open list, the
+ * search state is reused per thread
+ *
+ * @see <a href="https://en.wikipedia.org/wiki/A*_search_algorithm"></a>
+ */
+public final class CPrimitiveAStarRouting extends IBaseRouting
+{
+    /**
+     * serial id
+     */
+    private static final long serialVersionUID = -2307547427806932147L;
+    /**
+     * approximation weight
+     */
+    private final double m_weight;
+
+    /**
+     * ctor
+     */
+    public CPrimitiveAStarRouting()
+    {
+        this( EDistance.MANHATTAN, ESearchDirection.NEVER, CAStarRouting.APROXIMATIONWEIGHT );
+    }
+
+    /**
+     * ctor
+     *
+     * @param p_distance distance
+     */
+    public CPrimitiveAStarRouting( @Nonnull final IDistance p_distance )
+    {
+        this( p_distance, ESearchDirection.NEVER, CAStarRouting.APROXIMATIONWEIGHT );
+    }
+
+    /**
+     * ctor
+     *
+     * @param p_distance distance
+     * @param p_searchdirection search direction
+     */
+    public CPrimitiveAStarRouting( @Nonnull final IDistance p_distance, @Nonnull final ISearchDirection p_searchdirection )
+    {
+        this( p_distance, p_searchdirection, CAStarRouting.APROXIMATIONWEIGHT );
+    }
+
+    /**
+     * ctor
+     *
+     * @param p_distance distance
+     * @param p_searchdirection search direction
+     * @param p_weight approximation weight
+     */
+    public CPrimitiveAStarRouting( @Nonnull final IDistance p_distance, @Nonnull final ISearchDirection p_searchdirection, @Nonnull final Number p_weight )
+    {
+        super( p_distance, p_searchdirection );
+        m_weight = p_weight.doubleValue();
+
+        if ( p_distance == EDistance.MANHATTAN && p_searchdirection != ESearchDirection.NEVER )
+            throw new CIllegalArgumentException( CCommon.languagestring( this, "manhattendigitalmovement" ) );
+    }
+
+    /**
+     * ctor
+     *
+     * @param p_distance distance
+     * @param p_searchdirection search direction
+     * @param p_walkable walkable check
+     * @param p_weight approximation weight
+     */
+    public CPrimitiveAStarRouting( @Nonnull final IDistance p_distance, @Nonnull final ISearchDirection p_searchdirection,
+                                   @NonNull final BiFunction<ObjectMatrix2D, DoubleMatrix1D, Boolean> p_walkable,
+                                   @Nonnull final Number p_weight )
+    {
+        super( p_distance, p_searchdirection, p_walkable );
+        m_weight = p_weight.doubleValue();
+    }
+
+    @Override
+    public Stream<DoubleMatrix1D> apply( @Nonnull final ObjectMatrix2D p_grid, @Nonnull final DoubleMatrix1D p_start, @Nonnull final DoubleMatrix1D p_end )
+    {
+        return this.path( p_grid, p_start, p_end );
+    }
+
+    @Nonnull
+    @Override
+    protected int[] route( @Nonnull final ObjectMatrix2D p_grid, final long p_start, final long p_end )
+    {
+        final int l_rows = p_grid.rows();
+        final int l_columns = p_grid.columns();
+        final int l_startrow = CCell.row( p_start );
+        final int l_startcolumn = CCell.column( p_start );
+        final int l_endrow = CCell.row( p_end );
+        final int l_endcolumn = CCell.column( p_end );
+
+        if ( !CCell.inside( p_start, l_rows, l_columns ) || !CCell.inside( p_end, l_rows, l_columns ) )
+            return new int[0];
+
+        final int l_end = l_endrow * l_columns + l_endcolumn;
+        final int[] l_neighbour = new int[8];
+        final IWalkable l_walkable = this.resolve( p_grid );
+        final IDistance l_distance = this.distance( p_grid );
+        final CSearchState l_state = CSearchState.of( l_rows * l_columns );
+        final CIndexedHeap l_openlist = l_state.open();
+
+        final int l_start = l_startrow * l_columns + l_startcolumn;
+        l_state.update( l_start, 0, -1 );
+        l_openlist.push( l_start, m_weight * l_distance.heuristic( l_startrow, l_startcolumn, l_endrow, l_endcolumn ), 0 );
+
+        while ( !l_openlist.isEmpty() )
+        {
+            final int l_current = l_openlist.pop();
+            if ( l_current == l_end )
+                return l_state.path( l_current );
+
+            l_state.close( l_current );
+
+            final int l_row = l_current / l_columns;
+            final int l_column = l_current % l_columns;
+            final double l_currentgscore = l_state.gscore( l_current );
+
+            for ( int i = 0, l_count = this.neighbour( p_grid, l_walkable, l_row, l_column, l_neighbour ); i < l_count; i++ )
+            {
+                final int l_next = l_neighbour[i];
+                if ( l_state.closed( l_next ) )
+                    continue;
+
+                final int l_nextrow = l_next / l_columns;
+                final int l_nextcolumn = l_next % l_columns;
+                final double l_gscore = l_currentgscore + l_distance.apply( l_row, l_column, l_nextrow, l_nextcolumn );
+                if ( l_gscore >= l_state.gscore( l_next ) )
+                    continue;
+
+                // ties are broken by the lower heuristic value, so nodes near the goal are expanded first
+                final double l_heuristic = m_weight * l_distance.heuristic( l_nextrow, l_nextcolumn, l_endrow, l_endcolumn );
+                l_state.update( l_next, l_gscore, l_current );
+                l_openlist.push( l_next, l_gscore + l_heuristic, l_heuristic );
+            }
+        }
+
+        return new int[0];
+    }
+
+}
@@ -0,0 +1,253 @@
+/*
+ * @cond LICENSE
+ * ######################################################################################
+ * # LGPL License                                                                       #
+ * #                                                                                    #
+ * # This file is part of the LightJason                                                #
+ * # Copyright (c) 2015-19, LightJason (info@lightjason.org)                            #
+ * # This program is free software: you can redistribute it and/or modify               #
+ * # it under the terms of the GNU Lesser General Public License as                     #
+ * # published by the Free Software Foundation, either version 3 of the                 #
+ * # License, or (at your option) any later version.                                    #
+ * #                                                                                    #
+ * # This program is distributed in the hope that it will be useful,                    #
+ * # but WITHOUT ANY WARRANTY; without even the implied warranty of                     #
+ * # MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                      #
+ * # GNU Lesser General Public License for more details.                                #
+ * #                                                                                    #
+ * # You should have received a copy of the GNU Lesser General Public License           #
+ * # along with this program. If not, see http://www.gnu.org/licenses/                  #
+ * ######################################################################################
+ * @endcond
+ */
+
+package org.lightjason.agentspeak.action.grid.routing;
+
+import cern.colt.matrix.tobject.ObjectMatrix2D;
+import org.lightjason.agentspeak.action.grid.layer.CLayerRegistry;
+import org.lightjason.agentspeak.action.grid.layer.ILayer;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.WeakHashMap;
+
+
+/**
+ * space-time reservation table of a grid.
+ * Each cell gets a ring buffer of slots for the next ticks,
+ * a slot stores the tick and the agent identifier as one long
+ * value, so slots of past ticks are invalid without any
+ * clearing, ring buffers are allocated on the first reservation
+ * of a cell, all modifications must be done while holding the
+ * monitor of the table
+ */
+public final class CReservationTable implements ILayer
+{
+    /**
+     * identifier of a free slot
+     */
+    public static final int FREE = -1;
+    /**
+     * ring buffer mask
+     */
+    private final int m_mask;
+    /**
+     * ring buffers of the cells
+     */
+    private final long[][] m_slots;
+    /**
+     * agent identifiers
+     */
+    private final Map<Object, Integer> m_agents = new WeakHashMap<>();
+    /**
+     * reserved cells of each agent, the first element is the start tick
+     */
+    private final Map<Integer, int[]> m_reservations = new HashMap<>();
+    /**
+     * current tick
+     */
+    private volatile int m_tick;
+    /**
+     * next agent identifier
+     */
+    private int m_identifier;
+
+    /**
+     * ctor
+     *
+     * @param p_grid grid
+     * @param p_window number of ticks which can be reserved ahead
+     */
+    public CReservationTable( @Nonnull final ObjectMatrix2D p_grid, @Nonnegative final int p_window )
+    {
+        m_mask = Integer.highestOneBit( Math.max( 1, p_window ) ) * 2 - 1;
+        m_slots = new long[p_grid.rows() * p_grid.columns()][];
+    }
+
+    /**
+     * returns the table of a grid, if it exists
+     *
+     * @param p_grid grid
+     * @return table or null
+     */
+    @Nullable
+    public static CReservationTable of( @Nonnull final ObjectMatrix2D p_grid )
+    {
+        return CLayerRegistry.<CReservationTable>find( p_grid, CReservationTable.class ).orElse( null );
+    }
+
+    /**
+     * attaches a table to a grid, an existing
+     * table keeps its window
+     *
+     * @param p_grid grid
+     * @param p_window number of ticks which can be reserved ahead
+     * @return table
+     */
+    @Nonnull
+    public static CReservationTable attach( @Nonnull final ObjectMatrix2D p_grid, @Nonnegative final int p_window )
+    {
+        return CLayerRegistry.layer( p_grid, CReservationTable.class, i -> new CReservationTable( i, p_window ) );
+    }
+
+    /**
+     * current tick
+     *
+     * @return tick
+     */
+    public int tick()
+    {
+        return m_tick;
+    }
+
+    /**
+     * number of ticks after the current
+     * tick, which can be reserved
+     *
+     * @return window
+     */
+    public int window()
+    {
+        return m_mask;
+    }
+
+    /**
+     * advances the current tick, the slots of the past tick
+     * become invalid and expired reservations are removed
+     *
+     * @return new tick
+     */
+    public synchronized int advance()
+    {
+        final int l_tick = ++m_tick;
+        m_reservations.values().removeIf( i -> i[0] + i.length - 1 <= l_tick );
+        return l_tick;
+    }
+
+    /**
+     * returns the identifier of an agent
+     *
+     * @param p_agent agent
+     * @return identifier
+     */
+    public synchronized int identifier( @Nonnull final Object p_agent )
+    {
+        return m_agents.computeIfAbsent( p_agent, i -> m_identifier++ );
+    }
+
+    /**
+     * returns the agent, which has reserved a cell
+     *
+     * @param p_cell cell index
+     * @param p_tick tick
+     * @return agent identifier or FREE
+     */
+    public int owner( final int p_cell, final int p_tick )
+    {
+        final long[] l_slots = m_slots[p_cell];
+        if ( Objects.isNull( l_slots ) || p_tick < m_tick || p_tick - m_tick > m_mask )
+            return FREE;
+
+        final long l_slot = l_slots[p_tick & m_mask];
+        return (int) ( l_slot >>> 32 ) == p_tick + 1 ? (int) l_slot : FREE;
+    }
+
+    /**
+     * checks if a cell is not reserved by another agent
+     *
+     * @param p_cell cell index
+     * @param p_tick tick
+     * @param p_agent agent identifier
+     * @return free flag
+     */
+    public boolean free( final int p_cell, final int p_tick, final int p_agent )
+    {
+        final int l_owner = this.owner( p_cell, p_tick );
+        return l_owner == FREE || l_owner == p_agent;
+    }
+
+    /**
+     * reserves the cells of an agent for consecutive ticks
+     * starting at the current tick, the previous reservation
+     * of the agent is released, cells after the window are
+     * not reserved
+     *
+     * @param p_agent agent identifier
+     * @param p_cells cell indices
+     */
+    public synchronized void reserve( final int p_agent, @Nonnull final int[] p_cells )
+    {
+        this.release( p_agent );
+
+        final int l_length = Math.min( p_cells.length, m_mask + 1 );
+        final int[] l_reservation = new int[l_length + 1];
+        l_reservation[0] = m_tick;
+        for ( int i = 0; i < l_length; i++ )
+        {
+            final int l_tick = m_tick + i;
+            if ( Objects.isNull( m_slots[p_cells[i]] ) )
+                m_slots[p_cells[i]] = new long[m_mask + 1];
+
+            m_slots[p_cells[i]][l_tick & m_mask] = (long) ( l_tick + 1 ) << 32 | p_agent & 0xffffffffL;
+            l_reservation[i + 1] = p_cells[i];
+        }
+
+        m_reservations.put( p_agent, l_reservation );
+    }
+
+    /**
+     * releases the reservation of an agent
+     *
+     * @param p_agent agent identifier
+     */
+    public synchronized void release( final int p_agent )
+    {
+        final int[] l_reservation = m_reservations.remove( p_agent );
+        if ( Objects.isNull( l_reservation ) )
+            return;
+
+        for ( int i = 1; i < l_reservation.length; i++ )
+        {
+            final int l_tick = l_reservation[0] + i - 1;
+            if ( this.owner( l_reservation[i], l_tick ) == p_agent )
+                m_slots[l_reservation[i]][l_tick & m_mask] = 0;
+        }
+    }
+
+    @Override
+    public void update( @Nonnull final ObjectMatrix2D p_grid, final int p_row, final int p_column,
+                        @Nullable final Object p_old, @Nullable final Object p_new )
+    {
+        // reservations are independent of the cell values
+    }
+
+    @Override
+    public void reset( @Nonnull final ObjectMatrix2D p_grid )
+    {
+        // reservations are independent of the cell values
+    }
+}
@@ -0,0 +1,364 @@
+/*
+ * @cond LICENSE
+ * ######################################################################################
+ * # LGPL License                                                                       #
+ * #                                                                                    #
+ * # This file is part of the LightJason                                                #
+ * # Copyright (c) 2015-19, LightJason (info@lightjason.org)                            #
+ * # This program is free software: you can redistribute it and/or modify               #
+ * # it under the terms of the GNU Lesser General Public License as                     #
+ * # published by the Free Software Foundation, either version 3 of the                 #
+ * # License, or (at your option) any later version.                                    #
+ * #                                                                                    #
+ * # This program is distributed in the hope that it will be useful,                    #
+ * # but WITHOUT ANY WARRANTY; without even the implied warranty of                     #
+ * # MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                      #
+ * # GNU Lesser General Public License for more details.                                #
+ * #                                                                                    #
+ * # You should have received a copy of the GNU Lesser General Public License           #
+ * # along with this program. If not, see http://www.gnu.org/licenses/                  #
+ * ######################################################################################
+ * @endcond
+ */
+
+package org.lightjason.agentspeak.action.grid.routing;
+
+import cern.colt.matrix.tdouble.DoubleMatrix1D;
+import cern.colt.matrix.tdouble.impl.DenseDoubleMatrix1D;
+import cern.colt.matrix.tobject.ObjectMatrix2D;
+import org.lightjason.agentspeak.action.grid.layer.CLayerRegistry;
+import org.lightjason.agentspeak.action.grid.layer.ILayer;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+
+/**
+ * least-recently used route cache.
+ * The cache wraps a routing and stores the found routes
+ * per grid (identity) as grid layer, so a route is keyed by
+ * grid, grid version, start, goal and the wrapped routing,
+ * caches with equal wrapped routing and capacity share the
+ * layer, so evictions and invalidations are counted by the
+ * cache which has created the layer of a grid, a cell change
+ * removes all routes which contain the cell or cut the corner
+ * of the cell on a diagonal step, the other routes stay valid,
+ * but they can be longer as a new route if a cell becomes
+ * walkable, grid changes must be done with the layer registry
+ */
+public final class CRouteCache implements IRouting
+{
+    /**
+     * default number of routes per grid
+     */
+    public static final int CAPACITY = 1024;
+    /**
+     * wrapped routing
+     */
+    private final IRouting m_routing;
+    /**
+     * number of routes per grid
+     */
+    private final int m_capacity;
+    /**
+     * hit counter
+     */
+    private final AtomicLong m_hits = new AtomicLong();
+    /**
+     * miss counter
+     */
+    private final AtomicLong m_misses = new AtomicLong();
+    /**
+     * eviction counter
+     */
+    private final AtomicLong m_evictions = new AtomicLong();
+    /**
+     * invalidation counter
+     */
+    private final AtomicLong m_invalidations = new AtomicLong();
+
+    /**
+     * ctor
+     *
+     * @param p_routing routing
+     */
+    public CRouteCache( @Nonnull final IRouting p_routing )
+    {
+        this( p_routing, CAPACITY );
+    }
+
+    /**
+     * ctor
+     *
+     * @param p_routing routing
+     * @param p_capacity number of routes per grid
+     */
+    public CRouteCache( @Nonnull final IRouting p_routing, @Nonnegative final int p_capacity )
+    {
+        m_routing = p_routing;
+        m_capacity = p_capacity;
+    }
+
+    @Override
+    public boolean reachable( @Nonnull final ObjectMatrix2D p_grid, @Nonnull final DoubleMatrix1D p_start, @Nonnull final DoubleMatrix1D p_end )
+    {
+        return m_routing.reachable( p_grid, p_start, p_end );
+    }
+
+    @Override
+    public Stream<DoubleMatrix1D> apply( @Nonnull final ObjectMatrix2D p_grid, @Nonnull final DoubleMatrix1D p_start, @Nonnull final DoubleMatrix1D p_end )
+    {
+        // cell indices cannot address the cells of a large grid, so the routes are not cached
+        if ( IBaseRouting.large( p_grid ) )
+            return m_routing.apply( p_grid, p_start, p_end );
+
+        final int l_columns = p_grid.columns();
+        final long l_key = ( (long) ( (int) p_start.getQuick( 0 ) * l_columns + (int) p_start.getQuick( 1 ) ) << 32 )
+                           | ( ( (int) p_end.getQuick( 0 ) * l_columns + (int) p_end.getQuick( 1 ) ) & 0xffffffffL );
+
+        final long l_version = CLayerRegistry.version( p_grid );
+        final CRoutes l_routes = CLayerRegistry.layer( p_grid, Arrays.asList( CRouteCache.class, m_routing, m_capacity ), i -> new CRoutes() );
+
+        final int[] l_cached = l_routes.get( l_key, l_version );
+        if ( Objects.nonNull( l_cached ) )
+        {
+            m_hits.incrementAndGet();
+            return Arrays.stream( l_cached ).mapToObj( i -> new DenseDoubleMatrix1D( new double[]{i / l_columns, i % l_columns} ) );
+        }
+
+        m_misses.incrementAndGet();
+        final DoubleMatrix1D[] l_route = m_routing.apply( p_grid, p_start, p_end ).toArray( DoubleMatrix1D[]::new );
+
+        // empty results are not stored, because they cannot be invalidated by a cell of the route
+        if ( l_route.length > 0 )
+            l_routes.put(
+                l_key,
+                l_version,
+                Arrays.stream( l_route ).mapToInt( i -> (int) i.getQuick( 0 ) * l_columns + (int) i.getQuick( 1 ) ).toArray(),
+                l_columns
+            );
+
+        return Arrays.stream( l_route );
+    }
+
+    /**
+     * returns the number of cache hits
+     *
+     * @return hits
+     */
+    public long hits()
+    {
+        return m_hits.get();
+    }
+
+    /**
+     * returns the number of cache misses
+     *
+     * @return misses
+     */
+    public long misses()
+    {
+        return m_misses.get();
+    }
+
+    /**
+     * returns the hit rate
+     *
+     * @return hit rate in [0,1]
+     */
+    public double hitrate()
+    {
+        final long l_hits = m_hits.get();
+        final long l_total = l_hits + m_misses.get();
+        return l_total == 0 ? 0 : (double) l_hits / l_total;
+    }
+
+    /**
+     * returns the number of routes which are removed by the size limit
+     *
+     * @return evictions
+     */
+    public long evictions()
+    {
+        return m_evictions.get();
+    }
+
+    /**
+     * returns the number of routes which are removed by grid changes
+     *
+     * @return invalidations
+     */
+    public long invalidations()
+    {
+        return m_invalidations.get();
+    }
+
+
+    /**
+     * grid layer with the cached routes
+     */
+    private final class CRoutes implements ILayer
+    {
+        /**
+         * routes by start and goal cell, each route is
+         * stored as cell indices and sorted cell indices
+         * of the route and the corners of diagonal steps
+         */
+        private final Map<Long, int[][]> m_routes;
+        /**
+         * grid version of the routes
+         */
+        private long m_version = -1;
+
+        /**
+         * ctor
+         */
+        CRoutes()
+        {
+            m_routes = new LinkedHashMap<>( 16, 0.75f, true )
+            {
+                private static final long serialVersionUID = -3215479934567310125L;
+
+                @Override
+                protected boolean removeEldestEntry( final Map.Entry<Long, int[][]> p_eldest )
+                {
+                    if ( this.size() <= m_capacity )
+                        return false;
+
+                    m_evictions.incrementAndGet();
+                    return true;
+                }
+            };
+        }
+
+        /**
+         * returns a route
+         *
+         * @param p_key start and goal key
+         * @param p_version current grid version
+         * @return cell indices or null
+         */
+        @Nullable
+        synchronized int[] get( final long p_key, final long p_version )
+        {
+            if ( p_version != m_version )
+                return null;
+
+            final int[][] l_route = m_routes.get( p_key );
+            return Objects.isNull( l_route ) ? null : l_route[0];
+        }
+
+        /**
+         * adds a route, which has been found on a grid version
+         *
+         * @param p_key start and goal key
+         * @param p_version grid version of the route
+         * @param p_route cell indices
+         * @param p_columns number of grid columns
+         */
+        synchronized void put( final long p_key, final long p_version, @Nonnull final int[] p_route, final int p_columns )
+        {
+            // a layer without routes follows the grid version
+            if ( m_routes.isEmpty() )
+                m_version = p_version;
+
+            if ( p_version != m_version )
+                return;
+
+            m_routes.put( p_key, new int[][]{p_route, this.cells( p_route, p_columns )} );
+        }
+
+        @Override
+        public synchronized void update( @Nonnull final ObjectMatrix2D p_grid, final int p_row, final int p_column,
+                                         @Nullable final Object p_old, @Nullable final Object p_new )
+        {
+            final int l_influence = m_routing instanceof IBaseRouting ? ( (IBaseRouting) m_routing ).influence() : 0;
+            final int l_firstrow = Math.max( 0, p_row - l_influence );
+            final int l_lastrow = Math.min( p_grid.rows() - 1, p_row + l_influence );
+            final int l_firstcolumn = Math.max( 0, p_column - l_influence );
+            final int l_lastcolumn = Math.min( p_grid.columns() - 1, p_column + l_influence );
+
+            final Iterator<int[][]> l_iterator = m_routes.values().iterator();
+            while ( l_iterator.hasNext() )
+                if ( passes( l_iterator.next()[1], p_grid.columns(), l_firstrow, l_lastrow, l_firstcolumn, l_lastcolumn ) )
+                {
+                    l_iterator.remove();
+                    m_invalidations.incrementAndGet();
+                }
+
+            m_version = CLayerRegistry.version( p_grid );
+        }
+
+        @Override
+        public synchronized void reset( @Nonnull final ObjectMatrix2D p_grid )
+        {
+            m_invalidations.addAndGet( m_routes.size() );
+            m_routes.clear();
+            m_version = CLayerRegistry.version( p_grid );
+        }
+
+        /**
+         * returns the sorted cells, whose change can invalidate
+         * a route, a diagonal step depends on the walkability
+         * of both cardinal cells
+         *
+         * @param p_route cell indices of the route
+         * @param p_columns number of grid columns
+         * @return sorted and distinct cell indices
+         */
+        @Nonnull
+        private int[] cells( @Nonnull final int[] p_route, final int p_columns )
+        {
+            final int[] l_cells = Arrays.copyOf( p_route, 3 * p_route.length );
+            int l_size = p_route.length;
+            for ( int i = 1; i < p_route.length; i++ )
+            {
+                final int l_row = p_route[i - 1] / p_columns;
+                final int l_column = p_route[i - 1] % p_columns;
+                final int l_nextrow = p_route[i] / p_columns;
+                final int l_nextcolumn = p_route[i] % p_columns;
+                if ( l_row != l_nextrow && l_column != l_nextcolumn )
+                {
+                    l_cells[l_size++] = l_row * p_columns + l_nextcolumn;
+                    l_cells[l_size++] = l_nextrow * p_columns + l_column;
+                }
+            }
+
+            return Arrays.stream( l_cells, 0, l_size ).sorted().distinct().toArray();
+        }
+
+        /**
+         * checks if a route passes a rectangle of cells
+         *
+         * @param p_cells sorted cell indices of the route
+         * @param p_columns number of grid columns
+         * @param p_firstrow first row
+         * @param p_lastrow last row
+         * @param p_firstcolumn first column
+         * @param p_lastcolumn last column
+         * @return passing flag
+         */
+        private boolean passes( @Nonnull final int[] p_cells, final int p_columns, final int p_firstrow, final int p_lastrow,
+                                final int p_firstcolumn, final int p_lastcolumn )
+        {
+            for ( int i = p_firstrow; i <= p_lastrow; i++ )
+            {
+                // the cells of a row segment are a contiguous index range of the sorted route
+                final int l_position = Arrays.binarySearch( p_cells, i * p_columns + p_firstcolumn );
+                final int l_insertion = l_position < 0 ? -l_position - 1 : l_position;
+                if ( l_insertion < p_cells.length && p_cells[l_insertion] <= i * p_columns + p_lastcolumn )
+                    return true;
+            }
+
+            return false;
+        }
+    }
+}
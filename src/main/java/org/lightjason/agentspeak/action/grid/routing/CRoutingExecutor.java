@@ -0,0 +1,150 @@
+/*
+ * @cond LICENSE
+ * ######################################################################################
+ * # LGPL License                                                                       #
+ * #                                                                                    #
+ * # This file is part of the LightJason                                                #
+ * # Copyright (c) 2015-19, LightJason (info@lightjason.org)                            #
+ * # This program is free software: you can redistribute it and/or modify               #
+ * # it under the terms of the GNU Lesser General Public License as                     #
+ * # published by the Free Software Foundation, either version 3 of the                 #
+ * # License, or (at your option) any later version.                                    #
+ * #                                                                                    #
+ * # This program is distributed in the hope that it will be useful,                    #
+ * # but WITHOUT ANY WARRANTY; without even the implied warranty of                     #
+ * # MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                      #
+ * # GNU Lesser General Public License for more details.                                #
+ * #                                                                                    #
+ * # You should have received a copy of the GNU Lesser General Public License           #
+ * # along with this program. If not, see http://www.gnu.org/licenses/                  #
+ * ######################################################################################
+ * @endcond
+ */
+
+package org.lightjason.agentspeak.action.grid.routing;
+
+import cern.colt.matrix.tdouble.DoubleMatrix1D;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+
+/**
+ * bounded executor of asynchronous routings.
+ * The executor runs a fixed number of daemon routing threads
+ * with a bounded queue, a submit into a full queue is
+ * rejected immediately, so a burst of requests cannot
+ * exhaust the memory and the caller does not block, the
+ * threads are kept alive, so each thread reuses its
+ * thread-local search state. The routings read the grid
+ * concurrently to the agents, so the grid must be safe for
+ * reads during changes (e.g. concurrent or tick grid), a
+ * dense or sparse grid must not be changed while routings
+ * on the grid are running
+ */
+public final class CRoutingExecutor implements AutoCloseable
+{
+    /**
+     * default number of queued routings
+     */
+    public static final int CAPACITY = 1024;
+    /**
+     * executor
+     */
+    private final ThreadPoolExecutor m_executor;
+
+    /**
+     * ctor
+     *
+     * @param p_threads number of routing threads
+     * @param p_capacity number of queued routings
+     */
+    public CRoutingExecutor( @Nonnegative final int p_threads, @Nonnegative final int p_capacity )
+    {
+        final int l_threads = Math.max( 1, p_threads );
+        m_executor = new ThreadPoolExecutor(
+            l_threads, l_threads, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>( Math.max( 1, p_capacity ) ),
+            threadfactory(),
+            new ThreadPoolExecutor.AbortPolicy()
+        );
+    }
+
+    /**
+     * returns the shared default executor with
+     * one thread for each processor
+     *
+     * @return executor
+     */
+    @Nonnull
+    public static CRoutingExecutor instance()
+    {
+        return CInstance.INSTANCE;
+    }
+
+    /**
+     * submits a routing
+     *
+     * @param p_routing route calculation
+     * @return future of the route
+     * @throws RejectedExecutionException iif the queue is full or the executor is closed
+     */
+    @Nonnull
+    public CompletableFuture<List<DoubleMatrix1D>> submit( @Nonnull final Supplier<List<DoubleMatrix1D>> p_routing )
+    {
+        return CompletableFuture.supplyAsync( p_routing, m_executor );
+    }
+
+    /**
+     * number of queued routings
+     *
+     * @return queue size
+     */
+    public int queued()
+    {
+        return m_executor.getQueue().size();
+    }
+
+    @Override
+    public void close()
+    {
+        m_executor.shutdown();
+    }
+
+    /**
+     * creates a daemon thread factory
+     *
+     * @return thread factory
+     */
+    @Nonnull
+    private static ThreadFactory threadfactory()
+    {
+        final AtomicInteger l_counter = new AtomicInteger();
+        return i ->
+        {
+            final Thread l_thread = new Thread( i, "grid-routing-" + l_counter.getAndIncrement() );
+            l_thread.setDaemon( true );
+            return l_thread;
+        };
+    }
+
+    /**
+     * lazy holder of the default instance
+     */
+    private static final class CInstance
+    {
+        /**
+         * default instance
+         */
+        private static final CRoutingExecutor INSTANCE = new CRoutingExecutor( Runtime.getRuntime().availableProcessors(), CAPACITY );
+    }
+}
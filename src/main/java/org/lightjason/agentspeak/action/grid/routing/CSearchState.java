@@ -0,0 +1,338 @@
+/*
+ * @cond LICENSE
+ * ######################################################################################
+ * # LGPL License                                                                       #
+ * #                                                                                    #
+ * # This file is part of the LightJason                                                #
+ * # Copyright (c) 2015-19, LightJason (info@lightjason.org)                            #
+ * # This program is free software: you can redistribute it and/or modify               #
+ * # it under the terms of the GNU Lesser General Public License as                     #
+ * # published by the Free Software Foundation, either version 3 of the                 #
+ * # License, or (at your option) any later version.                                    #
+ * #                                                                                    #
+ * # This program is distributed in the hope that it will be useful,                    #
+ * # but WITHOUT ANY WARRANTY; without even the implied warranty of                     #
+ * # MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                      #
+ * # GNU Lesser General Public License for more details.                                #
+ * #                                                                                    #
+ * # You should have received a copy of the GNU Lesser General Public License           #
+ * # along with this program. If not, see http://www.gnu.org/licenses/                  #
+ * ######################################################################################
+ * @endcond
+ */
+
+package org.lightjason.agentspeak.action.grid.routing;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Arrays;
+import java.util.Objects;
+
+
+/**
+ * reusable primitive search state of grid searches,
+ * all data is keyed by the cell index (row * columns + column),
+ * g-scores and parents are invalidated by a generation stamp,
+ * so a reset does not need to touch all cells, the state
+ * is not thread-safe, so each thread uses its own instance,
+ * a thread keeps its state only up to a maximum number of
+ * cells, larger searches get a sparse state, which stores
+ * the data by the slot of the visited cells, so the memory
+ * grows with the visited cells instead of the grid size
+ */
+public final class CSearchState
+{
+    /**
+     * maximum number of cells of a thread-local state (about 36 bytes per cell)
+     */
+    public static final int RETAIN = 1 << 20;
+    /**
+     * thread-local instance
+     */
+    private static final ThreadLocal<CSearchState> INSTANCE = ThreadLocal.withInitial( () -> new CSearchState( 0 ) );
+    /**
+     * generation stamp of each cell
+     */
+    private int[] m_stamp;
+    /**
+     * g-score of each cell
+     */
+    private double[] m_gscore;
+    /**
+     * parent cell of each cell
+     */
+    private int[] m_parent;
+    /**
+     * closed list bits
+     */
+    private long[] m_closed;
+    /**
+     * open list
+     */
+    private CIndexedHeap m_open;
+    /**
+     * current generation
+     */
+    private int m_generation;
+    /**
+     * number of used cells
+     */
+    private int m_size;
+    /**
+     * sparse index or null if the data is stored by the cell index
+     */
+    @Nullable
+    private final CSparseIndex m_index;
+
+    /**
+     * ctor
+     *
+     * @param p_capacity number of cells
+     */
+    public CSearchState( @Nonnegative final int p_capacity )
+    {
+        m_index = null;
+        this.allocate( p_capacity );
+    }
+
+    /**
+     * ctor of a sparse state
+     *
+     * @param p_index sparse index of the cells
+     */
+    private CSearchState( @Nonnull final CSparseIndex p_index )
+    {
+        m_index = p_index;
+        m_stamp = new int[0];
+        m_gscore = new double[0];
+        m_parent = new int[0];
+        m_closed = new long[0];
+        m_open = new CIndexedHeap( p_index );
+    }
+
+    /**
+     * returns the reset thread-local search state, for more
+     * cells than the retain size a new sparse state is returned,
+     * which is not bound to the thread
+     *
+     * @param p_size number of cells
+     * @return search state
+     */
+    @Nonnull
+    public static CSearchState of( @Nonnegative final int p_size )
+    {
+        return p_size > RETAIN ? new CSearchState( new CSparseIndex( 1024 ) ).reset( p_size ) : INSTANCE.get().reset( p_size );
+    }
+
+    /**
+     * releases the thread-local search state of the current thread
+     */
+    public static void release()
+    {
+        INSTANCE.remove();
+    }
+
+    /**
+     * resets the state
+     *
+     * @param p_size number of cells
+     * @return self reference
+     */
+    @Nonnull
+    public CSearchState reset( @Nonnegative final int p_size )
+    {
+        if ( Objects.nonNull( m_index ) )
+        {
+            m_index.clear();
+            m_open.clear();
+            Arrays.fill( m_closed, 0 );
+        }
+        else if ( p_size > m_stamp.length )
+            this.allocate( Math.max( p_size, Math.min( RETAIN, m_stamp.length + ( m_stamp.length >>> 1 ) ) ) );
+        else
+        {
+            m_open.clear();
+            Arrays.fill( m_closed, 0, ( m_size + 63 ) >>> 6, 0 );
+        }
+
+        if ( ++m_generation == Integer.MAX_VALUE )
+        {
+            Arrays.fill( m_stamp, 0 );
+            m_generation = 1;
+        }
+
+        m_size = p_size;
+        return this;
+    }
+
+    /**
+     * number of cells
+     *
+     * @return size
+     */
+    public int size()
+    {
+        return m_size;
+    }
+
+    /**
+     * open list
+     *
+     * @return heap
+     */
+    @Nonnull
+    public CIndexedHeap open()
+    {
+        return m_open;
+    }
+
+    /**
+     * checks if a cell has got a g-score
+     *
+     * @param p_cell cell index
+     * @return visited flag
+     */
+    public boolean visited( final int p_cell )
+    {
+        final int l_key = this.key( p_cell );
+        return l_key >= 0 && m_stamp[l_key] == m_generation;
+    }
+
+    /**
+     * returns the g-score of a cell
+     *
+     * @param p_cell cell index
+     * @return g-score or infinity if the cell is not visited
+     */
+    public double gscore( final int p_cell )
+    {
+        final int l_key = this.key( p_cell );
+        return l_key >= 0 && m_stamp[l_key] == m_generation ? m_gscore[l_key] : Double.POSITIVE_INFINITY;
+    }
+
+    /**
+     * returns the parent of a cell
+     *
+     * @param p_cell cell index
+     * @return parent cell index or -1
+     */
+    public int parent( final int p_cell )
+    {
+        final int l_key = this.key( p_cell );
+        return l_key >= 0 && m_stamp[l_key] == m_generation ? m_parent[l_key] : -1;
+    }
+
+    /**
+     * sets g-score and parent of a cell
+     *
+     * @param p_cell cell index
+     * @param p_gscore g-score
+     * @param p_parent parent cell index or -1
+     */
+    public void update( final int p_cell, final double p_gscore, final int p_parent )
+    {
+        final int l_key = this.slot( p_cell );
+        m_stamp[l_key] = m_generation;
+        m_gscore[l_key] = p_gscore;
+        m_parent[l_key] = p_parent;
+    }
+
+    /**
+     * checks if a cell is closed
+     *
+     * @param p_cell cell index
+     * @return closed flag
+     */
+    public boolean closed( final int p_cell )
+    {
+        final int l_key = this.key( p_cell );
+        return l_key >= 0 && ( m_closed[l_key >>> 6] & ( 1L << l_key ) ) != 0;
+    }
+
+    /**
+     * closes a cell
+     *
+     * @param p_cell cell index
+     */
+    public void close( final int p_cell )
+    {
+        final int l_key = this.slot( p_cell );
+        m_closed[l_key >>> 6] |= 1L << l_key;
+    }
+
+    /**
+     * builds the cell path from the start to the given cell
+     *
+     * @param p_cell target cell index
+     * @return cell indices from start to target
+     */
+    @Nonnull
+    public int[] path( final int p_cell )
+    {
+        int l_length = 0;
+        for ( int i = p_cell; i >= 0; i = this.parent( i ) )
+            l_length++;
+
+        final int[] l_path = new int[l_length];
+        for ( int i = p_cell; i >= 0; i = this.parent( i ) )
+            l_path[--l_length] = i;
+
+        return l_path;
+    }
+
+    /**
+     * returns the storage key of a cell
+     *
+     * @param p_cell cell index
+     * @return cell index, slot or -1 if the cell has not got any data
+     */
+    private int key( final int p_cell )
+    {
+        if ( Objects.isNull( m_index ) )
+            return p_cell;
+
+        // slots can be created by the open list before any data is stored
+        final int l_slot = m_index.find( p_cell );
+        return l_slot < m_stamp.length ? l_slot : -1;
+    }
+
+    /**
+     * returns the storage key of a cell and
+     * grows the sparse arrays if needed
+     *
+     * @param p_cell cell index
+     * @return cell index or slot
+     */
+    private int slot( final int p_cell )
+    {
+        if ( Objects.isNull( m_index ) )
+            return p_cell;
+
+        final int l_slot = m_index.slot( p_cell );
+        if ( l_slot >= m_stamp.length )
+        {
+            final int l_length = Math.max( l_slot + 1, Math.max( 1024, m_stamp.length << 1 ) );
+            m_stamp = Arrays.copyOf( m_stamp, l_length );
+            m_gscore = Arrays.copyOf( m_gscore, l_length );
+            m_parent = Arrays.copyOf( m_parent, l_length );
+            m_closed = Arrays.copyOf( m_closed, ( l_length + 63 ) >>> 6 );
+        }
+        return l_slot;
+    }
+
+    /**
+     * allocates the arrays
+     *
+     * @param p_capacity number of cells
+     */
+    private void allocate( final int p_capacity )
+    {
+        m_stamp = new int[p_capacity];
+        m_gscore = new double[p_capacity];
+        m_parent = new int[p_capacity];
+        m_closed = new long[( p_capacity + 63 ) >>> 6];
+        m_open = new CIndexedHeap( p_capacity );
+        m_generation = 0;
+    }
+}
@@ -0,0 +1,432 @@
+/*
+ * @cond LICENSE
+ * ######################################################################################
+ * # LGPL License                                                                       #
+ * #                                                                                    #
+ * # This file is part of the LightJason                                                #
+ * # Copyright (c) 2015-19, LightJason (info@lightjason.org)                            #
+ * # This program is free software: you can redistribute it and/or modify               #
+ * # it under the terms of the GNU Lesser General Public License as                     #
+ * # published by the Free Software Foundation, either version 3 of the                 #
+ * # License, or (at your option) any later version.                                    #
+ * #                                                                                    #
+ * # This program is distributed in the hope that it will be useful,                    #
+ * # but WITHOUT ANY WARRANTY; without even the implied warranty of                     #
+ * # MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                      #
+ * # GNU Lesser General Public License for more details.                                #
+ * #                                                                                    #
+ * # You should have received a copy of the GNU Lesser General Public License           #
+ * # along with this program. If not, see http://www.gnu.org/licenses/                  #
+ * ######################################################################################
+ * @endcond
+ */
+
+package org.lightjason.agentspeak.action.grid.routing;
+
+import cern.colt.matrix.tdouble.DoubleMatrix1D;
+import cern.colt.matrix.tobject.ObjectMatrix2D;
+import org.lightjason.agentspeak.common.CCommon;
+import org.lightjason.agentspeak.error.CIllegalArgumentException;
+
+import javax.annotation.Nonnull;
+import java.util.Arrays;
+import java.util.function.BiFunction;
+import java.util.stream.Stream;
+
+
+/**
+ * time-sliced a-star routing.
+ * The search of a route is bound to a handle, which
+ * keeps the whole search state, each resume runs a
+ * slice with a fixed number of expansions, so a long
+ * search can be spread over many agent cycles, the
+ * handle is independent of the thread, a found route
+ * is checked against the current grid and the search
+ * is restarted iif a cell of the route has been blocked
+ * during the search
+ */
+public final class CSlicedRouting extends IBaseRouting
+{
+    /**
+     * default number of expansions of a slice
+     */
+    public static final int SLICE = 1024;
+    /**
+     * serial id
+     */
+    private static final long serialVersionUID = 7193532815406958410L;
+    /**
+     * number of expansions of a slice
+     */
+    private final int m_slice;
+    /**
+     * approximation weight
+     */
+    private final double m_weight;
+    /**
+     * routing of a search without slices
+     */
+    private final CPrimitiveAStarRouting m_complete;
+
+    /**
+     * ctor
+     */
+    public CSlicedRouting()
+    {
+        this( EDistance.MANHATTAN, ESearchDirection.NEVER, SLICE );
+    }
+
+    /**
+     * ctor
+     *
+     * @param p_distance distance
+     * @param p_searchdirection search direction
+     * @param p_slice number of expansions of a slice
+     */
+    public CSlicedRouting( @Nonnull final IDistance p_distance, @Nonnull final ISearchDirection p_searchdirection, @Nonnull final Number p_slice )
+    {
+        this( p_distance, p_searchdirection, p_slice, CAStarRouting.APROXIMATIONWEIGHT );
+    }
+
+    /**
+     * ctor
+     *
+     * @param p_distance distance
+     * @param p_searchdirection search direction
+     * @param p_slice number of expansions of a slice
+     * @param p_weight approximation weight
+     */
+    public CSlicedRouting( @Nonnull final IDistance p_distance, @Nonnull final ISearchDirection p_searchdirection,
+                           @Nonnull final Number p_slice, @Nonnull final Number p_weight )
+    {
+        super( p_distance, p_searchdirection );
+
+        if ( p_distance == EDistance.MANHATTAN && p_searchdirection != ESearchDirection.NEVER )
+            throw new CIllegalArgumentException( CCommon.languagestring( this, "manhattendigitalmovement" ) );
+
+        m_slice = Math.max( 1, p_slice.intValue() );
+        m_weight = p_weight.doubleValue();
+        m_complete = new CPrimitiveAStarRouting( p_distance, p_searchdirection, p_weight );
+    }
+
+    /**
+     * ctor
+     *
+     * @param p_distance distance
+     * @param p_searchdirection search direction
+     * @param p_walkable walkable check
+     * @param p_slice number of expansions of a slice
+     * @param p_weight approximation weight
+     */
+    public CSlicedRouting( @Nonnull final IDistance p_distance, @Nonnull final ISearchDirection p_searchdirection,
+                           @Nonnull final BiFunction<ObjectMatrix2D, DoubleMatrix1D, Boolean> p_walkable,
+                           @Nonnull final Number p_slice, @Nonnull final Number p_weight )
+    {
+        super( p_distance, p_searchdirection, p_walkable );
+
+        if ( p_distance == EDistance.MANHATTAN && p_searchdirection != ESearchDirection.NEVER )
+            throw new CIllegalArgumentException( CCommon.languagestring( this, "manhattendigitalmovement" ) );
+
+        m_slice = Math.max( 1, p_slice.intValue() );
+        m_weight = p_weight.doubleValue();
+        m_complete = new CPrimitiveAStarRouting( p_distance, p_searchdirection, p_walkable, p_weight );
+    }
+
+    /**
+     * {@inheritDoc}
+     * The search runs without slices on the
+     * thread-local search state
+     */
+    @Override
+    public Stream<DoubleMatrix1D> apply( @Nonnull final ObjectMatrix2D p_grid, @Nonnull final DoubleMatrix1D p_start, @Nonnull final DoubleMatrix1D p_end )
+    {
+        return m_complete.apply( p_grid, p_start, p_end );
+    }
+
+    @Nonnull
+    @Override
+    protected int[] route( @Nonnull final ObjectMatrix2D p_grid, final long p_start, final long p_end )
+    {
+        return m_complete.route( p_grid, p_start, p_end );
+    }
+
+    /**
+     * creates a handle of a search without running any slice
+     *
+     * @param p_grid grid
+     * @param p_start start position
+     * @param p_end goal position
+     * @return search handle
+     */
+    @Nonnull
+    public CHandle start( @Nonnull final ObjectMatrix2D p_grid, @Nonnull final DoubleMatrix1D p_start, @Nonnull final DoubleMatrix1D p_end )
+    {
+        return new CHandle( this, p_grid, CCell.of( p_start ), CCell.of( p_end ) );
+    }
+
+    /**
+     * search handle with the suspended search state,
+     * the state of a packed cell is stored by the slot of
+     * the cell, so the state grows with the visited cells
+     * and any grid size can be searched
+     */
+    public static final class CHandle
+    {
+        /**
+         * initial number of slots
+         */
+        private static final int INITIALSIZE = 64;
+        /**
+         * routing
+         */
+        private final CSlicedRouting m_routing;
+        /**
+         * grid
+         */
+        private final ObjectMatrix2D m_grid;
+        /**
+         * distance of the grid
+         */
+        private final IDistance m_distance;
+        /**
+         * packed start cell
+         */
+        private final long m_start;
+        /**
+         * packed goal cell
+         */
+        private final long m_goal;
+        /**
+         * slots of the visited cells
+         */
+        private final CSparseIndex m_index = new CSparseIndex( INITIALSIZE );
+        /**
+         * open list of slots
+         */
+        private final CIndexedHeap m_openlist = new CIndexedHeap( INITIALSIZE );
+        /**
+         * g-score of each slot
+         */
+        private double[] m_gscore = CSparseIndex.infinity( INITIALSIZE );
+        /**
+         * parent slot of each slot
+         */
+        private int[] m_parent = new int[INITIALSIZE];
+        /**
+         * closed list bits of the slots
+         */
+        private long[] m_closed = new long[INITIALSIZE >>> 6];
+        /**
+         * neighbour buffer
+         */
+        private final long[] m_neighbour = new long[8];
+        /**
+         * route
+         */
+        private long[] m_route = new long[0];
+        /**
+         * finished flag
+         */
+        private volatile boolean m_finished;
+        /**
+         * number of expansions
+         */
+        private long m_expansions;
+
+        /**
+         * ctor
+         *
+         * @param p_routing routing
+         * @param p_grid grid
+         * @param p_start packed start cell
+         * @param p_end packed goal cell
+         */
+        private CHandle( @Nonnull final CSlicedRouting p_routing, @Nonnull final ObjectMatrix2D p_grid, final long p_start, final long p_end )
+        {
+            m_routing = p_routing;
+            m_grid = p_grid;
+            m_distance = p_routing.distance( p_grid );
+            m_start = p_start;
+            m_goal = p_end;
+
+            final boolean l_inside = CCell.inside( p_start, p_grid.rows(), p_grid.columns() ) && CCell.inside( p_end, p_grid.rows(), p_grid.columns() );
+            m_finished = !l_inside;
+
+            if ( l_inside )
+                this.initialize();
+        }
+
+        /**
+         * checks if the search is finished
+         *
+         * @return finished flag
+         */
+        public boolean finished()
+        {
+            return m_finished;
+        }
+
+        /**
+         * returns the status of the search
+         *
+         * @return status
+         */
+        @Nonnull
+        public synchronized ERouteStatus status()
+        {
+            if ( !m_finished )
+                return ERouteStatus.PENDING;
+
+            return m_route.length == 0 ? ERouteStatus.UNREACHABLE : ERouteStatus.FOUND;
+        }
+
+        /**
+         * number of expansions of all slices
+         *
+         * @return expansions
+         */
+        public synchronized long expansions()
+        {
+            return m_expansions;
+        }
+
+        /**
+         * returns the route of a finished search
+         *
+         * @return position stream, empty if the search is not
+         * finished or the goal is not reachable
+         */
+        @Nonnull
+        public synchronized Stream<DoubleMatrix1D> route()
+        {
+            return constructpath( m_route );
+        }
+
+        /**
+         * runs the next slice of the search
+         *
+         * @return finished flag
+         */
+        public synchronized boolean resume()
+        {
+            if ( m_finished )
+                return true;
+
+            final IWalkable l_walkable = m_routing.resolve( m_grid );
+            for ( int l_expansions = 0; l_expansions < m_routing.m_slice; l_expansions++ )
+            {
+                if ( m_openlist.isEmpty() )
+                {
+                    m_finished = true;
+                    return true;
+                }
+
+                final int l_current = m_openlist.pop();
+                final long l_cell = m_index.cell( l_current );
+                m_expansions++;
+                if ( l_cell == m_goal )
+                {
+                    if ( this.complete() )
+                        return true;
+                    continue;
+                }
+
+                m_closed[l_current >>> 6] |= 1L << l_current;
+
+                for ( int i = 0, l_count = m_routing.neighbour( m_grid, l_walkable, l_cell, m_neighbour ); i < l_count; i++ )
+                {
+                    final int l_next = this.slot( m_neighbour[i] );
+                    if ( ( m_closed[l_next >>> 6] & ( 1L << l_next ) ) != 0 )
+                        continue;
+
+                    final double l_gscore = m_gscore[l_current] + m_distance.apply( l_cell, m_neighbour[i] );
+                    if ( l_gscore >= m_gscore[l_next] )
+                        continue;
+
+                    final double l_heuristic = m_routing.m_weight * this.heuristic( m_neighbour[i] );
+                    m_gscore[l_next] = l_gscore;
+                    m_parent[l_next] = l_current;
+                    m_openlist.push( l_next, l_gscore + l_heuristic, l_heuristic );
+                }
+            }
+
+            return false;
+        }
+
+        /**
+         * completes the search, the route is checked against the
+         * current grid and the search is restarted if the grid
+         * has been blocked on the route between the slices
+         *
+         * @return false if the search has been restarted
+         */
+        private boolean complete()
+        {
+            final int l_goal = m_index.find( m_goal );
+            int l_length = 0;
+            for ( int i = l_goal; i >= 0; i = m_parent[i] )
+                l_length++;
+
+            final long[] l_route = new long[l_length];
+            for ( int i = l_goal; i >= 0; i = m_parent[i] )
+                l_route[--l_length] = m_index.cell( i );
+
+            if ( Arrays.stream( l_route ).skip( 1 ).allMatch( i -> m_routing.walkable( m_grid, CCell.row( i ), CCell.column( i ) ) ) )
+            {
+                m_route = l_route;
+                m_finished = true;
+                return true;
+            }
+
+            m_index.clear();
+            m_openlist.clear();
+            Arrays.fill( m_gscore, Double.POSITIVE_INFINITY );
+            Arrays.fill( m_closed, 0 );
+            this.initialize();
+            return false;
+        }
+
+        /**
+         * initializes the search state
+         */
+        private void initialize()
+        {
+            final int l_start = this.slot( m_start );
+            m_gscore[l_start] = 0;
+            m_parent[l_start] = -1;
+            m_openlist.push( l_start, m_routing.m_weight * this.heuristic( m_start ), 0 );
+        }
+
+        /**
+         * returns the slot of a cell and grows
+         * the slot arrays if a slot is created
+         *
+         * @param p_cell packed cell
+         * @return slot
+         */
+        private int slot( final long p_cell )
+        {
+            final int l_slot = m_index.slot( p_cell );
+            if ( l_slot == m_gscore.length )
+            {
+                final int l_length = m_gscore.length << 1;
+                m_gscore = CSparseIndex.grow( m_gscore, l_length );
+                m_parent = Arrays.copyOf( m_parent, l_length );
+                m_closed = Arrays.copyOf( m_closed, l_length >>> 6 );
+                m_openlist.ensure( l_length );
+            }
+            return l_slot;
+        }
+
+        /**
+         * heuristic of a cell to the goal
+         *
+         * @param p_cell packed cell
+         * @return heuristic
+         */
+        private double heuristic( final long p_cell )
+        {
+            return m_distance.heuristic( p_cell, m_goal );
+        }
+    }
+}
@@ -0,0 +1,211 @@
+/*
+ * @cond LICENSE
+ * ######################################################################################
+ * # LGPL License                                                                       #
+ * #                                                                                    #
+ * # This file is part of the LightJason                                                #
+ * # Copyright (c) 2015-19, LightJason (info@lightjason.org)                            #
+ * # This program is free software: you can redistribute it and/or modify               #
+ * # it under the terms of the GNU Lesser General Public License as                     #
+ * # published by the Free Software Foundation, either version 3 of the                 #
+ * # License, or (at your option) any later version.                                    #
+ * #                                                                                    #
+ * # This program is distributed in the hope that it will be useful,                    #
+ * # but WITHOUT ANY WARRANTY; without even the implied warranty of                     #
+ * # MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                      #
+ * # GNU Lesser General Public License for more details.                                #
+ * #                                                                                    #
+ * # You should have received a copy of the GNU Lesser General Public License           #
+ * # along with this program. If not, see http://www.gnu.org/licenses/                  #
+ * ######################################################################################
+ * @endcond
+ */
+
+package org.lightjason.agentspeak.action.grid.routing;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import java.util.Arrays;
+
+
+/**
+ * sparse index of cells.
+ * Each cell gets a dense slot number on the first access,
+ * slots are never moved, so the per-cell data of a search
+ * can be stored in arrays by slot which grow with the number
+ * of visited cells instead of the number of grid cells,
+ * the cells are stored in an open-addressing hash table
+ * with linear probing, the keys are long values, so cell
+ * indices and packed cells can be used, the index is not
+ * thread-safe
+ */
+public final class CSparseIndex
+{
+    /**
+     * empty table entry
+     */
+    private static final int EMPTY = -1;
+    /**
+     * hash table with slots
+     */
+    private int[] m_table;
+    /**
+     * cell of each slot
+     */
+    private long[] m_cells;
+    /**
+     * number of slots
+     */
+    private int m_size;
+
+    /**
+     * ctor
+     *
+     * @param p_capacity expected number of cells
+     */
+    public CSparseIndex( @Nonnegative final int p_capacity )
+    {
+        m_cells = new long[Math.max( 16, p_capacity )];
+        m_table = new int[Integer.highestOneBit( Math.max( 16, p_capacity ) - 1 ) << 2];
+        Arrays.fill( m_table, EMPTY );
+    }
+
+    /**
+     * number of slots
+     *
+     * @return size
+     */
+    public int size()
+    {
+        return m_size;
+    }
+
+    /**
+     * removes all cells
+     */
+    public void clear()
+    {
+        Arrays.fill( m_table, EMPTY );
+        m_size = 0;
+    }
+
+    /**
+     * returns the slot of a cell
+     *
+     * @param p_cell cell index or packed cell
+     * @return slot or -1 if the cell has not got a slot
+     */
+    public int find( final long p_cell )
+    {
+        final int l_mask = m_table.length - 1;
+        for ( int i = hash( p_cell ) & l_mask; m_table[i] != EMPTY; i = ( i + 1 ) & l_mask )
+            if ( m_cells[m_table[i]] == p_cell )
+                return m_table[i];
+
+        return EMPTY;
+    }
+
+    /**
+     * returns the slot of a cell and
+     * creates the slot if not exists
+     *
+     * @param p_cell cell index or packed cell
+     * @return slot
+     */
+    public int slot( final long p_cell )
+    {
+        int l_mask = m_table.length - 1;
+        int l_index = hash( p_cell ) & l_mask;
+        for ( ; m_table[l_index] != EMPTY; l_index = ( l_index + 1 ) & l_mask )
+            if ( m_cells[m_table[l_index]] == p_cell )
+                return m_table[l_index];
+
+        // the table is kept at most half full, so the probe sequences stay short
+        if ( 2 * ( m_size + 1 ) > m_table.length )
+        {
+            this.rehash( m_table.length << 1 );
+            l_mask = m_table.length - 1;
+            for ( l_index = hash( p_cell ) & l_mask; m_table[l_index] != EMPTY; )
+                l_index = ( l_index + 1 ) & l_mask;
+        }
+
+        if ( m_size == m_cells.length )
+            m_cells = Arrays.copyOf( m_cells, m_cells.length << 1 );
+
+        m_cells[m_size] = p_cell;
+        m_table[l_index] = m_size;
+        return m_size++;
+    }
+
+    /**
+     * returns the cell of a slot
+     *
+     * @param p_slot slot
+     * @return cell index or packed cell
+     */
+    public long cell( final int p_slot )
+    {
+        return m_cells[p_slot];
+    }
+
+    /**
+     * creates a slot array filled with infinity
+     *
+     * @param p_length length
+     * @return array
+     */
+    @Nonnull
+    static double[] infinity( final int p_length )
+    {
+        final double[] l_array = new double[p_length];
+        Arrays.fill( l_array, Double.POSITIVE_INFINITY );
+        return l_array;
+    }
+
+    /**
+     * grows a slot array and fills the new entries with infinity
+     *
+     * @param p_array array
+     * @param p_length new length
+     * @return grown array
+     */
+    @Nonnull
+    static double[] grow( @Nonnull final double[] p_array, final int p_length )
+    {
+        final double[] l_array = Arrays.copyOf( p_array, p_length );
+        Arrays.fill( l_array, p_array.length, p_length, Double.POSITIVE_INFINITY );
+        return l_array;
+    }
+
+    /**
+     * rebuilds the hash table
+     *
+     * @param p_length new table length (power of two)
+     */
+    private void rehash( final int p_length )
+    {
+        m_table = new int[p_length];
+        Arrays.fill( m_table, EMPTY );
+
+        final int l_mask = p_length - 1;
+        for ( int i = 0; i < m_size; i++ )
+        {
+            int l_index = hash( m_cells[i] ) & l_mask;
+            while ( m_table[l_index] != EMPTY )
+                l_index = ( l_index + 1 ) & l_mask;
+            m_table[l_index] = i;
+        }
+    }
+
+    /**
+     * mixes the bits of a cell
+     *
+     * @param p_cell cell index or packed cell
+     * @return hash
+     */
+    private static int hash( final long p_cell )
+    {
+        final long l_hash = p_cell * 0x9e3779b97f4a7c15L;
+        return (int) ( l_hash ^ ( l_hash >>> 32 ) );
+    }
+}
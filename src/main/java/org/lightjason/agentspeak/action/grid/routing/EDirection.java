@@ -24,6 +24,7 @@
 package org.lightjason.agentspeak.action.grid.routing;
 
 import cern.colt.matrix.tdouble.DoubleMatrix1D;
+import cern.colt.matrix.tdouble.impl.DenseDoubleMatrix1D;
 
 import javax.annotation.Nonnull;
 
@@ -33,76 +34,71 @@ import javax.annotation.Nonnull;
  */
 public enum EDirection implements IDirection
 {
-    SELF
-    {
-        @Override
-        public DoubleMatrix1D apply( @Nonnull final DoubleMatrix1D p_current )
-        {
-            return p_current;
-        }
-    },
-    NORTH
-    {
-        @Override
-        public DoubleMatrix1D apply( @Nonnull final DoubleMatrix1D p_current )
-        {
-            return p_current.copy().assign( new double[]{p_current.get( 0 ) - 1, p_current.get( 1 )} );
-        }
-    },
-    EAST
-    {
-        @Override
-        public DoubleMatrix1D apply( @Nonnull final DoubleMatrix1D p_current )
-        {
-            return p_current.copy().assign( new double[]{p_current.get( 0 ), p_current.get( 1 ) + 1} );
-        }
-    },
-    SOUTH
-    {
-        @Override
-        public DoubleMatrix1D apply( @Nonnull final DoubleMatrix1D p_current )
-        {
-            return p_current.copy().assign( new double[]{p_current.get( 0 ) + 1, p_current.get( 1 )} );
-        }
-    },
-    WEST
+    SELF( 0, 0 ),
+    NORTH( -1, 0 ),
+    EAST( 0, 1 ),
+    SOUTH( 1, 0 ),
+    WEST( 0, -1 ),
+    NORTHEAST( -1, 1 ),
+    NORTHWEST( -1, -1 ),
+    SOUTHEAST( 1, 1 ),
+    SOUTHWEST( 1, -1 );
+
+    /**
+     * directions by offset index ( row + 1 ) * 3 + column + 1
+     */
+    private static final EDirection[] OFFSET = {NORTHWEST, NORTH, NORTHEAST, WEST, SELF, EAST, SOUTHWEST, SOUTH, SOUTHEAST};
+    /**
+     * row offset
+     */
+    private final int m_row;
+    /**
+     * column offset
+     */
+    private final int m_column;
+
+    /**
+     * ctor
+     *
+     * @param p_row row offset
+     * @param p_column column offset
+     */
+    EDirection( final int p_row, final int p_column )
     {
-        @Override
-        public DoubleMatrix1D apply( @Nonnull final DoubleMatrix1D p_current )
-        {
-            return p_current.copy().assign( new double[]{p_current.get( 0 ), p_current.get( 1 ) - 1} );
-        }
-    },
-    NORTHEAST
+        m_row = p_row;
+        m_column = p_column;
+    }
+
+    @Override
+    public DoubleMatrix1D apply( @Nonnull final DoubleMatrix1D p_current )
     {
-        @Override
-        public DoubleMatrix1D apply( @Nonnull final DoubleMatrix1D p_current )
-        {
-            return p_current.copy().assign( new double[]{p_current.get( 0 ) - 1, p_current.get( 1 ) + 1} );
-        }
-    },
-    NORTHWEST
+        return this == SELF
+               ? p_current
+               : new DenseDoubleMatrix1D( new double[]{p_current.getQuick( 0 ) + m_row, p_current.getQuick( 1 ) + m_column} );
+    }
+
+    @Override
+    public int row()
     {
-        @Override
-        public DoubleMatrix1D apply( @Nonnull final DoubleMatrix1D p_current )
-        {
-            return p_current.copy().assign( new double[]{p_current.get( 0 ) - 1, p_current.get( 1 ) - 1} );
-        }
-    },
-    SOUTHEAST
+        return m_row;
+    }
+
+    @Override
+    public int column()
     {
-        @Override
-        public DoubleMatrix1D apply( @Nonnull final DoubleMatrix1D p_current )
-        {
-            return p_current.copy().assign( new double[]{p_current.get( 0 ) + 1, p_current.get( 0 ) + 1} );
-        }
-    },
-    SOUTHWEST
+        return m_column;
+    }
+
+    /**
+     * returns the direction of an offset
+     *
+     * @param p_row row offset within [-1, 1]
+     * @param p_column column offset within [-1, 1]
+     * @return direction
+     */
+    @Nonnull
+    public static EDirection of( final int p_row, final int p_column )
     {
-        @Override
-        public DoubleMatrix1D apply( @Nonnull final DoubleMatrix1D p_current )
-        {
-            return p_current.copy().assign( new double[]{p_current.get( 0 ) + 1, p_current.get( 0 ) - 1} );
-        }
+        return OFFSET[( p_row + 1 ) * 3 + p_column + 1];
     }
 }
@@ -24,7 +24,6 @@
 package org.lightjason.agentspeak.action.grid.routing;
 
 import cern.colt.matrix.tdouble.DoubleMatrix1D;
-import cern.jet.math.tdouble.DoubleFunctions;
 import edu.umd.cs.findbugs.annotations.NonNull;
 
 
@@ -38,7 +37,10 @@ public enum EDistance implements IDistance
         @Override
         public Number apply( @NonNull final DoubleMatrix1D p_value1, @NonNull final DoubleMatrix1D p_value2 )
         {
-            return p_value1.copy().assign( p_value2, DoubleFunctions.minus ).assign( DoubleFunctions.abs ).zSum();
+            double l_sum = 0;
+            for ( int i = 0; i < p_value1.size(); i++ )
+                l_sum += Math.abs( p_value1.getQuick( i ) - p_value2.getQuick( i ) );
+            return l_sum;
         }
 
         @Override
@@ -46,6 +48,18 @@ public enum EDistance implements IDistance
         {
             return this.apply( p_value1, p_value2 );
         }
+
+        @Override
+        public double apply( final int p_row1, final int p_column1, final int p_row2, final int p_column2 )
+        {
+            return Math.abs( p_row1 - p_row2 ) + Math.abs( p_column1 - p_column2 );
+        }
+
+        @Override
+        public double heuristic( final int p_row1, final int p_column1, final int p_row2, final int p_column2 )
+        {
+            return this.apply( p_row1, p_column1, p_row2, p_column2 );
+        }
     },
 
     EUCLIDEAN
@@ -53,7 +67,10 @@ public enum EDistance implements IDistance
         @Override
         public Number apply( @NonNull final DoubleMatrix1D p_value1, @NonNull final DoubleMatrix1D p_value2 )
         {
-            return Math.sqrt( p_value1.copy().assign( p_value2, DoubleFunctions.minus ).assign( DoubleFunctions.pow( 2 ) ).zSum() );
+            double l_sum = 0;
+            for ( int i = 0; i < p_value1.size(); i++ )
+                l_sum += ( p_value1.getQuick( i ) - p_value2.getQuick( i ) ) * ( p_value1.getQuick( i ) - p_value2.getQuick( i ) );
+            return Math.sqrt( l_sum );
         }
 
         @Override
@@ -61,6 +78,18 @@ public enum EDistance implements IDistance
         {
             return EDistance.MANHATTAN.heuristic( p_value1, p_value2 );
         }
+
+        @Override
+        public double apply( final int p_row1, final int p_column1, final int p_row2, final int p_column2 )
+        {
+            return Math.sqrt( ( p_row1 - p_row2 ) * ( p_row1 - p_row2 ) + ( p_column1 - p_column2 ) * ( p_column1 - p_column2 ) );
+        }
+
+        @Override
+        public double heuristic( final int p_row1, final int p_column1, final int p_row2, final int p_column2 )
+        {
+            return EDistance.MANHATTAN.heuristic( p_row1, p_column1, p_row2, p_column2 );
+        }
     },
 
     CHEBYSHEV
@@ -68,7 +97,10 @@ public enum EDistance implements IDistance
         @Override
         public Number apply( @NonNull final DoubleMatrix1D p_value1, @NonNull final DoubleMatrix1D p_value2 )
         {
-            return p_value1.copy().assign( p_value2, DoubleFunctions.minus ).assign( DoubleFunctions.abs ).getMaxLocation()[0];
+            double l_max = 0;
+            for ( int i = 0; i < p_value1.size(); i++ )
+                l_max = Math.max( l_max, Math.abs( p_value1.getQuick( i ) - p_value2.getQuick( i ) ) );
+            return l_max;
         }
 
         @Override
@@ -76,6 +108,18 @@ public enum EDistance implements IDistance
         {
             return EDistance.MANHATTAN.heuristic( p_value1, p_value2 );
         }
+
+        @Override
+        public double apply( final int p_row1, final int p_column1, final int p_row2, final int p_column2 )
+        {
+            return Math.max( Math.abs( p_row1 - p_row2 ), Math.abs( p_column1 - p_column2 ) );
+        }
+
+        @Override
+        public double heuristic( final int p_row1, final int p_column1, final int p_row2, final int p_column2 )
+        {
+            return EDistance.MANHATTAN.heuristic( p_row1, p_column1, p_row2, p_column2 );
+        }
     },
 
     OCTILE
@@ -83,10 +127,11 @@ public enum EDistance implements IDistance
         @Override
         public Number apply( @NonNull final DoubleMatrix1D p_value1, @NonNull final DoubleMatrix1D p_value2 )
         {
-            final DoubleMatrix1D l_dxy = p_value1.copy().assign( p_value2, DoubleFunctions.minus ).assign( DoubleFunctions.abs );
-            return l_dxy.getQuick( 1 ) < l_dxy.getQuick( 0 )
-                   ? FVALUE * l_dxy.getQuick( 1 ) + l_dxy.getQuick( 0 )
-                   : FVALUE * l_dxy.getQuick( 0 ) + l_dxy.getQuick( 1 );
+            final double l_drow = Math.abs( p_value1.getQuick( 0 ) - p_value2.getQuick( 0 ) );
+            final double l_dcolumn = Math.abs( p_value1.getQuick( 1 ) - p_value2.getQuick( 1 ) );
+            return l_dcolumn < l_drow
+                   ? FVALUE * l_dcolumn + l_drow
+                   : FVALUE * l_drow + l_dcolumn;
         }
 
         @Override
@@ -94,6 +139,22 @@ public enum EDistance implements IDistance
         {
             return EDistance.MANHATTAN.heuristic( p_value1, p_value2 );
         }
+
+        @Override
+        public double apply( final int p_row1, final int p_column1, final int p_row2, final int p_column2 )
+        {
+            final int l_drow = Math.abs( p_row1 - p_row2 );
+            final int l_dcolumn = Math.abs( p_column1 - p_column2 );
+            return l_dcolumn < l_drow
+                   ? FVALUE * l_dcolumn + l_drow
+                   : FVALUE * l_drow + l_dcolumn;
+        }
+
+        @Override
+        public double heuristic( final int p_row1, final int p_column1, final int p_row2, final int p_column2 )
+        {
+            return EDistance.MANHATTAN.heuristic( p_row1, p_column1, p_row2, p_column2 );
+        }
     };
 
     /**
@@ -0,0 +1,73 @@
+/*
+ * @cond LICENSE
+ * ######################################################################################
+ * # LGPL License                                                                       #
+ * #                                                                                    #
+ * # This file is part of the LightJason                                                #
+ * # Copyright (c) 2015-19, LightJason (info@lightjason.org)                            #
+ * # This program is free software: you can redistribute it and/or modify               #
+ * # it under the terms of the GNU Lesser General Public License as                     #
+ * # published by the Free Software Foundation, either version 3 of the                 #
+ * # License, or (at your option) any later version.                                    #
+ * #                                                                                    #
+ * # This program is distributed in the hope that it will be useful,                    #
+ * # but WITHOUT ANY WARRANTY; without even the implied warranty of                     #
+ * # MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                      #
+ * # GNU Lesser General Public License for more details.                                #
+ * #                                                                                    #
+ * # You should have received a copy of the GNU Lesser General Public License           #
+ * # along with this program. If not, see http://www.gnu.org/licenses/                  #
+ * ######################################################################################
+ * @endcond
+ */
+
+
+package org.lightjason.agentspeak.action.grid.routing;
+
+import javax.annotation.Nonnull;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+
+/**
+ * status of a route search which
+ * runs over many agent cycles
+ */
+public enum ERouteStatus
+{
+    /**
+     * the search is running
+     */
+    PENDING,
+    /**
+     * the search is finished and a route has been found
+     */
+    FOUND,
+    /**
+     * the search is finished and the goal cannot be reached
+     */
+    UNREACHABLE,
+    /**
+     * the search has been stopped by an error or has been cancelled
+     */
+    FAILED;
+
+    /**
+     * returns the status of an asynchronous route,
+     * a route needs at least the start and the goal position
+     *
+     * @param p_future future of the route
+     * @return status
+     */
+    @Nonnull
+    public static ERouteStatus of( @Nonnull final CompletableFuture<? extends List<?>> p_future )
+    {
+        if ( !p_future.isDone() )
+            return PENDING;
+
+        if ( p_future.isCompletedExceptionally() )
+            return FAILED;
+
+        return p_future.join().size() < 2 ? UNREACHABLE : FOUND;
+    }
+}
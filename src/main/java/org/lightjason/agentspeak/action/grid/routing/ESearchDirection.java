@@ -53,6 +53,18 @@ public enum ESearchDirection implements ISearchDirection
             ).filter( Pair::getKey ).map( Pair::getValue );
         }
 
+        @Override
+        public boolean diagonal( final boolean p_first, final boolean p_second )
+        {
+            return false;
+        }
+
+        @Override
+        public int mask( final int p_neighbourhood )
+        {
+            return p_neighbourhood & 0x0f;
+        }
+
     },
 
     ALWAYS
@@ -73,6 +85,18 @@ public enum ESearchDirection implements ISearchDirection
             ).filter( Pair::getKey ).map( Pair::getValue );
         }
 
+        @Override
+        public boolean diagonal( final boolean p_first, final boolean p_second )
+        {
+            return true;
+        }
+
+        @Override
+        public int mask( final int p_neighbourhood )
+        {
+            return p_neighbourhood;
+        }
+
     },
 
     NOOBSTACLES
@@ -95,6 +119,23 @@ public enum ESearchDirection implements ISearchDirection
             ).filter( Pair::getKey ).map( Pair::getValue );
         }
 
+        @Override
+        public boolean diagonal( final boolean p_first, final boolean p_second )
+        {
+            return p_first && p_second;
+        }
+
+        @Override
+        public int mask( final int p_neighbourhood )
+        {
+            // north-east, north-west, south-east and south-west need both cardinal cells
+            final int l_north = p_neighbourhood & 1;
+            final int l_east = p_neighbourhood >>> 1 & 1;
+            final int l_south = p_neighbourhood >>> 2 & 1;
+            final int l_west = p_neighbourhood >>> 3 & 1;
+            return p_neighbourhood & ( 0x0f | ( l_north & l_east ) << 4 | ( l_north & l_west ) << 5 | ( l_south & l_east ) << 6 | ( l_south & l_west ) << 7 );
+        }
+
     },
 
     ONEOBSTACLE
@@ -117,6 +158,23 @@ public enum ESearchDirection implements ISearchDirection
             ).filter( Pair::getKey ).map( Pair::getValue );
         }
 
+        @Override
+        public boolean diagonal( final boolean p_first, final boolean p_second )
+        {
+            return p_first || p_second;
+        }
+
+        @Override
+        public int mask( final int p_neighbourhood )
+        {
+            // north-east, north-west, south-east and south-west need one cardinal cell
+            final int l_north = p_neighbourhood & 1;
+            final int l_east = p_neighbourhood >>> 1 & 1;
+            final int l_south = p_neighbourhood >>> 2 & 1;
+            final int l_west = p_neighbourhood >>> 3 & 1;
+            return p_neighbourhood & ( 0x0f | ( l_north | l_east ) << 4 | ( l_north | l_west ) << 5 | ( l_south | l_east ) << 6 | ( l_south | l_west ) << 7 );
+        }
+
     };
 
     /**
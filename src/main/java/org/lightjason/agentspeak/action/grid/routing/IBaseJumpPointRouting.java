@@ -0,0 +1,441 @@
+/*
+ * @cond LICENSE
+ * ######################################################################################
+ * # LGPL License                                                                       #
+ * #                                                                                    #
+ * # This file is part of the LightJason                                                #
+ * # Copyright (c) 2015-19, LightJason (info@lightjason.org)                            #
+ * # This program is free software: you can redistribute it and/or modify               #
+ * # it under the terms of the GNU Lesser General Public License as                     #
+ * # published by the Free Software Foundation, either version 3 of the                 #
+ * # License, or (at your option) any later version.                                    #
+ * #                                                                                    #
+ * # This program is distributed in the hope that it will be useful,                    #
+ * # but WITHOUT ANY WARRANTY; without even the implied warranty of                     #
+ * # MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                      #
+ * # GNU Lesser General Public License for more details.                                #
+ * #                                                                                    #
+ * # You should have received a copy of the GNU Lesser General Public License           #
+ * # along with this program. If not, see http://www.gnu.org/licenses/                  #
+ * ######################################################################################
+ * @endcond
+ */
+
+package org.lightjason.agentspeak.action.grid.routing;
+
+import cern.colt.matrix.tdouble.DoubleMatrix1D;
+import cern.colt.matrix.tobject.ObjectMatrix2D;
+import org.lightjason.agentspeak.common.CCommon;
+import org.lightjason.agentspeak.error.CIllegalArgumentException;
+
+import javax.annotation.Nonnull;
+import java.util.function.BiFunction;
+import java.util.stream.Stream;
+
+
+/**
+ * base structure of jump point search algorithms.
+ * The search prunes symmetric paths on uniform-cost grids
+ * and only expands jump points, the neighbour pruning
+ * rules depends on the diagonal movement of the search
+ * direction, the jump itself is defined by the
+ * concrete algorithm
+ *
+ * @see <a href="https://harablog.wordpress.com/2011/09/07/jump-point-search/"></a>
+ * @see <a href="https://github.com/qiao/PathFinding.js"></a>
+ */
+public abstract class IBaseJumpPointRouting extends IBaseRouting
+{
+    /**
+     * serial id
+     */
+    private static final long serialVersionUID = -2524924709232442883L;
+    /**
+     * row offsets of the direction indices
+     */
+    protected static final int[] DIRECTIONROW = {-1, 0, 1, 0, -1, -1, 1, 1};
+    /**
+     * column offsets of the direction indices
+     */
+    protected static final int[] DIRECTIONCOLUMN = {0, 1, 0, -1, 1, -1, 1, -1};
+    /**
+     * direction index of the offset ( row + 1 ) * 3 + column + 1
+     */
+    private static final int[] DIRECTIONINDEX = {5, 0, 4, 3, -1, 1, 7, 2, 6};
+    /**
+     * diagonal movement of the search direction
+     */
+    protected final ESearchDirection m_movement;
+
+    /**
+     * ctor
+     *
+     * @param p_distance distance
+     * @param p_searchdirection search direction
+     */
+    protected IBaseJumpPointRouting( @Nonnull final IDistance p_distance, @Nonnull final ISearchDirection p_searchdirection )
+    {
+        super( p_distance, p_searchdirection );
+        m_movement = movement( p_searchdirection );
+
+        if ( p_distance == EDistance.MANHATTAN && p_searchdirection != ESearchDirection.NEVER )
+            throw new CIllegalArgumentException( CCommon.languagestring( IBaseJumpPointRouting.class, "manhattendigitalmovement" ) );
+    }
+
+    /**
+     * ctor
+     *
+     * @param p_distance distance
+     * @param p_searchdirection search direction
+     * @param p_walkable walkable check
+     */
+    protected IBaseJumpPointRouting( @Nonnull final IDistance p_distance, @Nonnull final ISearchDirection p_searchdirection,
+                                     @Nonnull final BiFunction<ObjectMatrix2D, DoubleMatrix1D, Boolean> p_walkable )
+    {
+        super( p_distance, p_searchdirection, p_walkable );
+        m_movement = movement( p_searchdirection );
+    }
+
+    @Override
+    public final Stream<DoubleMatrix1D> apply( @Nonnull final ObjectMatrix2D p_grid, @Nonnull final DoubleMatrix1D p_start, @Nonnull final DoubleMatrix1D p_end )
+    {
+        return this.path( p_grid, p_start, p_end );
+    }
+
+    @Nonnull
+    @Override
+    protected final int[] route( @Nonnull final ObjectMatrix2D p_grid, final long p_start, final long p_end )
+    {
+        final int l_rows = p_grid.rows();
+        final int l_columns = p_grid.columns();
+        final int l_startrow = CCell.row( p_start );
+        final int l_startcolumn = CCell.column( p_start );
+        final int l_endrow = CCell.row( p_end );
+        final int l_endcolumn = CCell.column( p_end );
+
+        if ( l_startrow < 0 || l_startrow >= l_rows || l_startcolumn < 0 || l_startcolumn >= l_columns
+             || l_endrow < 0 || l_endrow >= l_rows || l_endcolumn < 0 || l_endcolumn >= l_columns )
+            return new int[0];
+
+        final IJump l_jump = this.jump( p_grid );
+        final IDistance l_distance = this.distance( p_grid );
+        final int l_end = l_endrow * l_columns + l_endcolumn;
+        final int[] l_direction = new int[8];
+        final CSearchState l_state = CSearchState.of( l_rows * l_columns );
+        final CIndexedHeap l_openlist = l_state.open();
+
+        final int l_start = l_startrow * l_columns + l_startcolumn;
+        final double l_startheuristic = l_distance.heuristic( l_startrow, l_startcolumn, l_endrow, l_endcolumn );
+        l_state.update( l_start, 0, -1 );
+        l_openlist.push( l_start, l_startheuristic, l_startheuristic );
+
+        while ( !l_openlist.isEmpty() )
+        {
+            final int l_current = l_openlist.pop();
+            if ( l_current == l_end )
+                return this.expand( l_state.path( l_current ), l_columns );
+
+            l_state.close( l_current );
+
+            final int l_row = l_current / l_columns;
+            final int l_column = l_current % l_columns;
+            final int l_parent = l_state.parent( l_current );
+            final double l_currentgscore = l_state.gscore( l_current );
+
+            for ( int i = 0, l_count = this.prune( p_grid, l_row, l_column, l_parent, l_direction ); i < l_count; i++ )
+            {
+                final int l_jumppoint = l_jump.jump( l_row, l_column, l_direction[i], l_endrow, l_endcolumn );
+                if ( l_jumppoint < 0 || l_state.closed( l_jumppoint ) )
+                    continue;
+
+                final int l_jumprow = l_jumppoint / l_columns;
+                final int l_jumpcolumn = l_jumppoint % l_columns;
+                final double l_gscore = l_currentgscore + l_distance.apply( l_row, l_column, l_jumprow, l_jumpcolumn );
+                if ( l_gscore >= l_state.gscore( l_jumppoint ) )
+                    continue;
+
+                final double l_heuristic = l_distance.heuristic( l_jumprow, l_jumpcolumn, l_endrow, l_endcolumn );
+                l_state.update( l_jumppoint, l_gscore, l_current );
+                l_openlist.push( l_jumppoint, l_gscore + l_heuristic, l_heuristic );
+            }
+        }
+
+        return new int[0];
+    }
+
+    /**
+     * returns the jump function of a grid
+     *
+     * @param p_grid grid
+     * @return jump function
+     */
+    @Nonnull
+    protected abstract IJump jump( @Nonnull final ObjectMatrix2D p_grid );
+
+    /**
+     * checks if a single step from a cell into a direction is possible
+     *
+     * @param p_grid grid
+     * @param p_row row of the cell
+     * @param p_column column of the cell
+     * @param p_rowoffset row offset
+     * @param p_columnoffset column offset
+     * @return step is possible
+     */
+    protected final boolean step( @Nonnull final ObjectMatrix2D p_grid, final int p_row, final int p_column, final int p_rowoffset, final int p_columnoffset )
+    {
+        return this.walkable( p_grid, p_row + p_rowoffset, p_column + p_columnoffset )
+               && ( p_rowoffset == 0 || p_columnoffset == 0
+                    || m_movement.diagonal( this.walkable( p_grid, p_row + p_rowoffset, p_column ), this.walkable( p_grid, p_row, p_column + p_columnoffset ) ) );
+    }
+
+    /**
+     * checks if a cell has got a forced neighbour
+     * on a movement into the direction
+     *
+     * @param p_grid grid
+     * @param p_row row of the cell
+     * @param p_column column of the cell
+     * @param p_rowoffset row direction
+     * @param p_columnoffset column direction
+     * @return forced neighbour exists
+     */
+    protected final boolean forced( @Nonnull final ObjectMatrix2D p_grid, final int p_row, final int p_column, final int p_rowoffset, final int p_columnoffset )
+    {
+        // diagonal movement
+        if ( p_rowoffset != 0 && p_columnoffset != 0 )
+            return m_movement != ESearchDirection.NOOBSTACLES
+                   && ( this.walkable( p_grid, p_row - p_rowoffset, p_column + p_columnoffset ) && !this.walkable( p_grid, p_row - p_rowoffset, p_column )
+                        || this.walkable( p_grid, p_row + p_rowoffset, p_column - p_columnoffset ) && !this.walkable( p_grid, p_row, p_column - p_columnoffset ) );
+
+        // straight movement without corner cutting
+        if ( m_movement == ESearchDirection.NOOBSTACLES || m_movement == ESearchDirection.NEVER )
+            return p_rowoffset != 0
+                   ? this.walkable( p_grid, p_row, p_column - 1 ) && !this.walkable( p_grid, p_row - p_rowoffset, p_column - 1 )
+                     || this.walkable( p_grid, p_row, p_column + 1 ) && !this.walkable( p_grid, p_row - p_rowoffset, p_column + 1 )
+                   : this.walkable( p_grid, p_row - 1, p_column ) && !this.walkable( p_grid, p_row - 1, p_column - p_columnoffset )
+                     || this.walkable( p_grid, p_row + 1, p_column ) && !this.walkable( p_grid, p_row + 1, p_column - p_columnoffset );
+
+        // straight movement with corner cutting
+        return p_rowoffset != 0
+               ? this.walkable( p_grid, p_row + p_rowoffset, p_column + 1 ) && !this.walkable( p_grid, p_row, p_column + 1 )
+                 || this.walkable( p_grid, p_row + p_rowoffset, p_column - 1 ) && !this.walkable( p_grid, p_row, p_column - 1 )
+               : this.walkable( p_grid, p_row + 1, p_column + p_columnoffset ) && !this.walkable( p_grid, p_row + 1, p_column )
+                 || this.walkable( p_grid, p_row - 1, p_column + p_columnoffset ) && !this.walkable( p_grid, p_row - 1, p_column );
+    }
+
+    /**
+     * returns the direction index of an offset
+     *
+     * @param p_rowoffset row offset
+     * @param p_columnoffset column offset
+     * @return direction index
+     */
+    protected static int direction( final int p_rowoffset, final int p_columnoffset )
+    {
+        return DIRECTIONINDEX[( p_rowoffset + 1 ) * 3 + p_columnoffset + 1];
+    }
+
+    /**
+     * writes the pruned search directions of a cell
+     *
+     * @param p_grid grid
+     * @param p_row row
+     * @param p_column column
+     * @param p_parent parent cell index or -1
+     * @param p_direction direction index buffer with at least 8 elements
+     * @return number of directions
+     */
+    private int prune( @Nonnull final ObjectMatrix2D p_grid, final int p_row, final int p_column, final int p_parent, @Nonnull final int[] p_direction )
+    {
+        // start node uses all possible directions
+        if ( p_parent < 0 )
+        {
+            int l_count = 0;
+            for ( int i = 0; i < DIRECTIONROW.length; i++ )
+                l_count = push( p_direction, l_count, this.step( p_grid, p_row, p_column, DIRECTIONROW[i], DIRECTIONCOLUMN[i] ), DIRECTIONROW[i], DIRECTIONCOLUMN[i] );
+            return l_count;
+        }
+
+        final int l_columns = p_grid.columns();
+        final int l_row = Integer.signum( p_row - p_parent / l_columns );
+        final int l_column = Integer.signum( p_column - p_parent % l_columns );
+
+        if ( m_movement == ESearchDirection.NEVER )
+        {
+            int l_count = push( p_direction, 0, this.walkable( p_grid, p_row + l_row, p_column + l_column ), l_row, l_column );
+            l_count = push( p_direction, l_count, this.walkable( p_grid, p_row + l_column, p_column + l_row ), l_column, l_row );
+            return push( p_direction, l_count, this.walkable( p_grid, p_row - l_column, p_column - l_row ), -l_column, -l_row );
+        }
+
+        return l_row != 0 && l_column != 0
+               ? this.prunediagonal( p_grid, p_row, p_column, l_row, l_column, p_direction )
+               : this.prunestraight( p_grid, p_row, p_column, l_row, l_column, p_direction );
+    }
+
+    /**
+     * pruning of a diagonal movement
+     *
+     * @param p_grid grid
+     * @param p_row row
+     * @param p_column column
+     * @param p_rowoffset row direction
+     * @param p_columnoffset column direction
+     * @param p_direction direction buffer
+     * @return number of directions
+     */
+    private int prunediagonal( @Nonnull final ObjectMatrix2D p_grid, final int p_row, final int p_column, final int p_rowoffset, final int p_columnoffset,
+                               @Nonnull final int[] p_direction )
+    {
+        final boolean l_walkcolumn = this.walkable( p_grid, p_row, p_column + p_columnoffset );
+        final boolean l_walkrow = this.walkable( p_grid, p_row + p_rowoffset, p_column );
+
+        int l_count = push( p_direction, 0, l_walkcolumn, 0, p_columnoffset );
+        l_count = push( p_direction, l_count, l_walkrow, p_rowoffset, 0 );
+        l_count = push( p_direction, l_count, m_movement.diagonal( l_walkrow, l_walkcolumn ), p_rowoffset, p_columnoffset );
+        if ( m_movement == ESearchDirection.NOOBSTACLES )
+            return l_count;
+
+        // forced neighbours, on one-obstacle movement the diagonal must have got a free cardinal cell
+        final boolean l_oneobstacle = m_movement == ESearchDirection.ONEOBSTACLE;
+        l_count = push( p_direction, l_count, !this.walkable( p_grid, p_row - p_rowoffset, p_column ) && ( !l_oneobstacle || l_walkcolumn ),
+                        -p_rowoffset, p_columnoffset );
+        return push( p_direction, l_count, !this.walkable( p_grid, p_row, p_column - p_columnoffset ) && ( !l_oneobstacle || l_walkrow ),
+                     p_rowoffset, -p_columnoffset );
+    }
+
+    /**
+     * pruning of a straight movement
+     *
+     * @param p_grid grid
+     * @param p_row row
+     * @param p_column column
+     * @param p_rowoffset row direction
+     * @param p_columnoffset column direction
+     * @param p_direction direction buffer
+     * @return number of directions
+     */
+    private int prunestraight( @Nonnull final ObjectMatrix2D p_grid, final int p_row, final int p_column, final int p_rowoffset, final int p_columnoffset,
+                               @Nonnull final int[] p_direction )
+    {
+        // perpendicular offset of the movement
+        final int l_perpendicularrow = p_columnoffset == 0 ? 0 : 1;
+        final int l_perpendicularcolumn = p_rowoffset == 0 ? 0 : 1;
+        final boolean l_next = this.walkable( p_grid, p_row + p_rowoffset, p_column + p_columnoffset );
+        final boolean l_first = this.walkable( p_grid, p_row + l_perpendicularrow, p_column + l_perpendicularcolumn );
+        final boolean l_second = this.walkable( p_grid, p_row - l_perpendicularrow, p_column - l_perpendicularcolumn );
+
+        int l_count = push( p_direction, 0, l_next, p_rowoffset, p_columnoffset );
+
+        // without corner cutting the neighbours of the perpendicular cells are natural neighbours
+        if ( m_movement == ESearchDirection.NOOBSTACLES )
+        {
+            l_count = push( p_direction, l_count, l_next && l_first, p_rowoffset + l_perpendicularrow, p_columnoffset + l_perpendicularcolumn );
+            l_count = push( p_direction, l_count, l_next && l_second, p_rowoffset - l_perpendicularrow, p_columnoffset - l_perpendicularcolumn );
+            l_count = push( p_direction, l_count, l_first, l_perpendicularrow, l_perpendicularcolumn );
+            return push( p_direction, l_count, l_second, -l_perpendicularrow, -l_perpendicularcolumn );
+        }
+
+        // with corner cutting blocked perpendicular cells force diagonal neighbours
+        final boolean l_forced = m_movement == ESearchDirection.ALWAYS || l_next;
+        l_count = push( p_direction, l_count, l_forced && !l_first, p_rowoffset + l_perpendicularrow, p_columnoffset + l_perpendicularcolumn );
+        return push( p_direction, l_count, l_forced && !l_second, p_rowoffset - l_perpendicularrow, p_columnoffset - l_perpendicularcolumn );
+    }
+
+    /**
+     * adds a direction to the buffer if the condition is true
+     *
+     * @param p_direction direction buffer
+     * @param p_count number of directions within the buffer
+     * @param p_condition condition
+     * @param p_rowoffset row offset
+     * @param p_columnoffset column offset
+     * @return new number of directions
+     */
+    private static int push( @Nonnull final int[] p_direction, final int p_count, final boolean p_condition,
+                             final int p_rowoffset, final int p_columnoffset )
+    {
+        if ( !p_condition )
+            return p_count;
+
+        p_direction[p_count] = direction( p_rowoffset, p_columnoffset );
+        return p_count + 1;
+    }
+
+    /**
+     * expands the jump point path to a path of neighbour cells
+     *
+     * @param p_jumppoints cell indices of the jump points
+     * @param p_columns number of grid columns
+     * @return cell indices
+     */
+    private int[] expand( @Nonnull final int[] p_jumppoints, final int p_columns )
+    {
+        int l_length = 1;
+        for ( int i = 1; i < p_jumppoints.length; i++ )
+            l_length += Math.max(
+                Math.abs( p_jumppoints[i] / p_columns - p_jumppoints[i - 1] / p_columns ),
+                Math.abs( p_jumppoints[i] % p_columns - p_jumppoints[i - 1] % p_columns )
+            );
+
+        final int[] l_path = new int[l_length];
+        l_path[0] = p_jumppoints[0];
+
+        int l_index = 1;
+        for ( int i = 1; i < p_jumppoints.length; i++ )
+        {
+            int l_row = p_jumppoints[i - 1] / p_columns;
+            int l_column = p_jumppoints[i - 1] % p_columns;
+            final int l_rowoffset = Integer.signum( p_jumppoints[i] / p_columns - l_row );
+            final int l_columnoffset = Integer.signum( p_jumppoints[i] % p_columns - l_column );
+
+            while ( l_row * p_columns + l_column != p_jumppoints[i] )
+            {
+                l_row += l_rowoffset;
+                l_column += l_columnoffset;
+                l_path[l_index++] = l_row * p_columns + l_column;
+            }
+        }
+
+        return l_path;
+    }
+
+    /**
+     * returns the diagonal movement of a search direction
+     *
+     * @param p_searchdirection search direction
+     * @return diagonal movement
+     */
+    private static ESearchDirection movement( @Nonnull final ISearchDirection p_searchdirection )
+    {
+        if ( p_searchdirection instanceof ESearchDirection )
+            return (ESearchDirection) p_searchdirection;
+
+        if ( p_searchdirection.diagonal( false, false ) )
+            return ESearchDirection.ALWAYS;
+        if ( p_searchdirection.diagonal( true, false ) )
+            return ESearchDirection.ONEOBSTACLE;
+
+        return p_searchdirection.diagonal( true, true ) ? ESearchDirection.NOOBSTACLES : ESearchDirection.NEVER;
+    }
+
+
+    /**
+     * jump function of a grid
+     */
+    @FunctionalInterface
+    protected interface IJump
+    {
+        /**
+         * jumps from a cell into a direction
+         *
+         * @param p_row row of the cell
+         * @param p_column column of the cell
+         * @param p_direction direction index
+         * @param p_endrow goal row
+         * @param p_endcolumn goal column
+         * @return cell index of the jump point or -1
+         */
+        int jump( final int p_row, final int p_column, final int p_direction, final int p_endrow, final int p_endcolumn );
+    }
+}
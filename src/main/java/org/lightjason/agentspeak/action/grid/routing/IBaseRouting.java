@@ -24,11 +24,19 @@
 package org.lightjason.agentspeak.action.grid.routing;
 
 import cern.colt.matrix.tdouble.DoubleMatrix1D;
+import cern.colt.matrix.tdouble.impl.DenseDoubleMatrix1D;
 import cern.colt.matrix.tobject.ObjectMatrix2D;
 import edu.umd.cs.findbugs.annotations.NonNull;
+import org.lightjason.agentspeak.action.grid.layer.CLayerRegistry;
+import org.lightjason.agentspeak.action.grid.layer.CWalkableBitmap;
+import org.lightjason.agentspeak.common.CCommon;
+import org.lightjason.agentspeak.error.CIllegalArgumentException;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import java.io.Serializable;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
@@ -36,6 +44,7 @@ import java.util.Objects;
 import java.util.Queue;
 import java.util.function.BiFunction;
 import java.util.stream.Collectors;
+import java.util.stream.LongStream;
 import java.util.stream.Stream;
 
 
@@ -48,6 +57,21 @@ public abstract class IBaseRouting implements IRouting, Serializable
      * serial id
      */
     private static final long serialVersionUID = -7599848829150929706L;
+    /**
+     * maximum number of cells of a grid, which can be indexed by an array
+     */
+    static final long MAXIMUMCELLS = Integer.MAX_VALUE - 8;
+    /**
+     * default walkable function (cell is empty)
+     */
+    private static final IWalkable EMPTYCELL = ( g, r, c ) -> Objects.isNull( g.getQuick( r, c ) );
+    /**
+     * directions of the adjacent cells
+     */
+    private static final EDirection[] ADJACENT = {
+        EDirection.NORTH, EDirection.EAST, EDirection.SOUTH, EDirection.WEST,
+        EDirection.NORTHEAST, EDirection.NORTHWEST, EDirection.SOUTHEAST, EDirection.SOUTHWEST
+    };
     /**
      * distance
      */
@@ -60,6 +84,18 @@ public abstract class IBaseRouting implements IRouting, Serializable
      * walkable function
      */
     private final BiFunction<ObjectMatrix2D, DoubleMatrix1D, Boolean> m_walkable;
+    /**
+     * walkable function on row and column
+     */
+    private final IWalkable m_cell;
+    /**
+     * costs of a cardinal step
+     */
+    private final double m_cardinal;
+    /**
+     * costs of a diagonal step, infinity if diagonal movement is not allowed
+     */
+    private final double m_diagonal;
 
     /**
      * ctor
@@ -68,7 +104,7 @@ public abstract class IBaseRouting implements IRouting, Serializable
      */
     protected IBaseRouting( @Nonnull final IDistance p_distance, @Nonnull final ISearchDirection p_searchdirection )
     {
-        this( p_distance, p_searchdirection, ( g, p ) -> Objects.isNull( g.getQuick( (int) p.getQuick( 0 ), (int) p.getQuick( 1 ) ) ) );
+        this( p_distance, p_searchdirection, EMPTYCELL );
     }
 
     /**
@@ -83,7 +119,229 @@ public abstract class IBaseRouting implements IRouting, Serializable
     {
         m_distance = p_distance;
         m_walkable = p_walkable;
+        m_cell = p_walkable instanceof IWalkable
+                 ? (IWalkable) p_walkable
+                 : ( g, r, c ) -> p_walkable.apply( g, new DenseDoubleMatrix1D( new double[]{r, c} ) );
         m_searchdirection = p_searchdirection;
+        m_cardinal = Math.min( p_distance.apply( 0, 0, 0, 1 ), p_distance.apply( 0, 0, 1, 0 ) );
+        m_diagonal = p_searchdirection.diagonal( true, true )
+                     ? Math.min( p_distance.apply( 0, 0, 1, 1 ), p_distance.apply( 0, 1, 1, 0 ) )
+                     : Double.POSITIVE_INFINITY;
+    }
+
+    /**
+     * checks if the cells of a grid can be indexed, which
+     * is needed by fields and tables with a value for each
+     * grid cell, searches work on any grid size
+     *
+     * @param p_grid grid
+     * @return grid
+     * @throws CIllegalArgumentException iif the grid has got more cells than an array can store
+     */
+    @Nonnull
+    public static ObjectMatrix2D indexable( @Nonnull final ObjectMatrix2D p_grid )
+    {
+        if ( large( p_grid ) )
+            throw new CIllegalArgumentException( CCommon.languagestring( IBaseRouting.class, "gridtoolarge", p_grid.rows(), p_grid.columns() ) );
+        return p_grid;
+    }
+
+    /**
+     * checks if a grid has got more cells than
+     * a cell index (row * columns + column) can address
+     *
+     * @param p_grid grid
+     * @return large flag
+     */
+    static boolean large( @Nonnull final ObjectMatrix2D p_grid )
+    {
+        return (long) p_grid.rows() * p_grid.columns() > MAXIMUMCELLS;
+    }
+
+    /**
+     * {@inheritDoc}
+     * The check uses the connected components of the walkable cells,
+     * which are shared by all routings with equal search direction
+     * and walkable function, grid changes should be done with the
+     * layer registry, so the components are updated incrementally,
+     * a negative result is confirmed by a search, grids with more
+     * cells than an array can store are checked by a sparse search
+     */
+    @Override
+    public boolean reachable( @Nonnull final ObjectMatrix2D p_grid, @Nonnull final DoubleMatrix1D p_start, @Nonnull final DoubleMatrix1D p_end )
+    {
+        return this.reachable( p_grid, CCell.of( p_start ), CCell.of( p_end ) );
+    }
+
+    @Override
+    public boolean reachable( @Nonnull final ObjectMatrix2D p_grid, final long p_start, final long p_end )
+    {
+        final int l_startrow = CCell.row( p_start );
+        final int l_startcolumn = CCell.column( p_start );
+        final int l_endrow = CCell.row( p_end );
+        final int l_endcolumn = CCell.column( p_end );
+
+        if ( l_startrow < 0 || l_startrow >= p_grid.rows() || l_startcolumn < 0 || l_startcolumn >= p_grid.columns()
+             || l_endrow < 0 || l_endrow >= p_grid.rows() || l_endcolumn < 0 || l_endcolumn >= p_grid.columns() )
+            return false;
+
+        if ( large( p_grid ) )
+            return this.sparse( p_grid, p_start, p_end ).length > 0;
+
+        return CLayerRegistry.<CConnectedComponents>layer(
+            p_grid,
+            Arrays.asList( CConnectedComponents.class, m_searchdirection, m_walkable ),
+            i -> new CConnectedComponents( this )
+        ).reachable( p_grid, l_startrow, l_startcolumn, l_endrow, l_endcolumn );
+    }
+
+    /**
+     * {@inheritDoc}
+     * Routings which search on cell indices return the route
+     * without any position vector
+     */
+    @Nonnull
+    @Override
+    public LongStream apply( @Nonnull final ObjectMatrix2D p_grid, final long p_start, final long p_end )
+    {
+        // cell indices cannot address the cells of a large grid, so the position vectors are used
+        if ( large( p_grid ) )
+            return IRouting.super.apply( p_grid, p_start, p_end );
+
+        final int[] l_route = this.route( p_grid, p_start, p_end );
+        if ( Objects.isNull( l_route ) )
+            return IRouting.super.apply( p_grid, p_start, p_end );
+
+        final int l_columns = p_grid.columns();
+        return Arrays.stream( l_route ).mapToLong( i -> CCell.unindex( i, l_columns ) );
+    }
+
+    /**
+     * calculates a route on cell indices (row * columns + column)
+     *
+     * @param p_grid grid
+     * @param p_start packed start cell
+     * @param p_end packed goal cell
+     * @return cell indices of the route, empty array if there is no route
+     * or null if the routing works on position vectors only
+     */
+    @Nullable
+    protected int[] route( @Nonnull final ObjectMatrix2D p_grid, final long p_start, final long p_end )
+    {
+        return null;
+    }
+
+    /**
+     * returns the distance of a searched grid
+     *
+     * @param p_grid grid
+     * @return distance
+     */
+    @Nonnull
+    protected final IDistance distance( @Nonnull final ObjectMatrix2D p_grid )
+    {
+        return m_distance.bind( p_grid );
+    }
+
+    /**
+     * calculates the route positions of a routing which searches on
+     * cell indices, a large grid is searched by the sparse search
+     *
+     * @param p_grid grid
+     * @param p_start start position
+     * @param p_end goal position
+     * @return position stream, empty if there is no route
+     */
+    @Nonnull
+    protected final Stream<DoubleMatrix1D> path( @Nonnull final ObjectMatrix2D p_grid, @Nonnull final DoubleMatrix1D p_start, @Nonnull final DoubleMatrix1D p_end )
+    {
+        return large( p_grid )
+               ? constructpath( this.sparse( p_grid, CCell.of( p_start ), CCell.of( p_end ) ) )
+               : constructpath( this.route( p_grid, CCell.of( p_start ), CCell.of( p_end ) ), p_grid.columns() );
+    }
+
+    /**
+     * a-star on packed cells, the search state is stored by
+     * the slot of the visited cells, so any grid size can be
+     * searched and the memory grows with the visited cells,
+     * the lower bound heuristic keeps the route optimal
+     *
+     * @param p_grid grid
+     * @param p_start packed start cell
+     * @param p_end packed goal cell
+     * @return packed cells of the route, empty array if there is no route
+     */
+    @Nonnull
+    protected final long[] sparse( @Nonnull final ObjectMatrix2D p_grid, final long p_start, final long p_end )
+    {
+        final int l_rows = p_grid.rows();
+        final int l_columns = p_grid.columns();
+        if ( !CCell.inside( p_start, l_rows, l_columns ) || !CCell.inside( p_end, l_rows, l_columns ) )
+            return new long[0];
+        if ( p_start == p_end )
+            return new long[]{p_start};
+
+        final IWalkable l_walkable = this.resolve( p_grid );
+        final int l_endrow = CCell.row( p_end );
+        final int l_endcolumn = CCell.column( p_end );
+        if ( !this.walkable( p_grid, l_walkable, l_endrow, l_endcolumn ) )
+            return new long[0];
+
+        final CSparseIndex l_index = new CSparseIndex( 1024 );
+        final CIndexedHeap l_openlist = new CIndexedHeap( 1024 );
+        final long[] l_neighbour = new long[8];
+        final BitSet l_closed = new BitSet();
+        double[] l_gscore = new double[1024];
+        int[] l_parent = new int[1024];
+        Arrays.fill( l_gscore, Double.POSITIVE_INFINITY );
+
+        final int l_start = l_index.slot( p_start );
+        final double l_startheuristic = this.lowerbound( CCell.row( p_start ), CCell.column( p_start ), l_endrow, l_endcolumn );
+        l_gscore[l_start] = 0;
+        l_parent[l_start] = -1;
+        l_openlist.push( l_start, l_startheuristic, l_startheuristic );
+
+        while ( !l_openlist.isEmpty() )
+        {
+            final int l_current = l_openlist.pop();
+            final long l_cell = l_index.cell( l_current );
+            if ( l_cell == p_end )
+            {
+                int l_length = 0;
+                for ( int i = l_current; i >= 0; i = l_parent[i] )
+                    l_length++;
+
+                final long[] l_route = new long[l_length];
+                for ( int i = l_current; i >= 0; i = l_parent[i] )
+                    l_route[--l_length] = l_index.cell( i );
+                return l_route;
+            }
+
+            l_closed.set( l_current );
+            for ( int i = 0, l_count = this.neighbour( p_grid, l_walkable, l_cell, l_neighbour ); i < l_count; i++ )
+            {
+                final int l_next = l_index.slot( l_neighbour[i] );
+                if ( l_next == l_gscore.length )
+                {
+                    l_gscore = Arrays.copyOf( l_gscore, l_gscore.length << 1 );
+                    Arrays.fill( l_gscore, l_next, l_gscore.length, Double.POSITIVE_INFINITY );
+                    l_parent = Arrays.copyOf( l_parent, l_parent.length << 1 );
+                }
+                if ( l_closed.get( l_next ) )
+                    continue;
+
+                final double l_nextgscore = l_gscore[l_current] + m_distance.apply( l_cell, l_neighbour[i] );
+                if ( l_nextgscore >= l_gscore[l_next] )
+                    continue;
+
+                final double l_heuristic = this.lowerbound( CCell.row( l_neighbour[i] ), CCell.column( l_neighbour[i] ), l_endrow, l_endcolumn );
+                l_gscore[l_next] = l_nextgscore;
+                l_parent[l_next] = l_current;
+                l_openlist.push( l_next, l_nextgscore + l_heuristic, l_heuristic );
+            }
+        }
+
+        return new long[0];
     }
 
     /**
@@ -98,6 +356,279 @@ public abstract class IBaseRouting implements IRouting, Serializable
         return m_searchdirection.apply( p_grid, p_current, m_walkable );
     }
 
+    /**
+     * checks if a cell is inside the grid and walkable
+     *
+     * @param p_grid grid
+     * @param p_row row
+     * @param p_column column
+     * @return walkable flag
+     */
+    protected final boolean walkable( @Nonnull final ObjectMatrix2D p_grid, final int p_row, final int p_column )
+    {
+        return this.walkable( p_grid, m_cell, p_row, p_column );
+    }
+
+    /**
+     * returns the number of cells around a changed cell, whose
+     * walkability can be changed as well, layers must invalidate
+     * this neighbourhood on a cell change
+     *
+     * @return chebyshev radius, zero if the walkability depends only on the cell
+     */
+    protected final int influence()
+    {
+        return m_cell.influence();
+    }
+
+    /**
+     * resolves the walkable function for a single search on the grid,
+     * the walkability bitmap of the grid is used, if the grid has got
+     * a bitmap and the routing uses the default walkable function
+     *
+     * @param p_grid grid
+     * @return walkable function of the search
+     */
+    @Nonnull
+    protected final IWalkable resolve( @Nonnull final ObjectMatrix2D p_grid )
+    {
+        final CWalkableBitmap l_bitmap = m_walkable == EMPTYCELL ? CWalkableBitmap.of( p_grid ) : null;
+        return Objects.isNull( l_bitmap ) ? m_cell.resolve( p_grid ) : new CBitmapWalkable( l_bitmap );
+    }
+
+    /**
+     * checks if a cell is inside the grid and walkable
+     * with a resolved walkable function
+     *
+     * @param p_grid grid
+     * @param p_walkable resolved walkable function
+     * @param p_row row
+     * @param p_column column
+     * @return walkable flag
+     */
+    protected final boolean walkable( @Nonnull final ObjectMatrix2D p_grid, @Nonnull final IWalkable p_walkable, final int p_row, final int p_column )
+    {
+        return p_row >= 0 && p_row < p_grid.rows() && p_column >= 0 && p_column < p_grid.columns()
+               && p_walkable.walkable( p_grid, p_row, p_column );
+    }
+
+    /**
+     * writes the walkable neighbour cell indices of a cell into the buffer
+     * with a resolved walkable function, the neighbourhood of a bitmap is
+     * filtered by the search direction with bit operations
+     *
+     * @param p_grid grid
+     * @param p_walkable resolved walkable function
+     * @param p_row row
+     * @param p_column column
+     * @param p_buffer buffer with at least 8 elements
+     * @return number of neighbours
+     */
+    protected final int neighbour( @Nonnull final ObjectMatrix2D p_grid, @Nonnull final IWalkable p_walkable,
+                                   final int p_row, final int p_column, @Nonnull final int[] p_buffer )
+    {
+        if ( !( p_walkable instanceof CBitmapWalkable ) )
+            return this.cells( p_grid, p_walkable, p_row, p_column, p_buffer );
+
+        final int l_columns = p_grid.columns();
+        final int l_cell = p_row * l_columns + p_column;
+        int l_count = 0;
+        for ( int l_mask = m_searchdirection.mask( ( (CBitmapWalkable) p_walkable ).m_bitmap.neighbourhood( p_row, p_column ) ); l_mask != 0; l_mask &= l_mask - 1 )
+        {
+            final EDirection l_direction = ADJACENT[Integer.numberOfTrailingZeros( l_mask )];
+            p_buffer[l_count++] = l_cell + l_direction.row() * l_columns + l_direction.column();
+        }
+
+        return l_count;
+    }
+
+    /**
+     * writes the walkable neighbour cells of a packed cell into the buffer
+     * with a resolved walkable function, the cell indices are used iif
+     * they can address the grid cells
+     *
+     * @param p_grid grid
+     * @param p_walkable resolved walkable function
+     * @param p_cell packed cell
+     * @param p_buffer buffer with at least 8 elements
+     * @return number of neighbours
+     */
+    protected final int neighbour( @Nonnull final ObjectMatrix2D p_grid, @Nonnull final IWalkable p_walkable, final long p_cell, @Nonnull final long[] p_buffer )
+    {
+        if ( large( p_grid ) )
+            return m_searchdirection.apply(
+                p_cell, p_grid.rows(), p_grid.columns(),
+                i -> p_walkable.walkable( p_grid, CCell.row( i ), CCell.column( i ) ),
+                p_buffer
+            );
+
+        final int l_columns = p_grid.columns();
+        final int[] l_buffer = new int[8];
+        final int l_count = this.neighbour( p_grid, p_walkable, CCell.row( p_cell ), CCell.column( p_cell ), l_buffer );
+        for ( int i = 0; i < l_count; i++ )
+            p_buffer[i] = CCell.unindex( l_buffer[i], l_columns );
+        return l_count;
+    }
+
+    /**
+     * writes the walkable neighbour cell indices (row * columns + column) of
+     * a cell into the buffer, the order is equal to the search direction stream
+     *
+     * @param p_grid grid
+     * @param p_row row
+     * @param p_column column
+     * @param p_buffer buffer with at least 8 elements
+     * @return number of neighbours
+     */
+    protected final int neighbour( @Nonnull final ObjectMatrix2D p_grid, final int p_row, final int p_column, @Nonnull final int[] p_buffer )
+    {
+        return this.cells( p_grid, m_cell, p_row, p_column, p_buffer );
+    }
+
+    /**
+     * writes the walkable neighbour cell indices of a cell into the buffer
+     *
+     * @param p_grid grid
+     * @param p_walkable walkable function
+     * @param p_row row
+     * @param p_column column
+     * @param p_buffer buffer with at least 8 elements
+     * @return number of neighbours
+     */
+    private int cells( @Nonnull final ObjectMatrix2D p_grid, @Nonnull final IWalkable p_walkable,
+                       final int p_row, final int p_column, @Nonnull final int[] p_buffer )
+    {
+        final int l_columns = p_grid.columns();
+        final boolean l_north = this.walkable( p_grid, p_walkable, p_row - 1, p_column );
+        final boolean l_east = this.walkable( p_grid, p_walkable, p_row, p_column + 1 );
+        final boolean l_south = this.walkable( p_grid, p_walkable, p_row + 1, p_column );
+        final boolean l_west = this.walkable( p_grid, p_walkable, p_row, p_column - 1 );
+
+        int l_count = 0;
+        if ( l_north )
+            p_buffer[l_count++] = ( p_row - 1 ) * l_columns + p_column;
+        if ( l_east )
+            p_buffer[l_count++] = p_row * l_columns + p_column + 1;
+        if ( l_south )
+            p_buffer[l_count++] = ( p_row + 1 ) * l_columns + p_column;
+        if ( l_west )
+            p_buffer[l_count++] = p_row * l_columns + p_column - 1;
+
+        if ( m_searchdirection.diagonal( l_north, l_east ) && this.walkable( p_grid, p_walkable, p_row - 1, p_column + 1 ) )
+            p_buffer[l_count++] = ( p_row - 1 ) * l_columns + p_column + 1;
+        if ( m_searchdirection.diagonal( l_north, l_west ) && this.walkable( p_grid, p_walkable, p_row - 1, p_column - 1 ) )
+            p_buffer[l_count++] = ( p_row - 1 ) * l_columns + p_column - 1;
+        if ( m_searchdirection.diagonal( l_south, l_east ) && this.walkable( p_grid, p_walkable, p_row + 1, p_column + 1 ) )
+            p_buffer[l_count++] = ( p_row + 1 ) * l_columns + p_column + 1;
+        if ( m_searchdirection.diagonal( l_south, l_west ) && this.walkable( p_grid, p_walkable, p_row + 1, p_column - 1 ) )
+            p_buffer[l_count++] = ( p_row + 1 ) * l_columns + p_column - 1;
+
+        return l_count;
+    }
+
+    /**
+     * writes the neighbour cell indices of a cell, which are
+     * connected by a movement of the search direction, into the
+     * buffer, the walkability of the neighbour cells is not checked
+     *
+     * @param p_grid grid
+     * @param p_row row
+     * @param p_column column
+     * @param p_buffer buffer with at least 8 elements
+     * @return number of neighbours
+     */
+    protected final int adjacent( @Nonnull final ObjectMatrix2D p_grid, final int p_row, final int p_column, @Nonnull final int[] p_buffer )
+    {
+        final int l_columns = p_grid.columns();
+        int l_count = 0;
+
+        for ( final EDirection i : ADJACENT )
+        {
+            final int l_row = p_row + i.row();
+            final int l_column = p_column + i.column();
+            if ( l_row < 0 || l_row >= p_grid.rows() || l_column < 0 || l_column >= l_columns )
+                continue;
+
+            if ( i.row() == 0 || i.column() == 0
+                 || m_searchdirection.diagonal( this.walkable( p_grid, l_row, p_column ), this.walkable( p_grid, p_row, l_column ) ) )
+                p_buffer[l_count++] = l_row * l_columns + l_column;
+        }
+
+        return l_count;
+    }
+
+    /**
+     * returns a lower bound of the route costs between two cells,
+     * which is calculated by the costs of a single cardinal and
+     * diagonal step, so it is a consistent heuristic of the
+     * search direction also if the heuristic of the distance
+     * overestimates
+     *
+     * @param p_row1 row of the first cell
+     * @param p_column1 column of the first cell
+     * @param p_row2 row of the second cell
+     * @param p_column2 column of the second cell
+     * @return lower bound
+     */
+    protected final double lowerbound( final int p_row1, final int p_column1, final int p_row2, final int p_column2 )
+    {
+        final int l_rows = Math.abs( p_row1 - p_row2 );
+        final int l_columns = Math.abs( p_column1 - p_column2 );
+        final int l_diagonal = Math.min( l_rows, l_columns );
+
+        return m_diagonal < 2 * m_cardinal
+               ? m_diagonal * l_diagonal + m_cardinal * ( l_rows + l_columns - 2 * l_diagonal )
+               : m_cardinal * ( l_rows + l_columns );
+    }
+
+    /**
+     * checks if the search direction allows a diagonal movement
+     *
+     * @param p_first walkable flag of the first cardinal cell
+     * @param p_second walkable flag of the second cardinal cell
+     * @return diagonal movement is allowed
+     */
+    protected final boolean diagonal( final boolean p_first, final boolean p_second )
+    {
+        return m_searchdirection.diagonal( p_first, p_second );
+    }
+
+    /**
+     * returns the routing configuration, which can be
+     * used as key of grid layers, so routings with an
+     * equal configuration share their layers
+     *
+     * @return list with class, distance, search direction and walkable function
+     */
+    @Nonnull
+    protected final List<Object> configuration()
+    {
+        return Arrays.asList( this.getClass(), m_distance, m_searchdirection, m_walkable );
+    }
+
+    /**
+     * converts a cell index path to a position stream
+     *
+     * @param p_path cell indices
+     * @param p_columns number of grid columns
+     * @return position stream
+     */
+    protected static Stream<DoubleMatrix1D> constructpath( @Nonnull final int[] p_path, final int p_columns )
+    {
+        return Arrays.stream( p_path ).mapToObj( i -> new DenseDoubleMatrix1D( new double[]{i / p_columns, i % p_columns} ) );
+    }
+
+    /**
+     * builds the path of packed cells
+     *
+     * @param p_path packed cells
+     * @return position stream
+     */
+    protected static Stream<DoubleMatrix1D> constructpath( @Nonnull final long[] p_path )
+    {
+        return Arrays.stream( p_path ).mapToObj( CCell::position );
+    }
+
     /**
      * builds the path recursive on the node structure
      *
@@ -127,6 +658,38 @@ public abstract class IBaseRouting implements IRouting, Serializable
     }
 
 
+    /**
+     * walkable function of a single search,
+     * which reads the walkability bitmap of the grid
+     */
+    private static final class CBitmapWalkable implements IWalkable
+    {
+        /**
+         * serial id
+         */
+        private static final long serialVersionUID = 2417635096311467915L;
+        /**
+         * bitmap
+         */
+        private final transient CWalkableBitmap m_bitmap;
+
+        /**
+         * ctor
+         *
+         * @param p_bitmap bitmap
+         */
+        CBitmapWalkable( @Nonnull final CWalkableBitmap p_bitmap )
+        {
+            m_bitmap = p_bitmap;
+        }
+
+        @Override
+        public boolean walkable( @Nonnull final ObjectMatrix2D p_grid, final int p_row, final int p_column )
+        {
+            return m_bitmap.walkable( p_row, p_column );
+        }
+    }
+
     /**
      * comparator for score
      */
@@ -24,6 +24,7 @@
 package org.lightjason.agentspeak.action.grid.routing;
 
 import cern.colt.matrix.tdouble.DoubleMatrix1D;
+import cern.colt.matrix.tdouble.impl.DenseDoubleMatrix1D;
 
 import java.util.function.Function;
 
@@ -33,4 +34,37 @@ import java.util.function.Function;
  */
 public interface IDirection extends Function<DoubleMatrix1D, DoubleMatrix1D>
 {
+    /**
+     * row offset of the direction, by default
+     * the direction is applied to the origin
+     *
+     * @return row offset
+     */
+    default int row()
+    {
+        return (int) this.apply( new DenseDoubleMatrix1D( 2 ) ).getQuick( 0 );
+    }
+
+    /**
+     * column offset of the direction, by default
+     * the direction is applied to the origin
+     *
+     * @return column offset
+     */
+    default int column()
+    {
+        return (int) this.apply( new DenseDoubleMatrix1D( 2 ) ).getQuick( 1 );
+    }
+
+    /**
+     * moves a packed cell into the direction
+     *
+     * @param p_cell packed cell
+     * @return packed cell
+     */
+    default long apply( final long p_cell )
+    {
+        return CCell.of( CCell.row( p_cell ) + this.row(), CCell.column( p_cell ) + this.column() );
+    }
+
 }
@@ -24,8 +24,11 @@
 package org.lightjason.agentspeak.action.grid.routing;
 
 import cern.colt.matrix.tdouble.DoubleMatrix1D;
+import cern.colt.matrix.tdouble.impl.DenseDoubleMatrix1D;
+import cern.colt.matrix.tobject.ObjectMatrix2D;
 import edu.umd.cs.findbugs.annotations.NonNull;
 
+import javax.annotation.Nonnull;
 import java.util.function.BiFunction;
 
 
@@ -43,4 +46,76 @@ public interface IDistance extends BiFunction<DoubleMatrix1D, DoubleMatrix1D, Nu
      */
     Number heuristic( @NonNull final DoubleMatrix1D p_value1, @NonNull final DoubleMatrix1D p_value2 );
 
+    /**
+     * distance of two grid cells
+     *
+     * @param p_row1 row of the first cell
+     * @param p_column1 column of the first cell
+     * @param p_row2 row of the second cell
+     * @param p_column2 column of the second cell
+     * @return distance
+     */
+    default double apply( final int p_row1, final int p_column1, final int p_row2, final int p_column2 )
+    {
+        return this.apply(
+            new DenseDoubleMatrix1D( new double[]{p_row1, p_column1} ),
+            new DenseDoubleMatrix1D( new double[]{p_row2, p_column2} )
+        ).doubleValue();
+    }
+
+    /**
+     * heuristic distance approximation of two grid cells
+     *
+     * @param p_row1 row of the first cell
+     * @param p_column1 column of the first cell
+     * @param p_row2 row of the second cell
+     * @param p_column2 column of the second cell
+     * @return distance
+     */
+    default double heuristic( final int p_row1, final int p_column1, final int p_row2, final int p_column2 )
+    {
+        return this.heuristic(
+            new DenseDoubleMatrix1D( new double[]{p_row1, p_column1} ),
+            new DenseDoubleMatrix1D( new double[]{p_row2, p_column2} )
+        ).doubleValue();
+    }
+
+    /**
+     * distance of two packed cells
+     *
+     * @param p_cell1 first packed cell
+     * @param p_cell2 second packed cell
+     * @return distance
+     */
+    default double apply( final long p_cell1, final long p_cell2 )
+    {
+        return this.apply( CCell.row( p_cell1 ), CCell.column( p_cell1 ), CCell.row( p_cell2 ), CCell.column( p_cell2 ) );
+    }
+
+    /**
+     * heuristic distance approximation of two packed cells
+     *
+     * @param p_cell1 first packed cell
+     * @param p_cell2 second packed cell
+     * @return distance
+     */
+    default double heuristic( final long p_cell1, final long p_cell2 )
+    {
+        return this.heuristic( CCell.row( p_cell1 ), CCell.column( p_cell1 ), CCell.row( p_cell2 ), CCell.column( p_cell2 ) );
+    }
+
+    /**
+     * returns the distance of a searched grid, a routing
+     * calls it once for each search, so a distance which
+     * depends on grid data does not use the data of another grid
+     *
+     * @param p_grid searched grid
+     * @return distance
+     */
+    @Nonnull
+    default IDistance bind( @Nonnull final ObjectMatrix2D p_grid )
+    {
+        return this;
+    }
+
 }
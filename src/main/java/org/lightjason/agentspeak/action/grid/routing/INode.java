@@ -41,4 +41,14 @@ public interface INode extends Supplier<INode>, Consumer<INode>
      */
     DoubleMatrix1D position();
 
+    /**
+     * returns the packed cell of the node
+     *
+     * @return packed cell
+     */
+    default long cell()
+    {
+        return CCell.of( this.position() );
+    }
+
 }
@@ -27,6 +27,8 @@ import cern.colt.matrix.tdouble.DoubleMatrix1D;
 import cern.colt.matrix.tobject.ObjectMatrix2D;
 import com.codepoetics.protonpack.functions.TriFunction;
 
+import javax.annotation.Nonnull;
+import java.util.stream.LongStream;
 import java.util.stream.Stream;
 
 
@@ -35,4 +37,46 @@ import java.util.stream.Stream;
  */
 public interface IRouting extends TriFunction<ObjectMatrix2D, DoubleMatrix1D, DoubleMatrix1D, Stream<DoubleMatrix1D>>
 {
+
+    /**
+     * checks fast if the goal cell can be reached from the start cell
+     *
+     * @param p_grid grid
+     * @param p_start packed start cell
+     * @param p_end packed goal cell
+     * @return false if the goal is definitely not reachable
+     */
+    default boolean reachable( @Nonnull final ObjectMatrix2D p_grid, final long p_start, final long p_end )
+    {
+        return this.reachable( p_grid, CCell.position( p_start ), CCell.position( p_end ) );
+    }
+
+    /**
+     * calculates a route on packed cells
+     *
+     * @param p_grid grid
+     * @param p_start packed start cell
+     * @param p_end packed goal cell
+     * @return packed cells of the route or empty stream
+     */
+    @Nonnull
+    default LongStream apply( @Nonnull final ObjectMatrix2D p_grid, final long p_start, final long p_end )
+    {
+        return this.apply( p_grid, CCell.position( p_start ), CCell.position( p_end ) ).mapToLong( CCell::of );
+    }
+
+    /**
+     * checks fast if the goal position can be reached from
+     * the start position, so a routing can be skipped
+     *
+     * @param p_grid grid
+     * @param p_start start position
+     * @param p_end goal position
+     * @return false if the goal is definitely not reachable
+     */
+    default boolean reachable( @Nonnull final ObjectMatrix2D p_grid, @Nonnull final DoubleMatrix1D p_start, @Nonnull final DoubleMatrix1D p_end )
+    {
+        return true;
+    }
+
 }
@@ -27,7 +27,9 @@ import cern.colt.matrix.tdouble.DoubleMatrix1D;
 import cern.colt.matrix.tobject.ObjectMatrix2D;
 import com.codepoetics.protonpack.functions.TriFunction;
 
+import javax.annotation.Nonnull;
 import java.util.function.BiFunction;
+import java.util.function.LongPredicate;
 import java.util.stream.Stream;
 
 
@@ -36,4 +38,103 @@ import java.util.stream.Stream;
  */
 public interface ISearchDirection extends TriFunction<ObjectMatrix2D, DoubleMatrix1D, BiFunction<ObjectMatrix2D, DoubleMatrix1D, Boolean>, Stream<DoubleMatrix1D>>
 {
+    /**
+     * checks if a diagonal movement is allowed, based on
+     * the walkability of the two adjacent cardinal cells,
+     * by default both cardinal cells must be walkable
+     *
+     * @param p_first walkable flag of the first cardinal cell
+     * @param p_second walkable flag of the second cardinal cell
+     * @return diagonal movement is allowed
+     */
+    default boolean diagonal( final boolean p_first, final boolean p_second )
+    {
+        return p_first && p_second;
+    }
+
+    /**
+     * filters a neighbourhood mask by the diagonal movement rule,
+     * bits 0 to 7 are north, east, south, west, north-east,
+     * north-west, south-east and south-west
+     *
+     * @param p_neighbourhood mask of the walkable neighbour cells
+     * @return mask of the reachable neighbour cells
+     */
+    default int mask( final int p_neighbourhood )
+    {
+        final boolean l_north = ( p_neighbourhood & 1 ) != 0;
+        final boolean l_east = ( p_neighbourhood & 2 ) != 0;
+        final boolean l_south = ( p_neighbourhood & 4 ) != 0;
+        final boolean l_west = ( p_neighbourhood & 8 ) != 0;
+
+        return p_neighbourhood & (
+            0x0f
+            | ( this.diagonal( l_north, l_east ) ? 0x10 : 0 )
+            | ( this.diagonal( l_north, l_west ) ? 0x20 : 0 )
+            | ( this.diagonal( l_south, l_east ) ? 0x40 : 0 )
+            | ( this.diagonal( l_south, l_west ) ? 0x80 : 0 )
+        );
+    }
+
+    /**
+     * writes the walkable neighbours of a packed cell into the buffer,
+     * the order is equal to the position stream (cardinal cells first)
+     *
+     * @param p_cell packed cell
+     * @param p_rows number of grid rows
+     * @param p_columns number of grid columns
+     * @param p_walkable walkable check of a packed cell inside the grid
+     * @param p_buffer buffer with at least 8 elements
+     * @return number of neighbours
+     */
+    default int apply( final long p_cell, final int p_rows, final int p_columns, @Nonnull final LongPredicate p_walkable, @Nonnull final long[] p_buffer )
+    {
+        final long l_northcell = EDirection.NORTH.apply( p_cell );
+        final long l_eastcell = EDirection.EAST.apply( p_cell );
+        final long l_southcell = EDirection.SOUTH.apply( p_cell );
+        final long l_westcell = EDirection.WEST.apply( p_cell );
+
+        final boolean l_north = CCell.inside( l_northcell, p_rows, p_columns ) && p_walkable.test( l_northcell );
+        final boolean l_east = CCell.inside( l_eastcell, p_rows, p_columns ) && p_walkable.test( l_eastcell );
+        final boolean l_south = CCell.inside( l_southcell, p_rows, p_columns ) && p_walkable.test( l_southcell );
+        final boolean l_west = CCell.inside( l_westcell, p_rows, p_columns ) && p_walkable.test( l_westcell );
+
+        int l_count = 0;
+        if ( l_north )
+            p_buffer[l_count++] = l_northcell;
+        if ( l_east )
+            p_buffer[l_count++] = l_eastcell;
+        if ( l_south )
+            p_buffer[l_count++] = l_southcell;
+        if ( l_west )
+            p_buffer[l_count++] = l_westcell;
+
+        l_count = diagonal( this.diagonal( l_north, l_east ), EDirection.NORTHEAST.apply( p_cell ), p_rows, p_columns, p_walkable, p_buffer, l_count );
+        l_count = diagonal( this.diagonal( l_north, l_west ), EDirection.NORTHWEST.apply( p_cell ), p_rows, p_columns, p_walkable, p_buffer, l_count );
+        l_count = diagonal( this.diagonal( l_south, l_east ), EDirection.SOUTHEAST.apply( p_cell ), p_rows, p_columns, p_walkable, p_buffer, l_count );
+        return diagonal( this.diagonal( l_south, l_west ), EDirection.SOUTHWEST.apply( p_cell ), p_rows, p_columns, p_walkable, p_buffer, l_count );
+    }
+
+    /**
+     * adds a diagonal neighbour to the buffer
+     *
+     * @param p_allowed diagonal movement is allowed
+     * @param p_cell packed diagonal cell
+     * @param p_rows number of grid rows
+     * @param p_columns number of grid columns
+     * @param p_walkable walkable check
+     * @param p_buffer buffer
+     * @param p_count number of neighbours in the buffer
+     * @return new number of neighbours
+     */
+    private static int diagonal( final boolean p_allowed, final long p_cell, final int p_rows, final int p_columns,
+                                 @Nonnull final LongPredicate p_walkable, @Nonnull final long[] p_buffer, final int p_count )
+    {
+        if ( !p_allowed || !CCell.inside( p_cell, p_rows, p_columns ) || !p_walkable.test( p_cell ) )
+            return p_count;
+
+        p_buffer[p_count] = p_cell;
+        return p_count + 1;
+    }
+
 }
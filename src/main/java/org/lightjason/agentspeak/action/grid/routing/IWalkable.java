@@ -0,0 +1,85 @@
+/*
+ * @cond LICENSE
+ * ######################################################################################
+ * # LGPL License                                                                       #
+ * #                                                                                    #
+ * # This file is part of the LightJason                                                #
+ * # Copyright (c) 2015-19, LightJason (info@lightjason.org)                            #
+ * # This program is free software: you can redistribute it and/or modify               #
+ * # it under the terms of the GNU Lesser General Public License as                     #
+ * # published by the Free Software Foundation, either version 3 of the                 #
+ * # License, or (at your option) any later version.                                    #
+ * #                                                                                    #
+ * # This program is distributed in the hope that it will be useful,                    #
+ * # but WITHOUT ANY WARRANTY; without even the implied warranty of                     #
+ * # MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                      #
+ * # GNU Lesser General Public License for more details.                                #
+ * #                                                                                    #
+ * # You should have received a copy of the GNU Lesser General Public License           #
+ * # along with this program. If not, see http://www.gnu.org/licenses/                  #
+ * ######################################################################################
+ * @endcond
+ */
+
+
+package org.lightjason.agentspeak.action.grid.routing;
+
+import cern.colt.matrix.tdouble.DoubleMatrix1D;
+import cern.colt.matrix.tobject.ObjectMatrix2D;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import java.io.Serializable;
+import java.util.function.BiFunction;
+
+
+/**
+ * walkable function which checks a cell by row and column,
+ * the routings resolve the function once per search, so
+ * data of the grid (e.g. layers) is read only once
+ */
+@FunctionalInterface
+public interface IWalkable extends BiFunction<ObjectMatrix2D, DoubleMatrix1D, Boolean>, Serializable
+{
+
+    /**
+     * checks if a cell is walkable
+     *
+     * @param p_grid grid
+     * @param p_row row
+     * @param p_column column
+     * @return walkable flag
+     */
+    boolean walkable( @Nonnull final ObjectMatrix2D p_grid, final int p_row, final int p_column );
+
+    /**
+     * returns the number of cells around a changed cell,
+     * whose walkability can be changed as well
+     *
+     * @return chebyshev radius, zero if the walkability depends only on the cell
+     */
+    @Nonnegative
+    default int influence()
+    {
+        return 0;
+    }
+
+    /**
+     * resolves the function for a single search on a grid
+     *
+     * @param p_grid grid
+     * @return walkable function, which can be used during the search
+     */
+    @Nonnull
+    default IWalkable resolve( @Nonnull final ObjectMatrix2D p_grid )
+    {
+        return this;
+    }
+
+    @Override
+    default Boolean apply( @Nonnull final ObjectMatrix2D p_grid, @Nonnull final DoubleMatrix1D p_position )
+    {
+        return this.walkable( p_grid, (int) p_position.getQuick( 0 ), (int) p_position.getQuick( 1 ) );
+    }
+
+}
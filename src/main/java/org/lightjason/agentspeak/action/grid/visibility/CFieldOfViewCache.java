@@ -0,0 +1,172 @@
+/*
+ * @cond LICENSE
+ * ######################################################################################
+ * # LGPL License                                                                       #
+ * #                                                                                    #
+ * # This file is part of the LightJason                                                #
+ * # Copyright (c) 2015-19, LightJason (info@lightjason.org)                            #
+ * # This program is free software: you can redistribute it and/or modify               #
+ * # it under the terms of the GNU Lesser General Public License as                     #
+ * # published by the Free Software Foundation, either version 3 of the                 #
+ * # License, or (at your option) any later version.                                    #
+ * #                                                                                    #
+ * # This program is distributed in the hope that it will be useful,                    #
+ * # but WITHOUT ANY WARRANTY; without even the implied warranty of                     #
+ * # MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                      #
+ * # GNU Lesser General Public License for more details.                                #
+ * #                                                                                    #
+ * # You should have received a copy of the GNU Lesser General Public License           #
+ * # along with this program. If not, see http://www.gnu.org/licenses/                  #
+ * ######################################################################################
+ * @endcond
+ */
+
+package org.lightjason.agentspeak.action.grid.visibility;
+
+import cern.colt.matrix.tobject.ObjectMatrix2D;
+import org.lightjason.agentspeak.action.grid.layer.CLayerRegistry;
+import org.lightjason.agentspeak.action.grid.layer.ILayer;
+import org.lightjason.agentspeak.action.grid.routing.CCell;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+
+/**
+ * field of view cache of a grid.
+ * The visible cells are stored for each observer
+ * position and radius together with the grid version,
+ * so a field of view is calculated again only if the
+ * grid has been changed, the cache is cleared if it
+ * exceeds its capacity
+ */
+public final class CFieldOfViewCache implements ILayer
+{
+    /**
+     * maximum number of cached fields of view
+     */
+    public static final int CAPACITY = 4096;
+    /**
+     * cached fields of view
+     */
+    private final Map<Long, CView> m_views = new ConcurrentHashMap<>();
+
+    /**
+     * ctor
+     *
+     * @param p_grid grid
+     */
+    public CFieldOfViewCache( @Nonnull final ObjectMatrix2D p_grid )
+    {
+    }
+
+    /**
+     * returns the cache of a grid, if it exists
+     *
+     * @param p_grid grid
+     * @return cache or null
+     */
+    @Nullable
+    public static CFieldOfViewCache of( @Nonnull final ObjectMatrix2D p_grid )
+    {
+        return CLayerRegistry.<CFieldOfViewCache>find( p_grid, CFieldOfViewCache.class ).orElse( null );
+    }
+
+    /**
+     * attaches a cache to a grid
+     *
+     * @param p_grid grid
+     * @return cache
+     */
+    @Nonnull
+    public static CFieldOfViewCache attach( @Nonnull final ObjectMatrix2D p_grid )
+    {
+        return CLayerRegistry.layer( p_grid, CFieldOfViewCache.class, CFieldOfViewCache::new );
+    }
+
+    /**
+     * returns the visible non-empty cells around an observer
+     *
+     * @param p_grid grid
+     * @param p_row observer row
+     * @param p_column observer column
+     * @param p_radius radius
+     * @return packed cells in row-major order, the array must not be modified
+     */
+    @Nonnull
+    public long[] visible( @Nonnull final ObjectMatrix2D p_grid, final int p_row, final int p_column, @Nonnegative final double p_radius )
+    {
+        if ( !CCell.inside( CCell.of( p_row, p_column ), p_grid.rows(), p_grid.columns() ) )
+            return new long[0];
+
+        // the version is read before the calculation, so a concurrent change invalidates the result
+        final long l_version = CLayerRegistry.version( p_grid );
+        final Long l_key = ( (long) ( p_row * p_grid.columns() + p_column ) << 32 ) | ( Float.floatToIntBits( (float) p_radius ) & 0xffffffffL );
+
+        final CView l_view = m_views.get( l_key );
+        if ( Objects.nonNull( l_view ) && l_view.m_version == l_version )
+            return l_view.m_cells;
+
+        final long[] l_cells = CShadowcasting.visible( p_grid, p_row, p_column, p_radius );
+        if ( m_views.size() >= CAPACITY )
+            m_views.clear();
+        m_views.put( l_key, new CView( l_version, l_cells ) );
+
+        return l_cells;
+    }
+
+    /**
+     * number of cached fields of view
+     *
+     * @return size
+     */
+    public int size()
+    {
+        return m_views.size();
+    }
+
+    @Override
+    public void update( @Nonnull final ObjectMatrix2D p_grid, final int p_row, final int p_column,
+                        @Nullable final Object p_old, @Nullable final Object p_new )
+    {
+        // entries are invalidated by the grid version
+    }
+
+    @Override
+    public void reset( @Nonnull final ObjectMatrix2D p_grid )
+    {
+        m_views.clear();
+    }
+
+
+    /**
+     * cached field of view
+     */
+    private static final class CView
+    {
+        /**
+         * grid version
+         */
+        private final long m_version;
+        /**
+         * visible cells
+         */
+        private final long[] m_cells;
+
+        /**
+         * ctor
+         *
+         * @param p_version grid version
+         * @param p_cells visible cells
+         */
+        CView( final long p_version, @Nonnull final long[] p_cells )
+        {
+            m_version = p_version;
+            m_cells = p_cells;
+        }
+    }
+}
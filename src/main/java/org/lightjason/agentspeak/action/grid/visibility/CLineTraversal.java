@@ -0,0 +1,147 @@
+/*
+ * @cond LICENSE
+ * ######################################################################################
+ * # LGPL License                                                                       #
+ * #                                                                                    #
+ * # This file is part of the LightJason                                                #
+ * # Copyright (c) 2015-19, LightJason (info@lightjason.org)                            #
+ * # This program is free software: you can redistribute it and/or modify               #
+ * # it under the terms of the GNU Lesser General Public License as                     #
+ * # published by the Free Software Foundation, either version 3 of the                 #
+ * # License, or (at your option) any later version.                                    #
+ * #                                                                                    #
+ * # This program is distributed in the hope that it will be useful,                    #
+ * # but WITHOUT ANY WARRANTY; without even the implied warranty of                     #
+ * # MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                      #
+ * # GNU Lesser General Public License for more details.                                #
+ * #                                                                                    #
+ * # You should have received a copy of the GNU Lesser General Public License           #
+ * # along with this program. If not, see http://www.gnu.org/licenses/                  #
+ * ######################################################################################
+ * @endcond
+ */
+
+
+package org.lightjason.agentspeak.action.grid.visibility;
+
+import cern.colt.matrix.tobject.ObjectMatrix2D;
+import org.lightjason.agentspeak.action.grid.layer.CWalkableBitmap;
+import org.lightjason.agentspeak.action.grid.routing.CCell;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Objects;
+
+
+/**
+ * exact grid line traversal with the bresenham algorithm.
+ * A non-empty cell blocks the line, the cells are read from
+ * the walkability bitmap, if the grid has got one, otherwise
+ * from the grid
+ *
+ * @see <a href="https://en.wikipedia.org/wiki/Bresenham%27s_line_algorithm"></a>
+ */
+public final class CLineTraversal
+{
+    /**
+     * result of a ray without hit
+     */
+    public static final long NOHIT = -1L;
+
+    /**
+     * private ctor
+     */
+    private CLineTraversal()
+    {
+    }
+
+    /**
+     * checks the line of sight between two cells, the
+     * cells itself do not block the line, the check is
+     * symmetric, because the line is always traversed
+     * from the lower to the higher cell
+     *
+     * @param p_grid grid
+     * @param p_fromrow observer row
+     * @param p_fromcolumn observer column
+     * @param p_torow target row
+     * @param p_tocolumn target column
+     * @return visibility flag
+     */
+    public static boolean visible( @Nonnull final ObjectMatrix2D p_grid, final int p_fromrow, final int p_fromcolumn, final int p_torow, final int p_tocolumn )
+    {
+        final boolean l_swap = p_torow < p_fromrow || p_torow == p_fromrow && p_tocolumn < p_fromcolumn;
+        final long l_hit = l_swap
+                           ? traverse( p_grid, CWalkableBitmap.of( p_grid ), p_torow, p_tocolumn, p_fromrow, p_fromcolumn )
+                           : traverse( p_grid, CWalkableBitmap.of( p_grid ), p_fromrow, p_fromcolumn, p_torow, p_tocolumn );
+
+        return l_hit == NOHIT || CCell.row( l_hit ) == ( l_swap ? p_fromrow : p_torow ) && CCell.column( l_hit ) == ( l_swap ? p_fromcolumn : p_tocolumn );
+    }
+
+    /**
+     * casts a ray from a cell through a target cell
+     * until the first non-empty cell, the ray ends on the
+     * target cell, the start cell does not block the ray
+     *
+     * @param p_grid grid
+     * @param p_fromrow start row
+     * @param p_fromcolumn start column
+     * @param p_torow target row
+     * @param p_tocolumn target column
+     * @return packed cell of the first non-empty cell or NOHIT
+     */
+    public static long raycast( @Nonnull final ObjectMatrix2D p_grid, final int p_fromrow, final int p_fromcolumn, final int p_torow, final int p_tocolumn )
+    {
+        return traverse( p_grid, CWalkableBitmap.of( p_grid ), p_fromrow, p_fromcolumn, p_torow, p_tocolumn );
+    }
+
+    /**
+     * traverses a line and stops on the first non-empty
+     * cell or on leaving the grid
+     *
+     * @param p_grid grid
+     * @param p_bitmap walkability bitmap or null
+     * @param p_fromrow start row
+     * @param p_fromcolumn start column
+     * @param p_torow end row
+     * @param p_tocolumn end column
+     * @return packed cell of the first non-empty cell after the start or NOHIT
+     */
+    private static long traverse( @Nonnull final ObjectMatrix2D p_grid, @Nullable final CWalkableBitmap p_bitmap,
+                                  final int p_fromrow, final int p_fromcolumn, final int p_torow, final int p_tocolumn )
+    {
+        final int l_rows = p_grid.rows();
+        final int l_columns = p_grid.columns();
+        final int l_rowdelta = Math.abs( p_torow - p_fromrow );
+        final int l_columndelta = Math.abs( p_tocolumn - p_fromcolumn );
+        final int l_rowstep = Integer.signum( p_torow - p_fromrow );
+        final int l_columnstep = Integer.signum( p_tocolumn - p_fromcolumn );
+
+        int l_row = p_fromrow;
+        int l_column = p_fromcolumn;
+        int l_error = l_columndelta - l_rowdelta;
+
+        while ( l_row != p_torow || l_column != p_tocolumn )
+        {
+            final int l_double = 2 * l_error;
+            if ( l_double > -l_rowdelta )
+            {
+                l_error -= l_rowdelta;
+                l_column += l_columnstep;
+            }
+            if ( l_double < l_columndelta )
+            {
+                l_error += l_columndelta;
+                l_row += l_rowstep;
+            }
+
+            if ( l_row < 0 || l_row >= l_rows || l_column < 0 || l_column >= l_columns )
+                return NOHIT;
+
+            if ( Objects.isNull( p_bitmap ) ? Objects.nonNull( p_grid.getQuick( l_row, l_column ) ) : !p_bitmap.walkable( l_row, l_column ) )
+                return CCell.of( l_row, l_column );
+        }
+
+        return NOHIT;
+    }
+}
@@ -0,0 +1,242 @@
+/*
+ * @cond LICENSE
+ * ######################################################################################
+ * # LGPL License                                                                       #
+ * #                                                                                    #
+ * # This file is part of the LightJason                                                #
+ * # Copyright (c) 2015-19, LightJason (info@lightjason.org)                            #
+ * # This program is free software: you can redistribute it and/or modify               #
+ * # it under the terms of the GNU Lesser General Public License as                     #
+ * # published by the Free Software Foundation, either version 3 of the                 #
+ * # License, or (at your option) any later version.                                    #
+ * #                                                                                    #
+ * # This program is distributed in the hope that it will be useful,                    #
+ * # but WITHOUT ANY WARRANTY; without even the implied warranty of                     #
+ * # MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                      #
+ * # GNU Lesser General Public License for more details.                                #
+ * #                                                                                    #
+ * # You should have received a copy of the GNU Lesser General Public License           #
+ * # along with this program. If not, see http://www.gnu.org/licenses/                  #
+ * ######################################################################################
+ * @endcond
+ */
+
+package org.lightjason.agentspeak.action.grid.visibility;
+
+import cern.colt.matrix.tobject.ObjectMatrix2D;
+import org.lightjason.agentspeak.action.grid.layer.CWalkableBitmap;
+import org.lightjason.agentspeak.action.grid.routing.CCell;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import java.util.Objects;
+
+
+/**
+ * field of view with recursive shadowcasting.
+ * Each of the eight octants is scanned row by row,
+ * non-empty cells block the view and split the scanned
+ * slope interval, so each cell within the radius is
+ * visited a constant number of times, the cells are
+ * read from the walkability bitmap, if the grid has
+ * got one, otherwise from the grid
+ *
+ * @see <a href="http://www.roguebasin.com/index.php?title=FOV_using_recursive_shadowcasting"></a>
+ */
+public final class CShadowcasting
+{
+    /**
+     * octant transformation (column-column, column-row, row-column, row-row)
+     */
+    private static final int[][] OCTANTS = {
+        {1, 0, 0, 1}, {0, 1, 1, 0}, {0, -1, 1, 0}, {-1, 0, 0, 1},
+        {-1, 0, 0, -1}, {0, -1, -1, 0}, {0, 1, -1, 0}, {1, 0, 0, -1}
+    };
+
+    /**
+     * grid
+     */
+    private final ObjectMatrix2D m_grid;
+    /**
+     * walkability bitmap or null
+     */
+    private final CWalkableBitmap m_bitmap;
+    /**
+     * observer row
+     */
+    private final int m_row;
+    /**
+     * observer column
+     */
+    private final int m_column;
+    /**
+     * integer radius
+     */
+    private final int m_radius;
+    /**
+     * squared radius
+     */
+    private final double m_square;
+    /**
+     * visible bits of the cells around the observer
+     */
+    private final long[] m_visible;
+
+    /**
+     * ctor
+     *
+     * @param p_grid grid
+     * @param p_row observer row
+     * @param p_column observer column
+     * @param p_radius radius
+     */
+    private CShadowcasting( @Nonnull final ObjectMatrix2D p_grid, final int p_row, final int p_column, @Nonnegative final double p_radius )
+    {
+        m_grid = p_grid;
+        m_bitmap = CWalkableBitmap.of( p_grid );
+        m_row = p_row;
+        m_column = p_column;
+        m_radius = (int) p_radius;
+        m_square = p_radius * p_radius;
+        m_visible = new long[( this.width() * this.width() + 63 ) >>> 6];
+    }
+
+    /**
+     * returns the visible non-empty cells around an observer,
+     * the observer cell is not part of the result
+     *
+     * @param p_grid grid
+     * @param p_row observer row
+     * @param p_column observer column
+     * @param p_radius radius
+     * @return packed cells in row-major order
+     */
+    @Nonnull
+    public static long[] visible( @Nonnull final ObjectMatrix2D p_grid, final int p_row, final int p_column, @Nonnegative final double p_radius )
+    {
+        if ( !CCell.inside( CCell.of( p_row, p_column ), p_grid.rows(), p_grid.columns() ) || p_radius < 1 )
+            return new long[0];
+
+        return new CShadowcasting( p_grid, p_row, p_column, p_radius ).scan();
+    }
+
+    /**
+     * scans all octants and collects the visible non-empty cells
+     *
+     * @return packed cells in row-major order
+     */
+    @Nonnull
+    private long[] scan()
+    {
+        for ( final int[] l_octant : OCTANTS )
+            this.cast( 1, 1.0, 0.0, l_octant[0], l_octant[1], l_octant[2], l_octant[3] );
+
+        int l_count = 0;
+        for ( final long l_bits : m_visible )
+            l_count += Long.bitCount( l_bits );
+
+        final long[] l_cells = new long[l_count];
+        final int l_width = this.width();
+        for ( int i = 0, j = 0; j < l_count; i++ )
+            if ( ( m_visible[i >>> 6] & ( 1L << i ) ) != 0 )
+                l_cells[j++] = CCell.of( m_row - m_radius + i / l_width, m_column - m_radius + i % l_width );
+
+        return l_cells;
+    }
+
+    /**
+     * scans the rows of an octant within a slope interval
+     *
+     * @param p_distance first row distance
+     * @param p_start start slope
+     * @param p_end end slope
+     * @param p_xx column-column transformation
+     * @param p_xy column-row transformation
+     * @param p_yx row-column transformation
+     * @param p_yy row-row transformation
+     */
+    private void cast( final int p_distance, final double p_start, final double p_end, final int p_xx, final int p_xy, final int p_yx, final int p_yy )
+    {
+        if ( p_start < p_end )
+            return;
+
+        double l_start = p_start;
+        double l_nextstart = 0;
+        boolean l_blocked = false;
+
+        for ( int l_distance = p_distance; l_distance <= m_radius && !l_blocked; l_distance++ )
+        {
+            final int l_dy = -l_distance;
+            for ( int l_dx = -l_distance; l_dx <= 0; l_dx++ )
+            {
+                final double l_left = ( l_dx - 0.5 ) / ( l_dy + 0.5 );
+                final double l_right = ( l_dx + 0.5 ) / ( l_dy - 0.5 );
+                if ( l_start < l_right )
+                    continue;
+                if ( p_end > l_left )
+                    break;
+
+                final int l_column = m_column + l_dx * p_xx + l_dy * p_xy;
+                final int l_row = m_row + l_dx * p_yx + l_dy * p_yy;
+                final boolean l_inside = l_row >= 0 && l_row < m_grid.rows() && l_column >= 0 && l_column < m_grid.columns();
+
+                // cells outside the grid do not block, so the scan goes on along the border
+                final boolean l_opaque = l_inside && this.occupied( l_row, l_column );
+                if ( l_opaque && l_dx * l_dx + l_dy * l_dy <= m_square )
+                    this.mark( l_row, l_column );
+
+                if ( l_blocked )
+                {
+                    if ( l_opaque )
+                    {
+                        l_nextstart = l_right;
+                        continue;
+                    }
+
+                    l_blocked = false;
+                    l_start = l_nextstart;
+                }
+                else if ( l_opaque && l_distance < m_radius )
+                {
+                    l_blocked = true;
+                    this.cast( l_distance + 1, l_start, l_left, p_xx, p_xy, p_yx, p_yy );
+                    l_nextstart = l_right;
+                }
+            }
+        }
+    }
+
+    /**
+     * checks if a cell is not empty
+     *
+     * @param p_row row
+     * @param p_column column
+     * @return occupied flag
+     */
+    private boolean occupied( final int p_row, final int p_column )
+    {
+        return Objects.isNull( m_bitmap ) ? Objects.nonNull( m_grid.getQuick( p_row, p_column ) ) : !m_bitmap.walkable( p_row, p_column );
+    }
+
+    /**
+     * marks a cell as visible
+     *
+     * @param p_row row
+     * @param p_column column
+     */
+    private void mark( final int p_row, final int p_column )
+    {
+        final int l_index = ( p_row - m_row + m_radius ) * this.width() + p_column - m_column + m_radius;
+        m_visible[l_index >>> 6] |= 1L << l_index;
+    }
+
+    /**
+     * width of the scanned window
+     *
+     * @return width
+     */
+    private int width()
+    {
+        return 2 * m_radius + 1;
+    }
+}
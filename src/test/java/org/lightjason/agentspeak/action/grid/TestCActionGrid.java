@@ -29,24 +29,74 @@ import cern.colt.matrix.tdouble.impl.DenseDoubleMatrix1D;
 import cern.colt.matrix.tobject.ObjectMatrix2D;
 import cern.colt.matrix.tobject.impl.DenseObjectMatrix2D;
 import cern.colt.matrix.tobject.impl.SparseObjectMatrix2D;
+import org.apache.commons.lang3.tuple.Pair;
 import org.junit.Assert;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
+import org.lightjason.agentspeak.action.grid.layer.CClearanceField;
+import org.lightjason.agentspeak.action.grid.layer.CLayerRegistry;
+import org.lightjason.agentspeak.action.grid.layer.COccupancyTable;
+import org.lightjason.agentspeak.action.grid.layer.CPositionIndex;
+import org.lightjason.agentspeak.action.grid.layer.CSpatialIndex;
+import org.lightjason.agentspeak.action.grid.layer.CWalkableBitmap;
+import org.lightjason.agentspeak.action.grid.matrix.CConcurrentObjectMatrix2D;
+import org.lightjason.agentspeak.action.grid.matrix.CMappedObjectMatrix2D;
+import org.lightjason.agentspeak.action.grid.matrix.CTickObjectMatrix2D;
+import org.lightjason.agentspeak.action.grid.matrix.CTiledObjectMatrix2D;
+import org.lightjason.agentspeak.action.grid.matrix.EConflictPolicy;
 import org.lightjason.agentspeak.action.grid.routing.CAStarRouting;
+import org.lightjason.agentspeak.action.grid.routing.CAnytimeRouting;
+import org.lightjason.agentspeak.action.grid.routing.CCell;
+import org.lightjason.agentspeak.action.grid.routing.CClearance;
+import org.lightjason.agentspeak.action.grid.routing.CCooperativeRouting;
+import org.lightjason.agentspeak.action.grid.routing.CDStarLiteRouting;
+import org.lightjason.agentspeak.action.grid.routing.CFlowField;
+import org.lightjason.agentspeak.action.grid.routing.CFlowFieldRouting;
+import org.lightjason.agentspeak.action.grid.routing.CHierarchicalRouting;
+import org.lightjason.agentspeak.action.grid.routing.CJumpPointPlusRouting;
+import org.lightjason.agentspeak.action.grid.routing.CJumpPointRouting;
+import org.lightjason.agentspeak.action.grid.routing.CLandmarkDistance;
+import org.lightjason.agentspeak.action.grid.routing.CLandmarks;
+import org.lightjason.agentspeak.action.grid.routing.CPrimitiveAStarRouting;
+import org.lightjason.agentspeak.action.grid.routing.CReservationTable;
+import org.lightjason.agentspeak.action.grid.routing.CRouteCache;
+import org.lightjason.agentspeak.action.grid.routing.CRoutingExecutor;
+import org.lightjason.agentspeak.action.grid.routing.CSearchState;
+import org.lightjason.agentspeak.action.grid.routing.CSlicedRouting;
 import org.lightjason.agentspeak.action.grid.routing.EDirection;
 import org.lightjason.agentspeak.action.grid.routing.EDistance;
+import org.lightjason.agentspeak.action.grid.routing.ERouteStatus;
 import org.lightjason.agentspeak.action.grid.routing.ESearchDirection;
+import org.lightjason.agentspeak.action.grid.routing.IDirection;
+import org.lightjason.agentspeak.action.grid.routing.IDistance;
+import org.lightjason.agentspeak.action.grid.routing.IRouting;
+import org.lightjason.agentspeak.action.grid.routing.IWalkable;
+import org.lightjason.agentspeak.action.grid.visibility.CFieldOfViewCache;
+import org.lightjason.agentspeak.action.grid.visibility.CLineTraversal;
+import org.lightjason.agentspeak.error.CIllegalArgumentException;
+import org.lightjason.agentspeak.error.CRuntimeException;
 import org.lightjason.agentspeak.language.CRawTerm;
 import org.lightjason.agentspeak.language.ITerm;
 import org.lightjason.agentspeak.language.execution.IContext;
 import org.lightjason.agentspeak.testing.IBaseTest;
 
 import javax.annotation.Nonnull;
+import java.io.IOException;
+import java.lang.ref.WeakReference;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
 import java.util.List;
 import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
@@ -65,6 +115,35 @@ public final class TestCActionGrid extends IBaseTest
      * empty grid
      */
     private static final int[][] EMPTYGRID = new int[][]{{0, 0, 0}, {0, 0, 0}, {0, 0, 0}};
+    /**
+     * octile distance with admissible heuristic
+     */
+    private static final IDistance OCTILE = new IDistance()
+    {
+        @Override
+        public Number heuristic( @Nonnull final DoubleMatrix1D p_value1, @Nonnull final DoubleMatrix1D p_value2 )
+        {
+            return EDistance.OCTILE.apply( p_value1, p_value2 );
+        }
+
+        @Override
+        public Number apply( final DoubleMatrix1D p_value1, final DoubleMatrix1D p_value2 )
+        {
+            return EDistance.OCTILE.apply( p_value1, p_value2 );
+        }
+
+        @Override
+        public double apply( final int p_row1, final int p_column1, final int p_row2, final int p_column2 )
+        {
+            return EDistance.OCTILE.apply( p_row1, p_column1, p_row2, p_column2 );
+        }
+
+        @Override
+        public double heuristic( final int p_row1, final int p_column1, final int p_row2, final int p_column2 )
+        {
+            return EDistance.OCTILE.apply( p_row1, p_column1, p_row2, p_column2 );
+        }
+    };
 
 
     /**
@@ -91,6 +170,16 @@ public final class TestCActionGrid extends IBaseTest
         Assertions.assertTrue( l_return.get( 1 ).raw() instanceof DenseObjectMatrix2D );
         Assertions.assertEquals( 3, l_return.get( 1 ).<ObjectMatrix2D>raw().rows() );
         Assertions.assertEquals( 5, l_return.get( 1 ).<ObjectMatrix2D>raw().columns() );
+
+        // the walkability bitmap is attached on request only
+        Assertions.assertNull( CWalkableBitmap.of( l_return.get( 0 ).raw() ) );
+        new CDenseGrid( true ).execute(
+            false,
+            IContext.EMPTYPLAN,
+            Stream.of( 2, 2 ).map( CRawTerm::of ).collect( Collectors.toList() ),
+            l_return
+        );
+        Assertions.assertNotNull( CWalkableBitmap.of( l_return.get( 2 ).raw() ) );
     }
 
     /**
@@ -141,6 +230,225 @@ public final class TestCActionGrid extends IBaseTest
         Assertions.assertFalse( () -> l_return.get( 1 ).raw() );
     }
 
+    /**
+     * test memory-mapped grid with
+     * actions, routing and reopening
+     *
+     * @throws IOException on file error
+     */
+    @Test
+    public void mappedgrid() throws IOException
+    {
+        final Path l_path = Files.createTempFile( "grid", ".map" );
+        l_path.toFile().deleteOnExit();
+        Files.delete( l_path );
+
+        final List<ITerm> l_return = new ArrayList<>();
+        Assertions.assertTrue(
+            execute(
+                new CMappedGrid(),
+                false,
+                Stream.of( l_path.toString(), 3, 5 ).map( CRawTerm::of ).collect( Collectors.toList() ),
+                l_return
+            )
+        );
+        Assertions.assertEquals( 1, l_return.size() );
+
+        final CMappedObjectMatrix2D l_grid = l_return.get( 0 ).raw();
+        final Object l_object = new Object();
+        execute(
+            new CSet(),
+            false,
+            Stream.of( l_grid, 0, 3, l_object, 1, 0, l_object, 1, 4, "wall", 2, 2, "wall" ).map( CRawTerm::of ).collect( Collectors.toList() ),
+            Collections.emptyList()
+        );
+        execute(
+            new CRemove(),
+            false,
+            Stream.of( l_grid, 1, 0 ).map( CRawTerm::of ).collect( Collectors.toList() ),
+            new ArrayList<>()
+        );
+
+        Assertions.assertSame( l_object, ( (ITerm) l_grid.getQuick( 0, 3 ) ).raw() );
+        Assertions.assertNull( l_grid.getQuick( 1, 0 ) );
+        Assertions.assertEquals( 5, l_grid.viewDice().rows() );
+        Assertions.assertEquals( "wall", ( (ITerm) l_grid.viewDice().getQuick( 4, 1 ) ).raw() );
+        Assertions.assertEquals( "wall", ( (ITerm) l_grid.viewRow( 1 ).getQuick( 4 ) ).raw() );
+        Assertions.assertEquals( "wall", ( (ITerm) l_grid.viewColumn( 2 ).getQuick( 2 ) ).raw() );
+        Assertions.assertEquals( "wall", ( (ITerm) l_grid.viewSelection( new int[]{2, 1}, new int[]{4, 2} ).getQuick( 1, 0 ) ).raw() );
+        Assertions.assertEquals( "wall", ( (ITerm) l_grid.viewSelection( new int[]{2, 1}, new int[]{4, 2} ).viewDice().viewRow( 1 ).getQuick( 0 ) ).raw() );
+        Assertions.assertEquals( "wall", ( (ITerm) l_grid.viewPart( 1, 1, 2, 4 ).viewRow( 0 ).viewSelection( new int[]{3} ).getQuick( 0 ) ).raw() );
+
+        l_grid.viewColumn( 1 ).setQuick( 0, "view" );
+        Assertions.assertEquals( "view", l_grid.getQuick( 0, 1 ) );
+        l_grid.viewSelection( new int[]{0}, new int[]{1} ).setQuick( 0, 0, null );
+        Assertions.assertNull( l_grid.getQuick( 0, 1 ) );
+
+        final IRouting l_routing = new CPrimitiveAStarRouting();
+        Assertions.assertEquals(
+            l_routing.apply( buildgrid( GRID ), new DenseDoubleMatrix1D( new double[]{2, 0} ), new DenseDoubleMatrix1D( new double[]{2, 4} ) )
+                     .collect( Collectors.toList() ),
+            l_routing.apply( l_grid, new DenseDoubleMatrix1D( new double[]{2, 0} ), new DenseDoubleMatrix1D( new double[]{2, 4} ) )
+                     .collect( Collectors.toList() )
+        );
+
+        // persisted cells without object return the id
+        l_grid.flush();
+        final CMappedObjectMatrix2D l_reopen = CMappedObjectMatrix2D.open( l_path );
+        Assertions.assertEquals( 3, l_reopen.rows() );
+        Assertions.assertEquals( 5, l_reopen.columns() );
+        Assertions.assertEquals( l_grid.id( 1, 4 ), l_reopen.getQuick( 1, 4 ) );
+        Assertions.assertNull( l_reopen.getQuick( 0, 0 ) );
+
+        Files.write( l_path, new byte[]{1, 2, 3} );
+        Assertions.assertThrows( IOException.class, () -> CMappedObjectMatrix2D.open( l_path ) );
+    }
+
+    /**
+     * test memory-mapped grid with more cells
+     * than an array can store, cells and views are
+     * accessible and routing actions search on the grid
+     *
+     * @throws IOException on file error
+     */
+    @Test
+    public void mappedlargegrid() throws IOException
+    {
+        final Path l_path = Files.createTempFile( "grid", ".map" );
+        l_path.toFile().deleteOnExit();
+
+        final CMappedObjectMatrix2D l_grid = CMappedObjectMatrix2D.create( l_path, 50000, 50000 );
+        try
+        {
+            Assertions.assertTrue( l_grid.size() > Integer.MAX_VALUE );
+
+            l_grid.setQuick( 49999, 49998, "wall" );
+            Assertions.assertEquals( "wall", l_grid.getQuick( 49999, 49998 ) );
+            Assertions.assertEquals( "wall", l_grid.viewRow( 49999 ).getQuick( 49998 ) );
+            Assertions.assertEquals( "wall", l_grid.viewColumn( 49998 ).getQuick( 49999 ) );
+            Assertions.assertEquals( "wall", l_grid.viewDice().viewRow( 49998 ).getQuick( 49999 ) );
+            Assertions.assertEquals( "wall", l_grid.viewSelection( new int[]{0, 49999}, new int[]{49998} ).getQuick( 1, 0 ) );
+            Assertions.assertEquals( "wall", l_grid.viewPart( 49990, 49990, 10, 10 ).getQuick( 9, 8 ) );
+            Assertions.assertNull( l_grid.getQuick( 49998, 49999 ) );
+
+            // wall across the corner with a single gap in the last column
+            IntStream.range( 49990, 49999 ).forEach( i -> l_grid.setQuick( 49995, i, "wall" ) );
+
+            final List<ITerm> l_return = new ArrayList<>();
+            execute(
+                new CAStar(),
+                false,
+                Stream.of( l_grid, 49993, 49995, 49997, 49995 ).map( CRawTerm::of ).collect( Collectors.toList() ),
+                l_return
+            );
+
+            Assertions.assertEquals( 1, l_return.size() );
+            final List<DoubleMatrix1D> l_route = l_return.get( 0 ).raw();
+            Assertions.assertEquals( 13, l_route.size() );
+            Assertions.assertArrayEquals( new double[]{49993, 49995}, l_route.get( 0 ).toArray() );
+            Assertions.assertArrayEquals( new double[]{49997, 49995}, l_route.get( 12 ).toArray() );
+            Assertions.assertTrue( l_route.stream().anyMatch( i -> i.getQuick( 0 ) == 49995 && i.getQuick( 1 ) == 49999 ) );
+            Assertions.assertTrue( l_route.stream().noneMatch( i -> Objects.nonNull( l_grid.getQuick( (int) i.getQuick( 0 ), (int) i.getQuick( 1 ) ) ) ) );
+
+            l_return.clear();
+            execute(
+                new CReachable(),
+                false,
+                Stream.of( l_grid, 49993, 49995, 49997, 49995 ).map( CRawTerm::of ).collect( Collectors.toList() ),
+                l_return
+            );
+            Assertions.assertEquals( 1, l_return.size() );
+            Assertions.assertTrue( l_return.get( 0 ).<Boolean>raw() );
+        }
+        finally
+        {
+            Files.delete( l_path );
+        }
+    }
+
+    /**
+     * test tiled grid against a dense grid
+     * with tile releasing and growing
+     *
+     * @throws InterruptedException on thread interruption
+     */
+    @Test
+    public void tiledgrid() throws InterruptedException
+    {
+        final List<ITerm> l_return = new ArrayList<>();
+        Assertions.assertTrue(
+            execute(
+                new CTiledGrid( true ),
+                false,
+                Stream.of( 100, 150 ).map( CRawTerm::of ).collect( Collectors.toList() ),
+                l_return
+            )
+        );
+
+        final CTiledObjectMatrix2D l_grid = l_return.get( 0 ).raw();
+        final ObjectMatrix2D l_reference = new DenseObjectMatrix2D( 100, 150 );
+        final Random l_random = new Random( 31 );
+
+        IntStream.range( 0, 3000 ).forEach( i ->
+        {
+            final int l_row = l_random.nextInt( 100 );
+            final int l_column = l_random.nextInt( 150 );
+            final Object l_value = l_random.nextBoolean() ? null : new Object();
+            CLayerRegistry.set( l_grid, l_row, l_column, l_value );
+            l_reference.setQuick( l_row, l_column, l_value );
+        } );
+
+        Assertions.assertEquals( l_reference.viewDice(), l_grid.viewDice() );
+        Assertions.assertEquals( l_reference.viewPart( 10, 20, 30, 40 ), l_grid.viewPart( 10, 20, 30, 40 ) );
+        Assertions.assertEquals( l_reference.viewRow( 37 ), l_grid.viewRow( 37 ) );
+        Assertions.assertEquals( l_reference.viewColumnFlip().viewColumn( 42 ), l_grid.viewColumnFlip().viewColumn( 42 ) );
+        Assertions.assertEquals( l_reference.viewSelection( new int[]{3, 99, 50}, null ), l_grid.viewSelection( new int[]{3, 99, 50}, null ) );
+        Assertions.assertEquals( l_reference.cardinality(), l_grid.cardinality() );
+        Assertions.assertThrows( CIllegalArgumentException.class, () -> new CTiledObjectMatrix2D( Integer.MAX_VALUE, 2 ) );
+
+        final DoubleMatrix1D l_start = new DenseDoubleMatrix1D( new double[]{0, 0} );
+        final DoubleMatrix1D l_end = new DenseDoubleMatrix1D( new double[]{99, 149} );
+        final IRouting l_routing = new CPrimitiveAStarRouting();
+        Assertions.assertEquals( l_routing.apply( l_reference, l_start, l_end ).count(), l_routing.apply( l_grid, l_start, l_end ).count() );
+
+        // empty tiles are released
+        IntStream.range( 0, 100 ).forEach( r -> IntStream.range( 0, 150 ).forEach( c -> l_grid.setQuick( r, c, null ) ) );
+        Assertions.assertEquals( 0, l_grid.tiles() );
+
+        // growing into negative rows moves the cells by a tile and the attached layers are rebuilt
+        final Object l_object = new Object();
+        l_grid.setQuick( 5, 7, l_object );
+        CPositionIndex.attach( l_grid );
+        Assertions.assertTrue( l_routing.reachable( l_grid, l_start, l_end ) );
+
+        l_return.clear();
+        Assertions.assertTrue( execute( new CGrow(), false, Stream.of( l_grid, -3, 200, 1, 1 ).map( CRawTerm::of ).collect( Collectors.toList() ), l_return ) );
+        Assertions.assertArrayEquals( new double[]{64, 0}, l_return.get( 0 ).<DoubleMatrix1D>raw().toArray() );
+        Assertions.assertEquals( 164, l_grid.rows() );
+        Assertions.assertEquals( 201, l_grid.columns() );
+        Assertions.assertEquals( 64, l_grid.rowoffset() );
+        Assertions.assertSame( l_object, l_grid.getQuick( 69, 7 ) );
+        Assertions.assertTrue( CWalkableBitmap.of( l_grid ).walkable( 61, 200 ) );
+        Assertions.assertFalse( CWalkableBitmap.of( l_grid ).walkable( 69, 7 ) );
+        Assertions.assertEquals( CCell.of( 69, 7 ), Objects.requireNonNull( CPositionIndex.of( l_grid ) ).position( l_object ) );
+        Assertions.assertTrue( l_routing.reachable( l_grid, l_start, new DenseDoubleMatrix1D( new double[]{163, 200} ) ) );
+        Assertions.assertFalse( execute( new CGrow(), false, Stream.of( l_reference, 200, 200 ).map( CRawTerm::of ).collect( Collectors.toList() ), new ArrayList<>() ) );
+
+        // growths and writes are synchronized, so no write is lost during a growth
+        final ObjectMatrix2D l_written = new DenseObjectMatrix2D( 1, 150 );
+        final Thread l_growth = new Thread( () -> IntStream.range( 1, 50 ).forEach( i -> l_grid.ensure( 0, 200 + i * 64 ) ) );
+        l_growth.start();
+        IntStream.range( 0, 20000 ).forEach( i ->
+        {
+            l_grid.setQuick( 100, i % 150, i );
+            l_written.setQuick( 0, i % 150, i );
+        } );
+        l_growth.join();
+
+        Assertions.assertEquals( 3337, l_grid.columns() );
+        Assertions.assertEquals( l_written.viewRow( 0 ), l_grid.viewPart( 100, 0, 1, 150 ).viewRow( 0 ) );
+    }
+
     /**
      * test set action
      */
@@ -225,198 +533,1875 @@ public final class TestCActionGrid extends IBaseTest
     }
 
     /**
-     * test directions
+     * test atomic set, compare-and-set and move
+     * actions with concurrent agents on one cell
+     *
+     * @throws InterruptedException on thread interruption
      */
     @Test
-    public void direction()
+    public void concurrentgrid() throws InterruptedException
     {
-        final DoubleMatrix1D l_position = new DenseDoubleMatrix1D( 2 );
-
-        Assertions.assertArrayEquals(
-            EDirection.NORTH.apply( l_position ).toArray(),
-            new double[]{-1, 0},
-            0
-        );
-
-        Assertions.assertArrayEquals(
-            EDirection.EAST.apply( l_position ).toArray(),
-            new double[]{0, 1},
-            0
-        );
-
-        Assertions.assertArrayEquals(
-            EDirection.SOUTH.apply( l_position ).toArray(),
-            new double[]{1, 0},
-            0
+        final List<ITerm> l_return = new ArrayList<>();
+        Assertions.assertTrue(
+            execute(
+                new CConcurrentGrid(),
+                false,
+                Stream.of( 3, 3 ).map( CRawTerm::of ).collect( Collectors.toList() ),
+                l_return
+            )
         );
 
-        Assertions.assertArrayEquals(
-            EDirection.WEST.apply( l_position ).toArray(),
-            new double[]{0, -1},
-            0
-        );
+        final ObjectMatrix2D l_grid = l_return.get( 0 ).raw();
+        Assertions.assertTrue( l_grid instanceof CConcurrentObjectMatrix2D );
 
-        Assertions.assertArrayEquals(
-            EDirection.NORTHEAST.apply( l_position ).toArray(),
-            new double[]{-1, 1},
-            0
+        // only one agent gets the cell
+        Assertions.assertEquals(
+            1,
+            IntStream.range( 0, 64 ).parallel().filter( i -> execute(
+                new CSetIfEmpty(),
+                false,
+                Stream.of( l_grid, 1, 1, i ).map( CRawTerm::of ).collect( Collectors.toList() ),
+                Collections.emptyList()
+            ) ).count()
         );
+        Assertions.assertFalse( CWalkableBitmap.of( l_grid ).walkable( 1, 1 ) );
 
-        Assertions.assertArrayEquals(
-            EDirection.NORTHWEST.apply( l_position ).toArray(),
-            new double[]{-1, -1},
-            0
-        );
+        // increments must not be lost
+        Assertions.assertTrue( execute( new CSet(), false, Stream.of( l_grid, 0, 0, 0.0 ).map( CRawTerm::of ).collect( Collectors.toList() ), Collections.emptyList() ) );
+        IntStream.range( 0, 1000 ).parallel().forEach( i ->
+        {
+            while ( true )
+            {
+                final double l_value = ( (ITerm) l_grid.getQuick( 0, 0 ) ).<Number>raw().doubleValue();
+                if ( execute(
+                    new CCompareAndSet(),
+                    false,
+                    Stream.of( l_grid, 0, 0, l_value, l_value + 1 ).map( CRawTerm::of ).collect( Collectors.toList() ),
+                    Collections.emptyList()
+                ) )
+                    return;
+            }
+        } );
+        Assertions.assertEquals( 1000, ( (ITerm) l_grid.getQuick( 0, 0 ) ).<Number>raw().intValue() );
 
-        Assertions.assertArrayEquals(
-            EDirection.SOUTHEAST.apply( l_position ).toArray(),
-            new double[]{1, 1},
-            0
-        );
+        // moves to an empty cell only
+        Assertions.assertFalse( execute( new CMove(), false, Stream.of( l_grid, 0, 0, 1, 1 ).map( CRawTerm::of ).collect( Collectors.toList() ), Collections.emptyList() ) );
+        Assertions.assertFalse( execute( new CMove(), false, Stream.of( l_grid, 2, 2, 2, 1 ).map( CRawTerm::of ).collect( Collectors.toList() ), Collections.emptyList() ) );
+        Assertions.assertTrue( execute( new CMove(), false, Stream.of( l_grid, 0, 0, 2, 2 ).map( CRawTerm::of ).collect( Collectors.toList() ), Collections.emptyList() ) );
+        Assertions.assertNull( l_grid.getQuick( 0, 0 ) );
+        Assertions.assertEquals( 1000, ( (ITerm) l_grid.getQuick( 2, 2 ) ).<Number>raw().intValue() );
+        Assertions.assertTrue( CWalkableBitmap.of( l_grid ).walkable( 0, 0 ) );
+        Assertions.assertFalse( CWalkableBitmap.of( l_grid ).walkable( 2, 2 ) );
+        Assertions.assertEquals( 1000, ( (ITerm) l_grid.viewSelection( new int[]{2}, new int[]{2} ).getQuick( 0, 0 ) ).<Number>raw().intValue() );
+        Assertions.assertSame( l_grid.getQuick( 1, 1 ), l_grid.viewDice().viewColumn( 1 ).getQuick( 1 ) );
 
-        Assertions.assertArrayEquals(
-            EDirection.SOUTHWEST.apply( l_position ).toArray(),
-            new double[]{1, -1},
-            0
-        );
+        // the registry does not keep a grid with cell locking alive
+        ObjectMatrix2D l_temporary = new CConcurrentObjectMatrix2D( 3, 3 );
+        CLayerRegistry.set( l_temporary, 0, 0, new Object() );
+        final WeakReference<ObjectMatrix2D> l_weak = new WeakReference<>( l_temporary );
+        l_temporary = null;
+        for ( int i = 0; i < 100 && Objects.nonNull( l_weak.get() ); i++ )
+        {
+            System.gc();
+            Thread.sleep( 10 );
+        }
+        Assertions.assertNull( l_weak.get() );
     }
 
     /**
-     * distance algorithms
+     * test double-buffered grid with
+     * commit and conflict resolving
+     *
+     * @throws InterruptedException on thread interruption
      */
     @Test
-    public void distance()
+    public void tickgrid() throws InterruptedException
     {
-        final DoubleMatrix1D l_value1 = new DenseDoubleMatrix1D( new double[]{3, 4} );
-        final DoubleMatrix1D l_value2 = new DenseDoubleMatrix1D( new double[]{7, 2} );
+        final List<ITerm> l_return = new ArrayList<>();
+        Assertions.assertTrue(
+            execute(
+                new CTickGrid(),
+                false,
+                Stream.of( 8, 8 ).map( CRawTerm::of ).collect( Collectors.toList() ),
+                l_return
+            )
+        );
 
-        Assertions.assertEquals( 6D, EDistance.MANHATTAN.apply( l_value1, l_value2 ) );
-        Assertions.assertEquals( 4.47213595499958, EDistance.EUCLIDEAN.apply( l_value1, l_value2 ) );
-        Assertions.assertEquals( 4D, EDistance.CHEBYSHEV.apply( l_value1, l_value2 ) );
-        Assertions.assertEquals( 4.82842712474619, EDistance.OCTILE.apply( l_value1, l_value2 ) );
+        final CTickObjectMatrix2D l_grid = l_return.get( 0 ).raw();
+
+        // agents read the front state until the commit
+        IntStream.range( 0, 32 ).parallel().forEach( i -> Assertions.assertTrue( execute(
+            new CSetIfEmpty(),
+            false,
+            Stream.of( l_grid, i / 8, i % 8, i ).map( CRawTerm::of ).collect( Collectors.toList() ),
+            Collections.emptyList()
+        ) ) );
+        Assertions.assertEquals( 32, l_grid.pending() );
+        Assertions.assertNull( l_grid.getQuick( 1, 1 ) );
+        Assertions.assertTrue( CWalkableBitmap.of( l_grid ).walkable( 1, 1 ) );
+
+        l_return.clear();
+        Assertions.assertTrue( execute( new CCommit(), false, Stream.of( l_grid ).map( CRawTerm::of ).collect( Collectors.toList() ), l_return ) );
+        Assertions.assertEquals( 32, l_return.get( 0 ).<Number>raw().intValue() );
+        Assertions.assertEquals( 0, l_grid.pending() );
+        Assertions.assertEquals( 9, ( (ITerm) l_grid.getQuick( 1, 1 ) ).<Number>raw().intValue() );
+        Assertions.assertFalse( CWalkableBitmap.of( l_grid ).walkable( 1, 1 ) );
+
+        // different writes of different writers on one cell are rejected, so the move is not applied
+        Assertions.assertTrue( execute( new CMove(), false, Stream.of( l_grid, 0, 0, 7, 7 ).map( CRawTerm::of ).collect( Collectors.toList() ), Collections.emptyList() ) );
+        Assertions.assertTrue( CompletableFuture.supplyAsync(
+            () -> execute( new CSet(), false, Stream.of( l_grid, 7, 7, "x" ).map( CRawTerm::of ).collect( Collectors.toList() ), Collections.emptyList() )
+        ).join() );
+        Assertions.assertEquals( 0, l_grid.commit() );
+        Assertions.assertNotNull( l_grid.getQuick( 0, 0 ) );
+        Assertions.assertNull( l_grid.getQuick( 7, 7 ) );
+
+        Assertions.assertTrue( execute( new CMove(), false, Stream.of( l_grid, 0, 0, 7, 7 ).map( CRawTerm::of ).collect( Collectors.toList() ), Collections.emptyList() ) );
+        Assertions.assertEquals( 2, l_grid.commit() );
+        Assertions.assertNull( l_grid.getQuick( 0, 0 ) );
+        Assertions.assertEquals( 0, ( (ITerm) l_grid.getQuick( 7, 7 ) ).<Number>raw().intValue() );
+
+        // agents on the same thread are different writers, so their different writes are rejected
+        Assertions.assertTrue( execute( new CSet(), false, Stream.of( l_grid, 3, 3, "a" ).map( CRawTerm::of ).collect( Collectors.toList() ), Collections.emptyList() ) );
+        Assertions.assertTrue( execute( new CSet(), false, Stream.of( l_grid, 3, 3, "b" ).map( CRawTerm::of ).collect( Collectors.toList() ), Collections.emptyList() ) );
+        Assertions.assertEquals( 2, l_grid.pending() );
+        Assertions.assertEquals( 0, l_grid.commit() );
+        Assertions.assertEquals( 27, ( (ITerm) l_grid.getQuick( 3, 3 ) ).<Number>raw().intValue() );
+
+        // equal writes of different writers are applied
+        final ITerm l_value = CRawTerm.of( "b" );
+        CLayerRegistry.set( l_grid, 3, 3, l_value );
+        CLayerRegistry.set( l_grid, 3, 3, l_value );
+        Assertions.assertEquals( 1, l_grid.commit() );
+        Assertions.assertEquals( "b", ( (ITerm) l_grid.getQuick( 3, 3 ) ).raw() );
+        Assertions.assertEquals( "b", ( (ITerm) l_grid.viewDice().viewRow( 3 ).getQuick( 3 ) ).raw() );
+        Assertions.assertEquals( 0, ( (ITerm) l_grid.viewSelection( new int[]{7}, new int[]{7} ).getQuick( 0, 0 ) ).<Number>raw().intValue() );
+
+        // a move is not lost, if another writer writes the moved value on the target cell
+        final Object l_moved = l_grid.getQuick( 7, 7 );
+        Assertions.assertTrue( CLayerRegistry.move( l_grid, 7, 7, 5, 5 ) );
+        CLayerRegistry.set( l_grid, 5, 5, l_moved );
+        Assertions.assertEquals( 2, l_grid.commit() );
+        Assertions.assertSame( l_moved, l_grid.getQuick( 5, 5 ) );
+        Assertions.assertNull( l_grid.getQuick( 7, 7 ) );
+
+        // writes are ordered by their call, so the first and last write do not depend on the writer threads
+        final CTickObjectMatrix2D l_first = new CTickObjectMatrix2D( new DenseObjectMatrix2D( 2, 2 ), EConflictPolicy.FIRST );
+        final CTickObjectMatrix2D l_last = new CTickObjectMatrix2D( new DenseObjectMatrix2D( 2, 2 ), EConflictPolicy.LAST );
+        for ( final String i : new String[]{"a", "b", "c"} )
+        {
+            final Thread l_writer = new Thread( () ->
+            {
+                CLayerRegistry.set( l_first, 0, 0, i );
+                CLayerRegistry.set( l_last, 0, 0, i );
+            } );
+            l_writer.start();
+            l_writer.join();
+        }
+        Assertions.assertEquals( 1, l_first.commit() );
+        Assertions.assertEquals( 1, l_last.commit() );
+        Assertions.assertEquals( "a", l_first.getQuick( 0, 0 ) );
+        Assertions.assertEquals( "c", l_last.getQuick( 0, 0 ) );
+
+        // the back grid gets the changes of the former commit
+        CLayerRegistry.set( l_last, 1, 1, "d" );
+        Assertions.assertEquals( 1, l_last.commit() );
+        Assertions.assertEquals( "c", l_last.getQuick( 0, 0 ) );
+        Assertions.assertEquals( "d", l_last.front().getQuick( 1, 1 ) );
+
+        Assertions.assertFalse( execute( new CCommit(), false, Stream.of( new DenseObjectMatrix2D( 2, 2 ) ).map( CRawTerm::of ).collect( Collectors.toList() ), l_return ) );
     }
 
     /**
-     * test a-star
+     * test position action with
+     * reverse index updates
      */
     @Test
-    public void astar()
+    public void position()
     {
-        Assertions.assertArrayEquals(
-            new Double[]{2.0, 1.0, 1.0, 1.0, 1.0, 2.0, 1.0, 3.0, 2.0, 3.0, 2.0, 4.0},
-            new CAStarRouting().apply(
-                buildgrid( GRID ),
-                new DenseDoubleMatrix1D( new double[]{2, 1} ),
-                new DenseDoubleMatrix1D( new double[]{2, 4} )
-            ).flatMap( i -> Arrays.stream( i.toArray() ).boxed() ).toArray()
-        );
+        final ObjectMatrix2D l_grid = new DenseObjectMatrix2D( 3, 4 );
+        Assertions.assertTrue( execute( new CSet(), false, Stream.of( l_grid, 1, 2, "a", 0, 0, "b" ).map( CRawTerm::of ).collect( Collectors.toList() ), Collections.emptyList() ) );
+
+        // the index is built on the first call
+        final List<ITerm> l_return = new ArrayList<>();
+        Assertions.assertTrue( execute( new CPosition(), false, Stream.of( l_grid, "a", "b" ).map( CRawTerm::of ).collect( Collectors.toList() ), l_return ) );
+        Assertions.assertEquals( 2, l_return.size() );
+        Assertions.assertArrayEquals( new double[]{1, 2}, l_return.get( 0 ).<DoubleMatrix1D>raw().toArray() );
+        Assertions.assertArrayEquals( new double[]{0, 0}, l_return.get( 1 ).<DoubleMatrix1D>raw().toArray() );
+        Assertions.assertEquals( 2, Objects.requireNonNull( CPositionIndex.of( l_grid ) ).size() );
+
+        // the index follows set, move and remove
+        Assertions.assertTrue( execute( new CMove(), false, Stream.of( l_grid, 1, 2, 2, 3 ).map( CRawTerm::of ).collect( Collectors.toList() ), Collections.emptyList() ) );
+        Assertions.assertTrue( execute( new CRemove(), false, Stream.of( l_grid, 0, 0 ).map( CRawTerm::of ).collect( Collectors.toList() ), new ArrayList<>() ) );
+        Assertions.assertTrue( execute( new CSet(), false, Stream.of( l_grid, 0, 1, "c" ).map( CRawTerm::of ).collect( Collectors.toList() ), Collections.emptyList() ) );
+
+        l_return.clear();
+        Assertions.assertTrue( execute( new CPosition(), false, Stream.of( l_grid, Stream.of( "c", "a" ).collect( Collectors.toList() ) ).map( CRawTerm::of ).collect( Collectors.toList() ), l_return ) );
+        Assertions.assertArrayEquals( new double[]{0, 1}, l_return.get( 0 ).<DoubleMatrix1D>raw().toArray() );
+        Assertions.assertArrayEquals( new double[]{2, 3}, l_return.get( 1 ).<DoubleMatrix1D>raw().toArray() );
+        Assertions.assertFalse( execute( new CPosition(), false, Stream.of( l_grid, "b" ).map( CRawTerm::of ).collect( Collectors.toList() ), new ArrayList<>() ) );
+
+        // equal objects in multiple cells, removing one of them keeps the other cells
+        Assertions.assertTrue( execute( new CSet(), false, Stream.of( l_grid, 0, 2, "d", 2, 0, "d", 1, 1, "d" ).map( CRawTerm::of ).collect( Collectors.toList() ), Collections.emptyList() ) );
+        Assertions.assertTrue( execute( new CRemove(), false, Stream.of( l_grid, 1, 1 ).map( CRawTerm::of ).collect( Collectors.toList() ), new ArrayList<>() ) );
+
+        l_return.clear();
+        Assertions.assertTrue( execute( new CPosition(), false, Stream.of( l_grid, "d" ).map( CRawTerm::of ).collect( Collectors.toList() ), l_return ) );
+        Assertions.assertArrayEquals( new double[]{2, 0}, l_return.get( 0 ).<DoubleMatrix1D>raw().toArray() );
+
+        Assertions.assertTrue( execute( new CRemove(), false, Stream.of( l_grid, 2, 0 ).map( CRawTerm::of ).collect( Collectors.toList() ), new ArrayList<>() ) );
+        l_return.clear();
+        Assertions.assertTrue( execute( new CPosition(), false, Stream.of( l_grid, "d" ).map( CRawTerm::of ).collect( Collectors.toList() ), l_return ) );
+        Assertions.assertArrayEquals( new double[]{0, 2}, l_return.get( 0 ).<DoubleMatrix1D>raw().toArray() );
+
+        Assertions.assertTrue( execute( new CMove(), false, Stream.of( l_grid, 0, 2, 1, 0 ).map( CRawTerm::of ).collect( Collectors.toList() ), Collections.emptyList() ) );
+        Assertions.assertEquals( CCell.of( 1, 0 ), Objects.requireNonNull( CPositionIndex.of( l_grid ) ).position( "d" ) );
+        Assertions.assertTrue( execute( new CRemove(), false, Stream.of( l_grid, 1, 0 ).map( CRawTerm::of ).collect( Collectors.toList() ), new ArrayList<>() ) );
+        Assertions.assertNull( Objects.requireNonNull( CPositionIndex.of( l_grid ) ).position( "d" ) );
+        Assertions.assertEquals( 2, Objects.requireNonNull( CPositionIndex.of( l_grid ) ).size() );
     }
 
     /**
-     * test arguments
+     * test spatial index queries against
+     * full scans with incremental updates
      */
     @Test
-    public void aguments()
+    public void spatialindex()
     {
-        Assertions.assertEquals( 1, new CAStar().minimalArgumentNumber() );
-        Assertions.assertEquals( 1, new CDenseGrid().minimalArgumentNumber() );
-        Assertions.assertEquals( 1, new CIsEmpty().minimalArgumentNumber() );
-        Assertions.assertEquals( 1, new CRemove().minimalArgumentNumber() );
-        Assertions.assertEquals( 1, new CSet().minimalArgumentNumber() );
-        Assertions.assertEquals( 1, new CSparseGrid().minimalArgumentNumber() );
+        final ObjectMatrix2D l_grid = new SparseObjectMatrix2D( 150, 220 );
+        final Random l_random = new Random( 17 );
+        IntStream.range( 0, 400 ).forEach( i -> l_grid.setQuick( l_random.nextInt( 150 ), l_random.nextInt( 220 ), i ) );
+        final CSpatialIndex l_index = CSpatialIndex.attach( l_grid );
+
+        IntStream.range( 0, 50 ).forEach( n ->
+        {
+            IntStream.range( 0, 40 ).forEach( i -> CLayerRegistry.set( l_grid, l_random.nextInt( 150 ), l_random.nextInt( 220 ), l_random.nextBoolean() ? null : i ) );
+            Assertions.assertEquals( l_grid.cardinality(), l_index.size() );
+
+            final int l_row = l_random.nextInt( 150 );
+            final int l_column = l_random.nextInt( 220 );
+            final int l_size = l_random.nextInt( 60 );
+            final double l_radius = l_random.nextDouble() * 30;
+
+            final List<Long> l_range = new ArrayList<>();
+            final List<Long> l_circle = new ArrayList<>();
+            final List<Long> l_all = new ArrayList<>();
+            l_grid.forEachNonZero( ( r, c, v ) ->
+            {
+                if ( r >= l_row && r <= l_row + l_size && c >= l_column - 5 && c <= l_column + l_size )
+                    l_range.add( CCell.of( r, c ) );
+                if ( ( r - l_row ) * ( r - l_row ) + ( c - l_column ) * ( c - l_column ) <= l_radius * l_radius )
+                    l_circle.add( CCell.of( r, c ) );
+                if ( r != l_row || c != l_column )
+                    l_all.add( (long) ( ( r - l_row ) * ( r - l_row ) + ( c - l_column ) * ( c - l_column ) ) );
+                return v;
+            } );
+            Collections.sort( l_range );
+            Collections.sort( l_circle );
+            Collections.sort( l_all );
+
+            Assertions.assertEquals( l_range, l_index.range( l_row, l_column - 5, l_row + l_size, l_column + l_size ).sorted().boxed().collect( Collectors.toList() ) );
+            Assertions.assertEquals( l_circle, l_index.radius( l_row, l_column, l_radius ).sorted().boxed().collect( Collectors.toList() ) );
+            Assertions.assertEquals(
+                l_all.subList( 0, 5 ),
+                l_index.nearest( l_row, l_column, 5 )
+                       .mapToObj( i -> (long) ( ( CCell.row( i ) - l_row ) * ( CCell.row( i ) - l_row ) + ( CCell.column( i ) - l_column ) * ( CCell.column( i ) - l_column ) ) )
+                       .collect( Collectors.toList() )
+            );
+        } );
     }
 
     /**
-     * test a-star action
+     * test range, radius and nearest actions
      */
     @Test
-    public void astaraction()
+    public void spatialaction()
     {
-        final List<ITerm> l_return = new ArrayList<>();
+        final ObjectMatrix2D l_grid = new DenseObjectMatrix2D( 20, 20 );
+        Assertions.assertTrue( execute( new CSet(), false, Stream.of( l_grid, 2, 2, "a", 3, 4, "b", 15, 15, "c" ).map( CRawTerm::of ).collect( Collectors.toList() ), Collections.emptyList() ) );
 
-        new CAStar().execute(
-            false, IContext.EMPTYPLAN,
-            Stream.of(
-                buildgrid( GRID ),
-                new DenseDoubleMatrix1D( new double[]{2, 1} ),
-                2, 4
-            ).map( CRawTerm::of ).collect( Collectors.toList() ),
-            l_return
-        );
+        final List<ITerm> l_return = new ArrayList<>();
+        Assertions.assertTrue( execute( new CRange(), false, Stream.of( l_grid, 0, 0, 5, 5, 10, 10, 19, 19 ).map( CRawTerm::of ).collect( Collectors.toList() ), l_return ) );
+        Assertions.assertTrue( execute( new CRadius(), false, Stream.of( l_grid, 2, 2, 2 ).map( CRawTerm::of ).collect( Collectors.toList() ), l_return ) );
+        Assertions.assertTrue( execute( new CNearest(), false, Stream.of( l_grid, 2, 2, 2 ).map( CRawTerm::of ).collect( Collectors.toList() ), l_return ) );
 
-        Assertions.assertEquals( 1, l_return.size() );
-        Assertions.assertArrayEquals(
-            new Double[]{2.0, 1.0, 1.0, 1.0, 1.0, 2.0, 1.0, 3.0, 2.0, 3.0, 2.0, 4.0},
-            l_return.get( 0 ).<List<DoubleMatrix1D>>raw().stream().flatMap( i -> Arrays.stream( i.toArray() ).boxed() ).toArray()
-        );
+        final List<List<Object>> l_objects = l_return.stream()
+                                                     .map( i -> i.<List<ITerm>>raw().stream().map( ITerm::raw ).collect( Collectors.toList() ) )
+                                                     .collect( Collectors.toList() );
+        Assertions.assertEquals( Arrays.asList( "a", "b" ), l_objects.get( 0 ) );
+        Assertions.assertEquals( Collections.singletonList( "c" ), l_objects.get( 1 ) );
+        Assertions.assertEquals( Collections.singletonList( "a" ), l_objects.get( 2 ) );
+        Assertions.assertEquals( Arrays.asList( "b", "c" ), l_objects.get( 3 ) );
     }
 
     /**
-     * test ignore elements
+     * test occupancy table against full scans
+     * and the rectangle actions
      */
     @Test
-    public void ignoreelement()
+    public void occupancytable()
     {
-        final List<ITerm> l_return = new ArrayList<>();
+        final ObjectMatrix2D l_grid = new SparseObjectMatrix2D( 37, 53 );
+        final Random l_random = new Random( 5 );
+        IntStream.range( 0, 200 ).forEach( i -> l_grid.setQuick( l_random.nextInt( 37 ), l_random.nextInt( 53 ), i ) );
+        final COccupancyTable l_table = COccupancyTable.attach( l_grid );
 
-        new CAStar().execute(
-            false, IContext.EMPTYPLAN,
-            Stream.of(
-                buildgrid( GRID ),
-                new DenseDoubleMatrix1D( new double[]{2, 1} ),
-                "hello",
-                2, 4
-            ).map( CRawTerm::of ).collect( Collectors.toList() ),
-            l_return
-        );
+        IntStream.range( 0, 200 ).forEach( n ->
+        {
+            CLayerRegistry.set( l_grid, l_random.nextInt( 37 ), l_random.nextInt( 53 ), l_random.nextBoolean() ? null : n );
 
-        Assertions.assertEquals( 1, l_return.size() );
-        Assertions.assertArrayEquals(
-            new Double[]{2.0, 1.0, 1.0, 1.0, 1.0, 2.0, 1.0, 3.0, 2.0, 3.0, 2.0, 4.0},
-            l_return.get( 0 ).<List<DoubleMatrix1D>>raw().stream().flatMap( i -> Arrays.stream( i.toArray() ).boxed() ).toArray()
+            final int l_fromrow = l_random.nextInt( 40 ) - 2;
+            final int l_fromcolumn = l_random.nextInt( 55 ) - 2;
+            final int l_torow = l_fromrow + l_random.nextInt( 12 );
+            final int l_tocolumn = l_fromcolumn + l_random.nextInt( 12 );
+            // cells outside the grid are occupied
+            Assertions.assertEquals(
+                IntStream.rangeClosed( l_fromrow, l_torow )
+                         .map( r -> (int) IntStream.rangeClosed( l_fromcolumn, l_tocolumn )
+                                                   .filter( c -> r < 0 || r > 36 || c < 0 || c > 52 || Objects.nonNull( l_grid.getQuick( r, c ) ) )
+                                                   .count() )
+                         .sum(),
+                l_table.count( l_fromrow, l_fromcolumn, l_torow, l_tocolumn )
+            );
+        } );
+        Assertions.assertEquals( l_grid.cardinality(), l_table.count( 0, 0, 36, 52 ) );
+
+        final ObjectMatrix2D l_area = new DenseObjectMatrix2D( 10, 10 );
+        Assertions.assertTrue( execute( new CSet(), false, Stream.of( l_area, 2, 2, "a", 7, 8, "b" ).map( CRawTerm::of ).collect( Collectors.toList() ), Collections.emptyList() ) );
+
+        final List<ITerm> l_return = new ArrayList<>();
+        Assertions.assertTrue( execute( new CIsEmptyArea(), false, Stream.of( l_area, 3, 3, 6, 6, 0, 0, 4, 4 ).map( CRawTerm::of ).collect( Collectors.toList() ), l_return ) );
+        Assertions.assertTrue( execute( new CCountArea(), false, Stream.of( l_area, 0, 0, 9, 9, 5, 5, 9, 7 ).map( CRawTerm::of ).collect( Collectors.toList() ), l_return ) );
+        Assertions.assertTrue( execute( new CIsEmptyArea(), false, Stream.of( l_area, -1, 4, 1, 6, 8, 0, 11, 1 ).map( CRawTerm::of ).collect( Collectors.toList() ), l_return ) );
+        Assertions.assertTrue( execute( new CCountArea(), false, Stream.of( l_area, -1, 4, 1, 6, 12, 12, 13, 13 ).map( CRawTerm::of ).collect( Collectors.toList() ), l_return ) );
+        Assertions.assertEquals(
+            Arrays.asList( true, false, 2, 0, false, false, 3, 4 ),
+            l_return.stream().map( ITerm::raw ).collect( Collectors.toList() )
         );
     }
 
     /**
-     * test no route
+     * test line of sight and raycast actions
+     * with and without walkability bitmap
      */
     @Test
-    public void noroute()
+    public void lineofsight()
     {
-        final List<ITerm> l_return = new ArrayList<>();
+        final ObjectMatrix2D l_grid = new DenseObjectMatrix2D( 5, 5 );
+        Assertions.assertTrue( execute( new CSet(), false, Stream.of( l_grid, 2, 2, "wall" ).map( CRawTerm::of ).collect( Collectors.toList() ), Collections.emptyList() ) );
 
-        Assert.assertFalse(
+        final List<ITerm> l_return = new ArrayList<>();
+        Assertions.assertTrue(
             execute(
-                new CAStar(),
+                new CLineOfSight(),
                 false,
-                Stream.of(
-                    buildgrid( new int[][]{{0, 0, 1}, {0, 1, 0}, {1, 0, 0}} ),
-                        0, 0,
-                        2, 2
-                ).map( CRawTerm::of ).collect( Collectors.toList() ),
+                Stream.of( l_grid, new DenseDoubleMatrix1D( new double[]{0, 0} ), 4, 4, 4, 0, 2, 2, 1, 3 ).map( CRawTerm::of ).collect( Collectors.toList() ),
                 l_return
             )
         );
+        Assertions.assertEquals( Arrays.asList( false, true, true, true ), l_return.stream().map( ITerm::raw ).collect( Collectors.toList() ) );
 
-        Assertions.assertEquals( 0, l_return.size() );
+        // the bitmap and the grid traversal are symmetric and equal
+        final Random l_random = new Random( 3 );
+        IntStream.range( 0, 8 ).forEach( i -> l_grid.setQuick( l_random.nextInt( 5 ), l_random.nextInt( 5 ), i ) );
+        final ObjectMatrix2D l_bitmapgrid = l_grid.copy();
+        CWalkableBitmap.attach( l_bitmapgrid );
+        IntStream.range( 0, 625 ).forEach( i ->
+        {
+            final boolean l_visible = CLineTraversal.visible( l_grid, i / 125, i / 25 % 5, i / 5 % 5, i % 5 );
+            Assertions.assertEquals( l_visible, CLineTraversal.visible( l_grid, i / 5 % 5, i % 5, i / 125, i / 25 % 5 ) );
+            Assertions.assertEquals( l_visible, CLineTraversal.visible( l_bitmapgrid, i / 125, i / 25 % 5, i / 5 % 5, i % 5 ) );
+        } );
+
+        final ObjectMatrix2D l_raygrid = new DenseObjectMatrix2D( 5, 5 );
+        CLayerRegistry.set( l_raygrid, 2, 3, CRawTerm.of( "wall" ) );
+        l_return.clear();
+        Assertions.assertTrue(
+            execute(
+                new CRaycast(),
+                false,
+                Stream.of( l_raygrid, 2, 0, 2, 4, -5, 0 ).map( CRawTerm::of ).collect( Collectors.toList() ),
+                l_return
+            )
+        );
+        Assertions.assertEquals( 2, l_return.size() );
+        Assertions.assertArrayEquals( new double[]{2, 3}, l_return.get( 0 ).<List<ITerm>>raw().get( 0 ).<DoubleMatrix1D>raw().toArray() );
+        Assertions.assertEquals( "wall", l_return.get( 0 ).<List<ITerm>>raw().get( 1 ).raw() );
+        Assertions.assertTrue( l_return.get( 1 ).<List<ITerm>>raw().isEmpty() );
     }
 
     /**
-     * test search-direction
+     * test clearance field and clearance routing
      */
     @Test
-    public void searchdirection()
+    public void clearance()
     {
-        Assertions.assertArrayEquals(
-            new Double[]{0.0, 1.0, 1.0, 2.0, 2.0, 1.0, 1.0, 0.0},
-            ESearchDirection.NEVER.apply( buildgrid( EMPTYGRID ), new DenseDoubleMatrix1D( new double[]{1, 1} ), ( i, j ) -> true )
-                                  .flatMapToDouble( i -> Arrays.stream( i.toArray() ) )
-                                  .boxed()
-                                  .toArray()
-        );
+        final ObjectMatrix2D l_random = new DenseObjectMatrix2D( 12, 12 );
+        final CClearanceField l_field = CClearanceField.attach( l_random );
+        final Random l_generator = new Random( 7 );
+        IntStream.range( 0, 200 ).forEach( i -> CLayerRegistry.set( l_random, l_generator.nextInt( 12 ), l_generator.nextInt( 12 ), l_generator.nextBoolean() ? "x" : null ) );
+        IntStream.range( 0, 144 ).forEach( i ->
+        {
+            final int l_row = i / 12;
+            final int l_column = i % 12;
+            final double l_expected = Math.min(
+                Math.min( Math.min( l_row, 11 - l_row ), Math.min( l_column, 11 - l_column ) ) + 1,
+                IntStream.range( 0, 144 )
+                         .filter( j -> Objects.nonNull( l_random.getQuick( j / 12, j % 12 ) ) )
+                         .mapToDouble( j -> Math.hypot( j / 12 - l_row, j % 12 - l_column ) )
+                         .min()
+                         .orElse( Double.POSITIVE_INFINITY )
+            );
+            Assertions.assertEquals( l_expected, l_field.clearance( l_row, l_column ), 1e-9 );
+        } );
 
-        Assertions.assertArrayEquals(
-            new Double[]{0.0, 1.0, 1.0, 2.0, 2.0, 1.0, 1.0, 0.0, 0.0, 2.0, 0.0, 0.0, 2.0, 2.0, 2.0, 0.0},
+        // a wall with a narrow gap at column 1 and a wide gap at the columns 5 to 7
+        final ObjectMatrix2D l_grid = new DenseObjectMatrix2D( 7, 9 );
+        IntStream.of( 0, 2, 3, 4, 8 ).forEach( i -> CLayerRegistry.set( l_grid, 3, i, "wall" ) );
+
+        final DoubleMatrix1D l_start = new DenseDoubleMatrix1D( new double[]{1, 1} );
+        final DoubleMatrix1D l_end = new DenseDoubleMatrix1D( new double[]{5, 1} );
+        final IRouting l_routing = new CPrimitiveAStarRouting( EDistance.MANHATTAN, ESearchDirection.NEVER, new CClearance( 2 ), 1 );
+        final IRouting l_dstarlite = new CDStarLiteRouting( EDistance.MANHATTAN, ESearchDirection.NEVER, new CClearance( 2 ), 4 );
+
+        Assertions.assertTrue( new CPrimitiveAStarRouting().apply( l_grid, l_start, l_end ).anyMatch( i -> i.getQuick( 0 ) == 3 && i.getQuick( 1 ) == 1 ) );
+        Assertions.assertTrue( l_routing.apply( l_grid, l_start, l_end ).anyMatch( i -> i.getQuick( 0 ) == 3 && i.getQuick( 1 ) == 6 ) );
+        Assertions.assertTrue( l_dstarlite.apply( l_grid, l_start, l_end ).anyMatch( i -> i.getQuick( 0 ) == 3 && i.getQuick( 1 ) == 6 ) );
+        Assertions.assertTrue( l_routing.reachable( l_grid, l_start, l_end ) );
+
+        // the resolved function of a search reads the same clearance
+        final CClearance l_clearance = new CClearance( 2 );
+        final IWalkable l_resolved = l_clearance.resolve( l_grid );
+        Assertions.assertEquals( 1, l_clearance.influence() );
+        IntStream.range( 0, 63 ).forEach( i -> Assertions.assertEquals( l_clearance.walkable( l_grid, i / 9, i % 9 ), l_resolved.walkable( l_grid, i / 9, i % 9 ) ) );
+
+        // narrowing the wide gap blocks the cells around the change
+        CLayerRegistry.set( l_grid, 3, 5, "wall" );
+        Assertions.assertEquals( 0, l_routing.apply( l_grid, l_start, l_end ).count() );
+        Assertions.assertEquals( 0, l_dstarlite.apply( l_grid, l_start, l_end ).count() );
+        Assertions.assertFalse( l_routing.reachable( l_grid, l_start, l_end ) );
+
+        Assertions.assertThrows( CIllegalArgumentException.class, () -> new CClearance( 0 ) );
+    }
+
+    /**
+     * test landmark distance
+     */
+    @Test
+    public void landmarkdistance()
+    {
+        // serpentine walls with alternating gaps
+        final int[][] l_walls = new int[11][11];
+        IntStream.of( 2, 4, 6, 8 ).forEach( i -> IntStream.range( 0, 11 ).filter( j -> j != ( i % 4 == 0 ? 0 : 10 ) ).forEach( j -> l_walls[i][j] = 1 ) );
+        final ObjectMatrix2D l_grid = this.buildgrid( l_walls );
+
+        final IDistance l_distance = new CLandmarkDistance( l_grid, EDistance.MANHATTAN, ESearchDirection.NEVER );
+        final DoubleMatrix1D l_start = new DenseDoubleMatrix1D( new double[]{0, 5} );
+        final DoubleMatrix1D l_end = new DenseDoubleMatrix1D( new double[]{10, 10} );
+
+        IntStream.range( 0, 121 )
+                 .filter( i -> l_walls[i / 11][i % 11] == 0 && breadthfirst( l_walls, i / 11, i % 11, 10, 10 ) >= 0 )
+                 .forEach( i -> Assertions.assertTrue( l_distance.heuristic( i / 11, i % 11, 10, 10 ) <= breadthfirst( l_walls, i / 11, i % 11, 10, 10 ) ) );
+        Assertions.assertTrue( l_distance.heuristic( 0, 5, 10, 10 ) > EDistance.MANHATTAN.heuristic( 0, 5, 10, 10 ) );
+        Assertions.assertEquals(
+            breadthfirst( l_walls, 0, 5, 10, 10 ) + 1,
+            new CPrimitiveAStarRouting( l_distance, ESearchDirection.NEVER, 1 ).apply( l_grid, l_start, l_end ).count()
+        );
+
+        // new gaps shorten the distances, so the tables must be rebuilt
+        l_walls[2][5] = 0;
+        l_walls[4][5] = 0;
+        CLayerRegistry.set( l_grid, 2, 5, null );
+        CLayerRegistry.set( l_grid, 4, 5, null );
+        IntStream.range( 0, 121 )
+                 .filter( i -> l_walls[i / 11][i % 11] == 0 && breadthfirst( l_walls, i / 11, i % 11, 10, 10 ) >= 0 )
+                 .forEach( i -> Assertions.assertTrue( l_distance.heuristic( i / 11, i % 11, 10, 10 ) <= breadthfirst( l_walls, i / 11, i % 11, 10, 10 ) ) );
+        Assertions.assertEquals(
+            breadthfirst( l_walls, 0, 5, 10, 10 ) + 1,
+            new CPrimitiveAStarRouting( l_distance, ESearchDirection.NEVER, 1 ).apply( l_grid, l_start, l_end ).count()
+        );
+
+        // the flag is cleared on the build, so the tables are only rebuilt after a further change
+        final CLandmarks l_landmarks = CLandmarks.attach( l_grid, EDistance.MANHATTAN, ESearchDirection.NEVER, CLandmarkDistance.LANDMARKS );
+        final double[][] l_tables = l_landmarks.tables( l_grid );
+        Assertions.assertSame( l_tables, l_landmarks.tables( l_grid ) );
+        CLayerRegistry.set( l_grid, 6, 5, null );
+        l_walls[6][5] = 0;
+        Assertions.assertNotSame( l_tables, l_landmarks.tables( l_grid ) );
+
+        // a non-empty start cell is unreachable for all landmarks, so the landmarks give no bound
+        Assertions.assertEquals( 4, CLandmarks.bound( new double[][]{{Double.POSITIVE_INFINITY, 3}, {1, 5}}, 0, 1 ) );
+        CLayerRegistry.set( l_grid, 0, 5, "agent" );
+        CLayerRegistry.set( l_grid, 8, 5, null );
+        l_walls[8][5] = 0;
+        Assertions.assertEquals( 0, CLandmarks.bound( l_landmarks.tables( l_grid ), 5, 10 * 11 + 10 ) );
+        Assertions.assertEquals(
+            breadthfirst( l_walls, 0, 5, 10, 10 ) + 1,
+            new CPrimitiveAStarRouting( l_distance, ESearchDirection.NEVER, 1 ).apply( l_grid, l_start, l_end ).count()
+        );
+
+        // another grid is searched with the base heuristic, because the tables of the serpentine grid overestimate there
+        final int[][] l_serpentine = new int[11][11];
+        IntStream.of( 2, 4, 6, 8 ).forEach( i -> IntStream.range( 0, 11 ).filter( j -> j != ( i % 4 == 0 ? 0 : 10 ) ).forEach( j -> l_serpentine[i][j] = 1 ) );
+        final IDistance l_serpentinedistance = new CLandmarkDistance( this.buildgrid( l_serpentine ), EDistance.MANHATTAN, ESearchDirection.NEVER );
+        final ObjectMatrix2D l_open = this.buildgrid( new int[11][11] );
+        Assertions.assertTrue( l_serpentinedistance.heuristic( 0, 5, 10, 10 ) > EDistance.MANHATTAN.heuristic( 0, 5, 10, 10 ) );
+        Assertions.assertEquals( EDistance.MANHATTAN.heuristic( 0, 5, 10, 10 ), l_serpentinedistance.bind( l_open ).heuristic( 0, 5, 10, 10 ), 0 );
+        Assertions.assertEquals( 16, new CPrimitiveAStarRouting( l_serpentinedistance, ESearchDirection.NEVER, 1 ).apply( l_open, l_start, l_end ).count() );
+
+        // landmarks of the other grid are used, if they are attached
+        final IDistance l_opendistance = new CLandmarkDistance( l_open, EDistance.MANHATTAN, ESearchDirection.NEVER );
+        Assertions.assertSame( l_opendistance, l_opendistance.bind( l_open ) );
+        IntStream.range( 0, 121 ).forEach( i -> Assertions.assertEquals(
+            EDistance.MANHATTAN.heuristic( i / 11, i % 11, 10, 10 ),
+            l_serpentinedistance.bind( l_open ).heuristic( i / 11, i % 11, 10, 10 ),
+            0
+        ) );
+    }
+
+    /**
+     * test anytime routing
+     */
+    @Test
+    public void anytimerouting()
+    {
+        // a wall with a gap at the bottom forces a detour
+        final int[][] l_walls = new int[20][20];
+        IntStream.range( 0, 18 ).forEach( i -> l_walls[i][10] = 1 );
+        final ObjectMatrix2D l_grid = this.buildgrid( l_walls );
+
+        final DoubleMatrix1D l_start = new DenseDoubleMatrix1D( new double[]{0, 0} );
+        final DoubleMatrix1D l_end = new DenseDoubleMatrix1D( new double[]{0, 19} );
+        final CAnytimeRouting l_routing = new CAnytimeRouting( EDistance.MANHATTAN, ESearchDirection.NEVER, 3, 0.5, 25, 1000 );
+
+        // each call continues the search, so the bound never increases and reaches 1
+        double l_bound = Double.POSITIVE_INFINITY;
+        List<DoubleMatrix1D> l_route = Collections.emptyList();
+        for ( int i = 0; i < 1000 && l_bound > 1; i++ )
+        {
+            final Pair<Stream<DoubleMatrix1D>, Double> l_solution = l_routing.solution( l_grid, l_start, l_end );
+            l_route = l_solution.getLeft().collect( Collectors.toList() );
+            Assertions.assertTrue( l_solution.getRight() <= l_bound );
+            Assertions.assertEquals( l_route.isEmpty(), l_solution.getRight() == Double.POSITIVE_INFINITY );
+            l_bound = l_solution.getRight();
+        }
+        Assertions.assertEquals( 1, l_bound, 0 );
+        Assertions.assertEquals( breadthfirst( l_walls, 0, 0, 0, 19 ) + 1, l_route.size() );
+
+        // a grid change restarts the search
+        l_walls[18][10] = 1;
+        CLayerRegistry.set( l_grid, 18, 10, "wall" );
+        Assertions.assertEquals( Double.POSITIVE_INFINITY, l_routing.solution( l_grid, l_start, l_end ).getRight(), 0 );
+
+        // the expansion budget is used, so the result does not depend on the time budget of a cold start
+        final List<ITerm> l_return = new ArrayList<>();
+        Assertions.assertTrue(
+            execute(
+                new CAnytimeAStar( new CAnytimeRouting( EDistance.MANHATTAN, ESearchDirection.NEVER, 3, 0.5, 1000, 60000 ) ),
+                false,
+                Stream.of( l_grid, l_start, l_end ).map( CRawTerm::of ).collect( Collectors.toList() ),
+                l_return
+            )
+        );
+        Assertions.assertEquals( 2, l_return.size() );
+        Assertions.assertTrue( breadthfirst( l_walls, 0, 0, 0, 19 ) + 1 <= l_return.get( 0 ).<List<DoubleMatrix1D>>raw().size() );
+        Assertions.assertTrue( l_return.get( 1 ).<Number>raw().doubleValue() >= 1 );
+
+        // the search state grows with the visited cells, so a short route on a huge grid does not allocate the grid
+        final ObjectMatrix2D l_huge = new SparseObjectMatrix2D( 20000, 20000 );
+        final Pair<Stream<DoubleMatrix1D>, Double> l_solution = new CAnytimeRouting( EDistance.MANHATTAN, ESearchDirection.NEVER, 1, 0.5, 1000, 1000 ).solution(
+            l_huge, new DenseDoubleMatrix1D( new double[]{10000, 10000} ), new DenseDoubleMatrix1D( new double[]{10003, 10004} )
+        );
+        Assertions.assertEquals( 8, l_solution.getLeft().count() );
+        Assertions.assertEquals( 1, l_solution.getRight(), 0 );
+
+        Assertions.assertThrows( CIllegalArgumentException.class, () -> new CAnytimeRouting( EDistance.MANHATTAN, ESearchDirection.ALWAYS ) );
+    }
+
+    /**
+     * test the bound of the anytime routing with diagonal
+     * movement against the optimal cost of dijkstra
+     */
+    @Test
+    public void anytimediagonalbound()
+    {
+        final Random l_random = new Random( 29 );
+
+        IntStream.range( 0, 100 ).forEach( n ->
+        {
+            final int l_rows = 6 + l_random.nextInt( 20 );
+            final int l_columns = 6 + l_random.nextInt( 20 );
+            final int[][] l_definition = new int[l_rows][l_columns];
+            IntStream.range( 0, l_rows )
+                     .forEach( r -> IntStream.range( 0, l_columns ).forEach( c -> l_definition[r][c] = l_random.nextDouble() < 0.25 ? 1 : 0 ) );
+
+            final ObjectMatrix2D l_grid = buildgrid( l_definition );
+            final DoubleMatrix1D l_start = new DenseDoubleMatrix1D( new double[]{l_random.nextInt( l_rows ), l_random.nextInt( l_columns )} );
+            final DoubleMatrix1D l_end = new DenseDoubleMatrix1D( new double[]{l_random.nextInt( l_rows ), l_random.nextInt( l_columns )} );
+            final ESearchDirection l_direction = ESearchDirection.values()[1 + l_random.nextInt( ESearchDirection.values().length - 1 )];
+            final IDistance l_distance = new IDistance[]{OCTILE, EDistance.EUCLIDEAN, EDistance.CHEBYSHEV}[l_random.nextInt( 3 )];
+            final CAnytimeRouting l_routing = new CAnytimeRouting( l_distance, l_direction, 3, 0.5, 5, 1000 );
+            final double l_optimal = dijkstra( l_grid, l_direction, l_distance, l_start, l_end );
+
+            double l_bound = Double.POSITIVE_INFINITY;
+            for ( int i = 0; i < 1000 && l_bound > 1; i++ )
+            {
+                final Pair<Stream<DoubleMatrix1D>, Double> l_solution = l_routing.solution( l_grid, l_start, l_end );
+                final List<DoubleMatrix1D> l_route = l_solution.getLeft().collect( Collectors.toList() );
+                Assertions.assertTrue( l_solution.getRight() <= l_bound );
+                l_bound = l_solution.getRight();
+
+                if ( !l_route.isEmpty() )
+                    Assertions.assertTrue( cost( l_route, l_distance ) <= l_bound * l_optimal + 1e-9, l_direction.name() );
+            }
+
+            Assertions.assertEquals( Double.isInfinite( l_optimal ), Double.isInfinite( l_bound ), l_direction.name() );
+        } );
+    }
+
+    /**
+     * test time-sliced routing
+     */
+    @Test
+    public void slicedrouting()
+    {
+        final int[][] l_walls = new int[20][20];
+        IntStream.range( 0, 18 ).forEach( i -> l_walls[i][10] = 1 );
+        final ObjectMatrix2D l_grid = this.buildgrid( l_walls );
+
+        final DoubleMatrix1D l_start = new DenseDoubleMatrix1D( new double[]{0, 0} );
+        final DoubleMatrix1D l_end = new DenseDoubleMatrix1D( new double[]{0, 19} );
+        final CSlicedRouting l_routing = new CSlicedRouting( EDistance.MANHATTAN, ESearchDirection.NEVER, 10, 1 );
+
+        // the search is suspended after each slice
+        final CSlicedRouting.CHandle l_handle = l_routing.start( l_grid, l_start, l_end );
+        Assertions.assertFalse( l_handle.resume() );
+        Assertions.assertEquals( 10, l_handle.expansions() );
+        Assertions.assertEquals( 0, l_handle.route().count() );
+        Assertions.assertEquals( ERouteStatus.PENDING, l_handle.status() );
+
+        // a gap blocked during the search is avoided by the route
+        l_walls[18][10] = 1;
+        CLayerRegistry.set( l_grid, 18, 10, "wall" );
+        int l_slices = 1;
+        while ( !l_handle.resume() )
+            l_slices++;
+
+        Assertions.assertTrue( l_slices > 10 );
+        Assertions.assertEquals( ERouteStatus.FOUND, l_handle.status() );
+        Assertions.assertEquals( breadthfirst( l_walls, 0, 0, 0, 19 ) + 1, l_handle.route().count() );
+        Assertions.assertEquals( breadthfirst( l_walls, 0, 0, 0, 19 ) + 1, l_routing.apply( l_grid, l_start, l_end ).count() );
+
+        // the poll action fails until the route is ready
+        final List<ITerm> l_return = new ArrayList<>();
+        Assertions.assertTrue(
+            execute( new CSlicedRoute( l_routing ), false, Stream.of( l_grid, l_start, l_end ).map( CRawTerm::of ).collect( Collectors.toList() ), l_return )
+        );
+        final List<ITerm> l_handleterm = new ArrayList<>( l_return );
+        Assertions.assertFalse( execute( new CPollRoute(), false, l_handleterm, new ArrayList<>() ) );
+
+        l_return.clear();
+        while ( !execute( new CPollRoute(), false, l_handleterm, l_return ) )
+            Assertions.assertTrue( l_return.isEmpty() );
+        Assertions.assertEquals( breadthfirst( l_walls, 0, 0, 0, 19 ) + 1, l_return.get( 0 ).<List<DoubleMatrix1D>>raw().size() );
+
+        // a search, which cannot reach the goal after a grid change, returns an empty route
+        l_return.clear();
+        Assertions.assertTrue(
+            execute( new CSlicedRoute( l_routing ), false, Stream.of( l_grid, l_start, l_end ).map( CRawTerm::of ).collect( Collectors.toList() ), l_return )
+        );
+        CLayerRegistry.set( l_grid, 19, 10, "wall" );
+        final CSlicedRouting.CHandle l_unreachable = l_return.get( 0 ).raw();
+        final List<ITerm> l_unreachableterm = new ArrayList<>( l_return );
+        l_return.clear();
+        while ( !execute( new CPollRoute(), false, l_unreachableterm, l_return ) )
+            Assertions.assertEquals( ERouteStatus.PENDING, l_unreachable.status() );
+        Assertions.assertEquals( ERouteStatus.UNREACHABLE, l_unreachable.status() );
+        Assertions.assertTrue( l_return.get( 0 ).<List<DoubleMatrix1D>>raw().isEmpty() );
+        l_return.clear();
+        Assertions.assertTrue( execute( new CRouteStatus(), false, l_unreachableterm, l_return ) );
+        Assertions.assertEquals( "unreachable", l_return.get( 0 ).raw() );
+
+        // the handle state grows with the visited cells
+        final CSlicedRouting.CHandle l_huge = l_routing.start(
+            new SparseObjectMatrix2D( 20000, 20000 ), new DenseDoubleMatrix1D( new double[]{10000, 10000} ), new DenseDoubleMatrix1D( new double[]{10003, 10004} )
+        );
+        while ( !l_huge.resume() )
+            Assertions.assertEquals( ERouteStatus.PENDING, l_huge.status() );
+        Assertions.assertEquals( 8, l_huge.route().count() );
+
+        Assertions.assertThrows( CIllegalArgumentException.class, () -> new CSlicedRouting( EDistance.MANHATTAN, ESearchDirection.ALWAYS, 10 ) );
+    }
+
+    /**
+     * test asynchronous routing
+     *
+     * @throws InterruptedException on interrupted waiting
+     */
+    @Test
+    public void asyncrouting() throws InterruptedException
+    {
+        final ObjectMatrix2D l_grid = this.buildgrid( GRID );
+        final List<ITerm> l_arguments = Stream.of( l_grid, 0, 0, 2, 4 ).map( CRawTerm::of ).collect( Collectors.toList() );
+        final CountDownLatch l_latch = new CountDownLatch( 1 );
+
+        try ( CRoutingExecutor l_executor = new CRoutingExecutor( 1, 1 ) )
+        {
+            // the thread is blocked, so the first routing fills the queue and the second one is rejected
+            l_executor.submit( () ->
+            {
+                try
+                {
+                    l_latch.await();
+                }
+                catch ( final InterruptedException l_exception )
+                {
+                    Thread.currentThread().interrupt();
+                }
+                return Collections.emptyList();
+            } );
+
+            final CAsyncRoute l_action = new CAsyncRoute( new CPrimitiveAStarRouting( EDistance.MANHATTAN, ESearchDirection.NEVER, 1 ), l_executor );
+            final List<ITerm> l_future = new ArrayList<>();
+            Assertions.assertTrue( execute( l_action, false, l_arguments, l_future ) );
+            Assertions.assertEquals( 1, l_executor.queued() );
+            Assertions.assertFalse( execute( l_action, false, l_arguments, new ArrayList<>() ) );
+
+            // the route cannot be fetched before the routing is completed
+            final List<ITerm> l_status = new ArrayList<>();
+            Assertions.assertFalse( execute( new CFetchRoute(), false, l_future, new ArrayList<>() ) );
+            Assertions.assertTrue( execute( new CRouteStatus(), false, l_future, l_status ) );
+            Assertions.assertEquals( "pending", l_status.get( 0 ).raw() );
+            l_latch.countDown();
+            l_future.get( 0 ).<CompletableFuture<?>>raw().join();
+
+            final List<ITerm> l_return = new ArrayList<>();
+            Assertions.assertTrue( execute( new CFetchRoute(), false, l_future, l_return ) );
+            Assertions.assertEquals( breadthfirst( GRID, 0, 0, 2, 4 ) + 1, l_return.get( 0 ).<List<DoubleMatrix1D>>raw().size() );
+            l_status.clear();
+            Assertions.assertTrue( execute( new CRouteStatus(), false, l_future, l_status ) );
+            Assertions.assertEquals( "found", l_status.get( 0 ).raw() );
+
+            // an error of the routing is thrown on fetching
+            final List<ITerm> l_failed = Stream.of( l_executor.submit( () ->
+            {
+                throw new IllegalStateException( "routing error" );
+            } ) ).map( CRawTerm::of ).collect( Collectors.toList() );
+            l_failed.get( 0 ).<CompletableFuture<?>>raw().handle( ( i, j ) -> i ).join();
+            l_status.clear();
+            Assertions.assertTrue( execute( new CRouteStatus(), false, l_failed, l_status ) );
+            Assertions.assertEquals( "failed", l_status.get( 0 ).raw() );
+            Assertions.assertEquals(
+                "routing error",
+                Assertions.assertThrows( CRuntimeException.class, () -> execute( new CFetchRoute(), false, l_failed, new ArrayList<>() ) ).getCause().getMessage()
+            );
+
+            // a completed routing without route is unreachable
+            final List<ITerm> l_empty = Stream.of( l_executor.submit( Collections::emptyList ) ).map( CRawTerm::of ).collect( Collectors.toList() );
+            l_empty.get( 0 ).<CompletableFuture<?>>raw().join();
+            l_status.clear();
+            Assertions.assertFalse( execute( new CFetchRoute(), false, l_empty, new ArrayList<>() ) );
+            Assertions.assertTrue( execute( new CRouteStatus(), false, l_empty, l_status ) );
+            Assertions.assertEquals( "unreachable", l_status.get( 0 ).raw() );
+        }
+    }
+
+    /**
+     * test cooperative routing
+     */
+    @Test
+    public void cooperativerouting()
+    {
+        // corridor in row 1 with a bay at the cell (0, 4)
+        final ObjectMatrix2D l_grid = new DenseObjectMatrix2D( 3, 7 );
+        IntStream.range( 0, 7 ).filter( i -> i != 4 ).forEach( i -> CLayerRegistry.set( l_grid, 0, i, "wall" ) );
+        IntStream.range( 0, 7 ).forEach( i -> CLayerRegistry.set( l_grid, 2, i, "wall" ) );
+
+        final CCooperativeRouting l_routing = new CCooperativeRouting();
+        final List<DoubleMatrix1D> l_first = l_routing.apply(
+            l_grid, "first", new DenseDoubleMatrix1D( new double[]{1, 0} ), new DenseDoubleMatrix1D( new double[]{1, 6} )
+        ).collect( Collectors.toList() );
+        final List<DoubleMatrix1D> l_second = l_routing.apply(
+            l_grid, "second", new DenseDoubleMatrix1D( new double[]{1, 6} ), new DenseDoubleMatrix1D( new double[]{1, 0} )
+        ).collect( Collectors.toList() );
+
+        Assertions.assertEquals( 7, l_first.size() );
+        Assertions.assertTrue( l_second.stream().anyMatch( i -> i.getQuick( 0 ) == 0 && i.getQuick( 1 ) == 4 ) );
+        Assertions.assertArrayEquals( new double[]{1, 0}, l_second.get( l_second.size() - 1 ).toArray(), 0 );
+
+        // agents rest on the goal, so positions must differ on each tick and agents must not swap cells
+        final int l_length = Math.max( l_first.size(), l_second.size() );
+        IntStream.range( 0, l_length ).forEach( i ->
+        {
+            final DoubleMatrix1D l_firstposition = l_first.get( Math.min( i, l_first.size() - 1 ) );
+            final DoubleMatrix1D l_secondposition = l_second.get( Math.min( i, l_second.size() - 1 ) );
+            Assertions.assertFalse( l_firstposition.equals( l_secondposition ) );
+            if ( i > 0 )
+                Assertions.assertFalse(
+                    l_firstposition.equals( l_second.get( Math.min( i - 1, l_second.size() - 1 ) ) )
+                    && l_secondposition.equals( l_first.get( Math.min( i - 1, l_first.size() - 1 ) ) )
+                );
+        } );
+
+        // reservations expire with the ticks
+        final CReservationTable l_table = l_routing.table( l_grid );
+        Assertions.assertEquals( l_table.identifier( "first" ), l_table.owner( 1 * 7 + 1, 1 ) );
+        final List<ITerm> l_return = new ArrayList<>();
+        Assertions.assertTrue( execute( new CReservationTick(), false, Stream.of( l_grid ).map( CRawTerm::of ).collect( Collectors.toList() ), l_return ) );
+        Assertions.assertEquals( 1, l_return.get( 0 ).<Number>raw().intValue() );
+        Assertions.assertEquals( CReservationTable.FREE, l_table.owner( 1 * 7 + 0, 0 ) );
+
+        l_return.clear();
+        Assertions.assertTrue(
+            execute(
+                new CCooperativeRoute(),
+                false,
+                Stream.of( new DenseObjectMatrix2D( 5, 5 ), 1, 1, new DenseDoubleMatrix1D( new double[]{3, 4} ) ).map( CRawTerm::of ).collect( Collectors.toList() ),
+                l_return
+            )
+        );
+        Assertions.assertEquals( 6, l_return.get( 0 ).<List<DoubleMatrix1D>>raw().size() );
+
+        Assertions.assertThrows( CIllegalArgumentException.class, () -> new CCooperativeRouting( EDistance.MANHATTAN, ESearchDirection.ALWAYS ) );
+        Assertions.assertThrows(
+            CIllegalArgumentException.class,
+            () -> new CCooperativeRouting( EDistance.MANHATTAN, ESearchDirection.ALWAYS, new CClearance( 2 ), 4 )
+        );
+    }
+
+    /**
+     * test field of view
+     */
+    @Test
+    public void fieldofview()
+    {
+        final ObjectMatrix2D l_grid = new DenseObjectMatrix2D( 7, 7 );
+        Assertions.assertTrue(
+            execute(
+                new CSet(),
+                false,
+                Stream.of( l_grid, 3, 4, "a", 3, 5, "b", 1, 1, "c", 0, 3, "d", 6, 6, "e" ).map( CRawTerm::of ).collect( Collectors.toList() ),
+                new ArrayList<>()
+            )
+        );
+
+        final List<ITerm> l_return = new ArrayList<>();
+        Assertions.assertTrue(
+            execute(
+                new CFieldOfView(),
+                true,
+                Stream.of( l_grid, new DenseDoubleMatrix1D( new double[]{3, 3} ), 3, 6, 6, 0.5 ).map( CRawTerm::of ).collect( Collectors.toList() ),
+                l_return
+            )
+        );
+        Assertions.assertEquals( 2, l_return.size() );
+        Assertions.assertEquals(
+            Arrays.asList( "d", "c", "a" ),
+            l_return.get( 0 ).<List<ITerm>>raw().stream().map( i -> i.<List<ITerm>>raw().get( 1 ).raw() ).collect( Collectors.toList() )
+        );
+        Assertions.assertArrayEquals( new double[]{0, 3}, l_return.get( 0 ).<List<ITerm>>raw().get( 0 ).<List<ITerm>>raw().get( 0 ).<DoubleMatrix1D>raw().toArray() );
+        Assertions.assertTrue( l_return.get( 1 ).<List<ITerm>>raw().isEmpty() );
+
+        // the field of view is cached until the grid is changed
+        final CFieldOfViewCache l_cache = CFieldOfViewCache.of( l_grid );
+        Assertions.assertNotNull( l_cache );
+        Assertions.assertSame( l_cache.visible( l_grid, 3, 3, 3 ), l_cache.visible( l_grid, 3, 3, 3 ) );
+
+        CLayerRegistry.set( l_grid, 5, 3, "f" );
+        Assertions.assertEquals( 4, l_cache.visible( l_grid, 3, 3, 3 ).length );
+        Assertions.assertEquals( 0, l_cache.visible( l_grid, 0, 8, 3 ).length );
+    }
+
+    /**
+     * test directions
+     */
+    @Test
+    public void direction()
+    {
+        final DoubleMatrix1D l_position = new DenseDoubleMatrix1D( 2 );
+
+        Assertions.assertArrayEquals(
+            EDirection.NORTH.apply( l_position ).toArray(),
+            new double[]{-1, 0},
+            0
+        );
+
+        Assertions.assertArrayEquals(
+            EDirection.EAST.apply( l_position ).toArray(),
+            new double[]{0, 1},
+            0
+        );
+
+        Assertions.assertArrayEquals(
+            EDirection.SOUTH.apply( l_position ).toArray(),
+            new double[]{1, 0},
+            0
+        );
+
+        Assertions.assertArrayEquals(
+            EDirection.WEST.apply( l_position ).toArray(),
+            new double[]{0, -1},
+            0
+        );
+
+        Assertions.assertArrayEquals(
+            EDirection.NORTHEAST.apply( l_position ).toArray(),
+            new double[]{-1, 1},
+            0
+        );
+
+        Assertions.assertArrayEquals(
+            EDirection.NORTHWEST.apply( l_position ).toArray(),
+            new double[]{-1, -1},
+            0
+        );
+
+        Assertions.assertArrayEquals(
+            EDirection.SOUTHEAST.apply( l_position ).toArray(),
+            new double[]{1, 1},
+            0
+        );
+
+        Assertions.assertArrayEquals(
+            EDirection.SOUTHWEST.apply( l_position ).toArray(),
+            new double[]{1, -1},
+            0
+        );
+
+        // offsets of custom directions are defined by the direction function
+        final IDirection l_direction = i -> new DenseDoubleMatrix1D( new double[]{i.getQuick( 0 ) - 1, i.getQuick( 1 ) + 2} );
+        Assertions.assertEquals( -1, l_direction.row() );
+        Assertions.assertEquals( 2, l_direction.column() );
+        Assertions.assertEquals( CCell.of( 2, 5 ), l_direction.apply( CCell.of( 3, 3 ) ) );
+    }
+
+    /**
+     * test thread-local search state retention
+     */
+    @Test
+    public void searchstate()
+    {
+        Assertions.assertSame( CSearchState.of( 16 ), CSearchState.of( 32 ) );
+        Assertions.assertNotSame( CSearchState.of( CSearchState.RETAIN + 1 ), CSearchState.of( CSearchState.RETAIN + 1 ) );
+        Assertions.assertNotSame( CSearchState.of( CSearchState.RETAIN + 1 ), CSearchState.of( 16 ) );
+
+        final CSearchState l_state = CSearchState.of( 16 );
+        CSearchState.release();
+        Assertions.assertNotSame( l_state, CSearchState.of( 16 ) );
+    }
+
+    /**
+     * distance algorithms
+     */
+    @Test
+    public void distance()
+    {
+        final DoubleMatrix1D l_value1 = new DenseDoubleMatrix1D( new double[]{3, 4} );
+        final DoubleMatrix1D l_value2 = new DenseDoubleMatrix1D( new double[]{7, 2} );
+
+        Assertions.assertEquals( 6D, EDistance.MANHATTAN.apply( l_value1, l_value2 ) );
+        Assertions.assertEquals( 4.47213595499958, EDistance.EUCLIDEAN.apply( l_value1, l_value2 ) );
+        Assertions.assertEquals( 4D, EDistance.CHEBYSHEV.apply( l_value1, l_value2 ) );
+        Assertions.assertEquals( 4.82842712474619, EDistance.OCTILE.apply( l_value1, l_value2 ) );
+    }
+
+    /**
+     * test a-star
+     */
+    @Test
+    public void astar()
+    {
+        Assertions.assertArrayEquals(
+            new Double[]{2.0, 1.0, 1.0, 1.0, 1.0, 2.0, 1.0, 3.0, 2.0, 3.0, 2.0, 4.0},
+            new CAStarRouting().apply(
+                buildgrid( GRID ),
+                new DenseDoubleMatrix1D( new double[]{2, 1} ),
+                new DenseDoubleMatrix1D( new double[]{2, 4} )
+            ).flatMap( i -> Arrays.stream( i.toArray() ).boxed() ).toArray()
+        );
+    }
+
+    /**
+     * test primitive a-star
+     */
+    @Test
+    public void primitiveastar()
+    {
+        Assertions.assertArrayEquals(
+            new Double[]{2.0, 1.0, 1.0, 1.0, 1.0, 2.0, 1.0, 3.0, 2.0, 3.0, 2.0, 4.0},
+            new CPrimitiveAStarRouting().apply(
+                buildgrid( GRID ),
+                new DenseDoubleMatrix1D( new double[]{2, 1} ),
+                new DenseDoubleMatrix1D( new double[]{2, 4} )
+            ).flatMap( i -> Arrays.stream( i.toArray() ).boxed() ).toArray()
+        );
+
+        Assertions.assertEquals(
+            0,
+            new CPrimitiveAStarRouting().apply(
+                buildgrid( new int[][]{{0, 0, 1}, {0, 1, 0}, {1, 0, 0}} ),
+                new DenseDoubleMatrix1D( new double[]{0, 0} ),
+                new DenseDoubleMatrix1D( new double[]{2, 2} )
+            ).count()
+        );
+    }
+
+    /**
+     * test primitive a-star against the collection-based a-star
+     * on a random grid
+     */
+    @Test
+    public void primitiveastarcompare()
+    {
+        final Random l_random = new Random( 42 );
+        final int[][] l_definition = new int[25][25];
+        IntStream.range( 0, l_definition.length )
+                 .forEach( r -> IntStream.range( 0, l_definition[r].length ).forEach( c -> l_definition[r][c] = l_random.nextDouble() < 0.25 ? 1 : 0 ) );
+        l_definition[0][0] = 0;
+        l_definition[24][24] = 0;
+
+        final ObjectMatrix2D l_grid = buildgrid( l_definition );
+        final DoubleMatrix1D l_start = new DenseDoubleMatrix1D( new double[]{0, 0} );
+        final DoubleMatrix1D l_end = new DenseDoubleMatrix1D( new double[]{24, 24} );
+
+        // the primitive engine finds an optimal route, so it cannot be longer
+        final List<DoubleMatrix1D> l_route = new CPrimitiveAStarRouting().apply( l_grid, l_start, l_end ).collect( Collectors.toList() );
+        Assertions.assertFalse( l_route.isEmpty() );
+        Assertions.assertTrue( l_route.size() <= new CAStarRouting().apply( l_grid, l_start, l_end ).count() );
+        Assertions.assertArrayEquals( l_start.toArray(), l_route.get( 0 ).toArray(), 0 );
+        Assertions.assertArrayEquals( l_end.toArray(), l_route.get( l_route.size() - 1 ).toArray(), 0 );
+
+        Assertions.assertTrue(
+            IntStream.range( 1, l_route.size() )
+                     .allMatch( i -> EDistance.MANHATTAN.apply( l_route.get( i - 1 ), l_route.get( i ) ).intValue() == 1
+                                     && Objects.isNull( l_grid.getQuick( (int) l_route.get( i ).get( 0 ), (int) l_route.get( i ).get( 1 ) ) ) )
+        );
+    }
+
+    /**
+     * test jump point search
+     */
+    @Test
+    public void jumppoint()
+    {
+        Stream.of( new CJumpPointRouting(), new CJumpPointPlusRouting() ).forEach( i ->
+        {
+            final List<DoubleMatrix1D> l_route = i.apply(
+                buildgrid( GRID ),
+                new DenseDoubleMatrix1D( new double[]{2, 1} ),
+                new DenseDoubleMatrix1D( new double[]{2, 4} )
+            ).collect( Collectors.toList() );
+
+            Assertions.assertEquals( 6, l_route.size() );
+            Assertions.assertEquals( 5, cost( l_route, EDistance.MANHATTAN ), 0 );
+
+            Assertions.assertEquals(
+                0,
+                i.apply(
+                    buildgrid( new int[][]{{0, 0, 1}, {0, 1, 0}, {1, 0, 0}} ),
+                    new DenseDoubleMatrix1D( new double[]{0, 0} ),
+                    new DenseDoubleMatrix1D( new double[]{2, 2} )
+                ).count()
+            );
+        } );
+    }
+
+    /**
+     * test jump point search against the primitive
+     * a-star on random grids for all search directions
+     */
+    @Test
+    public void jumppointcompare()
+    {
+        final Random l_random = new Random( 23 );
+
+        IntStream.range( 0, 10 ).forEach( n ->
+        {
+            final int[][] l_definition = new int[30][40];
+            IntStream.range( 0, l_definition.length )
+                     .forEach( r -> IntStream.range( 0, l_definition[r].length ).forEach( c -> l_definition[r][c] = l_random.nextDouble() < 0.3 ? 1 : 0 ) );
+
+            final ObjectMatrix2D l_grid = buildgrid( l_definition );
+            final DoubleMatrix1D l_start = new DenseDoubleMatrix1D( new double[]{l_random.nextInt( 30 ), l_random.nextInt( 40 )} );
+            final DoubleMatrix1D l_end = new DenseDoubleMatrix1D( new double[]{l_random.nextInt( 30 ), l_random.nextInt( 40 )} );
+            l_grid.setQuick( (int) l_start.get( 0 ), (int) l_start.get( 1 ), null );
+            l_grid.setQuick( (int) l_end.get( 0 ), (int) l_end.get( 1 ), null );
+
+            Arrays.stream( ESearchDirection.values() ).forEach( d ->
+            {
+                final IDistance l_distance = d == ESearchDirection.NEVER ? EDistance.MANHATTAN : OCTILE;
+                final double l_cost = cost( new CPrimitiveAStarRouting( l_distance, d, 1 ).apply( l_grid, l_start, l_end ).collect( Collectors.toList() ), l_distance );
+
+                Stream.of( new CJumpPointRouting( l_distance, d ), new CJumpPointPlusRouting( l_distance, d ) ).forEach( i ->
+                {
+                    final List<DoubleMatrix1D> l_route = i.apply( l_grid, l_start, l_end ).collect( Collectors.toList() );
+                    Assertions.assertEquals( l_cost, cost( l_route, l_distance ), 1e-9, d.name() );
+                    Assertions.assertTrue(
+                        IntStream.range( 1, l_route.size() )
+                                 .allMatch( j -> d.apply( l_grid, l_route.get( j - 1 ), ( g, p ) -> Objects.isNull( g.getQuick( (int) p.get( 0 ), (int) p.get( 1 ) ) ) )
+                                                  .anyMatch( p -> p.equals( l_route.get( j ) ) ) ),
+                        d.name()
+                    );
+                } );
+            } );
+        } );
+    }
+
+    /**
+     * test precomputed jump points on grid changes
+     */
+    @Test
+    public void jumppointplusupdate()
+    {
+        final IRouting l_routing = new CJumpPointPlusRouting();
+        final ObjectMatrix2D l_grid = buildgrid( new int[][]{{0, 0, 0}, {0, 0, 0}, {0, 0, 0}} );
+        final DoubleMatrix1D l_start = new DenseDoubleMatrix1D( new double[]{0, 0} );
+        final DoubleMatrix1D l_end = new DenseDoubleMatrix1D( new double[]{2, 2} );
+
+        Assertions.assertEquals( 5, l_routing.apply( l_grid, l_start, l_end ).count() );
+
+        CLayerRegistry.set( l_grid, 0, 1, new Object() );
+        CLayerRegistry.set( l_grid, 1, 1, new Object() );
+        Assertions.assertTrue( l_routing.apply( l_grid, l_start, l_end ).noneMatch( i -> i.get( 1 ) == 1 && i.get( 0 ) < 2 ) );
+
+        CLayerRegistry.set( l_grid, 2, 1, new Object() );
+        Assertions.assertEquals( 0, l_routing.apply( l_grid, l_start, l_end ).count() );
+
+        CLayerRegistry.set( l_grid, 1, 1, null );
+        Assertions.assertEquals( 5, l_routing.apply( l_grid, l_start, l_end ).count() );
+    }
+
+    /**
+     * test hierarchical a-star against the primitive
+     * a-star on random grids
+     */
+    @Test
+    public void hierarchicalastar()
+    {
+        final Random l_random = new Random( 17 );
+        final int[][] l_definition = new int[50][70];
+        IntStream.range( 0, l_definition.length )
+                 .forEach( r -> IntStream.range( 0, l_definition[r].length ).forEach( c -> l_definition[r][c] = l_random.nextDouble() < 0.25 ? 1 : 0 ) );
+        final ObjectMatrix2D l_grid = buildgrid( l_definition );
+
+        Arrays.stream( ESearchDirection.values() ).forEach( d ->
+        {
+            final IDistance l_distance = d == ESearchDirection.NEVER ? EDistance.MANHATTAN : OCTILE;
+            final IRouting l_routing = new CHierarchicalRouting( l_distance, d, 8 );
+            final IRouting l_reference = new CPrimitiveAStarRouting( l_distance, d, 1 );
+
+            IntStream.range( 0, 25 ).forEach( n ->
+            {
+                final DoubleMatrix1D l_start = new DenseDoubleMatrix1D( new double[]{l_random.nextInt( 50 ), l_random.nextInt( 70 )} );
+                final DoubleMatrix1D l_end = new DenseDoubleMatrix1D( new double[]{l_random.nextInt( 50 ), l_random.nextInt( 70 )} );
+                final List<DoubleMatrix1D> l_expected = l_reference.apply( l_grid, l_start, l_end ).collect( Collectors.toList() );
+                final List<DoubleMatrix1D> l_route = l_routing.apply( l_grid, l_start, l_end ).collect( Collectors.toList() );
+
+                // routes are near-optimal and consist of valid steps
+                Assertions.assertEquals( l_expected.isEmpty(), l_route.isEmpty(), d.name() );
+                Assertions.assertTrue( cost( l_route, l_distance ) <= 1.5 * cost( l_expected, l_distance ), d.name() );
+                Assertions.assertTrue(
+                    IntStream.range( 1, l_route.size() )
+                             .allMatch( j -> d.apply( l_grid, l_route.get( j - 1 ), ( g, p ) -> Objects.isNull( g.getQuick( (int) p.get( 0 ), (int) p.get( 1 ) ) ) )
+                                              .anyMatch( p -> p.equals( l_route.get( j ) ) ) ),
+                    d.name()
+                );
+            } );
+        } );
+    }
+
+    /**
+     * test hierarchical a-star on grid changes
+     */
+    @Test
+    public void hierarchicalastarupdate()
+    {
+        final IRouting l_routing = new CHierarchicalRouting( EDistance.MANHATTAN, ESearchDirection.NEVER, 4 );
+        final ObjectMatrix2D l_grid = new SparseObjectMatrix2D( 12, 12 );
+        final DoubleMatrix1D l_start = new DenseDoubleMatrix1D( new double[]{0, 0} );
+        final DoubleMatrix1D l_end = new DenseDoubleMatrix1D( new double[]{0, 11} );
+
+        // narrow entrances have got a single transition in the middle
+        Assertions.assertEquals( 16, l_routing.apply( l_grid, l_start, l_end ).count() );
+
+        // wall with a gap in the last row
+        IntStream.range( 0, 11 ).forEach( i -> CLayerRegistry.set( l_grid, i, 5, new Object() ) );
+        Assertions.assertTrue( l_routing.apply( l_grid, l_start, l_end ).anyMatch( i -> i.get( 0 ) == 11 && i.get( 1 ) == 5 ) );
+
+        CLayerRegistry.set( l_grid, 11, 5, new Object() );
+        Assertions.assertEquals( 0, l_routing.apply( l_grid, l_start, l_end ).count() );
+
+        CLayerRegistry.set( l_grid, 2, 5, null );
+        Assertions.assertEquals( 16, l_routing.apply( l_grid, l_start, l_end ).count() );
+    }
+
+    /**
+     * test hierarchical a-star with a diagonal crossing
+     * between two clusters, which has got no cardinal entrance
+     */
+    @Test
+    public void hierarchicalastardiagonal()
+    {
+        final ObjectMatrix2D l_grid = buildgrid( new int[][]{
+            {0, 0, 0, 0},
+            {0, 0, 1, 1},
+            {0, 0, 1, 1},
+            {1, 0, 1, 0},
+            {0, 0, 1, 0},
+            {0, 1, 1, 0},
+            {0, 0, 0, 1},
+            {1, 0, 0, 0}
+        } );
+
+        Assertions.assertArrayEquals(
+            new String[]{"5:3", "6:2", "6:1"},
+            new CHierarchicalRouting( OCTILE, ESearchDirection.ALWAYS, 2 )
+                .apply( l_grid, new DenseDoubleMatrix1D( new double[]{5, 3} ), new DenseDoubleMatrix1D( new double[]{6, 1} ) )
+                .map( i -> (int) i.get( 0 ) + ":" + (int) i.get( 1 ) )
+                .toArray( String[]::new )
+        );
+    }
+
+    /**
+     * test D* Lite replanning against the primitive
+     * a-star on a changing random grid
+     */
+    @Test
+    public void dstarlite()
+    {
+        final Random l_random = new Random( 11 );
+        Assertions.assertThrows( CIllegalArgumentException.class, () -> new CDStarLiteRouting( EDistance.MANHATTAN, ESearchDirection.ALWAYS ) );
+
+        Arrays.stream( ESearchDirection.values() ).forEach( d ->
+        {
+            final int[][] l_definition = new int[30][30];
+            IntStream.range( 0, l_definition.length )
+                     .forEach( r -> IntStream.range( 0, l_definition[r].length ).forEach( c -> l_definition[r][c] = l_random.nextDouble() < 0.3 ? 1 : 0 ) );
+            l_definition[15][15] = 0;
+
+            final ObjectMatrix2D l_grid = buildgrid( l_definition );
+            final DoubleMatrix1D l_end = new DenseDoubleMatrix1D( new double[]{15, 15} );
+            final IDistance l_distance = d == ESearchDirection.NEVER ? EDistance.MANHATTAN : OCTILE;
+            final IRouting l_routing = new CDStarLiteRouting( l_distance, d );
+            final IRouting l_reference = new CPrimitiveAStarRouting( l_distance, d, 1 );
+
+            IntStream.range( 0, 50 ).forEach( n ->
+            {
+                final DoubleMatrix1D l_start = new DenseDoubleMatrix1D( new double[]{l_random.nextInt( 30 ), l_random.nextInt( 30 )} );
+                final List<DoubleMatrix1D> l_expected = l_reference.apply( l_grid, l_start, l_end ).collect( Collectors.toList() );
+                final List<DoubleMatrix1D> l_route = l_routing.apply( l_grid, l_start, l_end ).collect( Collectors.toList() );
+
+                Assertions.assertEquals( l_expected.isEmpty(), l_route.isEmpty(), d.name() );
+                Assertions.assertEquals( cost( l_expected, l_distance ), cost( l_route, l_distance ), 1e-9, d.name() );
+
+                // toggle some cells except the goal
+                IntStream.range( 0, 5 ).forEach( i ->
+                {
+                    final int l_row = l_random.nextInt( 30 );
+                    final int l_column = l_random.nextInt( 30 );
+                    if ( l_row != 15 || l_column != 15 )
+                        CLayerRegistry.set( l_grid, l_row, l_column, Objects.isNull( l_grid.getQuick( l_row, l_column ) ) ? new Object() : null );
+                } );
+            } );
+        } );
+    }
+
+    /**
+     * test D* Lite replanning with diagonal movement
+     * against dijkstra on a changing random grid
+     */
+    @Test
+    public void dstarlitediagonal()
+    {
+        final Random l_random = new Random( 23 );
+
+        IntStream.range( 0, 150 ).forEach( n ->
+        {
+            final int l_rows = 4 + l_random.nextInt( 14 );
+            final int l_columns = 4 + l_random.nextInt( 14 );
+            final int[][] l_definition = new int[l_rows][l_columns];
+            IntStream.range( 0, l_rows )
+                     .forEach( r -> IntStream.range( 0, l_columns ).forEach( c -> l_definition[r][c] = l_random.nextDouble() < 0.3 ? 1 : 0 ) );
+
+            final int l_endrow = l_random.nextInt( l_rows );
+            final int l_endcolumn = l_random.nextInt( l_columns );
+            l_definition[l_endrow][l_endcolumn] = 0;
+
+            final ObjectMatrix2D l_grid = buildgrid( l_definition );
+            final DoubleMatrix1D l_end = new DenseDoubleMatrix1D( new double[]{l_endrow, l_endcolumn} );
+            final ESearchDirection l_direction = ESearchDirection.values()[1 + l_random.nextInt( ESearchDirection.values().length - 1 )];
+            final IDistance l_distance = new IDistance[]{OCTILE, EDistance.EUCLIDEAN, EDistance.CHEBYSHEV}[l_random.nextInt( 3 )];
+            final IRouting l_routing = new CDStarLiteRouting( l_distance, l_direction );
+
+            IntStream.range( 0, 6 ).forEach( k ->
+            {
+                final DoubleMatrix1D l_start = new DenseDoubleMatrix1D( new double[]{l_random.nextInt( l_rows ), l_random.nextInt( l_columns )} );
+                final List<DoubleMatrix1D> l_route = l_routing.apply( l_grid, l_start, l_end ).collect( Collectors.toList() );
+                final double l_expected = dijkstra( l_grid, l_direction, l_distance, l_start, l_end );
+
+                Assertions.assertEquals( Double.isInfinite( l_expected ), l_route.isEmpty(), l_direction.name() );
+                if ( !l_route.isEmpty() )
+                    Assertions.assertEquals( l_expected, cost( l_route, l_distance ), 1e-9, l_direction.name() );
+
+                // toggle some cells except the goal
+                IntStream.range( 0, 1 + l_random.nextInt( 5 ) ).forEach( i ->
+                {
+                    final int l_row = l_random.nextInt( l_rows );
+                    final int l_column = l_random.nextInt( l_columns );
+                    if ( l_row != l_endrow || l_column != l_endcolumn )
+                        CLayerRegistry.set( l_grid, l_row, l_column, Objects.isNull( l_grid.getQuick( l_row, l_column ) ) ? new Object() : null );
+                } );
+            } );
+        } );
+    }
+
+    /**
+     * test connected components against the primitive
+     * a-star on a changing random grid
+     */
+    @Test
+    public void reachable()
+    {
+        final Random l_random = new Random( 17 );
+
+        Arrays.stream( ESearchDirection.values() ).forEach( d ->
+        {
+            final int[][] l_definition = new int[25][25];
+            IntStream.range( 0, l_definition.length )
+                     .forEach( r -> IntStream.range( 0, l_definition[r].length ).forEach( c -> l_definition[r][c] = l_random.nextDouble() < 0.4 ? 1 : 0 ) );
+
+            final ObjectMatrix2D l_grid = buildgrid( l_definition );
+            final IRouting l_routing = new CPrimitiveAStarRouting( d == ESearchDirection.NEVER ? EDistance.MANHATTAN : OCTILE, d, 1 );
+
+            IntStream.range( 0, 200 ).forEach( n ->
+            {
+                final DoubleMatrix1D l_start = new DenseDoubleMatrix1D( new double[]{l_random.nextInt( 25 ), l_random.nextInt( 25 )} );
+                final DoubleMatrix1D l_end = new DenseDoubleMatrix1D( new double[]{l_random.nextInt( 25 ), l_random.nextInt( 25 )} );
+
+                Assertions.assertEquals(
+                    l_routing.apply( l_grid, l_start, l_end ).findAny().isPresent() || l_start.equals( l_end ),
+                    l_routing.reachable( l_grid, l_start, l_end ),
+                    d.name()
+                );
+
+                final int l_row = l_random.nextInt( 25 );
+                final int l_column = l_random.nextInt( 25 );
+                CLayerRegistry.set( l_grid, l_row, l_column, Objects.isNull( l_grid.getQuick( l_row, l_column ) ) ? new Object() : null );
+            } );
+        } );
+    }
+
+    /**
+     * test that a negative reachable result is confirmed,
+     * if cells are changed without the layer registry
+     */
+    @Test
+    public void reachableunregistered()
+    {
+        final ObjectMatrix2D l_grid = buildgrid( new int[][]{
+            {0, 0, 1, 0, 0},
+            {0, 0, 1, 0, 0},
+            {0, 0, 1, 0, 0},
+            {0, 0, 1, 0, 0}
+        } );
+        final IRouting l_routing = new CPrimitiveAStarRouting();
+        final DoubleMatrix1D l_start = new DenseDoubleMatrix1D( new double[]{0, 0} );
+        final DoubleMatrix1D l_end = new DenseDoubleMatrix1D( new double[]{0, 4} );
+
+        Assertions.assertFalse( l_routing.reachable( l_grid, l_start, l_end ) );
+
+        // the wall is opened away from the query cells without the registry
+        l_grid.setQuick( 3, 2, null );
+        Assertions.assertTrue( l_routing.reachable( l_grid, l_start, l_end ) );
+
+        // blocking a cell of a corridor splits the component
+        CLayerRegistry.set( l_grid, 3, 2, new Object() );
+        Assertions.assertFalse( l_routing.reachable( l_grid, l_start, l_end ) );
+
+        // the routing actions can skip the check
+        final List<ITerm> l_return = new ArrayList<>();
+        new CAStar( l_routing, false ).execute(
+            false, IContext.EMPTYPLAN,
+            Stream.of( l_grid, 0, 0, 0, 4 ).map( CRawTerm::of ).collect( Collectors.toList() ),
+            l_return
+        );
+        Assertions.assertTrue( l_return.isEmpty() );
+    }
+
+    /**
+     * test reachable action
+     */
+    @Test
+    public void reachableaction()
+    {
+        final List<ITerm> l_return = new ArrayList<>();
+
+        Assertions.assertTrue(
+            execute(
+                new CReachable(),
+                false,
+                Stream.of(
+                    buildgrid( new int[][]{{0, 0, 1}, {0, 1, 0}, {1, 0, 0}} ),
+                    0, 0,
+                    2, 2,
+                    new DenseDoubleMatrix1D( new double[]{1, 2} ),
+                    Stream.of( 2, 1 ).collect( Collectors.toList() ),
+                    0, 0,
+                    1, 0
+                ).map( CRawTerm::of ).collect( Collectors.toList() ),
+                l_return
+            )
+        );
+
+        Assertions.assertEquals( 3, l_return.size() );
+        Assertions.assertFalse( l_return.get( 0 ).<Boolean>raw() );
+        Assertions.assertTrue( l_return.get( 1 ).<Boolean>raw() );
+        Assertions.assertTrue( l_return.get( 2 ).<Boolean>raw() );
+    }
+
+    /**
+     * test batch routing against the sequential
+     * primitive a-star on a random grid
+     */
+    @Test
+    public void batchroute()
+    {
+        final Random l_random = new Random( 23 );
+        final int[][] l_definition = new int[60][60];
+        IntStream.range( 0, l_definition.length )
+                 .forEach( r -> IntStream.range( 0, l_definition[r].length ).forEach( c -> l_definition[r][c] = l_random.nextDouble() < 0.3 ? 1 : 0 ) );
+
+        final ObjectMatrix2D l_grid = buildgrid( l_definition );
+        final IRouting l_routing = new CPrimitiveAStarRouting( EDistance.MANHATTAN, ESearchDirection.NEVER, 1 );
+        final List<DoubleMatrix1D> l_positions = IntStream.range( 0, 200 )
+                                                          .mapToObj( i -> new DenseDoubleMatrix1D( new double[]{l_random.nextInt( 60 ), l_random.nextInt( 60 )} ) )
+                                                          .collect( Collectors.toList() );
+
+        final List<ITerm> l_return = new ArrayList<>();
+        Assertions.assertTrue(
+            execute(
+                new CBatchRoute( l_routing ),
+                true,
+                Stream.concat( Stream.of( l_grid ), l_positions.stream() ).map( CRawTerm::of ).collect( Collectors.toList() ),
+                l_return
+            )
+        );
+
+        Assertions.assertEquals( 100, l_return.size() );
+        IntStream.range( 0, 100 ).forEach( i ->
+        {
+            final List<DoubleMatrix1D> l_expected = l_routing.apply( l_grid, l_positions.get( 2 * i ), l_positions.get( 2 * i + 1 ) ).collect( Collectors.toList() );
+            Assertions.assertEquals( l_expected, l_return.get( i ).<List<DoubleMatrix1D>>raw() );
+        } );
+
+        // a sequential execution returns equal routes
+        final List<ITerm> l_sequential = new ArrayList<>();
+        Assertions.assertTrue(
+            execute(
+                new CBatchRoute( l_routing ),
+                false,
+                Stream.concat( Stream.of( l_grid ), l_positions.stream() ).map( CRawTerm::of ).collect( Collectors.toList() ),
+                l_sequential
+            )
+        );
+        Assertions.assertEquals(
+            l_return.stream().map( ITerm::<List<DoubleMatrix1D>>raw ).collect( Collectors.toList() ),
+            l_sequential.stream().map( ITerm::<List<DoubleMatrix1D>>raw ).collect( Collectors.toList() )
+        );
+    }
+
+    /**
+     * test flow field against the primitive
+     * a-star on a random grid
+     */
+    @Test
+    public void flowfield()
+    {
+        final Random l_random = new Random( 5 );
+        final int[][] l_definition = new int[30][30];
+        IntStream.range( 0, l_definition.length )
+                 .forEach( r -> IntStream.range( 0, l_definition[r].length ).forEach( c -> l_definition[r][c] = l_random.nextDouble() < 0.3 ? 1 : 0 ) );
+        l_definition[15][15] = 0;
+        final ObjectMatrix2D l_grid = buildgrid( l_definition );
+        final DoubleMatrix1D l_end = new DenseDoubleMatrix1D( new double[]{15, 15} );
+
+        Arrays.stream( ESearchDirection.values() ).forEach( d ->
+        {
+            final IDistance l_distance = d == ESearchDirection.NEVER ? EDistance.MANHATTAN : OCTILE;
+            final CFlowField l_field = new CFlowFieldRouting( l_distance, d ).field( l_grid, 15, 15 );
+            final IRouting l_reference = new CPrimitiveAStarRouting( l_distance, d, 1 );
+
+            Assertions.assertEquals( EDirection.SELF, l_field.direction( 15, 15 ) );
+            IntStream.range( 0, 30 ).forEach( r -> IntStream.range( 0, 30 ).forEach( c ->
+            {
+                final List<DoubleMatrix1D> l_expected = l_reference.apply( l_grid, new DenseDoubleMatrix1D( new double[]{r, c} ), l_end )
+                                                                   .collect( Collectors.toList() );
+                Assertions.assertEquals( !l_expected.isEmpty(), l_field.reachable( r, c ) );
+                Assertions.assertEquals( l_expected.isEmpty() ? Double.POSITIVE_INFINITY : cost( l_expected, l_distance ), l_field.distance( r, c ), 1e-4 );
+                Assertions.assertEquals( l_expected.size(), l_field.route( r, c ).length );
+            } ) );
+        } );
+    }
+
+    /**
+     * test flow field cache
+     */
+    @Test
+    public void flowfieldcache()
+    {
+        final ObjectMatrix2D l_grid = buildgrid( new int[][]{{0, 0, 1, 1, 0}, {0, 0, 1, 1, 0}, {0, 0, 1, 1, 0}} );
+        final CFlowField l_field = new CFlowFieldRouting().field( l_grid, 0, 0 );
+
+        // routings with equal configuration share the fields
+        Assertions.assertSame( l_field, new CFlowFieldRouting().field( l_grid, 0, 0 ) );
+        Assertions.assertNotSame( l_field, new CFlowFieldRouting( EDistance.EUCLIDEAN ).field( l_grid, 0, 0 ) );
+
+        // the right column is not reachable
+        CLayerRegistry.set( l_grid, 1, 4, new Object() );
+        Assertions.assertSame( l_field, new CFlowFieldRouting().field( l_grid, 0, 0 ) );
+
+        CLayerRegistry.set( l_grid, 1, 0, new Object() );
+        Assertions.assertNotSame( l_field, new CFlowFieldRouting().field( l_grid, 0, 0 ) );
+        Assertions.assertEquals( 5, new CFlowFieldRouting().field( l_grid, 0, 0 ).route( 2, 0 ).length );
+        Assertions.assertThrows( CIllegalArgumentException.class, () -> new CFlowFieldRouting( EDistance.MANHATTAN, ESearchDirection.ALWAYS ) );
+    }
+
+    /**
+     * test route cache with hits,
+     * evictions and invalidations
+     */
+    @Test
+    public void routecache()
+    {
+        final ObjectMatrix2D l_grid = buildgrid( EMPTYGRID );
+        final IRouting l_routing = new CPrimitiveAStarRouting( EDistance.MANHATTAN, ESearchDirection.NEVER, 1 );
+        final CRouteCache l_cache = new CRouteCache( l_routing, 2 );
+        final DoubleMatrix1D l_start = new DenseDoubleMatrix1D( new double[]{0, 0} );
+        final DoubleMatrix1D l_end = new DenseDoubleMatrix1D( new double[]{0, 2} );
+
+        final List<DoubleMatrix1D> l_route = l_cache.apply( l_grid, l_start, l_end ).collect( Collectors.toList() );
+        Assertions.assertEquals( l_route, l_cache.apply( l_grid, l_start, l_end ).collect( Collectors.toList() ) );
+        Assertions.assertEquals( 1, l_cache.hits() );
+        Assertions.assertEquals( 1, l_cache.misses() );
+
+        // a change outside of the route keeps the route
+        CLayerRegistry.set( l_grid, 2, 2, new Object() );
+        Assertions.assertEquals( l_route, l_cache.apply( l_grid, l_start, l_end ).collect( Collectors.toList() ) );
+        Assertions.assertEquals( 2, l_cache.hits() );
+        Assertions.assertEquals( 0, l_cache.invalidations() );
+
+        // a change on the route removes the route
+        CLayerRegistry.set( l_grid, 0, 1, new Object() );
+        Assertions.assertEquals(
+            l_routing.apply( l_grid, l_start, l_end ).collect( Collectors.toList() ),
+            l_cache.apply( l_grid, l_start, l_end ).collect( Collectors.toList() )
+        );
+        Assertions.assertEquals( 1, l_cache.invalidations() );
+        Assertions.assertEquals( 2, l_cache.misses() );
+
+        l_cache.apply( l_grid, l_start, new DenseDoubleMatrix1D( new double[]{2, 0} ) ).forEach( i -> { } );
+        l_cache.apply( l_grid, l_start, new DenseDoubleMatrix1D( new double[]{1, 1} ) ).forEach( i -> { } );
+        Assertions.assertEquals( 1, l_cache.evictions() );
+        Assertions.assertEquals( 2.0 / 6, l_cache.hitrate(), 1e-9 );
+
+        // a blocked corner of a diagonal step removes the route
+        final ObjectMatrix2D l_diagonalgrid = buildgrid( EMPTYGRID );
+        final IRouting l_diagonal = new CPrimitiveAStarRouting( OCTILE, ESearchDirection.NOOBSTACLES, 1 );
+        final CRouteCache l_diagonalcache = new CRouteCache( l_diagonal );
+        final DoubleMatrix1D l_corner = new DenseDoubleMatrix1D( new double[]{1, 1} );
+
+        Assertions.assertEquals( 2, l_diagonalcache.apply( l_diagonalgrid, l_start, l_corner ).count() );
+        CLayerRegistry.set( l_diagonalgrid, 0, 1, new Object() );
+        Assertions.assertEquals( 1, l_diagonalcache.invalidations() );
+        Assertions.assertEquals(
+            l_diagonal.apply( l_diagonalgrid, l_start, l_corner ).collect( Collectors.toList() ),
+            l_diagonalcache.apply( l_diagonalgrid, l_start, l_corner ).collect( Collectors.toList() )
+        );
+
+        // caches with an equal routing share the routes of a grid
+        final CRouteCache l_shared = new CRouteCache( l_diagonal );
+        Assertions.assertEquals( 3, l_shared.apply( l_diagonalgrid, l_start, l_corner ).count() );
+        Assertions.assertEquals( 1, l_shared.hits() );
+    }
+
+    /**
+     * test flow step action
+     */
+    @Test
+    public void flowstep()
+    {
+        final List<ITerm> l_return = new ArrayList<>();
+
+        Assertions.assertTrue(
+            execute(
+                new CFlowStep(),
+                false,
+                Stream.of(
+                    buildgrid( GRID ),
+                    2, 4,
+                    new DenseDoubleMatrix1D( new double[]{2, 1} ),
+                    2, 4
+                ).map( CRawTerm::of ).collect( Collectors.toList() ),
+                l_return
+            )
+        );
+
+        Assertions.assertEquals( 2, l_return.size() );
+        Assertions.assertArrayEquals( new double[]{1, 1}, l_return.get( 0 ).<DoubleMatrix1D>raw().toArray(), 0 );
+        Assertions.assertArrayEquals( new double[]{2, 4}, l_return.get( 1 ).<DoubleMatrix1D>raw().toArray(), 0 );
+
+        Assertions.assertFalse(
+            execute(
+                new CFlowStep(),
+                false,
+                Stream.of(
+                    buildgrid( new int[][]{{0, 0, 1}, {0, 1, 0}, {1, 0, 0}} ),
+                    2, 2,
+                    0, 0
+                ).map( CRawTerm::of ).collect( Collectors.toList() ),
+                new ArrayList<>()
+            )
+        );
+    }
+
+    /**
+     * test arguments
+     */
+    @Test
+    public void aguments()
+    {
+        Assertions.assertEquals( 1, new CAStar().minimalArgumentNumber() );
+        Assertions.assertEquals( 1, new CBatchRoute().minimalArgumentNumber() );
+        Assertions.assertEquals( 1, new CCommit().minimalArgumentNumber() );
+        Assertions.assertEquals( 1, new CCompareAndSet().minimalArgumentNumber() );
+        Assertions.assertEquals( 1, new CConcurrentGrid().minimalArgumentNumber() );
+        Assertions.assertEquals( 1, new CCountArea().minimalArgumentNumber() );
+        Assertions.assertEquals( 1, new CDenseGrid().minimalArgumentNumber() );
+        Assertions.assertEquals( 1, new CDStarLite().minimalArgumentNumber() );
+        Assertions.assertEquals( 1, new CFlowRoute().minimalArgumentNumber() );
+        Assertions.assertEquals( 1, new CFlowStep().minimalArgumentNumber() );
+        Assertions.assertEquals( 1, new CGrow().minimalArgumentNumber() );
+        Assertions.assertEquals( 1, new CHierarchicalAStar().minimalArgumentNumber() );
+        Assertions.assertEquals( 1, new CIsEmpty().minimalArgumentNumber() );
+        Assertions.assertEquals( 1, new CIsEmptyArea().minimalArgumentNumber() );
+        Assertions.assertEquals( 1, new CJumpPoint().minimalArgumentNumber() );
+        Assertions.assertEquals( 1, new CLineOfSight().minimalArgumentNumber() );
+        Assertions.assertEquals( 3, new CMappedGrid().minimalArgumentNumber() );
+        Assertions.assertEquals( 1, new CMove().minimalArgumentNumber() );
+        Assertions.assertEquals( 1, new CNearest().minimalArgumentNumber() );
+        Assertions.assertEquals( 1, new CPosition().minimalArgumentNumber() );
+        Assertions.assertEquals( 1, new CRadius().minimalArgumentNumber() );
+        Assertions.assertEquals( 1, new CRange().minimalArgumentNumber() );
+        Assertions.assertEquals( 1, new CRaycast().minimalArgumentNumber() );
+        Assertions.assertEquals( 1, new CFieldOfView().minimalArgumentNumber() );
+        Assertions.assertEquals( 1, new CCooperativeRoute().minimalArgumentNumber() );
+        Assertions.assertEquals( 1, new CReservationTick().minimalArgumentNumber() );
+        Assertions.assertEquals( 1, new CAnytimeAStar().minimalArgumentNumber() );
+        Assertions.assertEquals( 1, new CSlicedRoute().minimalArgumentNumber() );
+        Assertions.assertEquals( 1, new CPollRoute().minimalArgumentNumber() );
+        Assertions.assertEquals( 1, new CAsyncRoute().minimalArgumentNumber() );
+        Assertions.assertEquals( 1, new CFetchRoute().minimalArgumentNumber() );
+        Assertions.assertEquals( 1, new CReachable().minimalArgumentNumber() );
+        Assertions.assertEquals( 1, new CRemove().minimalArgumentNumber() );
+        Assertions.assertEquals( 1, new CSet().minimalArgumentNumber() );
+        Assertions.assertEquals( 1, new CSetIfEmpty().minimalArgumentNumber() );
+        Assertions.assertEquals( 1, new CSparseGrid().minimalArgumentNumber() );
+        Assertions.assertEquals( 1, new CTickGrid().minimalArgumentNumber() );
+        Assertions.assertEquals( 1, new CTiledGrid().minimalArgumentNumber() );
+    }
+
+    /**
+     * test a-star action
+     */
+    @Test
+    public void astaraction()
+    {
+        final List<ITerm> l_return = new ArrayList<>();
+
+        new CAStar().execute(
+            false, IContext.EMPTYPLAN,
+            Stream.of(
+                buildgrid( GRID ),
+                new DenseDoubleMatrix1D( new double[]{2, 1} ),
+                2, 4
+            ).map( CRawTerm::of ).collect( Collectors.toList() ),
+            l_return
+        );
+
+        Assertions.assertEquals( 1, l_return.size() );
+        Assertions.assertArrayEquals(
+            new Double[]{2.0, 1.0, 1.0, 1.0, 1.0, 2.0, 1.0, 3.0, 2.0, 3.0, 2.0, 4.0},
+            l_return.get( 0 ).<List<DoubleMatrix1D>>raw().stream().flatMap( i -> Arrays.stream( i.toArray() ).boxed() ).toArray()
+        );
+    }
+
+    /**
+     * test ignore elements
+     */
+    @Test
+    public void ignoreelement()
+    {
+        final List<ITerm> l_return = new ArrayList<>();
+
+        new CAStar().execute(
+            false, IContext.EMPTYPLAN,
+            Stream.of(
+                buildgrid( GRID ),
+                new DenseDoubleMatrix1D( new double[]{2, 1} ),
+                "hello",
+                2, 4
+            ).map( CRawTerm::of ).collect( Collectors.toList() ),
+            l_return
+        );
+
+        Assertions.assertEquals( 1, l_return.size() );
+        Assertions.assertArrayEquals(
+            new Double[]{2.0, 1.0, 1.0, 1.0, 1.0, 2.0, 1.0, 3.0, 2.0, 3.0, 2.0, 4.0},
+            l_return.get( 0 ).<List<DoubleMatrix1D>>raw().stream().flatMap( i -> Arrays.stream( i.toArray() ).boxed() ).toArray()
+        );
+    }
+
+    /**
+     * test no route
+     */
+    @Test
+    public void noroute()
+    {
+        final List<ITerm> l_return = new ArrayList<>();
+
+        Assert.assertFalse(
+            execute(
+                new CAStar(),
+                false,
+                Stream.of(
+                    buildgrid( new int[][]{{0, 0, 1}, {0, 1, 0}, {1, 0, 0}} ),
+                        0, 0,
+                        2, 2
+                ).map( CRawTerm::of ).collect( Collectors.toList() ),
+                l_return
+            )
+        );
+
+        Assertions.assertEquals( 0, l_return.size() );
+    }
+
+    /**
+     * test packed cells against
+     * the blas vector positions
+     */
+    @Test
+    public void packedcell()
+    {
+        final long l_cell = CCell.of( -3, 7 );
+        Assertions.assertEquals( -3, CCell.row( l_cell ) );
+        Assertions.assertEquals( 7, CCell.column( l_cell ) );
+        Assertions.assertEquals( CCell.of( -4, 8 ), EDirection.NORTHEAST.apply( l_cell ) );
+        Assertions.assertEquals( l_cell, CCell.of( CCell.position( l_cell ) ) );
+        Assertions.assertEquals( 2 * 5 + 3, CCell.index( CCell.unindex( 13, 5 ), 5 ) );
+
+        final ObjectMatrix2D l_grid = buildgrid( GRID );
+        final long[] l_buffer = new long[8];
+        Arrays.stream( ESearchDirection.values() ).forEach( d ->
+            IntStream.range( 0, l_grid.rows() ).forEach( r -> IntStream.range( 0, l_grid.columns() ).forEach( c ->
+            {
+                final int l_count = d.apply( CCell.of( r, c ), l_grid.rows(), l_grid.columns(), i -> Objects.isNull( l_grid.getQuick( CCell.row( i ), CCell.column( i ) ) ), l_buffer );
+                Assertions.assertArrayEquals(
+                    d.apply( l_grid, new DenseDoubleMatrix1D( new double[]{r, c} ), ( g, p ) -> Objects.isNull( g.getQuick( (int) p.getQuick( 0 ), (int) p.getQuick( 1 ) ) ) )
+                     .mapToLong( CCell::of )
+                     .toArray(),
+                    Arrays.copyOf( l_buffer, l_count ),
+                    d.name()
+                );
+            } ) )
+        );
+
+        // routings on cell indices return the packed route without position vectors
+        Stream.of(
+            new CPrimitiveAStarRouting(),
+            new CAStarRouting(),
+            new CDStarLiteRouting(),
+            new CFlowFieldRouting(),
+            new CHierarchicalRouting(),
+            new CJumpPointRouting(),
+            new CAnytimeRouting()
+        ).forEach( i -> Assertions.assertArrayEquals(
+            i.apply( l_grid, new DenseDoubleMatrix1D( new double[]{2, 0} ), new DenseDoubleMatrix1D( new double[]{2, 4} ) ).mapToLong( CCell::of ).toArray(),
+            i.apply( l_grid, CCell.of( 2, 0 ), CCell.of( 2, 4 ) ).toArray(),
+            i.getClass().getSimpleName()
+        ) );
+        Assertions.assertEquals( 2, EDistance.MANHATTAN.apply( CCell.of( 0, 0 ), CCell.of( 1, 1 ) ), 0 );
+    }
+
+    /**
+     * test walkability bitmap against
+     * the grid on random changes
+     */
+    @Test
+    public void walkablebitmap()
+    {
+        final Random l_random = new Random( 29 );
+        final int[][] l_definition = new int[7][130];
+        IntStream.range( 0, l_definition.length )
+                 .forEach( r -> IntStream.range( 0, l_definition[r].length ).forEach( c -> l_definition[r][c] = l_random.nextDouble() < 0.3 ? 1 : 0 ) );
+
+        final ObjectMatrix2D l_grid = buildgrid( l_definition );
+        final ObjectMatrix2D l_bitmapgrid = buildgrid( l_definition );
+        final CWalkableBitmap l_bitmap = CWalkableBitmap.attach( l_bitmapgrid );
+        final long[] l_buffer = new long[8];
+        final List<EDirection> l_bits = Arrays.asList(
+            EDirection.NORTH, EDirection.EAST, EDirection.SOUTH, EDirection.WEST,
+            EDirection.NORTHEAST, EDirection.NORTHWEST, EDirection.SOUTHEAST, EDirection.SOUTHWEST
+        );
+
+        IntStream.range( 0, 20 ).forEach( n ->
+        {
+            Arrays.stream( ESearchDirection.values() ).forEach( d ->
+                IntStream.range( 0, l_grid.rows() ).forEach( r -> IntStream.range( 0, l_grid.columns() ).forEach( c ->
+                {
+                    final int l_count = d.apply( CCell.of( r, c ), l_grid.rows(), l_grid.columns(), i -> Objects.isNull( l_grid.getQuick( CCell.row( i ), CCell.column( i ) ) ), l_buffer );
+                    Assertions.assertEquals(
+                        Arrays.stream( l_buffer, 0, l_count ).mapToInt( i -> 1 << l_bits.indexOf( EDirection.of( CCell.row( i ) - r, CCell.column( i ) - c ) ) ).sum(),
+                        d.mask( l_bitmap.neighbourhood( r, c ) ),
+                        d.name()
+                    );
+                } ) )
+            );
+
+            final IRouting l_routing = new CPrimitiveAStarRouting( OCTILE, ESearchDirection.NOOBSTACLES, 1 );
+            final DoubleMatrix1D l_start = new DenseDoubleMatrix1D( new double[]{l_random.nextInt( 7 ), l_random.nextInt( 130 )} );
+            final DoubleMatrix1D l_end = new DenseDoubleMatrix1D( new double[]{l_random.nextInt( 7 ), l_random.nextInt( 130 )} );
+            Assertions.assertEquals(
+                l_routing.apply( l_grid, l_start, l_end ).collect( Collectors.toList() ),
+                l_routing.apply( l_bitmapgrid, l_start, l_end ).collect( Collectors.toList() )
+            );
+
+            IntStream.range( 0, 50 ).forEach( i ->
+            {
+                final int l_row = l_random.nextInt( 7 );
+                final int l_column = l_random.nextInt( 130 );
+                final Object l_value = Objects.isNull( l_grid.getQuick( l_row, l_column ) ) ? new Object() : null;
+                l_grid.setQuick( l_row, l_column, l_value );
+                CLayerRegistry.set( l_bitmapgrid, l_row, l_column, l_value );
+            } );
+        } );
+    }
+
+    /**
+     * test search-direction
+     */
+    @Test
+    public void searchdirection()
+    {
+        Assertions.assertArrayEquals(
+            new Double[]{0.0, 1.0, 1.0, 2.0, 2.0, 1.0, 1.0, 0.0},
+            ESearchDirection.NEVER.apply( buildgrid( EMPTYGRID ), new DenseDoubleMatrix1D( new double[]{1, 1} ), ( i, j ) -> true )
+                                  .flatMapToDouble( i -> Arrays.stream( i.toArray() ) )
+                                  .boxed()
+                                  .toArray()
+        );
+
+        Assertions.assertArrayEquals(
+            new Double[]{0.0, 1.0, 1.0, 2.0, 2.0, 1.0, 1.0, 0.0, 0.0, 2.0, 0.0, 0.0, 2.0, 2.0, 2.0, 0.0},
             ESearchDirection.ALWAYS.apply( buildgrid( EMPTYGRID ), new DenseDoubleMatrix1D( new double[]{1, 1} ), ( i, j ) -> true )
                                    .flatMapToDouble( i -> Arrays.stream( i.toArray() ) )
                                    .boxed()
@@ -440,6 +2425,97 @@ public final class TestCActionGrid extends IBaseTest
         );
     }
 
+    /**
+     * route cost
+     *
+     * @param p_route route
+     * @param p_distance distance
+     * @return sum of the step distances
+     */
+    private static double cost( @Nonnull final List<DoubleMatrix1D> p_route, @Nonnull final IDistance p_distance )
+    {
+        return IntStream.range( 1, p_route.size() ).mapToDouble( i -> p_distance.apply( p_route.get( i - 1 ), p_route.get( i ) ).doubleValue() ).sum();
+    }
+
+    /**
+     * dijkstra route costs on empty cells
+     *
+     * @param p_grid grid
+     * @param p_direction search direction
+     * @param p_distance distance
+     * @param p_start start cell
+     * @param p_end goal cell
+     * @return costs or infinity
+     */
+    private static double dijkstra( @Nonnull final ObjectMatrix2D p_grid, @Nonnull final ESearchDirection p_direction, @Nonnull final IDistance p_distance,
+                                    @Nonnull final DoubleMatrix1D p_start, @Nonnull final DoubleMatrix1D p_end )
+    {
+        final double[][] l_costs = new double[p_grid.rows()][p_grid.columns()];
+        Arrays.stream( l_costs ).forEach( i -> Arrays.fill( i, Double.POSITIVE_INFINITY ) );
+        l_costs[(int) p_start.get( 0 )][(int) p_start.get( 1 )] = 0;
+
+        final PriorityQueue<Pair<Double, DoubleMatrix1D>> l_queue = new PriorityQueue<>( Comparator.comparingDouble( Pair::getLeft ) );
+        l_queue.add( Pair.of( 0.0, p_start ) );
+        while ( !l_queue.isEmpty() )
+        {
+            final Pair<Double, DoubleMatrix1D> l_current = l_queue.poll();
+            if ( l_current.getRight().equals( p_end ) )
+                return l_current.getLeft();
+            if ( l_current.getLeft() > l_costs[(int) l_current.getRight().get( 0 )][(int) l_current.getRight().get( 1 )] )
+                continue;
+
+            p_direction.apply( p_grid, l_current.getRight(), ( g, p ) -> Objects.isNull( g.getQuick( (int) p.get( 0 ), (int) p.get( 1 ) ) ) )
+                       .forEach( i ->
+                       {
+                           final double l_cost = l_current.getLeft() + p_distance.apply( l_current.getRight(), i ).doubleValue();
+                           if ( l_cost >= l_costs[(int) i.get( 0 )][(int) i.get( 1 )] )
+                               return;
+
+                           l_costs[(int) i.get( 0 )][(int) i.get( 1 )] = l_cost;
+                           l_queue.add( Pair.of( l_cost, i ) );
+                       } );
+        }
+
+        return Double.POSITIVE_INFINITY;
+    }
+
+    /**
+     * breadth-first search step count without diagonal movement
+     *
+     * @param p_grid grid int definition (1 not-walkable)
+     * @param p_startrow start row
+     * @param p_startcolumn start column
+     * @param p_endrow end row
+     * @param p_endcolumn end column
+     * @return number of steps or -1
+     */
+    private static int breadthfirst( @Nonnull final int[][] p_grid, final int p_startrow, final int p_startcolumn, final int p_endrow, final int p_endcolumn )
+    {
+        final int[][] l_steps = new int[p_grid.length][p_grid[0].length];
+        Arrays.stream( l_steps ).forEach( i -> Arrays.fill( i, -1 ) );
+        l_steps[p_startrow][p_startcolumn] = 0;
+
+        final Deque<int[]> l_queue = new ArrayDeque<>();
+        l_queue.add( new int[]{p_startrow, p_startcolumn} );
+        while ( !l_queue.isEmpty() )
+        {
+            final int[] l_cell = l_queue.poll();
+            for ( final EDirection i : new EDirection[]{EDirection.NORTH, EDirection.EAST, EDirection.SOUTH, EDirection.WEST} )
+            {
+                final int l_row = l_cell[0] + i.row();
+                final int l_column = l_cell[1] + i.column();
+                if ( l_row < 0 || l_column < 0 || l_row >= p_grid.length || l_column >= p_grid[0].length
+                     || p_grid[l_row][l_column] == 1 || l_steps[l_row][l_column] >= 0 )
+                    continue;
+
+                l_steps[l_row][l_column] = l_steps[l_cell[0]][l_cell[1]] + 1;
+                l_queue.add( new int[]{l_row, l_column} );
+            }
+        }
+
+        return l_steps[p_endrow][p_endcolumn];
+    }
+
     /**
      * buld grid
      * @param p_grid grid int definition (1 not-walkable)
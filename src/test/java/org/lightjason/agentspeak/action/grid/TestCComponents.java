@@ -26,6 +26,7 @@ package org.lightjason.agentspeak.action.grid;
 import cern.colt.matrix.tdouble.impl.DenseDoubleMatrix1D;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
+import org.lightjason.agentspeak.action.grid.routing.CIndexedHeap;
 import org.lightjason.agentspeak.action.grid.routing.EDistance;
 import org.lightjason.agentspeak.testing.IBaseTest;
 
@@ -193,4 +194,30 @@ public final class TestCComponents extends IBaseTest
         );
     }
 
+    /**
+     * test indexed heap
+     */
+    @Test
+    public void indexedheap()
+    {
+        final CIndexedHeap l_heap = new CIndexedHeap( 10 );
+        l_heap.push( 3, 5, 0 );
+        l_heap.push( 7, 2, 1 );
+        l_heap.push( 1, 2, 0 );
+        l_heap.push( 9, 8, 0 );
+
+        Assertions.assertEquals( 4, l_heap.size() );
+        Assertions.assertTrue( l_heap.contains( 9 ) );
+
+        // decrease-key
+        l_heap.push( 9, 1, 0 );
+        Assertions.assertTrue( l_heap.remove( 3 ) );
+        Assertions.assertFalse( l_heap.remove( 3 ) );
+
+        Assertions.assertEquals( 9, l_heap.pop() );
+        Assertions.assertEquals( 1, l_heap.pop() );
+        Assertions.assertEquals( 7, l_heap.pop() );
+        Assertions.assertTrue( l_heap.isEmpty() );
+    }
+
 }